@@ -0,0 +1,216 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.entitySystem;
+
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.entitySystem.entity.internal.ArchetypeComponentTable;
+import org.terasology.entitySystem.entity.internal.PojoComponentTable;
+import org.terasology.entitySystem.stubs.ForceBlockActiveComponent;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ArchetypeComponentTableTest {
+
+    private static final Class<? extends Component>[] INTEGER_AND_STRING = classes(IntegerComponent.class, StringComponent.class);
+
+    private ArchetypeComponentTable table;
+
+    @BeforeEach
+    public void setup() {
+        table = new ArchetypeComponentTable();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        IntegerComponent first = new IntegerComponent(1);
+        StringComponent string = new StringComponent("a");
+        assertNull(table.put(1, first));
+        assertNull(table.put(1, string));
+
+        IntegerComponent second = new IntegerComponent(2);
+        assertSame(first, table.put(1, second));
+        assertSame(second, table.get(1, IntegerComponent.class));
+        assertSame(string, table.get(1, StringComponent.class));
+        assertNull(table.get(1, ForceBlockActiveComponent.class));
+        assertNull(table.get(2, IntegerComponent.class));
+    }
+
+    @Test
+    public void testRemoveComponentKeepsOthers() {
+        IntegerComponent integer = new IntegerComponent(1);
+        StringComponent string = new StringComponent("a");
+        table.put(1, integer);
+        table.put(1, string);
+
+        assertSame(integer, table.remove(1, IntegerComponent.class));
+        assertNull(table.get(1, IntegerComponent.class));
+        assertSame(string, table.get(1, StringComponent.class));
+        assertEquals(1, table.numEntities());
+
+        assertSame(string, table.remove(1, StringComponent.class));
+        assertEquals(0, table.numEntities());
+    }
+
+    @Test
+    public void testQueryMatchesEntitiesWithAllComponents() {
+        table.put(1, new IntegerComponent());
+        table.put(2, new IntegerComponent());
+        table.put(2, new StringComponent());
+        table.put(3, new StringComponent());
+        table.put(3, new IntegerComponent());
+        table.put(3, new ForceBlockActiveComponent());
+
+        assertEquals(2, table.getEntityCount(INTEGER_AND_STRING));
+        assertEquals(collect(table.entityIdIterator(INTEGER_AND_STRING)), set(2, 3));
+        assertEquals(3, table.getEntityCount(classes()));
+        assertEquals(3, table.getComponentCount(IntegerComponent.class));
+
+        table.remove(2, StringComponent.class);
+        assertEquals(collect(table.entityIdIterator(INTEGER_AND_STRING)), set(3));
+    }
+
+    @Test
+    public void testComponentsCanBeRemovedWhileIterating() {
+        for (long id = 1; id <= 100; id++) {
+            table.put(id, new IntegerComponent((int) id));
+            table.put(id, new StringComponent());
+        }
+
+        TLongSet iterated = new TLongHashSet();
+        TLongIterator iterator = table.entityIdIterator(INTEGER_AND_STRING);
+        while (iterator.hasNext()) {
+            long id = iterator.next();
+            iterated.add(id);
+            // remove the component of the entity itself and of one that hasn't been reached yet
+            table.remove(id, StringComponent.class);
+            table.remove(101 - id, StringComponent.class);
+        }
+
+        assertEquals(50, iterated.size());
+        assertEquals(0, table.getEntityCount(INTEGER_AND_STRING));
+    }
+
+    @Test
+    public void testEntityMovingToLaterArchetypeIsReturnedOnce() {
+        for (long id = 1; id <= 10; id++) {
+            table.put(id, new IntegerComponent());
+            table.put(id, new StringComponent());
+        }
+        // creates the archetype with all three components after the one of the other entities
+        table.put(100, new IntegerComponent());
+        table.put(100, new StringComponent());
+        table.put(100, new ForceBlockActiveComponent());
+
+        TLongSet iterated = new TLongHashSet();
+        TLongIterator iterator = table.entityIdIterator(INTEGER_AND_STRING);
+        int count = 0;
+        while (iterator.hasNext()) {
+            long id = iterator.next();
+            iterated.add(id);
+            count++;
+            table.put(id, new ForceBlockActiveComponent());
+        }
+
+        assertEquals(11, count);
+        assertEquals(11, iterated.size());
+    }
+
+    @Test
+    public void testEntityMovingToVisitedArchetypeIsNotSkipped() {
+        // creates the archetype with all three components before the one of the other entities
+        table.put(100, new ForceBlockActiveComponent());
+        table.put(100, new IntegerComponent());
+        table.put(100, new StringComponent());
+        for (long id = 1; id <= 10; id++) {
+            table.put(id, new IntegerComponent());
+            table.put(id, new StringComponent());
+        }
+
+        TLongSet iterated = new TLongHashSet();
+        TLongIterator iterator = table.entityIdIterator(INTEGER_AND_STRING);
+        while (iterator.hasNext()) {
+            long id = iterator.next();
+            iterated.add(id);
+            if (id == 100) {
+                // moves entities that haven't been reached yet into the archetype that has already been visited
+                for (long other = 1; other <= 10; other++) {
+                    table.put(other, new ForceBlockActiveComponent());
+                }
+            }
+        }
+
+        assertEquals(set(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 100), iterated);
+    }
+
+    @Test
+    public void testMatchesPojoComponentTable() {
+        PojoComponentTable expected = new PojoComponentTable();
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long id = 1 + random.nextInt(200);
+            Component component;
+            switch (random.nextInt(3)) {
+                case 0:
+                    component = new IntegerComponent(i);
+                    break;
+                case 1:
+                    component = new StringComponent(Integer.toString(i));
+                    break;
+                default:
+                    component = new ForceBlockActiveComponent();
+                    break;
+            }
+            if (random.nextInt(3) == 0) {
+                assertSame(expected.remove(id, component.getClass()), table.remove(id, component.getClass()));
+            } else if (random.nextInt(50) == 0) {
+                expected.remove(id);
+                table.remove(id);
+            } else {
+                assertSame(expected.put(id, component), table.put(id, component));
+            }
+        }
+
+        assertEquals(expected.numEntities(), table.numEntities());
+        assertEquals(collect(expected.entityIdIterator()), collect(table.entityIdIterator()));
+        for (long id = 1; id <= 200; id++) {
+            assertEquals(new HashSet<>(expected.getComponentsInNewList(id)), new HashSet<>(table.getComponentsInNewList(id)));
+        }
+        TLongObjectIterator<IntegerComponent> components = table.componentIterator(IntegerComponent.class);
+        int count = 0;
+        while (components.hasNext()) {
+            components.advance();
+            assertSame(expected.get(components.key(), IntegerComponent.class), components.value());
+            count++;
+        }
+        assertEquals(expected.getComponentCount(IntegerComponent.class), count);
+    }
+
+    private static TLongSet collect(TLongIterator iterator) {
+        TLongSet result = new TLongHashSet();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    private static TLongSet set(long... ids) {
+        return new TLongHashSet(ids);
+    }
+
+    @SafeVarargs
+    private static Class<? extends Component>[] classes(Class<? extends Component>... classes) {
+        return classes;
+    }
+}
@@ -0,0 +1,101 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.entitySystem;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.assets.AssetFactory;
+import org.terasology.assets.management.AssetManager;
+import org.terasology.assets.module.ModuleAwareAssetTypeManager;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.bootstrap.EntitySystemSetupUtil;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.ArchetypeEntityPool;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.entity.internal.PojoEntityPool;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.prefab.PrefabData;
+import org.terasology.entitySystem.prefab.internal.PojoPrefab;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.network.NetworkSystem;
+import org.terasology.recording.RecordAndReplayCurrentStatus;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.testUtil.ModuleManagerFactory;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class ArchetypeEntityPoolTest {
+
+    private static Context context;
+    private PojoEntityManager entityManager;
+    private ArchetypeEntityPool pool;
+    private PojoEntityPool expected;
+
+    @BeforeAll
+    public static void setupClass() throws Exception {
+        context = new ContextImpl();
+        ModuleManager moduleManager = ModuleManagerFactory.create();
+        context.put(ModuleManager.class, moduleManager);
+        ModuleAwareAssetTypeManager assetTypeManager = new ModuleAwareAssetTypeManager();
+        assetTypeManager.registerCoreAssetType(Prefab.class,
+                (AssetFactory<Prefab, PrefabData>) PojoPrefab::new, "prefabs");
+        assetTypeManager.switchEnvironment(moduleManager.getEnvironment());
+        context.put(AssetManager.class, assetTypeManager.getAssetManager());
+        context.put(RecordAndReplayCurrentStatus.class, new RecordAndReplayCurrentStatus());
+        CoreRegistry.setContext(context);
+    }
+
+    @BeforeEach
+    public void setup() {
+        context.put(NetworkSystem.class, mock(NetworkSystem.class));
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        entityManager = (PojoEntityManager) context.get(EntityManager.class);
+
+        pool = new ArchetypeEntityPool(entityManager);
+        expected = new PojoEntityPool(entityManager);
+    }
+
+    @Test
+    public void testQueryWithoutComponentsIncludesEntitiesWithoutComponents() {
+        for (PojoEntityPool target : new PojoEntityPool[]{pool, expected}) {
+            target.create();
+            target.create(new IntegerComponent(1));
+            target.create(new IntegerComponent(2), new StringComponent("a"));
+        }
+
+        assertEquals(3, Sets.newHashSet(pool.getEntitiesWith()).size());
+        assertEquals(Sets.newHashSet(expected.getEntitiesWith()).size(), Sets.newHashSet(pool.getEntitiesWith()).size());
+        assertEquals(1, Sets.newHashSet(pool.getEntitiesWith(IntegerComponent.class, StringComponent.class)).size());
+    }
+
+    @Test
+    public void testEntityGainingComponentsWhileIteratingIsReturnedOnce() {
+        for (int i = 0; i < 10; i++) {
+            pool.create(new IntegerComponent(i));
+        }
+        pool.create(new IntegerComponent(10), new StringComponent("a"));
+
+        int count = 0;
+        Set<EntityRef> iterated = Sets.newHashSet();
+        for (EntityRef entity : pool.getEntitiesWith(IntegerComponent.class)) {
+            count++;
+            iterated.add(entity);
+            if (!entity.hasComponent(StringComponent.class)) {
+                entity.addComponent(new StringComponent("b"));
+            }
+        }
+
+        assertEquals(11, count);
+        assertEquals(11, iterated.size());
+    }
+}
@@ -16,6 +16,7 @@
 package org.terasology.entitySystem;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,10 +26,14 @@
 import org.terasology.assets.module.ModuleAwareAssetTypeManager;
 import org.terasology.context.Context;
 import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.SimpleUri;
+import org.terasology.engine.TerasologyConstants;
 import org.terasology.engine.bootstrap.EntitySystemSetupUtil;
 import org.terasology.engine.module.ModuleManager;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityPool;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.entitySystem.entity.internal.PojoEntityPool;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
@@ -43,11 +48,13 @@
 import org.terasology.entitySystem.stubs.EntityRefComponent;
 import org.terasology.entitySystem.stubs.IntegerComponent;
 import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.game.GameManifest;
 import org.terasology.network.NetworkSystem;
 import org.terasology.recording.RecordAndReplayCurrentStatus;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.testUtil.ModuleManagerFactory;
 import org.terasology.utilities.Assets;
+import org.terasology.world.internal.WorldInfo;
 
 import java.util.Collections;
 import java.util.Iterator;
@@ -58,6 +65,7 @@
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -300,6 +308,101 @@ public void testGetComponentCount() {
         assertEquals(2, entityManager.getCountOfEntitiesWith(StringComponent.class));
     }
 
+    @Test
+    public void testGetMultipleComponentCount() {
+        entityManager.create(new StringComponent(), new IntegerComponent());
+        EntityRef entity = entityManager.create(new StringComponent());
+        assertEquals(1, entityManager.getCountOfEntitiesWith(StringComponent.class, IntegerComponent.class));
+
+        entity.addComponent(new IntegerComponent());
+        assertEquals(2, entityManager.getCountOfEntitiesWith(IntegerComponent.class, StringComponent.class));
+    }
+
+    @Test
+    public void testMultipleComponentCountUsesRegisteredQuery() {
+        EntityQuery query = entityManager.registerQuery(StringComponent.class, IntegerComponent.class);
+        EntityRef entity = entityManager.create(new StringComponent(), new IntegerComponent());
+        entityManager.create(new StringComponent());
+        assertEquals(query.size(), entityManager.getCountOfEntitiesWith(IntegerComponent.class, StringComponent.class));
+
+        entity.removeComponent(IntegerComponent.class);
+        assertEquals(0, entityManager.getCountOfEntitiesWith(StringComponent.class, IntegerComponent.class));
+    }
+
+    @Test
+    public void testQueryContainsExistingEntities() {
+        EntityRef entity = entityManager.create(new StringComponent(), new IntegerComponent());
+        entityManager.create(new StringComponent());
+
+        EntityQuery query = entityManager.registerQuery(StringComponent.class, IntegerComponent.class);
+        assertEquals(Lists.newArrayList(entity), Lists.newArrayList(query));
+    }
+
+    @Test
+    public void testQueryFollowsComponentChanges() {
+        EntityQuery query = entityManager.registerQuery(StringComponent.class, IntegerComponent.class);
+        EntityRef entity = entityManager.create(new StringComponent());
+        assertTrue(query.isEmpty());
+
+        entity.addComponent(new IntegerComponent());
+        assertEquals(Lists.newArrayList(entity), Lists.newArrayList(query));
+
+        entity.removeComponent(StringComponent.class);
+        assertFalse(query.contains(entity));
+
+        entity.addComponent(new StringComponent());
+        entity.destroy();
+        assertEquals(0, query.size());
+    }
+
+    @Test
+    public void testQuerySkipsEntitiesDestroyedDuringIteration() {
+        EntityQuery query = entityManager.registerQuery(StringComponent.class);
+        EntityRef entity1 = entityManager.create(new StringComponent());
+        EntityRef entity2 = entityManager.create(new StringComponent());
+
+        List<EntityRef> results = Lists.newArrayList();
+        for (EntityRef entity : query) {
+            results.add(entity);
+            (entity.equals(entity1) ? entity2 : entity1).destroy();
+        }
+        assertEquals(1, results.size());
+        assertEquals(1, query.size());
+    }
+
+    @Test
+    public void testQueryOnlyReturnsEntitiesOfTheCurrentWorld() {
+        EntityQuery query = entityManager.registerQuery(StringComponent.class);
+        EntityRef globalEntity = entityManager.create(new StringComponent());
+
+        GameManifest manifest = new GameManifest();
+        manifest.addWorld(new WorldInfo(TerasologyConstants.MAIN_WORLD, "seed", 0, new SimpleUri("test:generator")));
+        WorldInfo otherWorld = new WorldInfo("other", "seed", 0, new SimpleUri("test:generator"));
+        manifest.addWorld(otherWorld);
+        entityManager.createWorldPools(manifest);
+        EngineEntityPool otherPool = entityManager.getWorldPoolsMap().get(otherWorld);
+
+        EntityRef currentWorldEntity = entityManager.create(new StringComponent());
+        EntityRef otherWorldEntity = otherPool.create(new StringComponent());
+        EntityRef movedEntity = entityManager.create(new StringComponent());
+        entityManager.moveToPool(movedEntity.getId(), otherPool);
+
+        List<EntityRef> expected = Lists.newArrayList(entityManager.getEntitiesWith(StringComponent.class));
+        assertEquals(2, expected.size());
+        assertEquals(Sets.newHashSet(expected), Sets.newHashSet(query));
+        assertEquals(2, query.size());
+        assertTrue(query.contains(globalEntity));
+        assertTrue(query.contains(currentWorldEntity));
+        assertFalse(query.contains(otherWorldEntity));
+        assertFalse(query.contains(movedEntity));
+    }
+
+    @Test
+    public void testQueriesAreSharedForTheSameComponents() {
+        assertSame(entityManager.registerQuery(StringComponent.class, IntegerComponent.class),
+                entityManager.registerQuery(IntegerComponent.class, StringComponent.class));
+    }
+
     @Test
     public void testDestroyingEntityInvalidatesEntityRefs() {
         EntityRef main = entityManager.create();
@@ -8,6 +8,7 @@
 import org.reflections.Reflections;
 import org.terasology.context.internal.ContextImpl;
 import org.terasology.engine.SimpleUri;
+import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.entitySystem.event.AbstractConsumableEvent;
@@ -202,6 +203,33 @@ public void testEventReceiverRegistration() {
         assertEquals(1, receiver.eventList.size());
     }
 
+    @Test
+    public void testComponentParametersArePassed() {
+        StringComponent stringComponent = entity.addComponent(new StringComponent());
+        IntegerComponent intComponent = entity.addComponent(new IntegerComponent());
+
+        TestComponentParameterEventHandler handler = new TestComponentParameterEventHandler();
+        eventSystem.registerEventHandler(handler);
+
+        entity.send(new TestEvent());
+        assertEquals(Lists.newArrayList(stringComponent, intComponent), handler.receivedComponents);
+    }
+
+    @Test
+    public void testHandlerChangesAfterSendAreUsed() {
+        entity.addComponent(new StringComponent());
+        entity.send(new TestEvent());
+
+        TestEventHandler handler = new TestEventHandler();
+        eventSystem.registerEventHandler(handler);
+        entity.send(new TestEvent());
+        assertEquals(1, handler.receivedList.size());
+
+        eventSystem.unregisterEventHandler(handler);
+        entity.send(new TestEvent());
+        assertEquals(1, handler.receivedList.size());
+    }
+
     private static class TestEvent extends AbstractConsumableEvent {
 
     }
@@ -323,6 +351,17 @@ public Received(TestEvent event, EntityRef entity) {
         }
     }
 
+    public static class TestComponentParameterEventHandler extends BaseComponentSystem {
+
+        List<Component> receivedComponents = Lists.newArrayList();
+
+        @ReceiveEvent
+        public void handleEvent(TestEvent event, EntityRef entity, StringComponent string, IntegerComponent integer) {
+            receivedComponents.add(string);
+            receivedComponents.add(integer);
+        }
+    }
+
     public static class TestEventReceiver implements EventReceiver<TestEvent> {
         List<Event> eventList = Lists.newArrayList();
 
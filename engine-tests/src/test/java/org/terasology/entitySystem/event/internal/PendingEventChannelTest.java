@@ -0,0 +1,96 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.entitySystem.event.internal;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.entitySystem.event.PendingEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PendingEventChannelTest {
+
+    private static final int THREADS = 4;
+    private static final int EVENTS_PER_THREAD = 10000;
+
+    private PendingEventChannel channel = new PendingEventChannel();
+
+    @Test
+    public void testCollectsEventsOfAllThreadsInOrder() throws InterruptedException {
+        List<Thread> threads = Lists.newArrayList();
+        for (int i = 0; i < THREADS; i++) {
+            int thread = i;
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < EVENTS_PER_THREAD; j++) {
+                    channel.offer(new PendingEvent(EntityRef.NULL, new TestEvent(thread, j)));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(channel.collect());
+        assertEquals(THREADS * EVENTS_PER_THREAD, channel.size());
+        int[] nextIndex = new int[THREADS];
+        for (PendingEvent event = channel.poll(); event != null; event = channel.poll()) {
+            TestEvent testEvent = (TestEvent) event.getEvent();
+            assertEquals(nextIndex[testEvent.thread]++, testEvent.index);
+        }
+        for (int i = 0; i < THREADS; i++) {
+            assertEquals(EVENTS_PER_THREAD, nextIndex[i]);
+        }
+        assertFalse(channel.collect());
+    }
+
+    @Test
+    public void testEventsAreOnlyAvailableAfterCollecting() throws InterruptedException {
+        Thread thread = new Thread(() -> channel.offer(new PendingEvent(EntityRef.NULL, new TestEvent(0, 0))));
+        thread.start();
+        thread.join();
+
+        assertNull(channel.poll());
+        assertTrue(channel.collect());
+        assertEquals(1, channel.size());
+    }
+
+    @Test
+    public void testLeftOverEventsComeFirst() throws InterruptedException {
+        offerFromThread(new TestEvent(0, 0), new TestEvent(0, 1));
+        channel.collect();
+        assertEquals(0, ((TestEvent) channel.poll().getEvent()).index);
+
+        offerFromThread(new TestEvent(0, 2));
+        channel.collect();
+        assertEquals(1, ((TestEvent) channel.poll().getEvent()).index);
+        assertEquals(2, ((TestEvent) channel.poll().getEvent()).index);
+    }
+
+    private void offerFromThread(TestEvent... events) throws InterruptedException {
+        Thread thread = new Thread(() -> {
+            for (TestEvent event : events) {
+                channel.offer(new PendingEvent(EntityRef.NULL, event));
+            }
+        });
+        thread.start();
+        thread.join();
+    }
+
+    private static final class TestEvent implements Event {
+        private final int thread;
+        private final int index;
+
+        TestEvent(int thread, int index) {
+            this.thread = thread;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.chunk;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.rendering.primitives.ChunkMesh;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ChunkMeshInfoTest {
+
+    @Test
+    public void testCountsMeshBeingBuilt() {
+        ChunkMesh mesh = new ChunkMesh(null);
+        ChunkMesh.VertexElements opaque = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        for (int i = 0; i < 4; i++) {
+            opaque.addVertex(i, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0);
+        }
+        for (int index : new int[]{0, 1, 2, 0, 2, 3}) {
+            opaque.addIndex(index);
+        }
+        mesh.getVertexElements(ChunkMesh.RenderType.BILLBOARD).addVertex(0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0);
+
+        ChunkMeshInfo info = new ChunkMeshInfo(mesh);
+        assertEquals(5 * ChunkMesh.VertexElements.VERTEX_SIZE, info.totalFinalVertices);
+        assertEquals(6, info.totalFinalIndices);
+        assertEquals(2, info.totalTriangles);
+        mesh.dispose();
+    }
+}
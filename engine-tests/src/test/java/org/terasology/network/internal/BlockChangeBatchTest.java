@@ -0,0 +1,100 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+import org.terasology.protobuf.NetData;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BlockChangeBatchTest {
+
+    @Test
+    public void testChangesRoundTrip() {
+        Vector3i chunkPos = new Vector3i(-1, 2, 3);
+        BlockChangeBatch batch = new BlockChangeBatch(chunkPos);
+        Map<Vector3i, Short> expected = Maps.newHashMap();
+        add(batch, expected, worldPos(chunkPos, 0, 0, 0), (short) 4);
+        add(batch, expected, worldPos(chunkPos, 31, 63, 31), (short) 5);
+        add(batch, expected, worldPos(chunkPos, 7, 20, 3), (short) 6);
+        add(batch, expected, worldPos(chunkPos, 7, 20, 3), (short) 7);
+
+        assertEquals(3, batch.size());
+        assertEquals(expected, decode(batch.toMessage()));
+    }
+
+    @Test
+    public void testContiguousChangesFormOneRun() {
+        Vector3i chunkPos = new Vector3i(0, 0, 0);
+        BlockChangeBatch batch = new BlockChangeBatch(chunkPos);
+        for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+            batch.add(worldPos(chunkPos, x, 1, 0), (short) 2);
+        }
+
+        NetData.BlockChangeBatchMessage message = batch.toMessage();
+
+        assertEquals(2, message.getIndexRunsCount());
+        assertEquals(ChunkConstants.SIZE_X * ChunkConstants.SIZE_Z, message.getIndexRuns(0));
+        assertEquals(ChunkConstants.SIZE_X, message.getIndexRuns(1));
+        assertEquals(1, message.getBlockPaletteCount());
+        assertEquals(0, message.getPaletteIndexCount());
+    }
+
+    @Test
+    public void testPaletteHoldsEachBlockOnce() {
+        Vector3i chunkPos = new Vector3i(1, 0, 0);
+        BlockChangeBatch batch = new BlockChangeBatch(chunkPos);
+        Map<Vector3i, Short> expected = Maps.newHashMap();
+        for (int z = 0; z < 6; z++) {
+            add(batch, expected, worldPos(chunkPos, 2, 3, z), (short) (10 + z % 2));
+        }
+
+        NetData.BlockChangeBatchMessage message = batch.toMessage();
+
+        assertEquals(2, message.getBlockPaletteCount());
+        assertEquals(6, message.getPaletteIndexCount());
+        assertEquals(expected, decode(message));
+    }
+
+    @Test
+    public void testLegacyMessagesHoldEveryChange() {
+        Vector3i chunkPos = new Vector3i(-2, 0, 1);
+        BlockChangeBatch batch = new BlockChangeBatch(chunkPos);
+        Map<Vector3i, Short> expected = Maps.newHashMap();
+        add(batch, expected, worldPos(chunkPos, 0, 0, 0), (short) 4);
+        add(batch, expected, worldPos(chunkPos, 1, 0, 0), (short) 5);
+        add(batch, expected, worldPos(chunkPos, 31, 63, 31), (short) 4);
+
+        NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
+        batch.addBlockChangeMessages(message);
+
+        assertEquals(0, message.getBlockChangeBatchCount());
+        Map<Vector3i, Short> sent = Maps.newHashMap();
+        for (NetData.BlockChangeMessage change : message.getBlockChangeList()) {
+            sent.put(new Vector3i(change.getPos().getX(), change.getPos().getY(), change.getPos().getZ()),
+                    (short) change.getNewBlock());
+        }
+        assertEquals(expected, sent);
+    }
+
+    private static Vector3i worldPos(Vector3i chunkPos, int x, int y, int z) {
+        return new Vector3i(chunkPos.x * ChunkConstants.SIZE_X + x, chunkPos.y * ChunkConstants.SIZE_Y + y,
+                chunkPos.z * ChunkConstants.SIZE_Z + z);
+    }
+
+    private static void add(BlockChangeBatch batch, Map<Vector3i, Short> expected, Vector3i pos, short blockId) {
+        batch.add(pos, blockId);
+        expected.put(pos, blockId);
+    }
+
+    private static Map<Vector3i, Short> decode(NetData.BlockChangeBatchMessage message) {
+        Map<Vector3i, Short> result = Maps.newHashMap();
+        BlockChangeBatch.decode(message, (x, y, z, blockId) -> result.put(new Vector3i(x, y, z), blockId));
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+import org.terasology.world.chunks.Chunk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ChunkSendQueueTest {
+
+    @Test
+    public void testClosestChunksComeFirst() {
+        ChunkSendQueue queue = new ChunkSendQueue();
+        Chunk far = add(queue, new Vector3i(5, 0, 0));
+        Chunk near = add(queue, new Vector3i(0, 1, 0));
+        Chunk middle = add(queue, new Vector3i(2, 0, 2));
+
+        assertEquals(3, queue.size());
+        assertSame(near, queue.poll());
+        assertSame(middle, queue.poll());
+        assertSame(far, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testMovingViewpointReordersChunks() {
+        ChunkSendQueue queue = new ChunkSendQueue();
+        Chunk origin = add(queue, new Vector3i(0, 0, 0));
+        Chunk far = add(queue, new Vector3i(10, 0, 0));
+
+        assertTrue(queue.setViewpoint(new Vector3i(9, 0, 0), null));
+        assertFalse(queue.setViewpoint(new Vector3i(9, 0, 0), null));
+
+        assertSame(far, queue.poll());
+        assertSame(origin, queue.poll());
+    }
+
+    @Test
+    public void testChunksInViewComeBeforeChunksBehind() {
+        ChunkSendQueue queue = new ChunkSendQueue();
+        Chunk behind = add(queue, new Vector3i(0, 0, -3));
+        Chunk ahead = add(queue, new Vector3i(0, 0, 3));
+        Chunk beside = add(queue, new Vector3i(4, 0, 0));
+
+        queue.setViewpoint(new Vector3i(), new Vector3f(0, 0, 1));
+
+        assertSame(ahead, queue.poll());
+        assertSame(beside, queue.poll());
+        assertSame(behind, queue.poll());
+    }
+
+    @Test
+    public void testRemovedAndReplacedChunksAreSkipped() {
+        ChunkSendQueue queue = new ChunkSendQueue();
+        add(queue, new Vector3i(0, 0, 0));
+        add(queue, new Vector3i(1, 0, 0));
+        Chunk replacement = add(queue, new Vector3i(1, 0, 0));
+        Chunk last = add(queue, new Vector3i(2, 0, 0));
+
+        assertTrue(queue.remove(new Vector3i(0, 0, 0)));
+        assertFalse(queue.remove(new Vector3i(0, 0, 0)));
+
+        assertEquals(2, queue.size());
+        assertSame(replacement, queue.poll());
+        assertSame(last, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testManyRemovalsKeepOrder() {
+        ChunkSendQueue queue = new ChunkSendQueue();
+        for (int i = 0; i < 500; i++) {
+            add(queue, new Vector3i(i, 0, 0));
+        }
+        for (int i = 0; i < 500; i += 2) {
+            queue.remove(new Vector3i(i, 0, 0));
+        }
+        Chunk next = add(queue, new Vector3i(0, 0, 0));
+
+        assertSame(next, queue.poll());
+        assertEquals(250, queue.size());
+        int polled = 0;
+        while (queue.poll() != null) {
+            polled++;
+        }
+        assertEquals(250, polled);
+    }
+
+    private static Chunk add(ChunkSendQueue queue, Vector3i pos) {
+        Chunk chunk = mock(Chunk.class);
+        queue.add(pos, chunk);
+        return chunk;
+    }
+}
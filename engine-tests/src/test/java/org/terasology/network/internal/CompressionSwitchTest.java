@@ -0,0 +1,112 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import com.google.common.collect.Lists;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.handler.codec.compression.JdkZlibEncoder;
+import io.netty.handler.codec.protobuf.ProtobufDecoder;
+import io.netty.handler.codec.protobuf.ProtobufEncoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import org.junit.jupiter.api.Test;
+import org.terasology.protobuf.NetData;
+import org.terasology.utilities.compression.CompressionCodecs;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a connection can switch from the zlib stream to compressing every frame on its own right after the
+ * join complete message, as {@link NetClient} and the client connection handler do.
+ */
+public class CompressionSwitchTest {
+
+    @Test
+    public void testFramesAfterJoinCompleteUseTheCodec() {
+        EmbeddedChannel server = new EmbeddedChannel();
+        server.pipeline().addLast(new LengthFieldPrepender(3));
+        server.pipeline().addLast(CompressionEncoder.NAME, new JdkZlibEncoder());
+        server.pipeline().addLast(new ProtobufVarint32LengthFieldPrepender());
+        server.pipeline().addLast(new ProtobufEncoder());
+
+        server.writeAndFlush(message(1));
+        server.writeAndFlush(NetData.NetMessage.newBuilder().setJoinComplete(NetData.JoinCompleteMessage.newBuilder()
+                .setClientId(7).setCompression(CompressionCodecs.LZ.getName())).build());
+        server.pipeline().replace(CompressionEncoder.NAME, CompressionEncoder.NAME,
+                new CompressionEncoder(CompressionCodecs.LZ));
+        server.writeAndFlush(message(2));
+        server.writeAndFlush(message(3));
+
+        List<NetData.NetMessage> received = receive(server, true);
+
+        assertEquals(4, received.size());
+        assertEquals(1, received.get(0).getTime());
+        assertEquals(7, received.get(1).getJoinComplete().getClientId());
+        assertEquals(2, received.get(2).getTime());
+        assertEquals(3, received.get(3).getTime());
+    }
+
+    @Test
+    public void testZlibStreamIsKeptWithoutSwitch() {
+        EmbeddedChannel server = new EmbeddedChannel();
+        server.pipeline().addLast(new LengthFieldPrepender(3));
+        server.pipeline().addLast(CompressionEncoder.NAME, new JdkZlibEncoder());
+        server.pipeline().addLast(new ProtobufVarint32LengthFieldPrepender());
+        server.pipeline().addLast(new ProtobufEncoder());
+
+        server.writeAndFlush(NetData.NetMessage.newBuilder().setJoinComplete(NetData.JoinCompleteMessage.newBuilder()
+                .setClientId(7)).build());
+        server.writeAndFlush(message(2));
+
+        List<NetData.NetMessage> received = receive(server, false);
+
+        assertEquals(2, received.size());
+        assertEquals(2, received.get(1).getTime());
+    }
+
+    /**
+     * Feeds everything the server wrote to a client pipeline in one buffer, so all frames get decoded in one go.
+     */
+    private static List<NetData.NetMessage> receive(EmbeddedChannel server, boolean expectSwitch) {
+        ByteBuf sent = Unpooled.buffer();
+        ByteBuf frame;
+        while ((frame = server.readOutbound()) != null) {
+            sent.writeBytes(frame);
+            frame.release();
+        }
+
+        List<NetData.NetMessage> received = Lists.newArrayList();
+        EmbeddedChannel client = new EmbeddedChannel();
+        client.pipeline().addLast(new LengthFieldBasedFrameDecoder(8388608, 0, 3, 0, 3));
+        client.pipeline().addLast(CompressionDecoder.NAME, new CompressionDecoder());
+        client.pipeline().addLast(new ProtobufVarint32FrameDecoder());
+        client.pipeline().addLast(new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
+        client.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                NetData.NetMessage message = (NetData.NetMessage) msg;
+                received.add(message);
+                if (message.getJoinComplete().hasCompression()) {
+                    assertTrue(expectSwitch);
+                    ctx.pipeline().replace(CompressionDecoder.NAME, CompressionDecoder.NAME, new CompressionDecoder(false));
+                }
+            }
+        });
+        client.writeInbound(sent);
+        client.finish();
+        return received;
+    }
+
+    private static NetData.NetMessage message(long time) {
+        return NetData.NetMessage.newBuilder().setTime(time).build();
+    }
+}
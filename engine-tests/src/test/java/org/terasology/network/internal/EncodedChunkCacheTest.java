@@ -0,0 +1,107 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.chunks.ManagedChunk;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EncodedChunkCacheTest {
+
+    private EncodedChunkCache cache;
+    private MetricRecordingHandler metrics;
+    private ManagedChunk chunk;
+    private AtomicInteger encodings;
+
+    @BeforeEach
+    public void setup() {
+        cache = new EncodedChunkCache();
+        metrics = new MetricRecordingHandler();
+        encodings = new AtomicInteger();
+        chunk = mock(ManagedChunk.class);
+        when(chunk.copyForEncoding()).thenAnswer(invocation -> encoder(1));
+    }
+
+    @Test
+    public void testChunkIsEncodedOnceForAllClients() {
+        EncodedChunkCache.EncodedChunk first = cache.getEncodedChunk(chunk, metrics);
+        EncodedChunkCache.EncodedChunk second = cache.getEncodedChunk(chunk, new MetricRecordingHandler());
+        EncodedChunkCache.EncodedChunk third = cache.getEncodedChunk(chunk, metrics);
+
+        assertSame(first, second);
+        assertSame(first, third);
+        assertSame(first.getChunkStore(), third.getChunkStore());
+        verify(chunk, times(1)).copyForEncoding();
+        assertEquals(1, encodings.get());
+        assertEquals(1, metrics.getEncodedChunksSinceLastCall());
+        assertEquals(1, metrics.getReusedEncodedChunksSinceLastCall());
+    }
+
+    @Test
+    public void testModifiedChunkIsEncodedAgain() {
+        EntityData.ChunkStore first = cache.getEncodedChunk(chunk, metrics).getChunkStore();
+        when(chunk.getModificationCount()).thenReturn(1);
+        EntityData.ChunkStore second = cache.getEncodedChunk(chunk, metrics).getChunkStore();
+
+        assertNotSame(first, second);
+        verify(chunk, times(2)).copyForEncoding();
+        assertEquals(2, encodings.get());
+        assertEquals(2, metrics.getEncodedChunksSinceLastCall());
+        assertEquals(0, metrics.getReusedEncodedChunksSinceLastCall());
+    }
+
+    @Test
+    public void testChunkIsEncodedWhenFirstNeeded() {
+        EncodedChunkCache.EncodedChunk encodedChunk = cache.getEncodedChunk(chunk, metrics);
+        assertFalse(encodedChunk.isEncoded());
+        assertEquals(0, encodings.get());
+
+        assertEquals(1, encodedChunk.getChunkStore().getX());
+        assertTrue(encodedChunk.isEncoded());
+        assertEquals(1, encodings.get());
+    }
+
+    @Test
+    public void testSizeOfChunksNotEncodedIsEstimatedFromEncodedOnes() {
+        ManagedChunk smallChunk = mock(ManagedChunk.class);
+        when(smallChunk.copyForEncoding()).thenAnswer(invocation -> encoder(1));
+        ManagedChunk largeChunk = mock(ManagedChunk.class);
+        when(largeChunk.copyForEncoding()).thenAnswer(invocation -> encoder(1000000));
+
+        /* Nothing to estimate from yet, so the first chunk gets encoded */
+        EncodedChunkCache.EncodedChunk small = cache.getEncodedChunk(smallChunk, metrics);
+        int smallSize = cache.estimateSerializedSize(small);
+        assertTrue(small.isEncoded());
+        assertEquals(small.getChunkStore().getSerializedSize(), smallSize);
+
+        EncodedChunkCache.EncodedChunk large = cache.getEncodedChunk(largeChunk, metrics);
+        assertEquals(smallSize, cache.estimateSerializedSize(large));
+        assertFalse(large.isEncoded());
+
+        int largeSize = large.getChunkStore().getSerializedSize();
+        assertTrue(largeSize > smallSize);
+        assertEquals(largeSize, cache.estimateSerializedSize(large));
+        assertEquals((smallSize + largeSize) / 2, cache.estimateSerializedSize(cache.getEncodedChunk(chunk, metrics)));
+    }
+
+    private Supplier<EntityData.ChunkStore.Builder> encoder(int x) {
+        return () -> {
+            encodings.incrementAndGet();
+            return EntityData.ChunkStore.newBuilder().setX(x).setY(2).setZ(3);
+        };
+    }
+}
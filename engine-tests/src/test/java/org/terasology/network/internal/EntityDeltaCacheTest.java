@@ -0,0 +1,94 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.network.NetworkComponent;
+import org.terasology.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.protobuf.EntityData;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EntityDeltaCacheTest {
+
+    private EntityDeltaCache cache;
+    private MetricRecordingHandler metrics;
+    private NetworkEntitySerializer serializer;
+    private EntityRef entity;
+    private Set<Class<? extends Component>> none;
+    private Set<Class<? extends Component>> changed;
+
+    @BeforeEach
+    public void setup() {
+        cache = new EntityDeltaCache();
+        metrics = new MetricRecordingHandler();
+        serializer = mock(NetworkEntitySerializer.class);
+        entity = mock(EntityRef.class);
+        when(serializer.serialize(eq(entity), anySet(), anySet(), anySet(), any()))
+                .thenAnswer(invocation -> EntityData.PackedEntity.newBuilder().build());
+        none = Collections.emptySet();
+        changed = Sets.newLinkedHashSet();
+        changed.add(LocationComponent.class);
+    }
+
+    @Test
+    public void testUpdateIsSerializedOnceForAllClients() {
+        EntityData.PackedEntity first = cache.getDelta(1, entity, none, changed, none, false, serializer, metrics);
+        EntityData.PackedEntity second = cache.getDelta(1, entity, none, Sets.newHashSet(changed), none, false, serializer,
+                new MetricRecordingHandler());
+        EntityData.PackedEntity third = cache.getDelta(1, entity, none, changed, none, false, serializer, metrics);
+
+        assertSame(first, second);
+        assertSame(first, third);
+        verify(serializer, times(1)).serialize(eq(entity), anySet(), anySet(), anySet(), any());
+        assertEquals(1, metrics.getSerializedEntityUpdatesSinceLastCall());
+        assertEquals(1, metrics.getReusedEntityUpdatesSinceLastCall());
+    }
+
+    @Test
+    public void testDifferentUpdatesAreSerializedSeparately() {
+        Set<Class<? extends Component>> moreChanged = Sets.newHashSet(changed);
+        moreChanged.add(NetworkComponent.class);
+
+        EntityData.PackedEntity nonOwner = cache.getDelta(1, entity, none, changed, none, false, serializer, metrics);
+        EntityData.PackedEntity owner = cache.getDelta(1, entity, none, changed, none, true, serializer, metrics);
+        EntityData.PackedEntity more = cache.getDelta(1, entity, none, moreChanged, none, false, serializer, metrics);
+        EntityData.PackedEntity added = cache.getDelta(1, entity, changed, none, none, false, serializer, metrics);
+
+        assertNotSame(nonOwner, owner);
+        assertNotSame(nonOwner, more);
+        assertNotSame(nonOwner, added);
+        assertEquals(4, metrics.getSerializedEntityUpdatesSinceLastCall());
+        assertEquals(0, metrics.getReusedEntityUpdatesSinceLastCall());
+    }
+
+    @Test
+    public void testChangedEntityIsSerializedAgain() {
+        EntityData.PackedEntity first = cache.getDelta(1, entity, none, changed, none, false, serializer, metrics);
+        cache.invalidate(1);
+        EntityData.PackedEntity second = cache.getDelta(1, entity, none, changed, none, false, serializer, metrics);
+        cache.clear();
+        EntityData.PackedEntity third = cache.getDelta(1, entity, none, changed, none, false, serializer, metrics);
+
+        assertNotSame(first, second);
+        assertNotSame(second, third);
+        assertEquals(3, metrics.getSerializedEntityUpdatesSinceLastCall());
+    }
+}
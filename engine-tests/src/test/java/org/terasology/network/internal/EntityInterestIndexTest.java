@@ -0,0 +1,73 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EntityInterestIndexTest {
+
+    @Test
+    public void testUpdateReportsCellChanges() {
+        EntityInterestIndex index = new EntityInterestIndex();
+
+        assertTrue(index.update(1, new Vector3i(0, 0, 0)));
+        assertFalse(index.update(1, new Vector3i(0, 0, 0)));
+        assertTrue(index.update(1, new Vector3i(1, 0, 0)));
+        assertEquals(new Vector3i(1, 0, 0), index.getCell(1));
+
+        assertTrue(index.remove(1));
+        assertFalse(index.remove(1));
+        assertNull(index.getCell(1));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testFindsEntitiesWithinBox() {
+        EntityInterestIndex index = new EntityInterestIndex();
+        index.update(1, new Vector3i(0, 0, 0));
+        index.update(2, new Vector3i(2, -1, -2));
+        index.update(3, new Vector3i(3, 0, 0));
+        index.update(4, new Vector3i(0, 2, 0));
+        index.update(5, new Vector3i(-2, 1, 2));
+
+        assertEquals(new TIntHashSet(new int[]{1, 2, 5}), collect(index, new Vector3i(0, 0, 0), new Vector3i(2, 1, 2)));
+        assertEquals(new TIntHashSet(new int[]{3}), collect(index, new Vector3i(3, 0, 0), new Vector3i(0, 0, 0)));
+    }
+
+    @Test
+    public void testScanningOccupiedCellsMatchesScanningBox() {
+        EntityInterestIndex index = new EntityInterestIndex();
+        int seed = 7;
+        for (int netId = 1; netId <= 500; netId++) {
+            seed = seed * 1103515245 + 12345;
+            index.update(netId, new Vector3i((seed >>> 4) % 41 - 20, (seed >>> 10) % 9 - 4, (seed >>> 16) % 41 - 20));
+        }
+        Vector3i center = new Vector3i(3, 0, -5);
+
+        /* A small box visits its cells, a large one the occupied cells */
+        for (int extent = 0; extent < 30; extent++) {
+            Vector3i extents = new Vector3i(extent, 2, extent);
+            TIntSet expected = new TIntHashSet();
+            for (int netId = 1; netId <= 500; netId++) {
+                if (EntityInterestIndex.isWithin(center, index.getCell(netId), extents)) {
+                    expected.add(netId);
+                }
+            }
+            assertEquals(expected, collect(index, center, extents));
+        }
+    }
+
+    private static TIntSet collect(EntityInterestIndex index, Vector3i center, Vector3i extents) {
+        TIntSet result = new TIntHashSet();
+        index.forEachWithin(center, extents, result::add);
+        return result;
+    }
+}
@@ -0,0 +1,240 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.TerasologyTestingEnvironment;
+import org.terasology.engine.ComponentSystemManager;
+import org.terasology.engine.EngineTime;
+import org.terasology.engine.bootstrap.EntitySystemSetupUtil;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.entitySystem.entity.EntityBuilder;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.metadata.EventLibrary;
+import org.terasology.logic.location.Location;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.network.NetworkComponent;
+import org.terasology.network.NetworkSystem;
+import org.terasology.rendering.world.viewDistance.ViewDistance;
+import org.terasology.testUtil.ModuleManagerFactory;
+import org.terasology.world.BlockEntityRegistry;
+import org.terasology.world.chunks.ChunkConstants;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks which clients the network system creates relevance replicated entities on, and removes them from. The
+ * clients use {@link ViewDistance#LEGALLY_BLIND}, so entities up to two chunks away from the chunk of a client are
+ * created on it, and are removed once they are more than three chunks away.
+ */
+public class NetworkInterestTest extends TerasologyTestingEnvironment {
+
+    private static final int NEAR_CHUNK = 2;
+    private static final int BORDER_CHUNK = 3;
+    private static final int FAR_CHUNK = 4;
+
+    private EngineEntityManager entityManager;
+    private NetworkSystemImpl networkSystem;
+    private long realTime;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        super.setup();
+        ModuleManager moduleManager = ModuleManagerFactory.create();
+        context.put(ModuleManager.class, moduleManager);
+        EngineTime mockTime = mock(EngineTime.class);
+        /* every update is a net tick */
+        when(mockTime.getRealTimeInMs()).thenAnswer(invocation -> realTime += 1000);
+        networkSystem = new NetworkSystemImpl(mockTime, context);
+        networkSystem.setContext(context);
+        context.put(NetworkSystem.class, networkSystem);
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        entityManager = (PojoEntityManager) context.get(EntityManager.class);
+        context.put(ComponentSystemManager.class, new ComponentSystemManager(context));
+        entityManager.clear();
+        networkSystem.mockHost();
+        networkSystem.connectToEntitySystem(entityManager, context.get(EventLibrary.class), mock(BlockEntityRegistry.class));
+        context.put(ServerConnectListManager.class, new ServerConnectListManager(context));
+    }
+
+    /**
+     * Connects a client whose character is in the given chunk. The client keeps track of the entities created on it
+     * like a NetClient does.
+     */
+    private NetClient connectClient(String id, Vector3i center) {
+        NetClient client = mock(NetClient.class);
+        NetworkComponent clientNetComp = new NetworkComponent();
+        clientNetComp.replicateMode = NetworkComponent.ReplicateMode.OWNER;
+        EntityRef clientEntity = entityManager.create(clientNetComp);
+        networkSystem.registerNetworkEntity(clientEntity);
+
+        TIntSet relevant = new TIntHashSet();
+        when(client.getEntity()).thenReturn(clientEntity);
+        when(client.getId()).thenReturn(id);
+        when(client.getViewDistance()).thenReturn(ViewDistance.LEGALLY_BLIND);
+        when(client.getInterestCenter()).thenReturn(center);
+        when(client.updateInterestCenter()).thenReturn(true);
+        when(client.isNetRelevant(anyInt())).thenAnswer(invocation -> relevant.contains(invocation.<Integer>getArgument(0)));
+        when(client.getNetRelevant()).thenAnswer(invocation -> relevant.toArray());
+        doAnswer(invocation -> relevant.add(invocation.<Integer>getArgument(0))).when(client).setNetInitial(anyInt());
+        doAnswer(invocation -> relevant.remove(invocation.<Integer>getArgument(0))).when(client).setNetRemoved(anyInt());
+
+        networkSystem.addClient(client);
+        networkSystem.update();
+        return client;
+    }
+
+    private EntityRef createRelevantEntity(int chunkX) {
+        EntityBuilder builder = entityManager.newBuilder();
+        NetworkComponent netComp = builder.addComponent(new NetworkComponent());
+        netComp.replicateMode = NetworkComponent.ReplicateMode.RELEVANT;
+        builder.addComponent(new LocationComponent());
+        EntityRef entity = builder.build();
+        moveToChunk(entity, chunkX);
+        return entity;
+    }
+
+    private static void moveToChunk(EntityRef entity, int chunkX) {
+        LocationComponent loc = entity.getComponent(LocationComponent.class);
+        loc.setWorldPosition(new Vector3f(chunkX * ChunkConstants.SIZE_X + 0.5f * ChunkConstants.SIZE_X, 1, 1));
+        entity.saveComponent(loc);
+    }
+
+    private static int netId(EntityRef entity) {
+        return entity.getComponent(NetworkComponent.class).getNetworkId();
+    }
+
+    @Test
+    public void testEntityIsCreatedOnlyOnClientsNearIt() {
+        NetClient client = connectClient("client", new Vector3i(0, 0, 0));
+        EntityRef near = createRelevantEntity(NEAR_CHUNK);
+        EntityRef far = createRelevantEntity(FAR_CHUNK);
+
+        networkSystem.registerNetworkEntity(near);
+        networkSystem.registerNetworkEntity(far);
+
+        verify(client).setNetInitial(netId(near));
+        verify(client, never()).setNetInitial(netId(far));
+    }
+
+    @Test
+    public void testMovingEntityIsRemovedOnlyBeyondHysteresis() {
+        NetClient client = connectClient("client", new Vector3i(0, 0, 0));
+        EntityRef entity = createRelevantEntity(NEAR_CHUNK);
+        networkSystem.registerNetworkEntity(entity);
+        int netId = netId(entity);
+
+        moveToChunk(entity, BORDER_CHUNK);
+        verify(client, never()).setNetRemoved(netId);
+
+        moveToChunk(entity, FAR_CHUNK);
+        verify(client, times(1)).setNetRemoved(netId);
+
+        moveToChunk(entity, BORDER_CHUNK);
+        verify(client, times(1)).setNetInitial(netId);
+
+        moveToChunk(entity, NEAR_CHUNK);
+        verify(client, times(2)).setNetInitial(netId);
+        verify(client, times(1)).setNetRemoved(netId);
+    }
+
+    @Test
+    public void testMovingClientRemovesEntityOnlyBeyondHysteresis() {
+        Vector3i center = new Vector3i(0, 0, 0);
+        NetClient client = connectClient("client", center);
+        EntityRef entity = createRelevantEntity(0);
+        networkSystem.registerNetworkEntity(entity);
+        int netId = netId(entity);
+
+        center.x = -BORDER_CHUNK;
+        networkSystem.update();
+        verify(client, never()).setNetRemoved(netId);
+
+        center.x = -FAR_CHUNK;
+        networkSystem.update();
+        verify(client, times(1)).setNetRemoved(netId);
+
+        center.x = -BORDER_CHUNK;
+        networkSystem.update();
+        verify(client, times(1)).setNetInitial(netId);
+
+        center.x = -NEAR_CHUNK;
+        networkSystem.update();
+        verify(client, times(2)).setNetInitial(netId);
+    }
+
+    @Test
+    public void testOwnedEntityIsRelevantAtAnyDistance() {
+        NetClient client = connectClient("client", new Vector3i(0, 0, 0));
+        EntityRef entity = createRelevantEntity(FAR_CHUNK);
+        entity.setOwner(client.getEntity());
+
+        networkSystem.registerNetworkEntity(entity);
+        moveToChunk(entity, 10 * FAR_CHUNK);
+
+        verify(client).setNetInitial(netId(entity));
+        verify(client, never()).setNetRemoved(netId(entity));
+    }
+
+    @Test
+    public void testEntityStopsBeingRelevantWhenItsOwnerChanges() {
+        NetClient client = connectClient("client", new Vector3i(0, 0, 0));
+        EntityRef entity = createRelevantEntity(FAR_CHUNK);
+        entity.setOwner(client.getEntity());
+        networkSystem.registerNetworkEntity(entity);
+
+        entity.setOwner(EntityRef.NULL);
+        networkSystem.updateOwnership(entity);
+
+        verify(client).setNetRemoved(netId(entity));
+    }
+
+    @Test
+    public void testEntityAttachedToParentIsRelevantAtAnyDistance() {
+        NetClient client = connectClient("client", new Vector3i(0, 0, 0));
+        EntityRef parent = entityManager.create(new LocationComponent());
+        moveToChunk(parent, 10 * FAR_CHUNK);
+        EntityRef entity = createRelevantEntity(FAR_CHUNK);
+        Location.attachChild(parent, entity);
+
+        networkSystem.registerNetworkEntity(entity);
+        moveToChunk(entity, 20 * FAR_CHUNK);
+
+        verify(client).setNetInitial(netId(entity));
+        verify(client, never()).setNetRemoved(netId(entity));
+    }
+
+    @Test
+    public void testEntityIsRemovedOnlyFromClientsWhichHadIt() {
+        NetClient nearClient = connectClient("near", new Vector3i(0, 0, 0));
+        NetClient farClient = connectClient("far", new Vector3i(4 * FAR_CHUNK, 0, 0));
+        EntityRef entity = createRelevantEntity(0);
+        networkSystem.registerNetworkEntity(entity);
+        int netId = netId(entity);
+        assertTrue(nearClient.isNetRelevant(netId));
+        assertFalse(farClient.isNetRelevant(netId));
+
+        networkSystem.unregisterNetworkEntity(entity);
+
+        verify(nearClient).setNetRemoved(netId);
+        verify(farClient, never()).setNetRemoved(netId);
+    }
+}
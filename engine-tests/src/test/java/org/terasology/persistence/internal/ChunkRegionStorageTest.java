@@ -0,0 +1,230 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.persistence.internal;
+
+import com.google.common.collect.ImmutableMap;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkRegionStorageTest {
+    private static final int HEADER_TABLE_OFFSET = 16;
+
+    private Path savePath;
+    private StoragePathProvider storagePathProvider;
+    private ChunkRegionStorage storage;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        savePath = Files.createTempDirectory("chunkRegions");
+        storagePathProvider = new StoragePathProvider(savePath);
+        Files.createDirectories(storagePathProvider.getWorldPath());
+        Files.createDirectories(storagePathProvider.getWorldTempPath());
+        storage = new ChunkRegionStorage(storagePathProvider, true);
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        storage.close();
+        Files.walkFileTree(savePath, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Test
+    public void testMergedJournalCanBeLoaded() throws IOException {
+        Vector3i first = new Vector3i(1, 2, 3);
+        Vector3i second = new Vector3i(-1, -32, 31);
+        writeAndMerge(ImmutableMap.of(first, data(100, 1)));
+        writeAndMerge(ImmutableMap.of(second, data(10000, 2)));
+
+        assertArrayEquals(data(100, 1), storage.loadChunk(first));
+        assertArrayEquals(data(10000, 2), storage.loadChunk(second));
+        assertNull(storage.loadChunk(new Vector3i(1, 2, 4)));
+
+        storage.close();
+        ChunkRegionStorage reopened = new ChunkRegionStorage(storagePathProvider, true);
+        assertArrayEquals(data(100, 1), reopened.loadChunk(first));
+        assertArrayEquals(data(10000, 2), reopened.loadChunk(second));
+        reopened.close();
+    }
+
+    @Test
+    public void testChunksOfOneCellHaveDistinctIndices() {
+        Set<Integer> indices = new HashSet<>();
+        Vector3i regionPos = storagePathProvider.getChunkRegionPosition(new Vector3i(-32, 0, 0));
+        for (int x = -96; x < 96; x++) {
+            Vector3i chunkPos = new Vector3i(x, 0, 0);
+            if (storagePathProvider.getChunkRegionPosition(chunkPos).equals(regionPos)) {
+                assertTrue(indices.add(ChunkRegionFile.getIndex(chunkPos)));
+            }
+        }
+        assertEquals(ChunkRegionFile.CHUNKS_PER_AXIS, indices.size());
+    }
+
+    @Test
+    public void testReplacedChunkFreesSectors() throws IOException {
+        Path regionPath = savePath.resolve("test.chunks.region");
+        try (ChunkRegionFile region = ChunkRegionFile.open(regionPath)) {
+            region.write(singleChunk(0, data(3 * ChunkRegionFile.SECTOR_SIZE, 1)));
+            region.write(singleChunk(1, data(10, 2)));
+            // the new data can't go into the sectors that are still referenced by the header
+            region.write(singleChunk(0, data(2 * ChunkRegionFile.SECTOR_SIZE, 3)));
+            int usedSectors = region.getUsedSectorCount();
+            long fileSize = Files.size(regionPath);
+
+            region.write(singleChunk(2, data(3 * ChunkRegionFile.SECTOR_SIZE, 4)));
+
+            assertEquals(usedSectors + 3, region.getUsedSectorCount());
+            assertEquals(fileSize, Files.size(regionPath));
+            assertArrayEquals(data(2 * ChunkRegionFile.SECTOR_SIZE, 3), region.read(0));
+            assertArrayEquals(data(10, 2), region.read(1));
+            assertArrayEquals(data(3 * ChunkRegionFile.SECTOR_SIZE, 4), region.read(2));
+        }
+    }
+
+    @Test
+    public void testChunkZipGetsMigrated() throws IOException {
+        Vector3i first = new Vector3i(0, 0, 0);
+        Vector3i second = new Vector3i(5, 6, 7);
+        Vector3i regionPos = storagePathProvider.getChunkRegionPosition(first);
+        Path chunkZipPath = storagePathProvider.getChunkZipPath(regionPos);
+        writeChunkZip(chunkZipPath, ImmutableMap.of(first, data(50, 1), second, data(60, 2)));
+
+        ChunkRegionStorage readOnly = new ChunkRegionStorage(storagePathProvider, false);
+        assertArrayEquals(data(50, 1), readOnly.loadChunk(first));
+        assertTrue(Files.isRegularFile(chunkZipPath));
+
+        assertArrayEquals(data(60, 2), storage.loadChunk(second));
+        assertFalse(Files.exists(chunkZipPath));
+        assertTrue(Files.isRegularFile(storagePathProvider.getChunkRegionPath(regionPos)));
+        assertArrayEquals(data(50, 1), storage.loadChunk(first));
+    }
+
+    @Test
+    public void testReadOnlyStorageDoesNotModifyRegions() throws IOException {
+        Vector3i stored = new Vector3i(0, 0, 0);
+        Vector3i broken = new Vector3i(1, 0, 0);
+        writeAndMerge(ImmutableMap.of(stored, data(50, 1), broken, data(60, 2)));
+        storage.close();
+        Path regionPath = storagePathProvider.getChunkRegionPath(storagePathProvider.getChunkRegionPosition(stored));
+        try (FileChannel channel = FileChannel.open(regionPath, StandardOpenOption.WRITE)) {
+            // point the header entry of the second chunk past the end of the file
+            ByteBuffer entry = ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE);
+            channel.write(entry, HEADER_TABLE_OFFSET + ChunkRegionFile.getIndex(broken) * 8L);
+        }
+        byte[] regionBefore = Files.readAllBytes(regionPath);
+
+        ChunkRegionStorage readOnly = new ChunkRegionStorage(storagePathProvider, false);
+        assertArrayEquals(data(50, 1), readOnly.loadChunk(stored));
+        assertNull(readOnly.loadChunk(broken));
+        assertNull(readOnly.loadChunk(new Vector3i(ChunkRegionFile.CHUNKS_PER_AXIS, 0, 0)));
+        readOnly.close();
+
+        assertArrayEquals(regionBefore, Files.readAllBytes(regionPath));
+        assertFalse(Files.exists(storagePathProvider.getChunkRegionPath(
+                storagePathProvider.getChunkRegionPosition(new Vector3i(ChunkRegionFile.CHUNKS_PER_AXIS, 0, 0)))));
+    }
+
+    @Test
+    public void testClosedRegionFileCanBeMoved() throws IOException {
+        Path regionPath = savePath.resolve("test.chunks.region");
+        Path movedPath = savePath.resolve("moved.chunks.region");
+        try (ChunkRegionFile region = ChunkRegionFile.open(regionPath)) {
+            region.write(singleChunk(0, data(100, 1)));
+            assertArrayEquals(data(100, 1), region.read(0));
+        }
+
+        Files.move(regionPath, movedPath);
+
+        try (ChunkRegionFile region = ChunkRegionFile.openReadOnly(movedPath)) {
+            assertArrayEquals(data(100, 1), region.read(0));
+        }
+    }
+
+    @Test
+    public void testJournalIsAppliedOnTopOfChunkZip() throws IOException {
+        Vector3i first = new Vector3i(0, 0, 0);
+        Vector3i second = new Vector3i(1, 0, 0);
+        Vector3i regionPos = storagePathProvider.getChunkRegionPosition(first);
+        writeChunkZip(storagePathProvider.getChunkZipPath(regionPos), ImmutableMap.of(first, data(50, 1), second, data(60, 2)));
+
+        writeAndMerge(ImmutableMap.of(second, data(70, 3)));
+
+        assertArrayEquals(data(50, 1), storage.loadChunk(first));
+        assertArrayEquals(data(70, 3), storage.loadChunk(second));
+    }
+
+    private void writeAndMerge(Map<Vector3ic, byte[]> chunks) throws IOException {
+        Vector3i regionPos = storagePathProvider.getChunkRegionPosition(chunks.keySet().iterator().next());
+        Path journalPath = storagePathProvider.getChunkRegionJournalTempPath(regionPos);
+        ChunkRegionStorage.writeJournal(journalPath, chunks);
+        assertTrue(storage.isRegionUpdate(journalPath));
+        storage.merge(journalPath);
+        assertFalse(Files.exists(journalPath));
+    }
+
+    private void writeChunkZip(Path chunkZipPath, Map<Vector3i, byte[]> chunks) throws IOException {
+        try (FileSystem zip = FileSystems.newFileSystem(URI.create("jar:" + chunkZipPath.toUri()),
+                ImmutableMap.of("create", "true"))) {
+            for (Map.Entry<Vector3i, byte[]> entry : chunks.entrySet()) {
+                try (OutputStream out = Files.newOutputStream(zip.getPath(storagePathProvider.getChunkFilename(entry.getKey())))) {
+                    out.write(entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static TIntObjectMap<byte[]> singleChunk(int index, byte[] chunkData) {
+        TIntObjectMap<byte[]> chunks = new TIntObjectHashMap<>();
+        chunks.put(index, chunkData);
+        return chunks;
+    }
+
+    private static byte[] data(int length, int seed) {
+        byte[] result = new byte[length];
+        Arrays.fill(result, (byte) seed);
+        for (int i = 0; i < length; i += 7) {
+            result[i] = (byte) (i * seed);
+        }
+        return result;
+    }
+}
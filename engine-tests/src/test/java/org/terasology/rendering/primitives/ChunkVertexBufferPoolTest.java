@@ -0,0 +1,65 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.rendering.primitives;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.IntBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkVertexBufferPoolTest {
+
+    @Test
+    public void testCapacityIsRoundedUpToPowerOfTwo() {
+        ChunkVertexBufferPool pool = new ChunkVertexBufferPool();
+
+        assertEquals(1024, pool.acquire(0).capacity());
+        assertEquals(1024, pool.acquire(1024).capacity());
+        assertEquals(2048, pool.acquire(1025).capacity());
+        assertTrue(pool.acquire(5000).isDirect());
+    }
+
+    @Test
+    public void testReleasedBufferIsReusedCleared() {
+        ChunkVertexBufferPool pool = new ChunkVertexBufferPool();
+        IntBuffer buffer = pool.acquire(3000);
+        buffer.put(42).flip();
+        pool.release(buffer);
+
+        IntBuffer reused = pool.acquire(2049);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(reused.capacity(), reused.limit());
+        assertEquals(1, pool.getAllocationCount());
+        assertEquals(1, pool.getReuseCount());
+        assertEquals(0, pool.getRetainedBytes());
+    }
+
+    @Test
+    public void testDifferentSizesAreNotMixed() {
+        ChunkVertexBufferPool pool = new ChunkVertexBufferPool();
+        IntBuffer small = pool.acquire(1024);
+        pool.release(small);
+
+        assertNotSame(small, pool.acquire(4096));
+        assertSame(small, pool.acquire(1000));
+    }
+
+    @Test
+    public void testRetainedMemoryIsLimited() {
+        ChunkVertexBufferPool pool = new ChunkVertexBufferPool(4096 * 4);
+        IntBuffer first = pool.acquire(4096);
+        IntBuffer second = pool.acquire(4096);
+        pool.release(first);
+        pool.release(second);
+
+        assertEquals(4096 * 4, pool.getRetainedBytes());
+        assertSame(first, pool.acquire(4096));
+        assertNotSame(second, pool.acquire(4096));
+        assertEquals(3, pool.getAllocationCount());
+    }
+}
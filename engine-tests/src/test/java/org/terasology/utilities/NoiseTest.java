@@ -31,6 +31,7 @@
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -55,6 +56,13 @@ public static List<Noise> data() {
             );
     }
 
+    public static List<Noise> gridData() {
+        List<Noise> result = data();
+        result.add(new BrownianNoise(new SimplexNoise(0xCAFE), 4));
+        result.add(new BrownianNoise(new PerlinNoise(0xCAFE), 4));
+        return result;
+    }
+
     @ParameterizedTest
     @MethodSource("data")
     public void testMinMax(Noise noiseGen) {
@@ -101,4 +109,51 @@ public void testResolution(Noise noiseGen) {
 
         fail();
     }
+
+    @ParameterizedTest
+    @MethodSource("gridData")
+    public void testGrid2DMatchesSinglePoints(Noise noiseGen) {
+        float[] xs = randomPositions(17);
+        float[] ys = randomPositions(9);
+
+        float[] expected = new float[xs.length * ys.length];
+        for (int y = 0; y < ys.length; y++) {
+            for (int x = 0; x < xs.length; x++) {
+                expected[x + y * xs.length] = noiseGen.noise(xs[x], ys[y]);
+            }
+        }
+
+        float[] actual = new float[xs.length * ys.length];
+        noiseGen.noise(xs, ys, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @ParameterizedTest
+    @MethodSource("gridData")
+    public void testGrid3DMatchesSinglePoints(Noise noiseGen) {
+        float[] xs = randomPositions(13);
+        float[] ys = randomPositions(7);
+        float[] zs = randomPositions(5);
+
+        float[] expected = new float[xs.length * ys.length * zs.length];
+        for (int z = 0; z < zs.length; z++) {
+            for (int y = 0; y < ys.length; y++) {
+                for (int x = 0; x < xs.length; x++) {
+                    expected[x + xs.length * (y + ys.length * z)] = noiseGen.noise(xs[x], ys[y], zs[z]);
+                }
+            }
+        }
+
+        float[] actual = new float[xs.length * ys.length * zs.length];
+        noiseGen.noise(xs, ys, zs, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    private float[] randomPositions(int count) {
+        float[] positions = new float[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = (rng.nextFloat() - 0.5f) * 200f;
+        }
+        return positions;
+    }
 }
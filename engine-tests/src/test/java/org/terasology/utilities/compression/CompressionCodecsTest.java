@@ -0,0 +1,110 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.utilities.compression;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.terasology.utilities.random.FastRandom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressionCodecsTest {
+
+    public static List<CompressionCodec> codecs() {
+        return CompressionCodecs.getAll();
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    public void testRoundTrip(CompressionCodec codec) throws IOException {
+        for (byte[] data : testData()) {
+            byte[] compressed = codec.compress(data);
+            assertEquals(codec.getId(), compressed[0]);
+            assertArrayEquals(data, codec.decompress(compressed));
+            assertArrayEquals(data, CompressionCodecs.decompress(compressed));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    public void testRepetitiveDataShrinks(CompressionCodec codec) {
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 37 < 30 ? 1 : i % 7);
+        }
+        assertTrue(codec.compress(data).length < data.length / 10);
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    public void testTruncatedDataFails(CompressionCodec codec) {
+        byte[] data = testData()[3];
+        byte[] compressed = codec.compress(data);
+        assertThrows(IOException.class, () -> codec.decompress(Arrays.copyOf(compressed, compressed.length / 2)));
+    }
+
+    @Test
+    public void testLzNegativeLengthFails() {
+        /* the fifth length byte sets the sign bit */
+        byte[] data = {LzCompressionCodec.ID, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x0f, 0x10, 42};
+        assertThrows(IOException.class, () -> CompressionCodecs.LZ.decompress(data));
+    }
+
+    @Test
+    public void testLzOverlongLengthFails() {
+        byte[] data = {LzCompressionCodec.ID, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01, 0x10, 42};
+        assertThrows(IOException.class, () -> CompressionCodecs.LZ.decompress(data));
+    }
+
+    @Test
+    public void testLzOversizedLengthFails() throws IOException {
+        byte[] largest = new byte[LzCompressionCodec.MAX_LENGTH];
+        assertEquals(largest.length, CompressionCodecs.LZ.decompress(CompressionCodecs.LZ.compress(largest)).length);
+
+        byte[] oversized = CompressionCodecs.LZ.compress(new byte[LzCompressionCodec.MAX_LENGTH + 1]);
+        assertThrows(IOException.class, () -> CompressionCodecs.LZ.decompress(oversized));
+    }
+
+    @Test
+    public void testGzipDataWithoutCodecCanBeRead() throws IOException {
+        byte[] data = testData()[3];
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(baos)) {
+            gzipOut.write(data);
+        }
+        assertArrayEquals(data, CompressionCodecs.decompress(baos.toByteArray()));
+    }
+
+    @Test
+    public void testGetByName() {
+        assertEquals(CompressionCodecs.LZ, CompressionCodecs.getByName("lz", CompressionCodecs.GZIP));
+        assertEquals(CompressionCodecs.GZIP, CompressionCodecs.getByName("unknown", CompressionCodecs.GZIP));
+    }
+
+    private static byte[][] testData() {
+        FastRandom random = new FastRandom(0xCAFE);
+        byte[] randomBytes = new byte[5000];
+        for (int i = 0; i < randomBytes.length; i++) {
+            randomBytes[i] = (byte) random.nextInt(256);
+        }
+        byte[] runs = new byte[70000];
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = (byte) (i / 1000);
+        }
+        byte[] mixed = new byte[200000];
+        for (int i = 0; i < mixed.length; i++) {
+            mixed[i] = (byte) (random.nextInt(10) == 0 ? random.nextInt(256) : i % 300);
+        }
+        return new byte[][]{new byte[0], new byte[]{42}, "Terasology".getBytes(), mixed, randomBytes, runs};
+    }
+}
@@ -71,6 +71,21 @@ public void testChangeBlock() {
         assertEquals(solid, chunk.getBlock(new Vector3i(1, 2, 3)));
     }
 
+    @Test
+    public void testGetBlockColumn() {
+        chunk.setBlock(new Vector3i(4, 0, 5), solid);
+        chunk.setBlock(new Vector3i(4, 100, 5), solid);
+        chunk.setBlock(new Vector3i(5, 4, 4), solid);
+
+        Block[] column = chunk.getBlockColumn(4, 5, new Block[ChunkConstants.SIZE_Y]);
+
+        for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+            assertEquals(chunk.getBlock(4, y, 5), column[y]);
+        }
+        assertEquals(solid, column[100]);
+        assertEquals(blockManager.getBlock(BlockManager.AIR_ID), column[4]);
+    }
+
     @Test
     public void testGetAabb() {
         assertEquals(new Vector3f(0, 0, 0), chunk.getAABB().getMin());
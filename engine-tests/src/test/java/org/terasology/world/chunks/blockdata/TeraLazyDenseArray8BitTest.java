@@ -0,0 +1,143 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.chunks.blockdata;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.terasology.world.chunks.deflate.TeraStandardDeflator;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TeraLazyDenseArray8BitTest {
+
+    private static final int SIZE_X = 16;
+    private static final int SIZE_Y = 32;
+    private static final int SIZE_Z = 16;
+
+    @Test
+    public void testWritingTheUniformValueAllocatesNothing() {
+        TeraLazyDenseArray8Bit array = new TeraLazyDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z, (byte) 15);
+
+        assertEquals(15, array.set(1, 2, 3, 15));
+        assertTrue(array.set(4, 5, 6, 15, 15));
+        assertFalse(array.set(4, 5, 6, 3, 0));
+
+        assertTrue(array.isUniform());
+        assertEquals(15, array.get(7, 8, 9));
+        assertTrue(array.getEstimatedMemoryConsumptionInBytes() < 64);
+    }
+
+    @Test
+    public void testDivergentWriteAllocatesElements() {
+        TeraLazyDenseArray8Bit array = new TeraLazyDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z, (byte) 15);
+
+        assertEquals(15, array.set(1, 2, 3, 4));
+
+        assertFalse(array.isUniform());
+        assertEquals(4, array.get(1, 2, 3));
+        assertEquals(15, array.get(3, 2, 1));
+        assertEquals(15, array.get(SIZE_X - 1, SIZE_Y - 1, SIZE_Z - 1));
+        assertTrue(array.getEstimatedMemoryConsumptionInBytes() > SIZE_X * SIZE_Y * SIZE_Z);
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        TeraLazyDenseArray8Bit array = new TeraLazyDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        TeraArray uniformCopy = array.copy();
+        array.set(0, 0, 0, 1);
+        TeraArray copy = array.copy();
+        copy.set(0, 0, 0, 2);
+
+        assertEquals(0, uniformCopy.get(0, 0, 0));
+        assertEquals(1, array.get(0, 0, 0));
+        assertEquals(2, copy.get(0, 0, 0));
+    }
+
+    @Test
+    public void testDeflatingUniformElementsMakesArrayUniform() {
+        TeraLazyDenseArray8Bit array = new TeraLazyDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        array.set(0, 0, 0, 5);
+        array.set(0, 0, 0, 0);
+
+        TeraArray deflated = new TeraStandardDeflator().deflate(array);
+
+        assertTrue(deflated instanceof TeraLazyDenseArray8Bit);
+        assertTrue(((TeraLazyDenseArray8Bit) deflated).isUniform());
+        assertEquals(0, deflated.get(0, 0, 0));
+    }
+
+    @Test
+    public void testDeflatingDifferentElementsUsesDeflator() {
+        TeraLazyDenseArray8Bit array = new TeraLazyDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        array.set(3, 4, 5, 5);
+
+        TeraArray deflated = new TeraStandardDeflator().deflate(array);
+
+        assertTrue(deflated.isSparse());
+        assertEquals(5, deflated.get(3, 4, 5));
+        assertEquals(0, deflated.get(5, 4, 3));
+    }
+
+    @Test
+    public void testSerializationRoundTrips() {
+        TeraLazyDenseArray8Bit.SerializationHandler handler = new TeraLazyDenseArray8Bit.SerializationHandler();
+        TeraLazyDenseArray8Bit uniform = new TeraLazyDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z, (byte) 7);
+        TeraLazyDenseArray8Bit allocated = new TeraLazyDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z, (byte) 7);
+        allocated.set(1, 1, 1, 2);
+
+        for (TeraLazyDenseArray8Bit array : new TeraLazyDenseArray8Bit[]{uniform, allocated}) {
+            ByteBuffer buffer = handler.serialize(array);
+            buffer.rewind();
+            TeraLazyDenseArray8Bit deserialized = (TeraLazyDenseArray8Bit) handler.deserialize(buffer);
+
+            assertEquals(array.isUniform(), deserialized.isUniform());
+            assertEquals(array.get(1, 1, 1), deserialized.get(1, 1, 1));
+            assertEquals(7, deserialized.get(0, 0, 0));
+        }
+    }
+
+    @Test
+    public void testConcurrentWritesToUniformArrayAreKept() throws Exception {
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 100; round++) {
+                TeraLazyDenseArray8Bit array = new TeraLazyDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z, (byte) 7);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> writes = Lists.newArrayList();
+                for (int thread = 0; thread < threads; thread++) {
+                    int x = thread;
+                    writes.add(executor.submit(() -> {
+                        start.await();
+                        for (int z = 0; z < SIZE_Z; z++) {
+                            array.set(x, 1, z, x + 1);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> write : writes) {
+                    write.get();
+                }
+
+                for (int x = 0; x < threads; x++) {
+                    for (int z = 0; z < SIZE_Z; z++) {
+                        assertEquals(x + 1, array.get(x, 1, z));
+                    }
+                }
+                assertEquals(7, array.get(SIZE_X - 1, SIZE_Y - 1, SIZE_Z - 1));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.chunks.blockdata;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.world.chunks.deflate.TeraPaletteDeflator;
+import org.terasology.world.chunks.deflate.TeraStandardDeflator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TeraPaletteArrayTest {
+
+    private static final int SIZE_X = 16;
+    private static final int SIZE_Y = 32;
+    private static final int SIZE_Z = 16;
+
+    @Test
+    public void testNewArrayStoresNoEntries() {
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+
+        assertEquals(0, array.getElementSizeInBits());
+        assertEquals(0, array.get(3, 7, 11));
+        assertEquals(0, array.set(3, 7, 11, 0));
+        assertEquals(0, array.getElementSizeInBits());
+    }
+
+    @Test
+    public void testEntriesWidenWithTheNumberOfValues() {
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+        int[] expectedBits = {1, 2, 2, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4};
+        for (int i = 0; i < expectedBits.length; i++) {
+            array.set(i, i, i, i + 1);
+            assertEquals(expectedBits[i], array.getElementSizeInBits());
+        }
+        array.set(0, 20, 0, 100);
+        assertEquals(8, array.getElementSizeInBits());
+        for (int i = 0; i < 256; i++) {
+            array.set(i % SIZE_X, 31, i / SIZE_X, 1000 + i);
+        }
+        assertEquals(16, array.getElementSizeInBits());
+
+        for (int i = 0; i < expectedBits.length; i++) {
+            assertEquals(i + 1, array.get(i, i, i));
+        }
+        assertEquals(100, array.get(0, 20, 0));
+        for (int i = 0; i < 256; i++) {
+            assertEquals(1000 + i, array.get(i % SIZE_X, 31, i / SIZE_X));
+        }
+        assertEquals(0, array.get(1, 0, 0));
+    }
+
+    @Test
+    public void testBehavesLikeDenseArray() {
+        TeraDenseArray16Bit dense = new TeraDenseArray16Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        TeraPaletteArray palette = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+        int seed = 42;
+        for (int i = 0; i < 20000; i++) {
+            seed = seed * 1103515245 + 12345;
+            int x = (seed >>> 4) % SIZE_X;
+            int y = (seed >>> 8) % SIZE_Y;
+            int z = (seed >>> 13) % SIZE_Z;
+            /* Mostly few values, growing towards many values including negative ones */
+            int value = ((seed >>> 18) % (1 + i / 40)) - (i > 15000 ? 300 : 0);
+            assertEquals(dense.set(x, y, z, value), palette.set(x, y, z, value));
+            int expected = (seed >>> 3) % 5;
+            assertEquals(dense.set(z, x, y, value + 1, expected), palette.set(z, x, y, value + 1, expected));
+        }
+        assertSameContent(dense, palette);
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+        array.set(1, 2, 3, 4);
+        TeraArray copy = array.copy();
+
+        for (int i = 0; i < 30; i++) {
+            copy.set(i % SIZE_X, i, 0, 50 + i);
+        }
+
+        assertNotSame(array, copy);
+        assertEquals(4, copy.get(1, 2, 3));
+        assertEquals(0, array.get(0, 0, 0));
+        assertEquals(1, array.getElementSizeInBits());
+        assertEquals(50, copy.get(0, 0, 0));
+    }
+
+    @Test
+    public void testDeflateDropsUnusedValues() {
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+        for (int i = 0; i < 20; i++) {
+            array.set(i % SIZE_X, i, 0, i + 1);
+        }
+        for (int i = 2; i < 20; i++) {
+            array.set(i % SIZE_X, i, 0, 0);
+        }
+        assertEquals(8, array.getElementSizeInBits());
+
+        TeraArray deflated = new TeraStandardDeflator().deflate(array);
+
+        assertTrue(deflated instanceof TeraPaletteArray);
+        assertEquals(2, deflated.getElementSizeInBits());
+        assertEquals(3, ((TeraPaletteArray) deflated).getPaletteSize());
+        assertTrue(deflated.getEstimatedMemoryConsumptionInBytes() < array.getEstimatedMemoryConsumptionInBytes());
+        assertSameContent(array, deflated);
+    }
+
+    @Test
+    public void testSerializationRoundTrips() {
+        TeraPaletteArray.SerializationHandler handler = new TeraPaletteArray.SerializationHandler();
+        int[] valueCounts = {1, 3, 40, 400};
+        for (int valueCount : valueCounts) {
+            TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z);
+            for (int i = 0; i < valueCount; i++) {
+                array.set(i % SIZE_X, (i / SIZE_X) % SIZE_Y, i / (SIZE_X * SIZE_Y), -i);
+            }
+            ByteBuffer buffer = handler.serialize(array);
+            buffer.rewind();
+            TeraArray deserialized = handler.deserialize(buffer);
+
+            assertFalse(buffer.hasRemaining());
+            assertEquals(array.getElementSizeInBits(), deserialized.getElementSizeInBits());
+            assertSameContent(array, deserialized);
+            deserialized.set(0, SIZE_Y - 1, 0, 12345);
+            assertEquals(12345, deserialized.get(0, SIZE_Y - 1, 0));
+        }
+    }
+
+    @Test
+    public void testCreatedFromValues() {
+        short[] values = new short[SIZE_X * SIZE_Y * SIZE_Z];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (short) (i % 7 == 0 ? -2 : 9);
+        }
+        TeraPaletteArray array = new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z, values);
+
+        assertEquals(1, array.getElementSizeInBits());
+        assertSameContent(new TeraDenseArray16Bit(SIZE_X, SIZE_Y, SIZE_Z, values), array);
+    }
+
+    @Test
+    public void testReaderNeverSeesValuesWhichWereNotWritten() throws InterruptedException {
+        int cells = 300;
+        AtomicReference<TeraPaletteArray> current = new AtomicReference<>(createUniform((short) 7));
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (writing.get() && failure.get() == null) {
+                TeraPaletteArray array = current.get();
+                for (int i = 0; i < cells; i++) {
+                    int value = array.get(i % SIZE_X, i / (SIZE_X * SIZE_Z), (i / SIZE_X) % SIZE_Z);
+                    if (value != 7 && value != 1000 + i) {
+                        failure.set("Read " + value + " from cell " + i);
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int round = 0; round < 200 && failure.get() == null; round++) {
+            TeraPaletteArray array = createUniform((short) 7);
+            current.set(array);
+            for (int i = 0; i < cells; i++) {
+                array.set(i % SIZE_X, i / (SIZE_X * SIZE_Z), (i / SIZE_X) % SIZE_Z, 1000 + i);
+            }
+        }
+        writing.set(false);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(16, current.get().getElementSizeInBits());
+    }
+
+    @Test
+    public void testPaletteDeflatorTurnsDenseArraysIntoPaletteArrays() {
+        TeraDenseArray16Bit dense = new TeraDenseArray16Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        for (int y = 0; y < SIZE_Y; y++) {
+            for (int z = 0; z < SIZE_Z; z++) {
+                for (int x = 0; x < SIZE_X; x++) {
+                    dense.set(x, y, z, (x + y + z) % 3);
+                }
+            }
+        }
+
+        TeraArray deflated = new TeraPaletteDeflator().deflate(dense);
+
+        assertTrue(deflated instanceof TeraPaletteArray);
+        assertEquals(2, deflated.getElementSizeInBits());
+        assertSameContent(dense, deflated);
+    }
+
+    @Test
+    public void testPaletteDeflatorKeepsSparseArraysOfUniformLayers() {
+        TeraDenseArray16Bit dense = new TeraDenseArray16Bit(SIZE_X, SIZE_Y, SIZE_Z);
+        for (int z = 0; z < SIZE_Z; z++) {
+            for (int x = 0; x < SIZE_X; x++) {
+                dense.set(x, 0, z, 1);
+            }
+        }
+
+        TeraArray deflated = new TeraPaletteDeflator().deflate(dense);
+
+        assertTrue(deflated.isSparse());
+        assertSameContent(dense, deflated);
+    }
+
+    private static TeraPaletteArray createUniform(short value) {
+        short[] values = new short[SIZE_X * SIZE_Y * SIZE_Z];
+        Arrays.fill(values, value);
+        return new TeraPaletteArray(SIZE_X, SIZE_Y, SIZE_Z, values);
+    }
+
+    private static void assertSameContent(TeraArray expected, TeraArray actual) {
+        for (int y = 0; y < SIZE_Y; y++) {
+            for (int z = 0; z < SIZE_Z; z++) {
+                for (int x = 0; x < SIZE_X; x++) {
+                    assertEquals(expected.get(x, y, z), actual.get(x, y, z));
+                }
+            }
+        }
+    }
+}
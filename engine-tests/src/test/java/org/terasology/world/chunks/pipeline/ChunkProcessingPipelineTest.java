@@ -30,6 +30,7 @@
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -88,6 +89,45 @@ void simpleStopProcessingSuccess() {
         );
     }
 
+    @Test
+    void dedicatedStageNotBlockedByGeneration() throws ExecutionException, InterruptedException, TimeoutException {
+        pipeline = new ChunkProcessingPipeline((p) -> null, (o1, o2) -> 0, 1);
+        pipeline.addStage(ChunkTaskProvider.create("dummy task with own thread", (c) -> c), 1);
+
+        Vector3i position = new Vector3i(0, 0, 0);
+        Chunk chunk = createChunkAt(position);
+        CountDownLatch generated = new CountDownLatch(1);
+        Future<Chunk> chunkFuture = pipeline.invokeGeneratorTask(position, () -> {
+            generated.countDown();
+            return chunk;
+        });
+        // let the only shared thread finish generation of first chunk.
+        Assertions.assertTrue(generated.await(1, TimeUnit.SECONDS));
+
+        Vector3i slowPosition = new Vector3i(1, 0, 0);
+        Chunk slowChunk = createChunkAt(slowPosition);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        pipeline.invokeGeneratorTask(slowPosition, () -> {
+            slowStarted.countDown();
+            try {
+                releaseSlow.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return slowChunk;
+        });
+
+        try {
+            Assertions.assertTrue(slowStarted.await(1, TimeUnit.SECONDS), "Slow generation must occupy the shared thread");
+            Chunk chunkAfterProcessing = chunkFuture.get(1, TimeUnit.SECONDS);
+            Assertions.assertEquals(chunkAfterProcessing.getPosition(new Vector3i()), chunk.getPosition(new Vector3i()),
+                    "Stage with own thread must not wait for slow generation on the shared thread");
+        } finally {
+            releaseSlow.countDown();
+        }
+    }
+
     /**
      * Imagine that we have task, which requires neighbors with same Z level. neighbors chunk already in chunk cache.
      */
@@ -152,6 +192,7 @@ void multiRequirementsChunksWillGeneratedSuccess() throws ExecutionException, In
         Thread.sleep(1_000); // sleep 1 second. and check future.
         Assertions.assertFalse(chunkFuture.isDone(), "Chunk must be not generated, because ChunkTask have not exists " +
                 "neighbors in requirements");
+        Assertions.assertEquals(1, pipeline.getWaitingChunkCount(), "Chunk must wait for its missing neighbors");
 
         chunkToGenerate.forEach((position, neighborChunk) -> pipeline.invokeGeneratorTask(position,
                 () -> neighborChunk));
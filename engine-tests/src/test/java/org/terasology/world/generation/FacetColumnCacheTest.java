@@ -0,0 +1,157 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.generation;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.CoreChunk;
+import org.terasology.world.generation.facets.base.BaseFacet2D;
+import org.terasology.world.generation.facets.base.BaseFacet3D;
+import org.terasology.world.generator.plugin.WorldGeneratorPluginLibrary;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FacetColumnCacheTest {
+
+    private static final Vector3i CHUNK_SIZE = new Vector3i(32, 64, 32);
+
+    private Context context = new ContextImpl();
+
+    private ColumnProvider columnProvider;
+    private VolumeProvider volumeProvider;
+    private RecordingRasterizer rasterizer;
+    private WorldImpl world;
+
+    @BeforeEach
+    public void setup() {
+        columnProvider = new ColumnProvider();
+        volumeProvider = new VolumeProvider();
+        rasterizer = new RecordingRasterizer();
+
+        WorldBuilder worldBuilder = new WorldBuilder(context.get(WorldGeneratorPluginLibrary.class));
+        worldBuilder.setSeed(12);
+        worldBuilder.addProvider(columnProvider);
+        worldBuilder.addProvider(volumeProvider);
+        worldBuilder.addRasterizer(rasterizer);
+        world = (WorldImpl) worldBuilder.build();
+    }
+
+    @Test
+    public void testStackedChunksShareColumnFacet() {
+        world.rasterizeChunk(chunkAt(0, 0, 0), null);
+        ColumnFacet lower = rasterizer.lastColumnFacet;
+        world.rasterizeChunk(chunkAt(0, 1, 0), null);
+        ColumnFacet upper = rasterizer.lastColumnFacet;
+
+        assertSame(lower, upper);
+        assertEquals(1, columnProvider.invocations);
+        assertEquals(2, volumeProvider.invocations);
+        assertEquals(1, world.getColumnCache().getHitCount());
+        assertEquals(1, world.getColumnCache().getMissCount());
+    }
+
+    @Test
+    public void testNeighbouringColumnsAreGeneratedSeparately() {
+        world.rasterizeChunk(chunkAt(0, 0, 0), null);
+        ColumnFacet first = rasterizer.lastColumnFacet;
+        world.rasterizeChunk(chunkAt(1, 0, 0), null);
+        ColumnFacet second = rasterizer.lastColumnFacet;
+
+        assertNotSame(first, second);
+        assertEquals(2, columnProvider.invocations);
+        assertEquals(0, world.getColumnCache().getHitCount());
+        assertEquals(2, world.getColumnCache().getMissCount());
+    }
+
+    @Test
+    public void testWorldDataIsNotCached() {
+        world.getWorldData(chunkAt(0, 0, 0).getRegion()).getFacet(VolumeFacet.class);
+        world.getWorldData(chunkAt(0, 1, 0).getRegion()).getFacet(VolumeFacet.class);
+
+        assertEquals(2, columnProvider.invocations);
+        assertEquals(0, world.getColumnCache().size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        ListMultimap<Class<? extends WorldFacet>, FacetProvider> chains = ArrayListMultimap.create();
+        chains.put(ColumnFacet.class, columnProvider);
+        FacetColumnCache cache = new FacetColumnCache(chains, 1);
+
+        new RegionImpl(chunkAt(0, 0, 0).getRegion(), chains, Collections.emptyMap(), cache).getFacet(ColumnFacet.class);
+        new RegionImpl(chunkAt(1, 0, 0).getRegion(), chains, Collections.emptyMap(), cache).getFacet(ColumnFacet.class);
+        new RegionImpl(chunkAt(0, 1, 0).getRegion(), chains, Collections.emptyMap(), cache).getFacet(ColumnFacet.class);
+
+        assertEquals(3, columnProvider.invocations);
+        assertEquals(1, cache.size());
+    }
+
+    private static CoreChunk chunkAt(int x, int y, int z) {
+        CoreChunk chunk = mock(CoreChunk.class);
+        Region3i region = Region3i.createFromMinAndSize(
+                new Vector3i(x * CHUNK_SIZE.x, y * CHUNK_SIZE.y, z * CHUNK_SIZE.z), CHUNK_SIZE);
+        when(chunk.getRegion()).thenReturn(region);
+        return chunk;
+    }
+
+    public static class ColumnFacet extends BaseFacet2D {
+        public ColumnFacet(Region3i targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    public static class VolumeFacet extends BaseFacet3D {
+        public VolumeFacet(Region3i targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    @Produces(ColumnFacet.class)
+    public static class ColumnProvider implements FacetProvider {
+        private int invocations;
+
+        @Override
+        public void process(GeneratingRegion region) {
+            invocations++;
+            region.setRegionFacet(ColumnFacet.class, new ColumnFacet(region.getRegion(), region.getBorderForFacet(ColumnFacet.class)));
+        }
+    }
+
+    @Produces(VolumeFacet.class)
+    @Requires(@Facet(value = ColumnFacet.class, border = @FacetBorder(sides = 1)))
+    public static class VolumeProvider implements FacetProvider {
+        private int invocations;
+
+        @Override
+        public void process(GeneratingRegion region) {
+            invocations++;
+            region.setRegionFacet(VolumeFacet.class, new VolumeFacet(region.getRegion(), region.getBorderForFacet(VolumeFacet.class)));
+        }
+    }
+
+    public static class RecordingRasterizer implements WorldRasterizer {
+        private ColumnFacet lastColumnFacet;
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void generateChunk(CoreChunk chunk, Region chunkRegion) {
+            chunkRegion.getFacet(VolumeFacet.class);
+            lastColumnFacet = chunkRegion.getFacet(ColumnFacet.class);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.internal;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.TerasologyTestingEnvironment;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.assets.management.AssetManager;
+import org.terasology.engine.SimpleUri;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.WorldChangeListener;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockRegion;
+import org.terasology.world.block.BlockRegions;
+import org.terasology.world.block.family.SymmetricFamily;
+import org.terasology.world.block.internal.BlockManagerImpl;
+import org.terasology.world.block.loader.BlockFamilyDefinition;
+import org.terasology.world.block.loader.BlockFamilyDefinitionData;
+import org.terasology.world.block.tiles.NullWorldAtlas;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkProvider;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.propagation.BlockChange;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WorldProviderCoreImplTest extends TerasologyTestingEnvironment {
+
+    private final Map<Vector3i, Chunk> chunks = Maps.newHashMap();
+    private final List<Collection<BlockChange>> notifiedChanges = Lists.newArrayList();
+
+    private WorldProviderCoreImpl worldProvider;
+    private Block air;
+    private Block stone;
+    private Block dirt;
+
+    @BeforeEach
+    @Override
+    public void setup() throws Exception {
+        super.setup();
+        AssetManager assetManager = CoreRegistry.get(AssetManager.class);
+        BlockManagerImpl blockManager = new BlockManagerImpl(new NullWorldAtlas(), assetManager, true);
+        CoreRegistry.put(BlockManager.class, blockManager);
+        ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+
+        air = blockManager.getBlock(BlockManager.AIR_ID);
+        stone = createBlock("test:stone", assetManager, blockManager);
+        dirt = createBlock("test:dirt", assetManager, blockManager);
+
+        /* the four chunks around the vertical line x = 32, z = 32 */
+        for (int x = 0; x <= 1; x++) {
+            for (int z = 0; z <= 1; z++) {
+                Chunk chunk = new ChunkImpl(new Vector3i(x, 0, z), blockManager, extraDataManager);
+                chunk.setDirty(false);
+                chunks.put(chunk.getPosition(), chunk);
+            }
+        }
+        ChunkProvider chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getChunk(any(Vector3i.class))).thenAnswer(invocation -> chunks.get(invocation.getArgument(0)));
+        when(chunkProvider.getChunk(anyInt(), anyInt(), anyInt())).thenAnswer(invocation ->
+                chunks.get(new Vector3i(invocation.<Integer>getArgument(0), invocation.<Integer>getArgument(1),
+                        invocation.<Integer>getArgument(2))));
+
+        worldProvider = new WorldProviderCoreImpl("test", "test", "seed", 0, new SimpleUri("test:generator"),
+                chunkProvider, air, context);
+        worldProvider.registerListener(new WorldChangeListener() {
+            @Override
+            public void onBlockChanged(Vector3ic pos, Block newBlock, Block originalBlock) {
+                throw new AssertionError("Region writes should notify the changes together");
+            }
+
+            @Override
+            public void onBlocksChanged(Collection<BlockChange> changes) {
+                notifiedChanges.add(changes);
+            }
+
+            @Override
+            public void onExtraDataChanged(int i, Vector3ic pos, int newData, int oldData) {
+            }
+        });
+    }
+
+    private Block createBlock(String urn, AssetManager assetManager, BlockManager blockManager) {
+        BlockFamilyDefinitionData data = new BlockFamilyDefinitionData();
+        data.setBlockFamily(SymmetricFamily.class);
+        assetManager.loadAsset(new ResourceUrn(urn), data, BlockFamilyDefinition.class);
+        return blockManager.getBlock(urn);
+    }
+
+    @Test
+    public void testFillingRegionAcrossChunkBorders() {
+        BlockRegion region = BlockRegions.createFromMinAndMax(30, 5, 30, 33, 6, 33);
+
+        Collection<BlockChange> changes = worldProvider.setBlocks(region, stone);
+
+        assertEquals(32, changes.size());
+        for (int x = 29; x <= 34; x++) {
+            for (int y = 4; y <= 7; y++) {
+                for (int z = 29; z <= 34; z++) {
+                    boolean inside = region.containsBlock(x, y, z);
+                    assertSame(inside ? stone : air, worldProvider.getBlock(x, y, z), "Incorrect block at " + x + ", " + y + ", " + z);
+                }
+            }
+        }
+        for (int chunkX = 0; chunkX <= 1; chunkX++) {
+            for (int chunkZ = 0; chunkZ <= 1; chunkZ++) {
+                assertTrue(chunks.get(new Vector3i(chunkX, 0, chunkZ)).isDirty());
+            }
+        }
+    }
+
+    @Test
+    public void testBlockArrayIsIndexedByXThenYThenZ() {
+        BlockRegion region = BlockRegions.createFromMinAndMax(31, 0, 31, 32, 1, 33);
+        int sizeY = 2;
+        int sizeZ = 3;
+        Block[] blocks = new Block[2 * sizeY * sizeZ];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = i % 2 == 0 ? stone : dirt;
+        }
+        /* null leaves the block as it is */
+        blocks[1] = null;
+
+        worldProvider.setBlocks(region, blocks);
+
+        for (int x = 0; x < 2; x++) {
+            for (int y = 0; y < sizeY; y++) {
+                for (int z = 0; z < sizeZ; z++) {
+                    int index = (x * sizeY + y) * sizeZ + z;
+                    Block expected = index == 1 ? air : blocks[index];
+                    assertSame(expected, worldProvider.getBlock(31 + x, y, 31 + z), "Incorrect block for index " + index);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReturnedChangesContainOnlyChangedBlocks() {
+        worldProvider.setBlocks(BlockRegions.createFromMinAndMax(32, 10, 32, 32, 10, 32), stone);
+        notifiedChanges.clear();
+        BlockRegion region = BlockRegions.createFromMinAndMax(31, 10, 32, 32, 10, 32);
+
+        Collection<BlockChange> changes = worldProvider.setBlocks(region, stone);
+
+        assertEquals(1, changes.size());
+        BlockChange change = changes.iterator().next();
+        assertEquals(new org.joml.Vector3i(31, 10, 32), change.getPosition());
+        assertSame(air, change.getFrom());
+        assertSame(stone, change.getTo());
+
+        assertTrue(worldProvider.setBlocks(region, stone).isEmpty());
+        assertTrue(worldProvider.setBlocks(region, new Block[]{null, null}).isEmpty());
+        assertEquals(1, notifiedChanges.size());
+    }
+
+    @Test
+    public void testListenersAreNotifiedOncePerCall() {
+        BlockRegion region = BlockRegions.createFromMinAndMax(30, 0, 30, 33, 0, 33);
+
+        Collection<BlockChange> changes = worldProvider.setBlocks(region, dirt);
+
+        assertEquals(1, notifiedChanges.size());
+        assertEquals(Lists.newArrayList(changes), Lists.newArrayList(notifiedChanges.get(0)));
+
+        Block[] blocks = new Block[16];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = stone;
+        }
+        worldProvider.setBlocks(region, blocks);
+
+        assertEquals(2, notifiedChanges.size());
+        assertEquals(16, notifiedChanges.get(1).size());
+    }
+
+    @Test
+    public void testBlocksInMissingChunksAreSkipped() {
+        BlockRegion region = BlockRegions.createFromMinAndMax(-2, 0, 0, 1, 0, 0);
+
+        Collection<BlockChange> changes = worldProvider.setBlocks(region, stone);
+
+        assertEquals(2, changes.size());
+        assertSame(stone, worldProvider.getBlock(0, 0, 0));
+        assertSame(stone, worldProvider.getBlock(1, 0, 0));
+        assertNull(chunks.get(new Vector3i(-1, 0, 0)));
+    }
+}
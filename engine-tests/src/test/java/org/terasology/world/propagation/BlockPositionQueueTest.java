@@ -0,0 +1,130 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.propagation;
+
+import gnu.trove.list.array.TLongArrayList;
+import org.junit.jupiter.api.Test;
+import org.terasology.math.geom.Vector3i;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockPositionQueueTest {
+
+    private BlockPositionQueue queue = new BlockPositionQueue();
+    private TLongArrayList round = new TLongArrayList();
+
+    @Test
+    public void testPackingRoundTrips() {
+        int[][] positions = {
+                {0, 0, 0},
+                {-1, -1, -1},
+                {1, -1, 1},
+                {(1 << 23) - 1, (1 << 15) - 1, -(1 << 23)},
+                {-(1 << 23), -(1 << 15), (1 << 23) - 1},
+                {123456, -300, -654321}
+        };
+        for (int[] pos : positions) {
+            long packed = BlockPositionQueue.pack(pos[0], pos[1], pos[2]);
+            assertEquals(pos[0], BlockPositionQueue.unpackX(packed));
+            assertEquals(pos[1], BlockPositionQueue.unpackY(packed));
+            assertEquals(pos[2], BlockPositionQueue.unpackZ(packed));
+        }
+    }
+
+    @Test
+    public void testPackedPositionsAreDistinct() {
+        assertTrue(BlockPositionQueue.pack(0, 0, -1) != BlockPositionQueue.pack(0, -1, 0));
+        assertTrue(BlockPositionQueue.pack(0, -1, 0) != BlockPositionQueue.pack(-1, 0, 0));
+        assertTrue(BlockPositionQueue.pack(1, 0, 0) != BlockPositionQueue.pack(0, 0, -(1 << 23)));
+    }
+
+    @Test
+    public void testPositionsArePackedRelativeToTheOrigin() {
+        Vector3i origin = new Vector3i(-5000000, 40000, 123);
+        Vector3i[] positions = {
+                new Vector3i(origin),
+                new Vector3i(-5000001, 40015, 100),
+                new Vector3i(-4999000, 39000, -2000),
+                new Vector3i(-5000000, 40000 + (1 << 15) - 1, 123 - (1 << 23))
+        };
+        Vector3i unpacked = new Vector3i();
+        for (Vector3i pos : positions) {
+            long packed = BlockPositionQueue.pack(pos, origin);
+            assertEquals(pos, BlockPositionQueue.unpack(packed, origin, unpacked));
+        }
+        assertEquals(0, BlockPositionQueue.pack(origin, origin));
+        assertThrows(IllegalArgumentException.class, () -> BlockPositionQueue.pack(0, 0, 0, origin));
+    }
+
+    @Test
+    public void testPositionsOutsideOfTheSupportedRangeAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> BlockPositionQueue.pack(1 << 23, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> BlockPositionQueue.pack(-(1 << 23) - 1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> BlockPositionQueue.pack(0, 1 << 15, 0));
+        assertThrows(IllegalArgumentException.class, () -> BlockPositionQueue.pack(0, -(1 << 15) - 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> BlockPositionQueue.pack(0, 0, 1 << 23));
+        assertThrows(IllegalArgumentException.class, () -> BlockPositionQueue.pack(0, 0, Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void testDrainKeepsInsertionOrderWithoutDuplicates() {
+        assertTrue(queue.add(3));
+        assertTrue(queue.add(1));
+        assertFalse(queue.add(3));
+        assertTrue(queue.add(2));
+        assertEquals(3, queue.size());
+
+        queue.drainTo(round);
+
+        assertEquals(new TLongArrayList(new long[]{3, 1, 2}), round);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemovedPositionsAreSkipped() {
+        queue.add(1);
+        queue.add(2);
+        queue.add(3);
+        assertTrue(queue.remove(2));
+        assertFalse(queue.remove(2));
+
+        queue.drainTo(round);
+
+        assertEquals(new TLongArrayList(new long[]{1, 3}), round);
+    }
+
+    @Test
+    public void testReaddedPositionMovesToTheEnd() {
+        queue.add(1);
+        queue.add(2);
+        queue.remove(1);
+        queue.add(1);
+
+        queue.drainTo(round);
+
+        assertEquals(new TLongArrayList(new long[]{2, 1}), round);
+    }
+
+    @Test
+    public void testPositionsCanBeQueuedAgainAfterDraining() {
+        for (int i = 0; i < 1000; i++) {
+            queue.add(i);
+        }
+        queue.drainTo(round);
+        queue.add(5);
+        queue.add(999);
+
+        assertTrue(queue.contains(5));
+        assertFalse(queue.contains(6));
+        queue.drainTo(round);
+        assertEquals(new TLongArrayList(new long[]{5, 999}), round);
+
+        queue.add(7);
+        queue.drainTo(round);
+        assertEquals(new TLongArrayList(new long[]{7}), round);
+        assertTrue(queue.isEmpty());
+    }
+}
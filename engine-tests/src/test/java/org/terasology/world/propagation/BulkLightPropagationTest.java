@@ -146,6 +146,34 @@ public void testRemoveLightInVacuum() {
         }
     }
 
+    @Test
+    public void testAddAndRemoveLightHighAboveTheGround() {
+        Vector3i lightPos = new Vector3i(0, 40000, 0);
+        Region3i region = Region3i.createFromCenterExtents(lightPos, ChunkConstants.SIZE_X);
+        StubPropagatorWorldView worldView = new StubPropagatorWorldView(region, air);
+        worldView.setBlockAt(lightPos, fullLight);
+        BatchPropagator propagator = new StandardBatchPropagator(lightRules, worldView);
+
+        propagator.process(new BlockChange(JomlUtil.from(lightPos), air, fullLight));
+
+        assertEquals(fullLight.getLuminance(), worldView.getValueAt(lightPos));
+        for (int i = 1; i < fullLight.getLuminance(); ++i) {
+            for (Vector3i pos : Diamond3iIterator.iterateAtDistance(lightPos, i)) {
+                assertEquals(fullLight.getLuminance() - i, worldView.getValueAt(pos));
+            }
+        }
+
+        worldView.setBlockAt(lightPos, air);
+        propagator.process(new BlockChange(JomlUtil.from(lightPos), fullLight, air));
+
+        assertEquals(0, worldView.getValueAt(lightPos));
+        for (int i = 1; i < fullLight.getLuminance(); ++i) {
+            for (Vector3i pos : Diamond3iIterator.iterateAtDistance(lightPos, i)) {
+                assertEquals(0, worldView.getValueAt(pos));
+            }
+        }
+    }
+
     @Test
     public void testReduceLight() {
         StubPropagatorWorldView worldView = new StubPropagatorWorldView(testingRegion, air);
@@ -0,0 +1,225 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.propagation.light;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.TerasologyTestingEnvironment;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.assets.management.AssetManager;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockUri;
+import org.terasology.world.block.family.SymmetricFamily;
+import org.terasology.world.block.internal.BlockManagerImpl;
+import org.terasology.world.block.loader.BlockFamilyDefinition;
+import org.terasology.world.block.loader.BlockFamilyDefinitionData;
+import org.terasology.world.block.shapes.BlockShape;
+import org.terasology.world.block.tiles.NullWorldAtlas;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelLightMergerTest extends TerasologyTestingEnvironment {
+
+    private static final int SIZE_X = 6;
+    private static final int SIZE_Y = 3;
+    private static final int SIZE_Z = 6;
+
+    private BlockManager blockManager;
+    private ExtraBlockDataManager extraDataManager;
+    private Block air;
+    private Block stone;
+    private Block torch;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        super.setup();
+        AssetManager assetManager = CoreRegistry.get(AssetManager.class);
+        blockManager = new BlockManagerImpl(new NullWorldAtlas(), assetManager);
+        CoreRegistry.put(BlockManager.class, blockManager);
+        extraDataManager = new ExtraBlockDataManager();
+        air = blockManager.getBlock(BlockManager.AIR_ID);
+
+        BlockFamilyDefinitionData solidData = new BlockFamilyDefinitionData();
+        solidData.getBaseSection().setDisplayName("Stone");
+        solidData.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        solidData.getBaseSection().setTranslucent(false);
+        solidData.setBlockFamily(SymmetricFamily.class);
+        assetManager.loadAsset(new ResourceUrn("engine:stone"), solidData, BlockFamilyDefinition.class);
+        stone = blockManager.getBlock(new BlockUri(new ResourceUrn("engine:stone")));
+
+        BlockFamilyDefinitionData fullLightData = new BlockFamilyDefinitionData();
+        fullLightData.getBaseSection().setDisplayName("Torch");
+        fullLightData.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        fullLightData.getBaseSection().setLuminance(ChunkConstants.MAX_LIGHT);
+        fullLightData.setBlockFamily(SymmetricFamily.class);
+        assetManager.loadAsset(new ResourceUrn("engine:torch"), fullLightData, BlockFamilyDefinition.class);
+        torch = blockManager.getBlock(new BlockUri(new ResourceUrn("engine:torch")));
+
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testParallelMergeEqualsSequentialMerge() {
+        Map<Vector3ic, Chunk> sequentialChunks = createChunks();
+        Map<Vector3ic, Chunk> parallelChunks = createChunks();
+        List<Vector3ic> innerPositions = getInnerPositions();
+
+        mergeSequentially(innerPositions, sequentialChunks);
+        new ParallelLightMerger(executor).merge(innerPositions, parallelChunks::get);
+
+        assertSameLight(sequentialChunks, parallelChunks);
+    }
+
+    @Test
+    public void testMergesOfSingleChunksEqualSequentialMerge() throws Exception {
+        Map<Vector3ic, Chunk> sequentialChunks = createChunks();
+        Map<Vector3ic, Chunk> parallelChunks = createChunks();
+        List<Vector3ic> innerPositions = getInnerPositions();
+
+        mergeSequentially(innerPositions, sequentialChunks);
+        ParallelLightMerger lightMerger = new ParallelLightMerger(executor);
+        ExecutorService pipelineThreads = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Chunk>> merges = Lists.newArrayList();
+            for (Vector3ic position : innerPositions) {
+                List<Chunk> localChunks = Arrays.asList(getLocalChunks(position, parallelChunks));
+                merges.add(pipelineThreads.submit(() -> lightMerger.merge(position, localChunks)));
+            }
+            for (int i = 0; i < merges.size(); i++) {
+                assertSame(parallelChunks.get(innerPositions.get(i)), merges.get(i).get());
+            }
+        } finally {
+            pipelineThreads.shutdownNow();
+        }
+
+        assertSameLight(sequentialChunks, parallelChunks);
+    }
+
+    @Test
+    public void testMissingNeighbourIsRejected() {
+        Map<Vector3ic, Chunk> chunks = createChunks();
+        List<Vector3ic> positions = Lists.newArrayList(getInnerPositions());
+        positions.add(new Vector3i(0, 1, 1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelLightMerger(executor).merge(positions, chunks::get));
+    }
+
+    /**
+     * Merges the chunks one by one in the given order, without any grouping.
+     */
+    private static void mergeSequentially(List<Vector3ic> positions, Map<Vector3ic, Chunk> chunks) {
+        for (Vector3ic position : positions) {
+            new LightMerger().merge(getLocalChunks(position, chunks));
+        }
+    }
+
+    private static Chunk[] getLocalChunks(Vector3ic position, Map<Vector3ic, Chunk> chunks) {
+        List<Chunk> localChunks = Lists.newArrayList();
+        for (int x = -1; x <= 1; x++) {
+            for (int y = -1; y <= 1; y++) {
+                for (int z = -1; z <= 1; z++) {
+                    localChunks.add(chunks.get(new Vector3i(position).add(x, y, z)));
+                }
+            }
+        }
+        return localChunks.toArray(new Chunk[0]);
+    }
+
+    private static void assertSameLight(Map<Vector3ic, Chunk> expectedChunks, Map<Vector3ic, Chunk> actualChunks) {
+        for (Map.Entry<Vector3ic, Chunk> entry : expectedChunks.entrySet()) {
+            Chunk expected = entry.getValue();
+            Chunk actual = actualChunks.get(entry.getKey());
+            for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                    for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                        Vector3i pos = new Vector3i(x, y, z);
+                        assertEquals(expected.getLight(x, y, z), actual.getLight(x, y, z),
+                                () -> "Light differs at " + pos + " in chunk " + entry.getKey());
+                        assertEquals(expected.getSunlight(x, y, z), actual.getSunlight(x, y, z),
+                                () -> "Sunlight differs at " + pos + " in chunk " + entry.getKey());
+                        assertEquals(expected.getSunlightRegen(x, y, z), actual.getSunlightRegen(x, y, z),
+                                () -> "Sunlight regen differs at " + pos + " in chunk " + entry.getKey());
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Vector3ic> getInnerPositions() {
+        List<Vector3ic> positions = Lists.newArrayList();
+        for (int x = 1; x < SIZE_X - 1; x++) {
+            for (int y = 1; y < SIZE_Y - 1; y++) {
+                for (int z = 1; z < SIZE_Z - 1; z++) {
+                    positions.add(new Vector3i(x, y, z));
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Creates chunks with uneven stone terrain crossing the chunk borders, caves and torches, lit internally.
+     */
+    private Map<Vector3ic, Chunk> createChunks() {
+        Map<Vector3ic, Chunk> chunks = Maps.newHashMap();
+        for (int x = 0; x < SIZE_X; x++) {
+            for (int y = 0; y < SIZE_Y; y++) {
+                for (int z = 0; z < SIZE_Z; z++) {
+                    Chunk chunk = new ChunkImpl(x, y, z, blockManager, extraDataManager);
+                    for (int blockX = 0; blockX < ChunkConstants.SIZE_X; blockX++) {
+                        for (int blockY = 0; blockY < ChunkConstants.SIZE_Y; blockY++) {
+                            for (int blockZ = 0; blockZ < ChunkConstants.SIZE_Z; blockZ++) {
+                                chunk.setBlock(blockX, blockY, blockZ, getBlock(chunk.chunkToWorldPositionX(blockX),
+                                        chunk.chunkToWorldPositionY(blockY), chunk.chunkToWorldPositionZ(blockZ)));
+                            }
+                        }
+                    }
+                    InternalLightProcessor.generateInternalLighting(chunk);
+                    chunks.put(new Vector3i(x, y, z), chunk);
+                }
+            }
+        }
+        return chunks;
+    }
+
+    private Block getBlock(int x, int y, int z) {
+        int height = ChunkConstants.SIZE_Y + Math.floorMod(x * 7 + z * 13, ChunkConstants.SIZE_Y);
+        if (y >= height) {
+            return air;
+        }
+        if (Math.floorMod(x * 31 + y * 17 + z * 23, 97) == 0) {
+            return torch;
+        }
+        if (Math.floorMod(x, 24) < 3 && Math.floorMod(y, 20) < 4) {
+            return air;
+        }
+        return stone;
+    }
+}
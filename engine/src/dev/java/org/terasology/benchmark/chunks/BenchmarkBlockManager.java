@@ -0,0 +1,125 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.chunks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockUri;
+import org.terasology.world.block.family.BlockFamily;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal {@link BlockManager} for chunk benchmarks which have no asset system available.
+ * <p>
+ * Knows only the blocks handed to the constructor, with air at id 0.
+ */
+public class BenchmarkBlockManager extends BlockManager {
+
+    private final Block[] blocksById;
+    private final List<Block> blocks;
+
+    public BenchmarkBlockManager(Block... blocks) {
+        this.blocks = ImmutableList.<Block>builder().add(createAir()).add(blocks).build();
+        int maxId = 0;
+        for (Block block : this.blocks) {
+            maxId = Math.max(maxId, block.getId());
+        }
+        blocksById = new Block[maxId + 1];
+        for (Block block : this.blocks) {
+            blocksById[block.getId()] = block;
+        }
+    }
+
+    private static Block createAir() {
+        Block air = new Block();
+        air.setId((short) 0);
+        air.setUri(AIR_ID);
+        air.setTranslucent(true);
+        air.setPenetrable(true);
+        return air;
+    }
+
+    /**
+     * Creates an opaque full cube block.
+     *
+     * @param id the id of the block, must be greater than 0
+     * @param uri the uri of the block
+     * @return the new block
+     */
+    public static Block createSolid(short id, String uri) {
+        Block block = new Block();
+        block.setId(id);
+        block.setUri(new BlockUri(uri));
+        return block;
+    }
+
+    @Override
+    public Map<String, Short> getBlockIdMap() {
+        Map<String, Short> result = Maps.newHashMap();
+        for (Block block : blocks) {
+            result.put(block.getURI().toString(), block.getId());
+        }
+        return result;
+    }
+
+    @Override
+    public BlockFamily getBlockFamily(String uri) {
+        return null;
+    }
+
+    @Override
+    public BlockFamily getBlockFamily(BlockUri uri) {
+        return null;
+    }
+
+    @Override
+    public Block getBlock(String uri) {
+        for (Block block : blocks) {
+            if (block.getURI().toString().equals(uri)) {
+                return block;
+            }
+        }
+        return blocksById[0];
+    }
+
+    @Override
+    public Block getBlock(BlockUri uri) {
+        return getBlock(uri.toString());
+    }
+
+    @Override
+    public Block getBlock(short id) {
+        int index = id & 0xFFFF;
+        if (index < blocksById.length && blocksById[index] != null) {
+            return blocksById[index];
+        }
+        return blocksById[0];
+    }
+
+    @Override
+    public Collection<BlockUri> listRegisteredBlockUris() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Collection<BlockFamily> listRegisteredBlockFamilies() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public int getBlockFamilyCount() {
+        return 0;
+    }
+
+    @Override
+    public Collection<Block> listRegisteredBlocks() {
+        return blocks;
+    }
+}
@@ -23,6 +23,9 @@
  */
 public class BenchmarkTeraArrayRead extends BenchmarkTeraArray {
 
+    /* Keeps the JIT from dropping the reads */
+    private int sum;
+
     public BenchmarkTeraArrayRead(TeraArray array) {
         super(array);
     }
@@ -43,6 +46,7 @@ public void run() {
                 }
             }
         }
+        sum += tmp;
     }
 
 }
@@ -15,10 +15,15 @@
  */
 package org.terasology.benchmark.chunks.arrays;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.benchmark.Benchmarks;
 import org.terasology.benchmark.Benchmark;
 import org.terasology.benchmark.PrintToConsoleCallback;
+import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
 import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.world.chunks.blockdata.TeraPaletteArray;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -30,6 +35,8 @@
 @SuppressWarnings("unused")
 public final class TeraArraysBenchmark {
 
+    private static final Logger logger = LoggerFactory.getLogger(TeraArraysBenchmark.class);
+
     private static final byte[][] INFLATED_8_BIT = new byte[256][];
     private static final byte[] DEFLATED_8_BIT = new byte[256];
 
@@ -50,6 +57,8 @@ private TeraArraysBenchmark() {
 
     public static void main(String[] args) {
 
+        printMemoryConsumption();
+
         final List<Benchmark> benchmarks = new LinkedList<>();
 
         benchmarks.add(new BenchmarkTeraArraySerializeObject(new TeraDenseArray8Bit.SerializationHandler(), new TeraDenseArray8Bit(16, 256, 16)));
@@ -58,6 +67,13 @@ public static void main(String[] args) {
         benchmarks.add(new BenchmarkTeraArraySerializeToStreamViaByteArray(new TeraDenseArray8Bit.SerializationHandler(), new TeraDenseArray8Bit(16, 256, 16)));
         benchmarks.add(new BenchmarkTeraArraySerializeToStreamViaChannel(new TeraDenseArray8Bit.SerializationHandler(), new TeraDenseArray8Bit(16, 256, 16)));
 
+        benchmarks.add(new BenchmarkTeraArrayRead(fill(new TeraDenseArray16Bit(16, 256, 16), 12)));
+        benchmarks.add(new BenchmarkTeraArrayRead(fill(new TeraPaletteArray(16, 256, 16), 12)));
+        benchmarks.add(new BenchmarkTeraArrayWrite(fill(new TeraDenseArray16Bit(16, 256, 16), 12)));
+        benchmarks.add(new BenchmarkTeraArrayWrite(fill(new TeraPaletteArray(16, 256, 16), 12)));
+        benchmarks.add(new BenchmarkTeraArraySerializeToBuffer(new TeraDenseArray16Bit.SerializationHandler(), fill(new TeraDenseArray16Bit(16, 256, 16), 12)));
+        benchmarks.add(new BenchmarkTeraArraySerializeToBuffer(new TeraPaletteArray.SerializationHandler(), fill(new TeraPaletteArray(16, 256, 16), 12)));
+
 //        benchmarks.add(new BenchmarkTeraArrayDeserializeFromBuffer(new TeraDenseArray8Bit.SerializationHandler(), new TeraDenseArray8Bit(16, 256, 16)));
 //
 //
@@ -75,4 +91,33 @@ public static void main(String[] args) {
         Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
 
     }
+
+    /**
+     * Logs the estimated memory consumption of chunk sized 16 bit arrays holding different numbers of distinct values.
+     */
+    private static void printMemoryConsumption() {
+        logger.info("Estimated memory consumption of 16x256x16 arrays");
+        for (int distinctValues : new int[]{1, 2, 4, 12, 100, 300}) {
+            TeraArray dense = fill(new TeraDenseArray16Bit(16, 256, 16), distinctValues);
+            TeraArray palette = fill(new TeraPaletteArray(16, 256, 16), distinctValues);
+            logger.info("{} values: {} {} bytes, {} {} bytes ({} bits per element)", distinctValues,
+                    dense.getClass().getSimpleName(), dense.getEstimatedMemoryConsumptionInBytes(),
+                    palette.getClass().getSimpleName(), palette.getEstimatedMemoryConsumptionInBytes(),
+                    palette.getElementSizeInBits());
+        }
+    }
+
+    /**
+     * Fills the array with layers of terrain made up of the given number of distinct values, similar to generated chunks.
+     */
+    private static TeraArray fill(TeraArray array, int distinctValues) {
+        for (int y = 0; y < array.getSizeY(); y++) {
+            for (int z = 0; z < array.getSizeZ(); z++) {
+                for (int x = 0; x < array.getSizeX(); x++) {
+                    array.set(x, y, z, (y * distinctValues / array.getSizeY() + (x + z) % 2) % distinctValues);
+                }
+            }
+        }
+        return array;
+    }
 }
@@ -0,0 +1,189 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.chunks.meshing;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.benchmark.chunks.BenchmarkBlockManager;
+import org.terasology.math.Region3i;
+import org.terasology.math.Side;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.primitives.BlockMeshGeneratorSingleShape;
+import org.terasology.rendering.primitives.ChunkMesh;
+import org.terasology.rendering.primitives.ChunkTessellator;
+import org.terasology.rendering.primitives.ChunkVertexBufferPool;
+import org.terasology.utilities.procedural.Noise;
+import org.terasology.utilities.procedural.SimplexNoise;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockAppearance;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockPart;
+import org.terasology.world.block.shapes.BlockMeshPart;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.internal.ChunkViewCoreImpl;
+import org.terasology.world.propagation.light.InternalLightProcessor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+
+/**
+ * Tessellates the center chunk of a 3x3x3 box of generated terrain, with or without greedy meshing.
+ * <p>
+ * The blocks are plain cubes with hand-made mesh parts, as there is no asset system to load shapes from.
+ * The number of generated vertices and the memory allocated per mesh are logged when the benchmark finishes.
+ */
+public class BenchmarkChunkTessellator extends AbstractBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkChunkTessellator.class);
+
+    private static final float TILE_SIZE = 1f / 16;
+
+    private final boolean greedyMeshing;
+    private final long seed;
+
+    private ChunkTessellator tessellator;
+    private ChunkView chunkView;
+
+    private int opaqueVertices;
+    private int totalVertices;
+    private int meshCount;
+    private long allocatedHeapBytes;
+
+    public BenchmarkChunkTessellator(boolean greedyMeshing, long seed) {
+        super("Chunk tessellation " + (greedyMeshing ? "with" : "without") + " greedy meshing", 10, new int[]{100, 100});
+        this.greedyMeshing = greedyMeshing;
+        this.seed = seed;
+    }
+
+    @Override
+    public void setup() {
+        Block grass = createCube((short) 1, "test:grass", 0, 1, 2);
+        grass.setGrass(true);
+        Block dirt = createCube((short) 2, "test:dirt", 2, 2, 2);
+        Block stone = createCube((short) 3, "test:stone", 3, 3, 3);
+        BlockManager blockManager = new BenchmarkBlockManager(grass, dirt, stone);
+        ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+
+        Noise noise = new SimplexNoise(seed);
+        Region3i region = Region3i.createFromCenterExtents(Vector3i.one(), ChunkConstants.LOCAL_REGION_EXTENTS);
+        Chunk[] chunks = new Chunk[region.sizeX() * region.sizeY() * region.sizeZ()];
+        for (Vector3i chunkPos : region) {
+            Chunk chunk = new ChunkImpl(chunkPos, blockManager, extraDataManager);
+            for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                    int worldX = chunkPos.x * ChunkConstants.SIZE_X + x;
+                    int worldZ = chunkPos.z * ChunkConstants.SIZE_Z + z;
+                    int height = ChunkConstants.SIZE_Y + ChunkConstants.SIZE_Y / 2
+                            + TeraMath.floorToInt(noise.noise(worldX * 0.01f, worldZ * 0.01f) * ChunkConstants.SIZE_Y / 3);
+                    for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                        int worldY = chunkPos.y * ChunkConstants.SIZE_Y + y;
+                        if (worldY == height) {
+                            chunk.setBlock(x, y, z, grass);
+                        } else if (worldY < height && worldY >= height - 3) {
+                            chunk.setBlock(x, y, z, dirt);
+                        } else if (worldY < height) {
+                            chunk.setBlock(x, y, z, stone);
+                        }
+                    }
+                }
+            }
+            InternalLightProcessor.generateInternalLighting(chunk);
+            chunks[TeraMath.calculate3DArrayIndex(new Vector3i(chunkPos).sub(region.min()), region.size())] = chunk;
+        }
+        chunkView = new ChunkViewCoreImpl(chunks, region, Vector3i.one(), blockManager.getBlock(BlockManager.AIR_ID));
+        tessellator = new ChunkTessellator(null, greedyMeshing);
+    }
+
+    @Override
+    public void run() {
+        long allocatedBefore = getAllocatedHeapBytes();
+        ChunkMesh mesh = tessellator.generateMesh(chunkView, ChunkConstants.SIZE_Y, 0);
+        allocatedHeapBytes += getAllocatedHeapBytes() - allocatedBefore;
+        meshCount++;
+
+        opaqueVertices = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE).vertexCount;
+        totalVertices = 0;
+        for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+            totalVertices += mesh.getVertexElements(type).vertexCount;
+        }
+        // hands the buffers back to the pool, like uploading the mesh does
+        mesh.dispose();
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (!aborted && meshCount > 0) {
+            ChunkVertexBufferPool pool = tessellator.getVertexBufferPool();
+            logger.info("{}: {} opaque vertices, {} vertices in total", getTitle(), opaqueVertices, totalVertices);
+            logger.info("{}: {} heap bytes allocated per mesh, {} direct buffers allocated ({} bytes) and {} reused for {} meshes",
+                    getTitle(), allocatedHeapBytes / meshCount, pool.getAllocationCount(), pool.getAllocatedBytes(),
+                    pool.getReuseCount(), meshCount);
+        }
+    }
+
+    /**
+     * @return The number of bytes allocated on the heap by the current thread so far, or 0 if the JVM doesn't tell.
+     */
+    private static long getAllocatedHeapBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * Creates a cube with the given rows of a 16x16 texture atlas for its top, sides and bottom.
+     */
+    private static Block createCube(short id, String uri, int topTile, int sideTile, int bottomTile) {
+        Block block = BenchmarkBlockManager.createSolid(id, uri);
+        Map<BlockPart, BlockMeshPart> parts = Maps.newEnumMap(BlockPart.class);
+        Map<BlockPart, Vector2f> atlasPositions = Maps.newEnumMap(BlockPart.class);
+        for (BlockPart part : BlockPart.values()) {
+            int tile = part == BlockPart.TOP ? topTile : part == BlockPart.BOTTOM ? bottomTile : sideTile;
+            Vector2f atlasPos = new Vector2f(tile * TILE_SIZE, 0);
+            atlasPositions.put(part, atlasPos);
+            if (part.isSide()) {
+                parts.put(part, createFace(part.getSide()).mapTexCoords(atlasPos, TILE_SIZE, 1));
+                block.setFullSide(part.getSide(), true);
+            }
+        }
+        block.setPrimaryAppearance(new BlockAppearance(parts, atlasPositions));
+        block.setMeshGenerator(new BlockMeshGeneratorSingleShape(block));
+        return block;
+    }
+
+    /**
+     * Creates the unit quad on the given side of a block, with counter-clockwise winding seen from outside.
+     */
+    private static BlockMeshPart createFace(Side side) {
+        Vector3f normal = new Vector3f(side.direction().x(), side.direction().y(), side.direction().z());
+        // two axes spanning the face, chosen so that tangent x bitangent points along the normal
+        Vector3f tangent = Math.abs(normal.y) > 0 ? new Vector3f(normal.y, 0, 0) : new Vector3f(-normal.z, 0, normal.x);
+        Vector3f bitangent = new Vector3f(normal).cross(tangent);
+
+        Vector3f[] vertices = new Vector3f[4];
+        Vector3f[] normals = new Vector3f[4];
+        Vector2f[] texCoords = new Vector2f[4];
+        float[][] corners = {{-1, -1}, {1, -1}, {1, 1}, {-1, 1}};
+        for (int i = 0; i < 4; i++) {
+            vertices[i] = new Vector3f(normal)
+                    .add(new Vector3f(tangent).mul(corners[i][0]))
+                    .add(new Vector3f(bitangent).mul(corners[i][1]))
+                    .mul(0.5f);
+            normals[i] = new Vector3f(normal);
+            texCoords[i] = new Vector2f((corners[i][0] + 1) / 2, (corners[i][1] + 1) / 2);
+        }
+        return new BlockMeshPart(vertices, normals, texCoords, new int[]{0, 1, 2, 0, 2, 3});
+    }
+}
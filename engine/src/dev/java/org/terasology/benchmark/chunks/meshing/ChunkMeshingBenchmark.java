@@ -0,0 +1,28 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.chunks.meshing;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+
+import java.util.List;
+
+/**
+ * ChunkMeshingBenchmark compares the tessellation of generated chunks with and without greedy meshing.
+ */
+public final class ChunkMeshingBenchmark {
+
+    private ChunkMeshingBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final List<Benchmark> benchmarks = Lists.newArrayList();
+
+        benchmarks.add(new BenchmarkChunkTessellator(false, 0xCAFE));
+        benchmarks.add(new BenchmarkChunkTessellator(true, 0xCAFE));
+        Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
+    }
+}
@@ -0,0 +1,129 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.chunks.pipeline;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.benchmark.chunks.BenchmarkBlockManager;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.pipeline.ChunkProcessingPipeline;
+import org.terasology.world.chunks.pipeline.stages.ChunkTaskProvider;
+import org.terasology.world.propagation.light.InternalLightProcessor;
+import org.terasology.world.propagation.light.ParallelLightMerger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives a box of chunks through the same stages as {@link org.terasology.world.chunks.localChunkProvider.LocalChunkProvider}.
+ * <p>
+ * Chunks at the border of the box never get all neighbours for light merging and stay waiting in the pipeline, like
+ * chunks at the border of a relevance region do.
+ */
+public class BenchmarkChunkProcessingPipeline extends AbstractBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkChunkProcessingPipeline.class);
+
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final BlockManager blockManager = new BenchmarkBlockManager();
+    private final ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+
+    private Map<Vector3ic, Chunk> chunkCache;
+    private ChunkProcessingPipeline pipeline;
+    private ExecutorService lightMergingExecutor;
+
+    public BenchmarkChunkProcessingPipeline(int sizeX, int sizeY, int sizeZ) {
+        super("Chunk processing pipeline with " + sizeX * sizeY * sizeZ + " chunks", 1, new int[]{3, 3});
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+    }
+
+    @Override
+    public void prerun() {
+        chunkCache = Maps.newConcurrentMap();
+        pipeline = new ChunkProcessingPipeline(chunkCache::get, (o1, o2) -> 0);
+        lightMergingExecutor = Executors.newFixedThreadPool(
+                Math.max(1, ChunkProcessingPipeline.getDefaultThreadCount() / 4));
+        ParallelLightMerger lightMerger = new ParallelLightMerger(lightMergingExecutor);
+        pipeline.addStage(
+                ChunkTaskProvider.create("Chunk generate internal lightning",
+                        InternalLightProcessor::generateInternalLighting))
+                .addStage(ChunkTaskProvider.create("Chunk deflate", Chunk::deflate))
+                .addStage(ChunkTaskProvider.createMulti("Light merging", lightMerger::merge,
+                        BenchmarkChunkProcessingPipeline::getNeighbourhood))
+                .addStage(ChunkTaskProvider.create("Chunk ready", chunk -> {
+                    chunk.markReady();
+                    chunkCache.put(chunk.getPosition(new Vector3i()), chunk);
+                }));
+    }
+
+    @Override
+    public void run() {
+        chunkCache.clear();
+        List<Future<Chunk>> innerChunks = Lists.newArrayList();
+        for (int x = 0; x < sizeX; x++) {
+            for (int y = 0; y < sizeY; y++) {
+                for (int z = 0; z < sizeZ; z++) {
+                    Vector3i position = new Vector3i(x, y, z);
+                    Future<Chunk> future = pipeline.invokeGeneratorTask(position,
+                            () -> new ChunkImpl(position.x, position.y, position.z, blockManager, extraDataManager));
+                    if (isInner(position)) {
+                        innerChunks.add(future);
+                    }
+                }
+            }
+        }
+        try {
+            for (Future<Chunk> future : innerChunks) {
+                future.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("Chunk processing failed", e);
+        }
+        logger.debug("Processed {} chunks, {} chunks are waiting for neighbours", innerChunks.size(),
+                pipeline.getWaitingChunkCount());
+        pipeline.restart();
+        chunkCache.values().forEach(Chunk::dispose);
+    }
+
+    @Override
+    public void postrun() {
+        pipeline.shutdown();
+        lightMergingExecutor.shutdownNow();
+    }
+
+    private boolean isInner(Vector3ic position) {
+        return position.x() > 0 && position.x() < sizeX - 1
+                && position.y() > 0 && position.y() < sizeY - 1
+                && position.z() > 0 && position.z() < sizeZ - 1;
+    }
+
+    private static Set<Vector3ic> getNeighbourhood(Vector3ic position) {
+        Set<Vector3ic> result = Sets.newLinkedHashSet();
+        for (int x = -1; x <= 1; x++) {
+            for (int y = -1; y <= 1; y++) {
+                for (int z = -1; z <= 1; z++) {
+                    result.add(new Vector3i(position.x() + x, position.y() + y, position.z() + z));
+                }
+            }
+        }
+        return result;
+    }
+}
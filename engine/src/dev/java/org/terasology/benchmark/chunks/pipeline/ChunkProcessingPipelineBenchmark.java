@@ -0,0 +1,28 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.chunks.pipeline;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+
+import java.util.List;
+
+/**
+ * ChunkProcessingPipelineBenchmark simplifies the execution of the benchmarks for the chunk processing pipeline.
+ */
+public final class ChunkProcessingPipelineBenchmark {
+
+    private ChunkProcessingPipelineBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final List<Benchmark> benchmarks = Lists.newArrayList();
+
+        benchmarks.add(new BenchmarkChunkProcessingPipeline(12, 4, 12));
+        benchmarks.add(new BenchmarkChunkProcessingPipeline(24, 4, 24));
+        Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
+    }
+}
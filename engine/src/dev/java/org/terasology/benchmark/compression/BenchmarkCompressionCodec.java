@@ -0,0 +1,126 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.compression;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.benchmark.chunks.BenchmarkBlockManager;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.utilities.compression.CompressionCodec;
+import org.terasology.utilities.procedural.Noise;
+import org.terasology.utilities.procedural.SimplexNoise;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.propagation.light.InternalLightProcessor;
+
+import java.io.IOException;
+
+/**
+ * Compresses or decompresses the encoded chunk stores of a patch of generated terrain with a {@link CompressionCodec},
+ * the same data that gets written for a saved chunk.
+ * <p>
+ * The compression ratio and the throughput in uncompressed bytes are logged when the benchmark finishes.
+ */
+public class BenchmarkCompressionCodec extends AbstractBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkCompressionCodec.class);
+
+    private static final int CHUNKS_PER_AXIS = 4;
+
+    private final CompressionCodec codec;
+    private final boolean decompress;
+    private final long seed;
+
+    private byte[][] chunkStores;
+    private byte[][] compressedChunkStores;
+    private long uncompressedBytes;
+    private long compressedBytes;
+
+    private long processedBytes;
+    private long processingTimeNs;
+
+    public BenchmarkCompressionCodec(CompressionCodec codec, boolean decompress, long seed) {
+        super((decompress ? "Decompressing" : "Compressing") + " chunk stores with " + codec.getName(), 5, new int[]{20, 20});
+        this.codec = codec;
+        this.decompress = decompress;
+        this.seed = seed;
+    }
+
+    @Override
+    public void setup() {
+        Block grass = BenchmarkBlockManager.createSolid((short) 1, "test:grass");
+        Block dirt = BenchmarkBlockManager.createSolid((short) 2, "test:dirt");
+        Block stone = BenchmarkBlockManager.createSolid((short) 3, "test:stone");
+        BlockManager blockManager = new BenchmarkBlockManager(grass, dirt, stone);
+        ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+        Noise noise = new SimplexNoise(seed);
+
+        chunkStores = new byte[CHUNKS_PER_AXIS * 2 * CHUNKS_PER_AXIS][];
+        compressedChunkStores = new byte[chunkStores.length][];
+        int index = 0;
+        for (int chunkX = 0; chunkX < CHUNKS_PER_AXIS; chunkX++) {
+            for (int chunkY = 0; chunkY < 2; chunkY++) {
+                for (int chunkZ = 0; chunkZ < CHUNKS_PER_AXIS; chunkZ++) {
+                    ChunkImpl chunk = new ChunkImpl(new Vector3i(chunkX, chunkY, chunkZ), blockManager, extraDataManager);
+                    for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                        for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                            int worldX = chunkX * ChunkConstants.SIZE_X + x;
+                            int worldZ = chunkZ * ChunkConstants.SIZE_Z + z;
+                            int height = ChunkConstants.SIZE_Y
+                                    + TeraMath.floorToInt(noise.noise(worldX * 0.01f, worldZ * 0.01f) * ChunkConstants.SIZE_Y / 2);
+                            for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                                int worldY = chunkY * ChunkConstants.SIZE_Y + y;
+                                if (worldY == height) {
+                                    chunk.setBlock(x, y, z, grass);
+                                } else if (worldY < height && worldY >= height - 3) {
+                                    chunk.setBlock(x, y, z, dirt);
+                                } else if (worldY < height) {
+                                    chunk.setBlock(x, y, z, stone);
+                                }
+                            }
+                        }
+                    }
+                    InternalLightProcessor.generateInternalLighting(chunk);
+                    chunkStores[index] = chunk.encode().build().toByteArray();
+                    compressedChunkStores[index] = codec.compress(chunkStores[index]);
+                    uncompressedBytes += chunkStores[index].length;
+                    compressedBytes += compressedChunkStores[index].length;
+                    index++;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < chunkStores.length; i++) {
+                if (decompress) {
+                    codec.decompress(compressedChunkStores[i]);
+                } else {
+                    codec.compress(chunkStores[i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        processingTimeNs += System.nanoTime() - start;
+        processedBytes += uncompressedBytes;
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (!aborted && processingTimeNs > 0) {
+            logger.info("{}: {} chunks, {} bytes compressed to {} bytes (ratio {})", getTitle(), chunkStores.length,
+                    uncompressedBytes, compressedBytes, String.format("%.3f", (double) compressedBytes / uncompressedBytes));
+            logger.info("{}: {} MiB/s", getTitle(),
+                    String.format("%.1f", processedBytes / (1024.0 * 1024.0) / (processingTimeNs / 1e9)));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.compression;
+
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+import org.terasology.utilities.compression.CompressionCodec;
+import org.terasology.utilities.compression.CompressionCodecs;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Compares the compression ratio and the compression and decompression speed of all {@link CompressionCodec}s.
+ */
+public final class CompressionCodecsBenchmark {
+
+    private CompressionCodecsBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final List<Benchmark> benchmarks = new LinkedList<>();
+
+        for (CompressionCodec codec : CompressionCodecs.getAll()) {
+            benchmarks.add(new BenchmarkCompressionCodec(codec, false, 42));
+            benchmarks.add(new BenchmarkCompressionCodec(codec, true, 42));
+        }
+
+        Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
+    }
+}
@@ -39,7 +39,12 @@ public static void main(String[] args) {
 
         benchmarks.add(new EntityCreateBenchmark());
         benchmarks.add(new IterateSingleComponentBenchmark());
-        benchmarks.add(new IterateMultipleComponentBenchmark());
+        for (int entityCount : new int[]{1000, 50000}) {
+            benchmarks.add(new IterateMultipleComponentBenchmark(false, entityCount));
+            benchmarks.add(new IterateMultipleComponentBenchmark(true, entityCount));
+        }
+        benchmarks.add(new EventThroughputBenchmark(1));
+        benchmarks.add(new EventThroughputBenchmark(10));
         Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
 
     }
@@ -0,0 +1,110 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.entitySystem;
+
+import org.reflections.Reflections;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.config.Config;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.entitySystem.event.EventPriority;
+import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.event.internal.EventSystemImpl;
+import org.terasology.entitySystem.metadata.EntitySystemLibrary;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.network.internal.NetworkSystemImpl;
+import org.terasology.persistence.typeHandling.TypeHandlerLibraryImpl;
+import org.terasology.recording.EventCatcher;
+import org.terasology.recording.RecordAndReplayCurrentStatus;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.rendering.logic.MeshComponent;
+import org.terasology.world.block.BlockComponent;
+
+/**
+ * Sends events to entities whose handlers need different components, measuring the dispatch overhead of the event
+ * system.
+ */
+public class EventThroughputBenchmark extends AbstractBenchmark {
+
+    private static final int EVENTS_PER_RUN = 10_000;
+
+    private final int handlerSystems;
+
+    private EventSystemImpl eventSystem;
+    private EntityRef[] entities;
+    private BenchmarkEvent event = new BenchmarkEvent();
+
+    public EventThroughputBenchmark() {
+        this(10);
+    }
+
+    public EventThroughputBenchmark(int handlerSystems) {
+        super("Send " + EVENTS_PER_RUN + " events with " + handlerSystems + " handler systems", 200, new int[]{1000});
+        this.handlerSystems = handlerSystems;
+    }
+
+    @Override
+    public void setup() {
+        Context context = new ContextImpl();
+        CoreRegistry.setContext(context);
+        Config config = new Config(context);
+        config.loadDefaults();
+        context.put(Config.class, config);
+
+        EntitySystemLibrary entitySystemLibrary = new EntitySystemLibrary(context,
+                new TypeHandlerLibraryImpl(new Reflections(getClass().getClassLoader())));
+        PojoEntityManager entityManager = new PojoEntityManager();
+        entityManager.setComponentLibrary(entitySystemLibrary.getComponentLibrary());
+        eventSystem = new EventSystemImpl(entitySystemLibrary.getEventLibrary(), new NetworkSystemImpl(null, context),
+                new EventCatcher(null, null), new RecordAndReplayCurrentStatus());
+        entityManager.setEventSystem(eventSystem);
+
+        for (int i = 0; i < handlerSystems; i++) {
+            eventSystem.registerEventHandler(new BenchmarkEventHandler());
+        }
+        entities = new EntityRef[]{
+                entityManager.create(new LocationComponent()),
+                entityManager.create(new LocationComponent(), new MeshComponent()),
+                entityManager.create(new LocationComponent(), new MeshComponent(), new BlockComponent()),
+                entityManager.create(new BlockComponent())
+        };
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < EVENTS_PER_RUN; i++) {
+            eventSystem.send(entities[i % entities.length], event);
+        }
+    }
+
+    public static class BenchmarkEvent implements Event {
+        private int handled;
+    }
+
+    public static class BenchmarkEventHandler extends BaseComponentSystem {
+
+        @ReceiveEvent
+        public void onEvent(BenchmarkEvent event, EntityRef entity) {
+            event.handled++;
+        }
+
+        @ReceiveEvent(priority = EventPriority.PRIORITY_HIGH)
+        public void onLocation(BenchmarkEvent event, EntityRef entity, LocationComponent location) {
+            event.handled++;
+        }
+
+        @ReceiveEvent(components = BlockComponent.class)
+        public void onBlock(BenchmarkEvent event, EntityRef entity) {
+            event.handled++;
+        }
+
+        @ReceiveEvent(priority = EventPriority.PRIORITY_LOW)
+        public void onMesh(BenchmarkEvent event, EntityRef entity, LocationComponent location, MeshComponent mesh) {
+            event.handled++;
+        }
+    }
+}
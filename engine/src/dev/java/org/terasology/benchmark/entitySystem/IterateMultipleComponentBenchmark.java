@@ -20,6 +20,7 @@
 import org.terasology.benchmark.AbstractBenchmark;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.ArchetypeEntityPool;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.rendering.logic.MeshComponent;
@@ -29,22 +30,33 @@
 import java.util.List;
 
 /**
- *
+ * Iterates over the entities with two components, with the components stored either per component class or grouped by
+ * archetype.
  */
 public class IterateMultipleComponentBenchmark extends AbstractBenchmark {
 
+    private final boolean archetypeStorage;
+    private final int entityCount;
+
     private List<List<Component>> rawEntityData;
     private PojoEntityManager entityManager;
 
     public IterateMultipleComponentBenchmark() {
-        super("Iterate entities by multiple components", 10000, new int[]{10000});
+        this(false, 1000);
+    }
+
+    public IterateMultipleComponentBenchmark(boolean archetypeStorage, int entityCount) {
+        super("Iterate " + entityCount + " entities by multiple components" + (archetypeStorage ? " (archetypes)" : ""),
+                10_000_000 / entityCount, new int[]{10_000_000 / entityCount});
+        this.archetypeStorage = archetypeStorage;
+        this.entityCount = entityCount;
     }
 
     @Override
     public void setup() {
         FastRandom rand = new FastRandom(0L);
         rawEntityData = Lists.newArrayList();
-        for (int i = 0; i < 1000; ++i) {
+        for (int i = 0; i < entityCount; ++i) {
             List<Component> entityData = Lists.newArrayList();
             if (rand.nextFloat() < 0.75f) {
                 entityData.add(new LocationComponent());
@@ -58,7 +70,7 @@ public void setup() {
             rawEntityData.add(entityData);
         }
 
-        entityManager = new PojoEntityManager();
+        entityManager = archetypeStorage ? new PojoEntityManager(ArchetypeEntityPool::new) : new PojoEntityManager();
         for (List<Component> rawEntity : rawEntityData) {
             entityManager.create(rawEntity);
         }
@@ -0,0 +1,145 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.network;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.benchmark.chunks.BenchmarkBlockManager;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.utilities.procedural.Noise;
+import org.terasology.utilities.procedural.SimplexNoise;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.propagation.light.InternalLightProcessor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Encodes a patch of generated chunks the way the server does before sending them to a client, either entirely on the
+ * calling thread or by copying the chunks there and encoding the copies on a single other thread, as NetClient hands
+ * them to the event loop of the connection.
+ * <p>
+ * The time spent per chunk on the calling thread, which stands in for the game thread, and on the encoding thread is
+ * logged when the benchmark finishes.
+ */
+public class BenchmarkChunkEncoding extends AbstractBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkChunkEncoding.class);
+
+    private static final int CHUNKS_PER_AXIS = 4;
+
+    private final boolean offThread;
+    private final long seed;
+
+    private ChunkImpl[] chunks;
+    private ExecutorService encodingThread;
+    private CompletableFuture<Void> lastEncoding = CompletableFuture.completedFuture(null);
+
+    private long encodedChunks;
+    private long callingThreadNs;
+    private final AtomicLong encodingThreadNs = new AtomicLong();
+    private final AtomicLong encodedBytes = new AtomicLong();
+
+    public BenchmarkChunkEncoding(boolean offThread, long seed) {
+        super("Encoding chunks " + (offThread ? "from copies on another thread" : "on the calling thread"), 10,
+                new int[]{100, 100});
+        this.offThread = offThread;
+        this.seed = seed;
+    }
+
+    @Override
+    public void setup() {
+        Block grass = BenchmarkBlockManager.createSolid((short) 1, "test:grass");
+        Block dirt = BenchmarkBlockManager.createSolid((short) 2, "test:dirt");
+        Block stone = BenchmarkBlockManager.createSolid((short) 3, "test:stone");
+        BlockManager blockManager = new BenchmarkBlockManager(grass, dirt, stone);
+        ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+        Noise noise = new SimplexNoise(seed);
+
+        chunks = new ChunkImpl[CHUNKS_PER_AXIS * 2 * CHUNKS_PER_AXIS];
+        int index = 0;
+        for (int chunkX = 0; chunkX < CHUNKS_PER_AXIS; chunkX++) {
+            for (int chunkY = 0; chunkY < 2; chunkY++) {
+                for (int chunkZ = 0; chunkZ < CHUNKS_PER_AXIS; chunkZ++) {
+                    ChunkImpl chunk = new ChunkImpl(new Vector3i(chunkX, chunkY, chunkZ), blockManager, extraDataManager);
+                    for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                        for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                            int worldX = chunkX * ChunkConstants.SIZE_X + x;
+                            int worldZ = chunkZ * ChunkConstants.SIZE_Z + z;
+                            int height = ChunkConstants.SIZE_Y
+                                    + TeraMath.floorToInt(noise.noise(worldX * 0.01f, worldZ * 0.01f) * ChunkConstants.SIZE_Y / 2);
+                            for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                                int worldY = chunkY * ChunkConstants.SIZE_Y + y;
+                                if (worldY == height) {
+                                    chunk.setBlock(x, y, z, grass);
+                                } else if (worldY < height && worldY >= height - 3) {
+                                    chunk.setBlock(x, y, z, dirt);
+                                } else if (worldY < height) {
+                                    chunk.setBlock(x, y, z, stone);
+                                }
+                            }
+                        }
+                    }
+                    InternalLightProcessor.generateInternalLighting(chunk);
+                    chunks[index++] = chunk;
+                }
+            }
+        }
+        encodingThread = Executors.newSingleThreadExecutor();
+    }
+
+    @Override
+    public void run() {
+        /* The copies of the previous run must not pile up */
+        lastEncoding.join();
+
+        long start = System.nanoTime();
+        if (offThread) {
+            for (ChunkImpl chunk : chunks) {
+                Supplier<EntityData.ChunkStore.Builder> encoder = chunk.copyForEncoding();
+                lastEncoding = CompletableFuture.runAsync(() -> encode(encoder), encodingThread);
+            }
+        } else {
+            for (ChunkImpl chunk : chunks) {
+                encodedBytes.addAndGet(chunk.encode().build().getSerializedSize());
+            }
+        }
+        callingThreadNs += System.nanoTime() - start;
+        encodedChunks += chunks.length;
+    }
+
+    private void encode(Supplier<EntityData.ChunkStore.Builder> encoder) {
+        long start = System.nanoTime();
+        int size = encoder.get().build().getSerializedSize();
+        encodingThreadNs.addAndGet(System.nanoTime() - start);
+        encodedBytes.addAndGet(size);
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        lastEncoding.join();
+        encodingThread.shutdown();
+        try {
+            encodingThread.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!aborted && encodedChunks > 0) {
+            logger.info("{}: {} bytes per encoded chunk", getTitle(), encodedBytes.get() / encodedChunks);
+            logger.info("{}: {} us per chunk on the calling thread, {} us per chunk on the encoding thread", getTitle(),
+                    String.format("%.1f", callingThreadNs / 1000.0 / encodedChunks),
+                    String.format("%.1f", encodingThreadNs.get() / 1000.0 / encodedChunks));
+        }
+    }
+}
@@ -0,0 +1,371 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.Lists;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.handler.codec.compression.JdkZlibEncoder;
+import io.netty.handler.codec.protobuf.ProtobufDecoder;
+import io.netty.handler.codec.protobuf.ProtobufEncoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import org.joml.Vector3f;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.config.Config;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.ComponentSystemManager;
+import org.terasology.engine.Time;
+import org.terasology.engine.bootstrap.EntitySystemSetupUtil;
+import org.terasology.engine.internal.TimeBase;
+import org.terasology.engine.module.ExternalApiWhitelist;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.engine.module.ModuleManagerImpl;
+import org.terasology.engine.paths.PathManager;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.metadata.EventLibrary;
+import org.terasology.identity.PublicIdentityCertificate;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.network.ClientComponent;
+import org.terasology.network.NetworkComponent;
+import org.terasology.network.NetworkSystem;
+import org.terasology.network.exceptions.HostingFailedException;
+import org.terasology.network.internal.CompressionDecoder;
+import org.terasology.network.internal.CompressionEncoder;
+import org.terasology.network.internal.MetricRecordingHandler;
+import org.terasology.network.internal.NetClient;
+import org.terasology.network.internal.NetworkSystemImpl;
+import org.terasology.network.internal.ServerConnectListManager;
+import org.terasology.network.internal.ServerHandler;
+import org.terasology.nui.Color;
+import org.terasology.persistence.StorageManager;
+import org.terasology.persistence.internal.ReadOnlyStorageManager;
+import org.terasology.protobuf.NetData;
+import org.terasology.recording.CharacterStateEventPositionMap;
+import org.terasology.recording.DirectionAndOriginPosRecorderList;
+import org.terasology.recording.RecordAndReplayCurrentStatus;
+import org.terasology.recording.RecordAndReplayUtils;
+import org.terasology.reflection.TypeRegistry;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.utilities.compression.CompressionCodec;
+import org.terasology.utilities.compression.CompressionCodecs;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs network ticks of a hosted {@link NetworkSystemImpl} whose replicated entities all moved since the last tick.
+ * Every tick goes through {@link NetClient#update(boolean)} of each client, so entity deltas are serialized by the
+ * network entity serializer and shared through the entity delta cache as in a running game.
+ * <p>
+ * The clients are connected over loopback with the encoders of the server pipeline, but skip the handshake. The time
+ * the calling thread, which stands in for the game thread, spends in the update, and the time until every client
+ * received its message, are logged when the benchmark finishes.
+ */
+public class BenchmarkNetworkTick extends AbstractBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkNetworkTick.class);
+
+    private static final int ENTITIES = 200;
+    private static final long NET_TICK_RATE = 50;
+    private static final long RECEIVE_TIMEOUT_SECONDS = 30;
+
+    private final int clients;
+    private final long seed;
+
+    private Random random;
+    private BenchmarkTime time;
+    private NetworkSystemImpl networkSystem;
+    private final List<EntityRef> entities = Lists.newArrayList();
+
+    private NioEventLoopGroup serverGroup;
+    private NioEventLoopGroup clientGroup;
+    private final List<BenchmarkClient> netClients = Collections.synchronizedList(Lists.newArrayList());
+    private final List<Channel> clientChannels = Lists.newArrayList();
+    private final AtomicInteger nextClientId = new AtomicInteger();
+    private final AtomicInteger receivedMessages = new AtomicInteger();
+    private volatile CountDownLatch tickReceived = new CountDownLatch(0);
+
+    private int ticks;
+    private long gameThreadNs;
+    private long deliveryNs;
+
+    public BenchmarkNetworkTick(int clients, long seed) {
+        super("Network tick of " + ENTITIES + " moving entities to " + clients + " clients", 20, new int[]{200, 200});
+        this.clients = clients;
+        this.seed = seed;
+    }
+
+    @Override
+    public void setup() {
+        random = new Random(seed);
+        try {
+            PathManager.getInstance().useOverrideHomePath(Files.createTempDirectory("terasology-benchmark"));
+            Context context = createContext();
+
+            EngineEntityManager entityManager = context.get(EngineEntityManager.class);
+            for (int i = 0; i < ENTITIES; i++) {
+                NetworkComponent netComp = new NetworkComponent();
+                netComp.replicateMode = NetworkComponent.ReplicateMode.ALWAYS;
+                entities.add(entityManager.create(netComp, new LocationComponent()));
+            }
+            networkSystem.connectToEntitySystem(entityManager, context.get(EventLibrary.class), null);
+            /* registers the entities, the server it binds to is not used */
+            networkSystem.host(0, true);
+
+            connectClients();
+            /* the first tick creates the entities on the clients */
+            awaitTick();
+        } catch (IOException | HostingFailedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Context createContext() {
+        Context context = new ContextImpl();
+        CoreRegistry.setContext(context);
+        Config config = new Config(context);
+        config.loadDefaults();
+        context.put(Config.class, config);
+
+        TypeRegistry typeRegistry = new TypeRegistry();
+        TypeRegistry.WHITELISTED_CLASSES = ExternalApiWhitelist.CLASSES.stream().map(Class::getName).collect(Collectors.toSet());
+        TypeRegistry.WHITELISTED_PACKAGES = ExternalApiWhitelist.PACKAGES;
+        context.put(TypeRegistry.class, typeRegistry);
+        ModuleManager moduleManager = new ModuleManagerImpl("");
+        typeRegistry.reload(moduleManager.getEnvironment());
+        context.put(ModuleManager.class, moduleManager);
+
+        context.put(RecordAndReplayCurrentStatus.class, new RecordAndReplayCurrentStatus());
+        context.put(RecordAndReplayUtils.class, new RecordAndReplayUtils());
+        context.put(CharacterStateEventPositionMap.class, new CharacterStateEventPositionMap());
+        context.put(DirectionAndOriginPosRecorderList.class, new DirectionAndOriginPosRecorderList());
+
+        time = new BenchmarkTime();
+        context.put(Time.class, time);
+        networkSystem = new NetworkSystemImpl(time, context);
+        networkSystem.setContext(context);
+        context.put(NetworkSystem.class, networkSystem);
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        EngineEntityManager entityManager = context.get(EngineEntityManager.class);
+        context.put(ComponentSystemManager.class, new ComponentSystemManager(context));
+        context.put(ServerConnectListManager.class, new ServerConnectListManager(context));
+        context.put(StorageManager.class, new ReadOnlyStorageManager(PathManager.getInstance().getSavePath("benchmark"),
+                moduleManager.getEnvironment(), entityManager, null, null));
+        return context;
+    }
+
+    private void connectClients() {
+        List<String> codecNames = CompressionCodecs.getAll().stream().map(CompressionCodec::getName).collect(Collectors.toList());
+        serverGroup = new NioEventLoopGroup();
+        clientGroup = new NioEventLoopGroup();
+        try {
+            ServerBootstrap serverBootstrap = new ServerBootstrap()
+                    .group(serverGroup)
+                    .channel(NioServerSocketChannel.class)
+                    .childOption(ChannelOption.TCP_NODELAY, true)
+                    .childHandler(new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ChannelPipeline p = ch.pipeline();
+                            p.addLast(MetricRecordingHandler.NAME, new MetricRecordingHandler());
+                            p.addLast("frameDecoder", new ProtobufVarint32FrameDecoder());
+                            p.addLast("protobufDecoder", new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
+                            p.addLast("frameLengthEncoder", new LengthFieldPrepender(3));
+                            p.addLast(CompressionEncoder.NAME, new JdkZlibEncoder());
+                            p.addLast("frameEncoder", new ProtobufVarint32LengthFieldPrepender());
+                            p.addLast("protobufEncoder", new ProtobufEncoder());
+                            ServerHandler handler = new ServerHandler(networkSystem);
+                            p.addLast("handler", handler);
+
+                            BenchmarkClient client = new BenchmarkClient(ch, networkSystem, nextClientId.getAndIncrement());
+                            client.setSupportedCompression(codecNames);
+                            client.setSupportsBlockChangeBatches(true);
+                            handler.connectionComplete(client);
+                            netClients.add(client);
+                        }
+                    });
+            Channel serverChannel = serverBootstrap.bind(new InetSocketAddress("127.0.0.1", 0)).sync().channel();
+
+            Bootstrap clientBootstrap = new Bootstrap()
+                    .group(clientGroup)
+                    .channel(NioSocketChannel.class)
+                    .option(ChannelOption.TCP_NODELAY, true)
+                    .handler(new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ChannelPipeline p = ch.pipeline();
+                            p.addLast("lengthFrameDecoder", new LengthFieldBasedFrameDecoder(8388608, 0, 3, 0, 3));
+                            p.addLast(CompressionDecoder.NAME, new CompressionDecoder());
+                            p.addLast("frameDecoder", new ProtobufVarint32FrameDecoder());
+                            p.addLast("protobufDecoder", new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
+                            p.addLast("handler", new ChannelInboundHandlerAdapter() {
+                                @Override
+                                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                                    NetData.NetMessage message = (NetData.NetMessage) msg;
+                                    if (message.getJoinComplete().hasCompression()) {
+                                        ctx.pipeline().replace(CompressionDecoder.NAME, CompressionDecoder.NAME,
+                                                new CompressionDecoder(false));
+                                    }
+                                    if (message.getCreateEntityCount() > 0 || message.getUpdateEntityCount() > 0) {
+                                        receivedMessages.incrementAndGet();
+                                        tickReceived.countDown();
+                                    }
+                                }
+                            });
+                        }
+                    });
+            for (int i = 0; i < clients; i++) {
+                clientChannels.add(clientBootstrap.connect(serverChannel.localAddress()).sync().channel());
+            }
+            while (netClients.size() < clients) {
+                Thread.sleep(1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void run() {
+        for (EntityRef entity : entities) {
+            LocationComponent loc = entity.getComponent(LocationComponent.class);
+            loc.setWorldPosition(new Vector3f(random.nextFloat() * 1000, random.nextFloat() * 100, random.nextFloat() * 1000));
+            entity.saveComponent(loc);
+        }
+        long[] times = awaitTick();
+        ticks++;
+        gameThreadNs += times[0];
+        deliveryNs += times[1];
+    }
+
+    /**
+     * Runs a network tick and waits until every client received a message with entities in it.
+     *
+     * @return the nanoseconds spent in the update, and until the last client received its message
+     */
+    private long[] awaitTick() {
+        CountDownLatch latch = new CountDownLatch(clients);
+        tickReceived = latch;
+        time.advance(NET_TICK_RATE);
+        long start = System.nanoTime();
+        networkSystem.update();
+        long updated = System.nanoTime();
+        try {
+            if (!latch.await(RECEIVE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new RuntimeException("Clients did not receive the tick in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        return new long[]{updated - start, System.nanoTime() - start};
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        for (Channel channel : clientChannels) {
+            channel.close().awaitUninterruptibly();
+        }
+        /* the clients are removed once the server noticed the closed connections */
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(RECEIVE_TIMEOUT_SECONDS);
+        while (networkSystem.getPlayers().iterator().hasNext() && System.nanoTime() < deadline) {
+            networkSystem.update();
+            Thread.yield();
+        }
+        networkSystem.shutdown();
+        clientGroup.shutdownGracefully().syncUninterruptibly();
+        serverGroup.shutdownGracefully().syncUninterruptibly();
+        if (!aborted && ticks > 0) {
+            logger.info("{}: {} ms on the game thread, {} ms until delivered, per tick ({} messages received)", getTitle(),
+                    String.format("%.3f", gameThreadNs / 1e6 / ticks), String.format("%.3f", deliveryNs / 1e6 / ticks),
+                    receivedMessages.get());
+        }
+    }
+
+    /**
+     * Time that only passes when the benchmark advances it, so every update is a network tick.
+     */
+    private static final class BenchmarkTime extends TimeBase {
+        private volatile long rawTime;
+
+        BenchmarkTime() {
+            super(0);
+        }
+
+        void advance(long ms) {
+            rawTime += ms;
+        }
+
+        @Override
+        protected long getRawTimeInMs() {
+            return rawTime;
+        }
+    }
+
+    /**
+     * A client without the client info and character a player gets, so no game systems are needed to connect it.
+     */
+    private static final class BenchmarkClient extends NetClient {
+        private final Channel channel;
+        private final NetworkSystemImpl networkSystem;
+        private EntityRef entity = EntityRef.NULL;
+
+        BenchmarkClient(Channel channel, NetworkSystemImpl networkSystem, int index) {
+            super(channel, networkSystem, new PublicIdentityCertificate("benchmark" + index, BigInteger.ONE,
+                    BigInteger.ONE, BigInteger.ONE));
+            this.channel = channel;
+            this.networkSystem = networkSystem;
+        }
+
+        @Override
+        protected void createEntity(String preferredName, Color color, EntityManager entityManager) {
+            NetworkComponent netComp = new NetworkComponent();
+            netComp.replicateMode = NetworkComponent.ReplicateMode.OWNER;
+            entity = entityManager.create(new ClientComponent(), netComp);
+            /* done by the network entity system in a running game */
+            networkSystem.registerNetworkEntity(entity);
+        }
+
+        @Override
+        public EntityRef getEntity() {
+            return entity;
+        }
+
+        @Override
+        public void disconnect() {
+            if (channel.isOpen()) {
+                channel.close().awaitUninterruptibly();
+            }
+            entity.destroy();
+        }
+    }
+}
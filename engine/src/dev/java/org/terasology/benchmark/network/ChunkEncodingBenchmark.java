@@ -0,0 +1,30 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.network;
+
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Compares encoding chunks for clients on the game thread with copying them there and encoding the copies on another
+ * thread.
+ */
+public final class ChunkEncodingBenchmark {
+
+    private ChunkEncodingBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final List<Benchmark> benchmarks = new LinkedList<>();
+
+        benchmarks.add(new BenchmarkChunkEncoding(false, 0xCAFE));
+        benchmarks.add(new BenchmarkChunkEncoding(true, 0xCAFE));
+
+        Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
+    }
+}
@@ -0,0 +1,31 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.network;
+
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Measures the game thread time and the delivery time of network ticks of a hosted network system, for several numbers
+ * of connected clients.
+ */
+public final class NetworkTickBenchmark {
+
+    private NetworkTickBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final List<Benchmark> benchmarks = new LinkedList<>();
+
+        for (int clients : new int[]{1, 8, 32}) {
+            benchmarks.add(new BenchmarkNetworkTick(clients, 42));
+        }
+
+        Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.noise;
+
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.utilities.procedural.Noise;
+
+/**
+ * Samples a chunk-sized grid of noise values, either point by point or with a single bulk call.
+ */
+public class BenchmarkNoise extends AbstractBenchmark {
+
+    private final Noise noise;
+    private final boolean bulk;
+    private final boolean threeDimensional;
+
+    private final float[] xs;
+    private final float[] ys;
+    private final float[] zs;
+    private final float[] target;
+
+    /**
+     * @param name             a short description of the noise, used in the title
+     * @param noise            the noise to sample
+     * @param bulk             true to fill the grid with a single bulk call, false to sample each point individually
+     * @param threeDimensional true to sample a 3D grid, false for a 2D one
+     */
+    public BenchmarkNoise(String name, Noise noise, boolean bulk, boolean threeDimensional) {
+        super(name + (threeDimensional ? " 3D" : " 2D") + (bulk ? " bulk" : " per point"), 2, new int[]{10, 10});
+        this.noise = noise;
+        this.bulk = bulk;
+        this.threeDimensional = threeDimensional;
+
+        xs = positions(32, 0.01f);
+        ys = positions(threeDimensional ? 64 : 32, 0.01f);
+        zs = positions(threeDimensional ? 32 : 1, 0.01f);
+        target = new float[xs.length * ys.length * zs.length];
+    }
+
+    private static float[] positions(int count, float scale) {
+        float[] result = new float[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = (i + 1000) * scale;
+        }
+        return result;
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < 10; i++) {
+            if (bulk) {
+                runBulk();
+            } else {
+                runPerPoint();
+            }
+        }
+    }
+
+    private void runBulk() {
+        if (threeDimensional) {
+            noise.noise(xs, ys, zs, target);
+        } else {
+            noise.noise(xs, ys, target);
+        }
+    }
+
+    private void runPerPoint() {
+        int index = 0;
+        if (threeDimensional) {
+            for (float z : zs) {
+                for (float y : ys) {
+                    for (float x : xs) {
+                        target[index++] = noise.noise(x, y, z);
+                    }
+                }
+            }
+        } else {
+            for (float y : ys) {
+                for (float x : xs) {
+                    target[index++] = noise.noise(x, y);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.noise;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+import org.terasology.utilities.procedural.BrownianNoise;
+import org.terasology.utilities.procedural.Noise;
+import org.terasology.utilities.procedural.PerlinNoise;
+import org.terasology.utilities.procedural.SimplexNoise;
+import org.terasology.utilities.procedural.WhiteNoise;
+
+import java.util.List;
+
+/**
+ * NoiseBenchmark compares sampling noise point by point with the bulk grid methods of {@link Noise}.
+ */
+public final class NoiseBenchmark {
+
+    private NoiseBenchmark() {
+    }
+
+    @SuppressWarnings("deprecation")
+    public static void main(String[] args) {
+        final List<Benchmark> benchmarks = Lists.newArrayList();
+
+        addBenchmarks(benchmarks, "White", new WhiteNoise(0xCAFE));
+        addBenchmarks(benchmarks, "Simplex", new SimplexNoise(0xCAFE));
+        addBenchmarks(benchmarks, "Perlin", new PerlinNoise(0xCAFE));
+        addBenchmarks(benchmarks, "Brownian(Simplex, 8)", new BrownianNoise(new SimplexNoise(0xCAFE), 8));
+        Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
+    }
+
+    private static void addBenchmarks(List<Benchmark> benchmarks, String name, Noise noise) {
+        for (boolean threeDimensional : new boolean[]{false, true}) {
+            benchmarks.add(new BenchmarkNoise(name, noise, false, threeDimensional));
+            benchmarks.add(new BenchmarkNoise(name, noise, true, threeDimensional));
+        }
+    }
+}
@@ -0,0 +1,204 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.propagation;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.benchmark.chunks.BenchmarkBlockManager;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.propagation.BatchPropagator;
+import org.terasology.world.propagation.BlockChange;
+import org.terasology.world.propagation.PropagationRules;
+import org.terasology.world.propagation.PropagatorWorldView;
+import org.terasology.world.propagation.StandardBatchPropagator;
+import org.terasology.world.propagation.SunlightRegenBatchPropagator;
+import org.terasology.world.propagation.light.InternalLightProcessor;
+import org.terasology.world.propagation.light.LightPropagationRules;
+import org.terasology.world.propagation.light.SunlightPropagationRules;
+import org.terasology.world.propagation.light.SunlightRegenPropagationRules;
+
+import java.util.List;
+
+/**
+ * Digs a shaft through a column of stone chunks and fills it again, relighting the world with the same propagators as
+ * {@link org.terasology.world.internal.WorldProviderCoreImpl} after each of the two mass block changes.
+ * <p>
+ * The column is surrounded by one ring of chunks and covered by a layer of air chunks the sunlight comes from.
+ */
+public class BenchmarkColumnRelight extends AbstractBenchmark {
+
+    private static final int SIZE_XZ = 3;
+
+    private final int stoneChunks;
+    private final int shaftWidth;
+    private final int sizeY;
+
+    private Block air;
+    private Block stone;
+    private Chunk[] chunks;
+    private List<BatchPropagator> propagators;
+    private List<BlockChange> removals;
+    private List<BlockChange> placements;
+
+    /**
+     * @param stoneChunks the height of the stone column in chunks
+     * @param shaftWidth  the width and depth of the shaft in blocks
+     */
+    public BenchmarkColumnRelight(int stoneChunks, int shaftWidth) {
+        super("Relight a column of " + stoneChunks + " chunks after digging and filling a " + shaftWidth + "x"
+                + shaftWidth + " shaft", 2, new int[]{10});
+        this.stoneChunks = stoneChunks;
+        this.shaftWidth = shaftWidth;
+        this.sizeY = stoneChunks + 1;
+    }
+
+    @Override
+    public void setup() {
+        stone = BenchmarkBlockManager.createSolid((short) 1, "engine:stone");
+        BlockManager blockManager = new BenchmarkBlockManager(stone);
+        air = blockManager.getBlock(BlockManager.AIR_ID);
+        ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+
+        chunks = new Chunk[SIZE_XZ * sizeY * SIZE_XZ];
+        for (int x = 0; x < SIZE_XZ; x++) {
+            for (int y = 0; y < sizeY; y++) {
+                for (int z = 0; z < SIZE_XZ; z++) {
+                    Chunk chunk = new ChunkImpl(x, y, z, blockManager, extraDataManager);
+                    if (y < stoneChunks) {
+                        fill(chunk, stone);
+                    }
+                    InternalLightProcessor.generateInternalLighting(chunk);
+                    chunks[index(x, y, z)] = chunk;
+                }
+            }
+        }
+
+        propagators = Lists.newArrayList();
+        SunlightRegenPropagationRules regenRules = new SunlightRegenPropagationRules();
+        LightPropagationRules lightRules = new LightPropagationRules();
+        propagators.add(new StandardBatchPropagator(lightRules, new ChunkGridView(lightRules)));
+        PropagatorWorldView regenWorldView = new ChunkGridView(regenRules);
+        PropagationRules sunlightRules = new SunlightPropagationRules(regenWorldView);
+        PropagatorWorldView sunlightWorldView = new ChunkGridView(sunlightRules);
+        BatchPropagator sunlightPropagator = new StandardBatchPropagator(sunlightRules, sunlightWorldView);
+        propagators.add(new SunlightRegenBatchPropagator(regenRules, regenWorldView, sunlightPropagator,
+                sunlightWorldView));
+        propagators.add(sunlightPropagator);
+
+        removals = Lists.newArrayList();
+        placements = Lists.newArrayList();
+        int min = ChunkConstants.SIZE_X + (ChunkConstants.SIZE_X - shaftWidth) / 2;
+        for (int y = stoneChunks * ChunkConstants.SIZE_Y - 1; y >= 0; y--) {
+            for (int x = min; x < min + shaftWidth; x++) {
+                for (int z = min; z < min + shaftWidth; z++) {
+                    org.joml.Vector3i pos = new org.joml.Vector3i(x, y, z);
+                    removals.add(new BlockChange(pos, stone, air));
+                    placements.add(new BlockChange(pos, air, stone));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        change(removals);
+        change(placements);
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        for (Chunk chunk : chunks) {
+            chunk.dispose();
+        }
+    }
+
+    private void change(List<BlockChange> changes) {
+        for (BlockChange change : changes) {
+            getChunk(change.getPosition().x(), change.getPosition().y(), change.getPosition().z())
+                    .setBlock(ChunkMath.calcBlockPosX(change.getPosition().x()),
+                            ChunkMath.calcBlockPosY(change.getPosition().y()),
+                            ChunkMath.calcBlockPosZ(change.getPosition().z()), change.getTo());
+        }
+        for (BatchPropagator propagator : propagators) {
+            propagator.process(changes);
+        }
+    }
+
+    private static void fill(Chunk chunk, Block block) {
+        for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+            for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                    chunk.setBlock(x, y, z, block);
+                }
+            }
+        }
+    }
+
+    private int index(int x, int y, int z) {
+        return x + SIZE_XZ * (y + sizeY * z);
+    }
+
+    /**
+     * @return The chunk containing the given block, or null if it is outside of the benchmarked area
+     */
+    private Chunk getChunk(int blockX, int blockY, int blockZ) {
+        int x = ChunkMath.calcChunkPos(blockX, ChunkConstants.POWER_X);
+        int y = ChunkMath.calcChunkPos(blockY, ChunkConstants.POWER_Y);
+        int z = ChunkMath.calcChunkPos(blockZ, ChunkConstants.POWER_Z);
+        if (x < 0 || x >= SIZE_XZ || y < 0 || y >= sizeY || z < 0 || z >= SIZE_XZ) {
+            return null;
+        }
+        return chunks[index(x, y, z)];
+    }
+
+    /**
+     * World view over the chunks of the benchmark, which doesn't allocate per access so that the propagators are
+     * measured rather than the view.
+     */
+    private final class ChunkGridView implements PropagatorWorldView {
+
+        private final PropagationRules rules;
+        private final Vector3i relativePos = new Vector3i();
+
+        ChunkGridView(PropagationRules rules) {
+            this.rules = rules;
+        }
+
+        @Override
+        public byte getValueAt(Vector3i pos) {
+            Chunk chunk = getChunk(pos.x, pos.y, pos.z);
+            if (chunk == null) {
+                return UNAVAILABLE;
+            }
+            return rules.getValue(chunk, ChunkMath.calcBlockPosX(pos.x), ChunkMath.calcBlockPosY(pos.y),
+                    ChunkMath.calcBlockPosZ(pos.z));
+        }
+
+        @Override
+        public void setValueAt(Vector3i pos, byte value) {
+            Chunk chunk = getChunk(pos.x, pos.y, pos.z);
+            if (chunk != null) {
+                relativePos.set(ChunkMath.calcBlockPosX(pos.x), ChunkMath.calcBlockPosY(pos.y),
+                        ChunkMath.calcBlockPosZ(pos.z));
+                rules.setValue(chunk, relativePos, value);
+            }
+        }
+
+        @Override
+        public Block getBlockAt(Vector3i pos) {
+            Chunk chunk = getChunk(pos.x, pos.y, pos.z);
+            if (chunk == null) {
+                return null;
+            }
+            return chunk.getBlock(ChunkMath.calcBlockPosX(pos.x), ChunkMath.calcBlockPosY(pos.y),
+                    ChunkMath.calcBlockPosZ(pos.z));
+        }
+    }
+}
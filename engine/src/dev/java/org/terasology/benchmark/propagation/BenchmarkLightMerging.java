@@ -0,0 +1,112 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.propagation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.benchmark.chunks.BenchmarkBlockManager;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.propagation.light.InternalLightProcessor;
+import org.terasology.world.propagation.light.ParallelLightMerger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Lights a box of chunks with uneven terrain and merges the light of all chunks which have all neighbours, either on
+ * the benchmark thread or on several threads.
+ */
+public class BenchmarkLightMerging extends AbstractBenchmark {
+
+    private final int size;
+    private final int threads;
+    private final BlockManager blockManager;
+    private final ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+    private final Block stone;
+
+    private ExecutorService executor;
+    private ParallelLightMerger merger;
+    private List<Vector3ic> innerPositions;
+
+    /**
+     * @param size    width, height and depth of the box in chunks
+     * @param threads count of threads merging, 0 to merge on the benchmark thread
+     */
+    public BenchmarkLightMerging(int size, int threads) {
+        super("Light merging of " + (size - 2) * (size - 2) * (size - 2) + " chunks on "
+                + (threads > 0 ? threads + " threads" : "the calling thread"), 1, new int[]{5});
+        this.size = size;
+        this.threads = threads;
+        stone = BenchmarkBlockManager.createSolid((short) 1, "engine:stone");
+        blockManager = new BenchmarkBlockManager(stone);
+    }
+
+    @Override
+    public void setup() {
+        if (threads > 0) {
+            executor = Executors.newFixedThreadPool(threads);
+            merger = new ParallelLightMerger(executor);
+        } else {
+            merger = new ParallelLightMerger(Runnable::run);
+        }
+        innerPositions = Lists.newArrayList();
+        for (int x = 1; x < size - 1; x++) {
+            for (int y = 1; y < size - 1; y++) {
+                for (int z = 1; z < size - 1; z++) {
+                    innerPositions.add(new Vector3i(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        Map<Vector3ic, Chunk> chunks = createChunks();
+        merger.merge(innerPositions, chunks::get);
+        chunks.values().forEach(Chunk::dispose);
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Vector3ic, Chunk> createChunks() {
+        Map<Vector3ic, Chunk> chunks = Maps.newHashMap();
+        Block air = blockManager.getBlock(BlockManager.AIR_ID);
+        int surface = size * ChunkConstants.SIZE_Y / 2;
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                for (int z = 0; z < size; z++) {
+                    Chunk chunk = new ChunkImpl(x, y, z, blockManager, extraDataManager);
+                    for (int blockX = 0; blockX < ChunkConstants.SIZE_X; blockX++) {
+                        for (int blockZ = 0; blockZ < ChunkConstants.SIZE_Z; blockZ++) {
+                            int worldX = chunk.chunkToWorldPositionX(blockX);
+                            int worldZ = chunk.chunkToWorldPositionZ(blockZ);
+                            int height = surface + Math.floorMod(worldX * 7 + worldZ * 13, ChunkConstants.SIZE_Y);
+                            for (int blockY = 0; blockY < ChunkConstants.SIZE_Y; blockY++) {
+                                Block block = chunk.chunkToWorldPositionY(blockY) < height ? stone : air;
+                                chunk.setBlock(blockX, blockY, blockZ, block);
+                            }
+                        }
+                    }
+                    InternalLightProcessor.generateInternalLighting(chunk);
+                    chunks.put(new Vector3i(x, y, z), chunk);
+                }
+            }
+        }
+        return chunks;
+    }
+}
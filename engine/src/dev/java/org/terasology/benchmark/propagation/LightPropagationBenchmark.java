@@ -0,0 +1,30 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.propagation;
+
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+
+import java.util.List;
+
+/**
+ * LightPropagationBenchmark simplifies the execution of the benchmarks for light propagation and light merging.
+ */
+public final class LightPropagationBenchmark {
+
+    private LightPropagationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final List<Benchmark> benchmarks = Lists.newArrayList();
+
+        benchmarks.add(new BenchmarkColumnRelight(2, 16));
+        benchmarks.add(new BenchmarkColumnRelight(4, 32));
+        benchmarks.add(new BenchmarkLightMerging(5, 0));
+        benchmarks.add(new BenchmarkLightMerging(5, Runtime.getRuntime().availableProcessors()));
+        Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
+    }
+}
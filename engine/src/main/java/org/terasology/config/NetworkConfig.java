@@ -49,6 +49,13 @@ public class NetworkConfig {
      */
     private String masterServer = "meta.terasology.org";
 
+    /**
+     * How the server compresses the data it sends: "zlib" for a single zlib stream per connection, or the name of a
+     * {@link org.terasology.utilities.compression.CompressionCodec} to compress every frame on its own. A codec is only
+     * used for clients that announce support for it when they join, the others keep the zlib stream.
+     */
+    private String compression = "zlib";
+
     public void clear() {
         servers.clear();
     }
@@ -77,6 +84,14 @@ public void setServerMOTD(String serverMOTD) {
         this.serverMOTD = serverMOTD;
     }
 
+    public String getCompression() {
+        return compression;
+    }
+
+    public void setCompression(String compression) {
+        this.compression = compression;
+    }
+
     public void addServerInfo(ServerInfo serverInfo) {
         servers.add(serverInfo);
     }
@@ -31,6 +31,11 @@ public class SystemConfig {
     private boolean monitoringEnabled;
     private boolean writeSaveGamesEnabled;
     private long chunkGenerationFailTimeoutInMs;
+    private int chunkProcessingThreads;
+    private String saveCompression;
+    private boolean archetypeEntityStorage;
+    private boolean paletteBlockStorage;
+    private long pendingEventTimeBudgetInMs;
     private String locale;
 
     public long getDayNightLengthInMs() {
@@ -101,6 +106,63 @@ public void setChunkGenerationFailTimeoutInMs(long chunkGenerationFailTimeoutInM
         this.chunkGenerationFailTimeoutInMs = chunkGenerationFailTimeoutInMs;
     }
 
+    /**
+     * @return count of threads generating and processing chunks, 0 to size it to the available cores
+     */
+    public int getChunkProcessingThreads() {
+        return chunkProcessingThreads;
+    }
+
+    public void setChunkProcessingThreads(int chunkProcessingThreads) {
+        this.chunkProcessingThreads = chunkProcessingThreads;
+    }
+
+    /**
+     * @return the name of the {@link org.terasology.utilities.compression.CompressionCodec} used for saved chunks
+     */
+    public String getSaveCompression() {
+        return saveCompression;
+    }
+
+    public void setSaveCompression(String saveCompression) {
+        this.saveCompression = saveCompression;
+    }
+
+    /**
+     * @return whether entity pools group components by archetype, which speeds up queries for multiple components
+     */
+    public boolean isArchetypeEntityStorage() {
+        return archetypeEntityStorage;
+    }
+
+    public void setArchetypeEntityStorage(boolean archetypeEntityStorage) {
+        this.archetypeEntityStorage = archetypeEntityStorage;
+    }
+
+    /**
+     * @return whether deflated chunks store their blocks in palette arrays, which take less memory but are slower
+     * to read
+     */
+    public boolean isPaletteBlockStorage() {
+        return paletteBlockStorage;
+    }
+
+    public void setPaletteBlockStorage(boolean paletteBlockStorage) {
+        this.paletteBlockStorage = paletteBlockStorage;
+    }
+
+    /**
+     * @return the time per tick spent at most on events sent from other threads, the rest is left for later ticks.
+     * 0 processes all of them every tick.
+     */
+    public long getPendingEventTimeBudgetInMs() {
+        return pendingEventTimeBudgetInMs;
+    }
+
+    public void setPendingEventTimeBudgetInMs(long pendingEventTimeBudgetInMs) {
+        this.pendingEventTimeBudgetInMs = pendingEventTimeBudgetInMs;
+    }
+
     public Locale getLocale() {
         if (locale == null) {
             setLocale(Locale.getDefault(Category.DISPLAY));
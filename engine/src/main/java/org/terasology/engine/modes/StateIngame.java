@@ -164,7 +164,12 @@ public void dispose(boolean shuttingDown) {
     @Override
     public void update(float delta) {
 
-        eventSystem.process();
+        long pendingEventTimeBudget = context.get(Config.class).getSystem().getPendingEventTimeBudgetInMs();
+        if (pendingEventTimeBudget > 0) {
+            eventSystem.process(pendingEventTimeBudget);
+        } else {
+            eventSystem.process();
+        }
 
         for (UpdateSubscriberSystem system : componentSystemManager.iterateUpdateSubscribers()) {
             PerformanceMonitor.startActivity(system.getClass().getSimpleName());
@@ -3,6 +3,7 @@
 
 package org.terasology.engine.modes.loadProcesses;
 
+import org.terasology.config.Config;
 import org.terasology.context.Context;
 import org.terasology.engine.ComponentSystemManager;
 import org.terasology.engine.TerasologyConstants;
@@ -56,6 +57,7 @@ public boolean step() {
         ExtraBlockDataManager extraDataManager = context.get(ExtraBlockDataManager.class);
 
         RemoteChunkProvider chunkProvider = new RemoteChunkProvider(blockManager, localPlayer);
+        chunkProvider.setPaletteBlockStorage(context.get(Config.class).getSystem().isPaletteBlockStorage());
 
         WorldProviderCoreImpl worldProviderCore = new WorldProviderCoreImpl(gameManifest.getWorldInfo(TerasologyConstants.MAIN_WORLD), chunkProvider,
                 blockManager.getBlock(BlockManager.UNLOADED_ID), context);
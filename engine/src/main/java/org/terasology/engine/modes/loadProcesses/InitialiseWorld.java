@@ -130,11 +130,13 @@ public boolean step() {
                 worldGenerator,
                 blockManager,
                 extraDataManager,
-                Maps.newConcurrentMap());
+                Maps.newConcurrentMap(),
+                context.get(Config.class).getSystem().getChunkProcessingThreads());
         RelevanceSystem relevanceSystem = new RelevanceSystem(chunkProvider);
         context.put(RelevanceSystem.class, relevanceSystem);
         context.get(ComponentSystemManager.class).register(relevanceSystem, "engine:relevanceSystem");
         chunkProvider.setRelevanceSystem(relevanceSystem);
+        chunkProvider.setPaletteBlockStorage(context.get(Config.class).getSystem().isPaletteBlockStorage());
         Block unloadedBlock = blockManager.getBlock(BlockManager.UNLOADED_ID);
         WorldProviderCoreImpl worldProviderCore = new WorldProviderCoreImpl(worldInfo, chunkProvider, unloadedBlock, context);
         EntityAwareWorldProvider entityWorldProvider = new EntityAwareWorldProvider(worldProviderCore, context);
@@ -98,4 +98,16 @@ public interface EntityManager extends EntityPool {
 
     boolean moveToPool(long id, EngineEntityPool pool);
 
+    /**
+     * Registers a query for all entities with the given components. Unlike {@link #getEntitiesWith(Class[])}, which
+     * scans all entities on every call, the query is kept up to date as components are added and removed, so it is
+     * well suited for systems that look at the same entities every frame.
+     * <p>
+     * Queries are shared between everyone registering the same components and live as long as the entity manager.
+     *
+     * @param componentClasses the components an entity needs to have to be part of the query, at least one
+     * @return The live query
+     */
+    EntityQuery registerQuery(Class<? extends Component>... componentClasses);
+
 }
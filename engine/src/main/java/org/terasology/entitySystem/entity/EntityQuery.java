@@ -0,0 +1,38 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.entitySystem.entity;
+
+import org.terasology.entitySystem.Component;
+
+import java.util.Set;
+
+/**
+ * A live set of all entities having a given set of components, as registered through
+ * {@link EntityManager#registerQuery(Class[])}.
+ * <p>
+ * The set is updated as components are added and removed, so iterating it only costs the number of matching
+ * entities. Entities may be destroyed or lose components while the query is being iterated; those are skipped,
+ * while entities that start matching during the iteration are only returned by the next one.
+ */
+public interface EntityQuery extends Iterable<EntityRef> {
+
+    /**
+     * @return The component types an entity needs to have to be part of this query
+     */
+    Set<Class<? extends Component>> getComponentClasses();
+
+    /**
+     * @return The number of entities currently matching this query
+     */
+    int size();
+
+    /**
+     * @return Whether no entity currently matches this query
+     */
+    boolean isEmpty();
+
+    /**
+     * @return Whether the given entity currently matches this query
+     */
+    boolean contains(EntityRef entity);
+}
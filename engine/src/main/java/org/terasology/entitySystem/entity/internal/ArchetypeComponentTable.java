@@ -0,0 +1,473 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.entitySystem.entity.internal;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.list.TLongList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TLongLongMap;
+import gnu.trove.map.hash.TLongLongHashMap;
+import org.terasology.entitySystem.Component;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link ComponentTable} that groups the entities by their set of component classes, their archetype.
+ * <br><br>
+ * Every archetype keeps the ids of its entities in one array and their components in one dense array per component
+ * class, the columns. Entities move between archetypes when components are added or removed. A query for entities
+ * with multiple components only has to check which archetypes contain all of them and can then walk their arrays,
+ * instead of probing a map per component for every entity.
+ */
+public class ArchetypeComponentTable implements ComponentTable {
+
+    private static final long NO_LOCATION = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The archetype index in the upper and the row in the lower 32 bits, for every entity with components.
+     */
+    private final TLongLongMap locations = new TLongLongHashMap(1000, 0.5f, NO_LOCATION, NO_LOCATION);
+    private final List<Archetype> archetypes = Lists.newArrayList();
+    private final Map<Set<Class<? extends Component>>, Archetype> archetypesByComponents = Maps.newHashMap();
+    private final Map<Class<? extends Component>, List<Archetype>> archetypesContaining = Maps.newHashMap();
+    private final Map<List<Class<? extends Component>>, List<Archetype>> queryCache = Maps.newHashMap();
+
+    @Override
+    public <T extends Component> T get(long entityId, Class<T> componentClass) {
+        long location = locations.get(entityId);
+        if (location != NO_LOCATION) {
+            Archetype archetype = archetypes.get(archetypeIndex(location));
+            int column = archetype.column(componentClass);
+            if (column >= 0) {
+                return componentClass.cast(archetype.columns[column][row(location)]);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Component put(long entityId, Component component) {
+        Class<? extends Component> componentClass = component.getClass();
+        long location = locations.get(entityId);
+        if (location == NO_LOCATION) {
+            Archetype archetype = getArchetype(ImmutableSet.of(componentClass));
+            int row = archetype.add(entityId);
+            archetype.columns[0][row] = component;
+            locations.put(entityId, location(archetype, row));
+            return null;
+        }
+
+        Archetype archetype = archetypes.get(archetypeIndex(location));
+        int row = row(location);
+        int column = archetype.column(componentClass);
+        if (column >= 0) {
+            Component previous = archetype.columns[column][row];
+            archetype.columns[column][row] = component;
+            return previous;
+        }
+        Archetype target = archetype.addTransitions.get(componentClass);
+        if (target == null) {
+            target = getArchetype(ImmutableSet.<Class<? extends Component>>builder()
+                    .addAll(archetype.componentClasses).add(componentClass).build());
+            archetype.addTransitions.put(componentClass, target);
+        }
+        int targetRow = move(entityId, archetype, row, target);
+        target.columns[target.column(componentClass)][targetRow] = component;
+        return null;
+    }
+
+    @Override
+    public <T extends Component> Component remove(long entityId, Class<T> componentClass) {
+        long location = locations.get(entityId);
+        if (location == NO_LOCATION) {
+            return null;
+        }
+        Archetype archetype = archetypes.get(archetypeIndex(location));
+        int row = row(location);
+        int column = archetype.column(componentClass);
+        if (column < 0) {
+            return null;
+        }
+        Component removed = archetype.columns[column][row];
+        if (archetype.columnClasses.length == 1) {
+            removeRow(archetype, row);
+            locations.remove(entityId);
+            return removed;
+        }
+        Archetype target = archetype.removeTransitions.get(componentClass);
+        if (target == null) {
+            Set<Class<? extends Component>> remaining = ImmutableSet.copyOf(
+                    archetype.componentClasses.stream().filter(c -> c != componentClass).iterator());
+            target = getArchetype(remaining);
+            archetype.removeTransitions.put(componentClass, target);
+        }
+        move(entityId, archetype, row, target);
+        return removed;
+    }
+
+    @Override
+    public List<Component> removeAndReturnComponentsOf(long entityId) {
+        List<Component> components = getComponentsInNewList(entityId);
+        remove(entityId);
+        return components;
+    }
+
+    @Override
+    public void remove(long entityId) {
+        long location = locations.remove(entityId);
+        if (location != NO_LOCATION) {
+            removeRow(archetypes.get(archetypeIndex(location)), row(location));
+        }
+    }
+
+    @Override
+    public void clear() {
+        locations.clear();
+        archetypes.clear();
+        archetypesByComponents.clear();
+        archetypesContaining.clear();
+        queryCache.clear();
+    }
+
+    @Override
+    public int getComponentCount(Class<? extends Component> componentClass) {
+        int count = 0;
+        for (Archetype archetype : archetypesContaining.getOrDefault(componentClass, Collections.emptyList())) {
+            count += archetype.size;
+        }
+        return count;
+    }
+
+    @Override
+    public Iterable<Component> iterateComponents(long entityId) {
+        return getComponentsInNewList(entityId);
+    }
+
+    @Override
+    public List<Component> getComponentsInNewList(long entityId) {
+        long location = locations.get(entityId);
+        if (location == NO_LOCATION) {
+            return Lists.newArrayList();
+        }
+        Archetype archetype = archetypes.get(archetypeIndex(location));
+        int row = row(location);
+        List<Component> components = Lists.newArrayListWithCapacity(archetype.columns.length);
+        for (Component[] column : archetype.columns) {
+            components.add(column[row]);
+        }
+        return components;
+    }
+
+    @Override
+    public <T extends Component> TLongObjectIterator<T> componentIterator(Class<T> componentClass) {
+        List<Archetype> containing = archetypesContaining.get(componentClass);
+        if (containing == null) {
+            return null;
+        }
+        return new ComponentIterator<>(componentClass, containing);
+    }
+
+    @Override
+    public TLongIterator entityIdIterator() {
+        TLongList ids = new TLongArrayList(locations.size());
+        for (Archetype archetype : archetypes) {
+            ids.add(archetype.entityIds, 0, archetype.size);
+        }
+        return ids.iterator();
+    }
+
+    @Override
+    public int numEntities() {
+        return locations.size();
+    }
+
+    /**
+     * @return the number of entities that have all of the given components, or of all entities with components if none
+     * are given.
+     */
+    public int getEntityCount(Class<? extends Component>[] componentClasses) {
+        int count = 0;
+        for (Archetype archetype : getArchetypesWith(componentClasses)) {
+            count += archetype.size;
+        }
+        return count;
+    }
+
+    /**
+     * Iterates over the entities that have all of the given components, or over all entities with components if none
+     * are given.
+     * <br><br>
+     * The ids of all matching entities are copied when the iterator is created, so components may be added and removed
+     * while iterating. Every entity is returned at most once, no matter which archetypes it moves through. Entities that
+     * no longer have all of the components when they are reached are skipped, entities that only got them after the
+     * iterator was created are not returned.
+     *
+     * @return an iterator over the ids of the matching entities.
+     */
+    public TLongIterator entityIdIterator(Class<? extends Component>[] componentClasses) {
+        return new QueryIterator(componentClasses, getArchetypesWith(componentClasses));
+    }
+
+    private List<Archetype> getArchetypesWith(Class<? extends Component>[] componentClasses) {
+        if (componentClasses.length == 0) {
+            return archetypes;
+        }
+        List<Class<? extends Component>> key = Arrays.asList(componentClasses);
+        List<Archetype> result = queryCache.get(key);
+        if (result == null) {
+            result = Lists.newArrayList();
+            for (Archetype archetype : archetypesContaining.getOrDefault(componentClasses[0], Collections.emptyList())) {
+                if (archetype.componentClasses.containsAll(key)) {
+                    result.add(archetype);
+                }
+            }
+            queryCache.put(ImmutableList.copyOf(key), result);
+        }
+        return result;
+    }
+
+    private Archetype getArchetype(Set<Class<? extends Component>> componentClasses) {
+        Archetype archetype = archetypesByComponents.get(componentClasses);
+        if (archetype == null) {
+            archetype = new Archetype(archetypes.size(), componentClasses);
+            archetypes.add(archetype);
+            archetypesByComponents.put(componentClasses, archetype);
+            for (Class<? extends Component> componentClass : componentClasses) {
+                archetypesContaining.computeIfAbsent(componentClass, k -> Lists.newArrayList()).add(archetype);
+            }
+            // cached queries may match the new archetype as well
+            queryCache.clear();
+        }
+        return archetype;
+    }
+
+    /**
+     * Moves the entity with all components both archetypes have in common.
+     *
+     * @return the row of the entity in the target archetype.
+     */
+    private int move(long entityId, Archetype source, int sourceRow, Archetype target) {
+        int targetRow = target.add(entityId);
+        for (int column = 0; column < source.columns.length; column++) {
+            int targetColumn = target.column(source.columnClasses[column]);
+            if (targetColumn >= 0) {
+                target.columns[targetColumn][targetRow] = source.columns[column][sourceRow];
+            }
+        }
+        removeRow(source, sourceRow);
+        locations.put(entityId, location(target, targetRow));
+        return targetRow;
+    }
+
+    /**
+     * Removes the row by moving the last row of the archetype into it.
+     */
+    private void removeRow(Archetype archetype, int row) {
+        int last = --archetype.size;
+        if (row != last) {
+            long movedEntity = archetype.entityIds[last];
+            archetype.entityIds[row] = movedEntity;
+            for (Component[] column : archetype.columns) {
+                column[row] = column[last];
+            }
+            locations.put(movedEntity, location(archetype, row));
+        }
+        for (Component[] column : archetype.columns) {
+            column[last] = null;
+        }
+    }
+
+    private static long location(Archetype archetype, int row) {
+        return (long) archetype.index << 32 | row;
+    }
+
+    private static int archetypeIndex(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int row(long location) {
+        return (int) location;
+    }
+
+    private static final class Archetype {
+        private final int index;
+        private final Set<Class<? extends Component>> componentClasses;
+        private final Class<?>[] columnClasses;
+        private final Map<Class<? extends Component>, Archetype> addTransitions = Maps.newHashMap();
+        private final Map<Class<? extends Component>, Archetype> removeTransitions = Maps.newHashMap();
+
+        private long[] entityIds = new long[INITIAL_CAPACITY];
+        private Component[][] columns;
+        private int size;
+
+        Archetype(int index, Set<Class<? extends Component>> componentClasses) {
+            this.index = index;
+            this.componentClasses = componentClasses;
+            this.columnClasses = componentClasses.toArray(new Class<?>[0]);
+            this.columns = new Component[columnClasses.length][INITIAL_CAPACITY];
+        }
+
+        /**
+         * @return the column of the component class, or -1 if the archetype doesn't contain it.
+         */
+        int column(Class<?> componentClass) {
+            // archetypes rarely have more than a handful of components, so a linear search beats hashing
+            for (int i = 0; i < columnClasses.length; i++) {
+                if (columnClasses[i] == componentClass) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return the row of the added entity, whose components are still to be set.
+         */
+        int add(long entityId) {
+            if (size == entityIds.length) {
+                int capacity = size * 2;
+                entityIds = Arrays.copyOf(entityIds, capacity);
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = Arrays.copyOf(columns[i], capacity);
+                }
+            }
+            entityIds[size] = entityId;
+            return size++;
+        }
+    }
+
+    private final class QueryIterator implements TLongIterator {
+        private final List<Class<? extends Component>> componentClasses;
+        private final BitSet matchingIndices = new BitSet();
+        /* Archetypes created while iterating have to be checked against the component classes */
+        private final int knownArchetypes;
+        private final long[] ids;
+        private int position;
+        private long next = NO_LOCATION;
+
+        QueryIterator(Class<? extends Component>[] componentClasses, List<Archetype> matching) {
+            this.componentClasses = Arrays.asList(componentClasses);
+            this.knownArchetypes = archetypes.size();
+            int count = 0;
+            for (Archetype match : matching) {
+                matchingIndices.set(match.index);
+                count += match.size;
+            }
+            ids = new long[count];
+            count = 0;
+            for (Archetype match : matching) {
+                System.arraycopy(match.entityIds, 0, ids, count, match.size);
+                count += match.size;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == NO_LOCATION && position < ids.length) {
+                long id = ids[position++];
+                long location = locations.get(id);
+                if (location != NO_LOCATION && matches(archetypeIndex(location))) {
+                    next = id;
+                }
+            }
+            return next != NO_LOCATION;
+        }
+
+        private boolean matches(int archetypeIndex) {
+            if (archetypeIndex < knownArchetypes) {
+                return matchingIndices.get(archetypeIndex);
+            }
+            return archetypes.get(archetypeIndex).componentClasses.containsAll(componentClasses);
+        }
+
+        @Override
+        public long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long result = next;
+            next = NO_LOCATION;
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class ComponentIterator<T extends Component> implements TLongObjectIterator<T> {
+        private final Class<T> componentClass;
+        private final List<Archetype> archetypes;
+        private int archetype;
+        private int row = -1;
+        private int column;
+
+        ComponentIterator(Class<T> componentClass, List<Archetype> archetypes) {
+            this.componentClass = componentClass;
+            this.archetypes = archetypes;
+            if (!archetypes.isEmpty()) {
+                column = archetypes.get(0).column(componentClass);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (row + 1 < archetypes.get(archetype).size) {
+                return true;
+            }
+            for (int i = archetype + 1; i < archetypes.size(); i++) {
+                if (archetypes.get(i).size > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void advance() {
+            row++;
+            while (row >= archetypes.get(archetype).size) {
+                if (++archetype == archetypes.size()) {
+                    throw new NoSuchElementException();
+                }
+                column = archetypes.get(archetype).column(componentClass);
+                row = 0;
+            }
+        }
+
+        @Override
+        public long key() {
+            return archetypes.get(archetype).entityIds[row];
+        }
+
+        @Override
+        public T value() {
+            return componentClass.cast(archetypes.get(archetype).columns[column][row]);
+        }
+
+        @Override
+        public T setValue(T value) {
+            T previous = value();
+            archetypes.get(archetype).columns[column][row] = value;
+            return previous;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
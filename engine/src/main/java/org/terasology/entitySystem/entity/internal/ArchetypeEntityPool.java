@@ -0,0 +1,74 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.entitySystem.entity.internal;
+
+import gnu.trove.iterator.TLongIterator;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An entity pool that stores its components in an {@link ArchetypeComponentTable}, so that queries for entities with
+ * multiple components walk dense arrays of matching entities instead of testing every entity of the pool.
+ */
+public class ArchetypeEntityPool extends PojoEntityPool {
+
+    public ArchetypeEntityPool(PojoEntityManager entityManager) {
+        super(entityManager, new ArchetypeComponentTable());
+    }
+
+    @Override
+    public ArchetypeComponentTable getComponentStore() {
+        return (ArchetypeComponentTable) super.getComponentStore();
+    }
+
+    @Override
+    protected Iterable<EntityRef> iterateEntitiesWith(Class<? extends Component>[] componentClasses) {
+        if (componentClasses.length == 0) {
+            // every entity of the pool, including the ones without any components the table doesn't know about
+            return super.iterateEntitiesWith(componentClasses);
+        }
+        return () -> new EntityRefIterator(getComponentStore().entityIdIterator(componentClasses), getEntityStore());
+    }
+
+    @Override
+    public int getCountOfEntitiesWith(Class<? extends Component>[] componentClasses) {
+        return getComponentStore().getEntityCount(componentClasses);
+    }
+
+    /**
+     * Resolves the entity ids to the refs of this pool, skipping entities without one, just like the pool only
+     * iterates over entities it holds a ref for.
+     */
+    private static final class EntityRefIterator implements Iterator<EntityRef> {
+        private final TLongIterator entityIds;
+        private final Map<Long, BaseEntityRef> entityStore;
+        private EntityRef next;
+
+        EntityRefIterator(TLongIterator entityIds, Map<Long, BaseEntityRef> entityStore) {
+            this.entityIds = entityIds;
+            this.entityStore = entityStore;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && entityIds.hasNext()) {
+                next = entityStore.get(entityIds.next());
+            }
+            return next != null;
+        }
+
+        @Override
+        public EntityRef next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            EntityRef result = next;
+            next = null;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.entitySystem.entity.internal;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the registered {@link LiveEntityQuery live entity queries} of an entity manager up to date.
+ * <p>
+ * Only the queries involving the added or removed component are looked at, so the cost of a component change does
+ * not grow with the number of unrelated queries.
+ */
+class EntityQueryRegistry implements EntityChangeSubscriber {
+
+    private final Map<Set<Class<? extends Component>>, LiveEntityQuery> queries = Maps.newHashMap();
+    private final ListMultimap<Class<? extends Component>, LiveEntityQuery> queriesByComponent = ArrayListMultimap.create();
+    private Predicate<EntityRef> filter;
+
+    /**
+     * @return The query for exactly the given components, or null if it hasn't been registered
+     */
+    LiveEntityQuery get(Set<Class<? extends Component>> componentClasses) {
+        return queries.get(componentClasses);
+    }
+
+    /**
+     * Registers a new query, which from now on is kept up to date.
+     *
+     * @param componentClasses the components of the query
+     * @param currentEntities  all entities which currently have those components
+     * @return The new query
+     */
+    LiveEntityQuery register(Set<Class<? extends Component>> componentClasses, Iterable<EntityRef> currentEntities) {
+        LiveEntityQuery query = new LiveEntityQuery(componentClasses);
+        query.setFilter(filter);
+        for (EntityRef entity : currentEntities) {
+            query.add(entity);
+        }
+        queries.put(componentClasses, query);
+        for (Class<? extends Component> componentClass : componentClasses) {
+            queriesByComponent.put(componentClass, query);
+        }
+        return query;
+    }
+
+    /**
+     * Restricts what all queries return, while still tracking the entities the filter rejects.
+     *
+     * @param filter accepts the entities the queries should return, or null to return all of them
+     */
+    void setFilter(Predicate<EntityRef> filter) {
+        this.filter = filter;
+        for (LiveEntityQuery query : queries.values()) {
+            query.setFilter(filter);
+        }
+    }
+
+    /**
+     * Empties all queries, keeping them registered.
+     */
+    void clearEntities() {
+        for (LiveEntityQuery query : queries.values()) {
+            query.clear();
+        }
+    }
+
+    @Override
+    public void onEntityComponentAdded(EntityRef entity, Class<? extends Component> component) {
+        for (LiveEntityQuery query : queriesByComponent.get(component)) {
+            if (query.matches(entity)) {
+                query.add(entity);
+            }
+        }
+    }
+
+    @Override
+    public void onEntityComponentChange(EntityRef entity, Class<? extends Component> component) {
+    }
+
+    @Override
+    public void onEntityComponentRemoved(EntityRef entity, Class<? extends Component> component) {
+        for (LiveEntityQuery query : queriesByComponent.get(component)) {
+            query.remove(entity.getId());
+        }
+    }
+
+    @Override
+    public void onReactivation(EntityRef entity, Collection<Component> components) {
+        Set<Class<? extends Component>> componentClasses = Sets.newHashSetWithExpectedSize(components.size());
+        for (Component component : components) {
+            componentClasses.add(component.getClass());
+        }
+        for (LiveEntityQuery query : queries.values()) {
+            if (componentClasses.containsAll(query.getComponentClasses())) {
+                query.add(entity);
+            }
+        }
+    }
+
+    @Override
+    public void onBeforeDeactivation(EntityRef entity, Collection<Component> components) {
+        for (LiveEntityQuery query : queries.values()) {
+            query.remove(entity.getId());
+        }
+    }
+}
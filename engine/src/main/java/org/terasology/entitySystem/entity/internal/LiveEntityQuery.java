@@ -0,0 +1,122 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.entitySystem.entity.internal;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityQuery;
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * An {@link EntityQuery} whose entities are maintained by an {@link EntityQueryRegistry}.
+ * <p>
+ * Iteration happens over a snapshot of the entities that is only rebuilt after the query changed, so repeatedly
+ * iterating a stable query allocates nothing but the iterator.
+ * <p>
+ * The entities of all pools are tracked. While the entity manager has several world pools, a filter restricts what the
+ * query returns to the entities {@link org.terasology.entitySystem.entity.EntityManager#getEntitiesWith(Class[])} sees,
+ * which makes size and contains checks cost a pool lookup per entity.
+ */
+final class LiveEntityQuery implements EntityQuery {
+
+    private final Set<Class<? extends Component>> componentClasses;
+    private final TLongObjectMap<EntityRef> entities = new TLongObjectHashMap<>();
+    private List<EntityRef> snapshot = ImmutableList.of();
+    private boolean snapshotOutdated;
+    private Predicate<EntityRef> filter;
+
+    LiveEntityQuery(Set<Class<? extends Component>> componentClasses) {
+        this.componentClasses = componentClasses;
+    }
+
+    @Override
+    public Set<Class<? extends Component>> getComponentClasses() {
+        return componentClasses;
+    }
+
+    @Override
+    public int size() {
+        if (filter == null) {
+            return entities.size();
+        }
+        int size = 0;
+        for (EntityRef entity : entities.valueCollection()) {
+            if (filter.test(entity)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (filter == null) {
+            return entities.isEmpty();
+        }
+        return !iterator().hasNext();
+    }
+
+    @Override
+    public boolean contains(EntityRef entity) {
+        return entities.containsKey(entity.getId()) && (filter == null || filter.test(entity));
+    }
+
+    @Override
+    public Iterator<EntityRef> iterator() {
+        if (snapshotOutdated) {
+            snapshot = ImmutableList.copyOf(entities.valueCollection());
+            snapshotOutdated = false;
+        }
+        return Iterators.filter(snapshot.iterator(), this::contains);
+    }
+
+    /**
+     * @param filter restricts the returned entities to those it accepts, or null to return all tracked entities
+     */
+    void setFilter(Predicate<EntityRef> filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * @return Whether the entity has all components of this query
+     */
+    boolean matches(EntityRef entity) {
+        for (Class<? extends Component> componentClass : componentClasses) {
+            if (!entity.hasComponent(componentClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void add(EntityRef entity) {
+        if (entities.put(entity.getId(), entity) == null) {
+            snapshotOutdated = true;
+        }
+    }
+
+    void remove(long entityId) {
+        if (entities.remove(entityId) != null) {
+            snapshotOutdated = true;
+        }
+    }
+
+    void clear() {
+        entities.clear();
+        snapshot = ImmutableList.of();
+        snapshotOutdated = false;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityQuery" + componentClasses;
+    }
+}
@@ -16,6 +16,7 @@
 package org.terasology.entitySystem.entity.internal;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.MapMaker;
@@ -31,6 +32,7 @@
 import org.terasology.engine.TerasologyConstants;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityBuilder;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeRemoveComponent;
@@ -56,6 +58,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import static org.terasology.entitySystem.entity.internal.EntityScope.SECTOR;
 
@@ -67,14 +70,16 @@ public class PojoEntityManager implements EngineEntityManager {
     private long nextEntityId = 1;
     private TLongSet loadedIds = new TLongHashSet();
 
-    private EngineEntityPool globalPool = new PojoEntityPool(this);
-    private PojoSectorManager sectorManager = new PojoSectorManager(this);
+    private final Function<PojoEntityManager, EngineEntityPool> poolFactory;
+    private EngineEntityPool globalPool;
+    private PojoSectorManager sectorManager;
     private Map<Long, EngineEntityPool> poolMap = new MapMaker().initialCapacity(1000).makeMap();
     private List<EngineEntityPool> worldPools = Lists.newArrayList();
     private Map<EngineEntityPool, Long> poolCounts = new HashMap<EngineEntityPool, Long>();
 
     private Set<EntityChangeSubscriber> subscribers = Sets.newLinkedHashSet();
     private Set<EntityDestroySubscriber> destroySubscribers = Sets.newLinkedHashSet();
+    private final EntityQueryRegistry queries = new EntityQueryRegistry();
     private EventSystem eventSystem;
     private PrefabManager prefabManager;
     private ComponentLibrary componentLibrary;
@@ -85,6 +90,28 @@ public class PojoEntityManager implements EngineEntityManager {
 
     private TypeHandlerLibrary typeSerializerLibrary;
 
+    public PojoEntityManager() {
+        this(PojoEntityPool::new);
+    }
+
+    /**
+     * @param poolFactory creates the pools of the entity manager, e.g. {@code ArchetypeEntityPool::new} to store
+     *                    components grouped by archetype instead of in a map per component class.
+     */
+    public PojoEntityManager(Function<PojoEntityManager, EngineEntityPool> poolFactory) {
+        this.poolFactory = poolFactory;
+        this.globalPool = createPool();
+        this.sectorManager = new PojoSectorManager(this);
+        subscribers.add(queries);
+    }
+
+    /**
+     * @return a new, empty pool of the kind this entity manager uses.
+     */
+    EngineEntityPool createPool() {
+        return poolFactory.apply(this);
+    }
+
     @Override
     public RefStrategy getEntityRefStrategy() {
         return refStrategy;
@@ -131,6 +158,7 @@ public void clear() {
         sectorManager.clear();
         nextEntityId = 1;
         loadedIds.clear();
+        queries.clearEntities();
     }
 
     @Override
@@ -159,11 +187,15 @@ public void createWorldPools(GameManifest game) {
         Map<String, WorldInfo> worldInfoMap = gameManifest.getWorldInfoMap();
         worldManager = new WorldManager(gameManifest.getWorldInfo(TerasologyConstants.MAIN_WORLD));
         for (Map.Entry<String, WorldInfo> worldInfoEntry : worldInfoMap.entrySet()) {
-            EngineEntityPool pool = new PojoEntityPool(this);
+            EngineEntityPool pool = createPool();
             //pool.create();
             worldPools.add(pool);
             worldManager.addWorldPool(worldInfoEntry.getValue(), pool);
         }
+        if (worldPools.size() > 1) {
+            // Queries track the entities of every pool, but should only return those of the current world
+            queries.setFilter(this::isInQueriedPool);
+        }
     }
 
     @Override
@@ -758,9 +790,43 @@ private void notifyBeforeDeactivation(EntityRef entity, Collection<Component> co
         }
     }
 
+    @Override
+    @SafeVarargs
+    public final EntityQuery registerQuery(Class<? extends Component>... componentClasses) {
+        Preconditions.checkArgument(componentClasses.length > 0, "A query needs at least one component");
+        Set<Class<? extends Component>> key = ImmutableSet.copyOf(componentClasses);
+        EntityQuery query = queries.get(key);
+        if (query == null) {
+            List<Iterable<EntityRef>> currentEntities = Lists.newArrayList();
+            currentEntities.add(globalPool.getEntitiesWith(componentClasses));
+            for (EngineEntityPool worldPool : worldPools) {
+                currentEntities.add(worldPool.getEntitiesWith(componentClasses));
+            }
+            currentEntities.add(sectorManager.getEntitiesWith(componentClasses));
+            query = queries.register(key, Iterables.concat(currentEntities));
+        }
+        return query;
+    }
+
+    /**
+     * @return Whether the entity is in one of the pools {@link #getEntitiesWith(Class[])} looks at
+     */
+    private boolean isInQueriedPool(EntityRef entity) {
+        EngineEntityPool pool = poolMap.get(entity.getId());
+        return pool == globalPool || pool == getCurrentWorldPool() || sectorManager.contains(entity.getId());
+    }
+
     @Override
     @SafeVarargs
     public final int getCountOfEntitiesWith(Class<? extends Component>... componentClasses) {
+        // A query someone registered answers the count without scanning the pools. Counting alone doesn't register
+        // one, as every query adds work to each component change for as long as the entity manager lives.
+        if (componentClasses.length > 1) {
+            EntityQuery query = queries.get(ImmutableSet.copyOf(componentClasses));
+            if (query != null) {
+                return query.size();
+            }
+        }
         if (isWorldPoolGlobalPool()) {
             return globalPool.getCountOfEntitiesWith(componentClasses) +
                     sectorManager.getCountOfEntitiesWith(componentClasses);
@@ -0,0 +1,18 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.entitySystem.event.internal;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
+
+/**
+ * Calls an event handler method with an event, the entity it was sent to and the components of the entity the method
+ * asks for.
+ *
+ * @see EventHandlerInvokers
+ */
+@FunctionalInterface
+interface EventHandlerInvoker {
+
+    void invoke(Event event, EntityRef entity);
+}
@@ -0,0 +1,212 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.entitySystem.event.internal;
+
+import com.google.common.base.Throwables;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creates strongly typed invokers for event handler methods, which call the method without argument arrays or
+ * reflection.
+ * <p>
+ * Invokers are generated through {@link LambdaMetafactory}. The generated classes live in the class loader of the
+ * engine, so methods of classes it can't see (e.g. those of modules) or can't access are called through a method
+ * handle adapted to the exact parameter types instead.
+ */
+final class EventHandlerInvokers {
+
+    /**
+     * The most component parameters a handler method may have to get an invoker, handlers with more are rare.
+     */
+    static final int MAX_COMPONENT_PARAMS = 4;
+
+    private EventHandlerInvokers() {
+    }
+
+    /**
+     * @param handler         the object to call the method on
+     * @param method          the handler method, taking the event, the entity and then the components
+     * @param componentParams the types of the component parameters of the method
+     * @return An invoker fetching the components from the entity and calling the method with them
+     * @throws IllegalArgumentException if the method has more than {@link #MAX_COMPONENT_PARAMS} component parameters
+     * @throws IllegalAccessException   if the method is not accessible
+     */
+    static EventHandlerInvoker create(Object handler, Method method, List<Class<? extends Component>> componentParams)
+            throws IllegalAccessException {
+        switch (componentParams.size()) {
+            case 0: {
+                Handler0 target = link(Handler0.class, handler, method);
+                return target::handle;
+            }
+            case 1: {
+                Handler1 target = link(Handler1.class, handler, method);
+                Class<? extends Component> first = componentParams.get(0);
+                return (event, entity) -> target.handle(event, entity, entity.getComponent(first));
+            }
+            case 2: {
+                Handler2 target = link(Handler2.class, handler, method);
+                Class<? extends Component> first = componentParams.get(0);
+                Class<? extends Component> second = componentParams.get(1);
+                return (event, entity) -> target.handle(event, entity, entity.getComponent(first),
+                        entity.getComponent(second));
+            }
+            case 3: {
+                Handler3 target = link(Handler3.class, handler, method);
+                Class<? extends Component> first = componentParams.get(0);
+                Class<? extends Component> second = componentParams.get(1);
+                Class<? extends Component> third = componentParams.get(2);
+                return (event, entity) -> target.handle(event, entity, entity.getComponent(first),
+                        entity.getComponent(second), entity.getComponent(third));
+            }
+            case 4: {
+                Handler4 target = link(Handler4.class, handler, method);
+                Class<? extends Component> first = componentParams.get(0);
+                Class<? extends Component> second = componentParams.get(1);
+                Class<? extends Component> third = componentParams.get(2);
+                Class<? extends Component> fourth = componentParams.get(3);
+                return (event, entity) -> target.handle(event, entity, entity.getComponent(first),
+                        entity.getComponent(second), entity.getComponent(third), entity.getComponent(fourth));
+            }
+            default:
+                throw new IllegalArgumentException("Too many component parameters: " + method);
+        }
+    }
+
+    private static <T> T link(Class<T> handlerType, Object handler, Method method) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle implementation = lookup.unreflect(method);
+        Class<?>[] parameterTypes = new Class<?>[method.getParameterCount()];
+        Arrays.fill(parameterTypes, Component.class);
+        parameterTypes[0] = Event.class;
+        parameterTypes[1] = EntityRef.class;
+        MethodType handleType = MethodType.methodType(void.class, parameterTypes);
+
+        if (isVisible(handler.getClass()) && isVisible(method.getDeclaringClass())
+                && isVisible(method.getParameterTypes())) {
+            try {
+                MethodType instantiatedType = MethodType.methodType(void.class, method.getParameterTypes());
+                MethodHandle factory = LambdaMetafactory.metafactory(lookup, "handle",
+                        MethodType.methodType(handlerType, handler.getClass()), handleType, implementation,
+                        instantiatedType).getTarget();
+                return handlerType.cast(factory.invoke(handler));
+            } catch (LambdaConversionException e) {
+                // Fall back to the method handle
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+        return adapt(handlerType, implementation.bindTo(handler).asType(handleType));
+    }
+
+    private static <T> T adapt(Class<T> handlerType, MethodHandle target) {
+        Object adapter;
+        if (handlerType == Handler0.class) {
+            adapter = (Handler0) (event, entity) -> {
+                try {
+                    target.invokeExact(event, entity);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            };
+        } else if (handlerType == Handler1.class) {
+            adapter = (Handler1) (event, entity, first) -> {
+                try {
+                    target.invokeExact(event, entity, first);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            };
+        } else if (handlerType == Handler2.class) {
+            adapter = (Handler2) (event, entity, first, second) -> {
+                try {
+                    target.invokeExact(event, entity, first, second);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            };
+        } else if (handlerType == Handler3.class) {
+            adapter = (Handler3) (event, entity, first, second, third) -> {
+                try {
+                    target.invokeExact(event, entity, first, second, third);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            };
+        } else {
+            adapter = (Handler4) (event, entity, first, second, third, fourth) -> {
+                try {
+                    target.invokeExact(event, entity, first, second, third, fourth);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            };
+        }
+        return handlerType.cast(adapter);
+    }
+
+    private static RuntimeException propagate(Throwable e) {
+        Throwables.throwIfUnchecked(e);
+        return new RuntimeException(e);
+    }
+
+    /**
+     * @return Whether the generated invokers, which live in this package and class loader, can refer to the types
+     */
+    private static boolean isVisible(Class<?>... types) {
+        ClassLoader classLoader = EventHandlerInvokers.class.getClassLoader();
+        for (Class<?> type : types) {
+            if (type.isPrimitive()) {
+                continue;
+            }
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+            try {
+                if (Class.forName(type.getName(), false, classLoader) != type) {
+                    return false;
+                }
+            } catch (ClassNotFoundException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    interface Handler0 {
+        void handle(Event event, EntityRef entity);
+    }
+
+    @FunctionalInterface
+    interface Handler1 {
+        void handle(Event event, EntityRef entity, Component first);
+    }
+
+    @FunctionalInterface
+    interface Handler2 {
+        void handle(Event event, EntityRef entity, Component first, Component second);
+    }
+
+    @FunctionalInterface
+    interface Handler3 {
+        void handle(Event event, EntityRef entity, Component first, Component second, Component third);
+    }
+
+    @FunctionalInterface
+    interface Handler4 {
+        void handle(Event event, EntityRef entity, Component first, Component second, Component third,
+                    Component fourth);
+    }
+}
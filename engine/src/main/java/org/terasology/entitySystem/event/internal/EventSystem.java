@@ -32,6 +32,16 @@ public interface EventSystem {
      */
     void process();
 
+    /**
+     * Process pending events sent from other threads, for roughly at most the given time. Events left over are
+     * processed first on the next call, so a burst of events is spread over several ticks.
+     *
+     * @param timeBudgetInMs the time after which no further pending events are processed
+     */
+    default void process(long timeBudgetInMs) {
+        process();
+    }
+
     /**
      * Registers an event
      *
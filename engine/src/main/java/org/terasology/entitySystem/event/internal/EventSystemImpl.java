@@ -24,7 +24,6 @@
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Queues;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import org.reflections.ReflectionUtils;
@@ -61,12 +60,13 @@
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An implementation of the EventSystem.
@@ -80,12 +80,16 @@ public class EventSystemImpl implements EventSystem {
     private SetMultimap<Class<? extends Event>, EventHandlerInfo> generalHandlers = HashMultimap.create();
     private Comparator<EventHandlerInfo> priorityComparator = new EventHandlerPriorityComparator();
 
+    // Handlers sorted by priority, built on first use and dropped whenever handlers are (un)registered
+    private Map<Class<? extends Event>, EventHandlerInfo[]> sortedHandlers = Maps.newHashMap();
+    private Map<Class<? extends Event>, Map<Class<? extends Component>, EventHandlerInfo[]>> sortedComponentHandlers = Maps.newHashMap();
+
     // Event metadata
     private BiMap<SimpleUri, Class<? extends Event>> eventIdMap = HashBiMap.create();
     private SetMultimap<Class<? extends Event>, Class<? extends Event>> childEvents = HashMultimap.create();
 
     private Thread mainThread;
-    private BlockingQueue<PendingEvent> pendingEvents = Queues.newLinkedBlockingQueue();
+    private PendingEventChannel pendingEvents = new PendingEventChannel();
 
     private EventLibrary eventLibrary;
     private NetworkSystem networkSystem;
@@ -104,13 +108,43 @@ public EventSystemImpl(EventLibrary eventLibrary, NetworkSystem networkSystem, E
 
     @Override
     public void process() {
+        long startTime = System.nanoTime();
+        pendingEvents.collect();
+        int pendingCount = pendingEvents.size();
+        do {
+            for (PendingEvent event = pendingEvents.poll(); event != null; event = pendingEvents.poll()) {
+                sendPendingEvent(event);
+            }
+        } while (pendingEvents.collect());
+        recordPendingEventMetrics(pendingCount, startTime);
+    }
+
+    @Override
+    public void process(long timeBudgetInMs) {
+        long startTime = System.nanoTime();
+        long endTime = startTime + TimeUnit.MILLISECONDS.toNanos(timeBudgetInMs);
+        pendingEvents.collect();
+        int pendingCount = pendingEvents.size();
         for (PendingEvent event = pendingEvents.poll(); event != null; event = pendingEvents.poll()) {
-            if (event.getComponent() != null) {
-                send(event.getEntity(), event.getEvent(), event.getComponent());
-            } else {
-                send(event.getEntity(), event.getEvent());
+            sendPendingEvent(event);
+            if (System.nanoTime() - endTime > 0) {
+                break;
             }
         }
+        recordPendingEventMetrics(pendingCount, startTime);
+    }
+
+    private void sendPendingEvent(PendingEvent event) {
+        if (event.getComponent() != null) {
+            send(event.getEntity(), event.getEvent(), event.getComponent());
+        } else {
+            send(event.getEntity(), event.getEvent());
+        }
+    }
+
+    private void recordPendingEventMetrics(int pendingCount, long startTime) {
+        PerformanceMonitor.recordMetric("Events - Pending from other threads", pendingCount);
+        PerformanceMonitor.recordMetric("Events - Processing pending (ms)", (System.nanoTime() - startTime) / 1_000_000.0);
     }
 
     @Override
@@ -184,6 +218,7 @@ public void registerEventHandler(ComponentSystem handler) {
 
     @Override
     public void unregisterEventHandler(ComponentSystem handler) {
+        invalidateSortedHandlers();
         for (SetMultimap<Class<? extends Component>, EventHandlerInfo> eventHandlers : componentSpecificHandlers.values()) {
             Iterator<EventHandlerInfo> eventHandlerIterator = eventHandlers.values().iterator();
             while (eventHandlerIterator.hasNext()) {
@@ -204,6 +239,7 @@ public void unregisterEventHandler(ComponentSystem handler) {
     }
 
     private void addEventHandler(Class<? extends Event> type, EventHandlerInfo handler, Collection<Class<? extends Component>> components) {
+        invalidateSortedHandlers();
         if (components.isEmpty()) {
             generalHandlers.put(type, handler);
             for (Class<? extends Event> childType : childEvents.get(type)) {
@@ -241,6 +277,7 @@ public <T extends Event> void registerEventReceiver(EventReceiver<T> eventReceiv
 
     @Override
     public <T extends Event> void unregisterEventReceiver(EventReceiver<T> eventReceiver, Class<T> eventClass, Class<? extends Component>... componentTypes) {
+        invalidateSortedHandlers();
         SetMultimap<Class<? extends Component>, EventHandlerInfo> eventHandlerMap = componentSpecificHandlers.get(eventClass);
         if (eventHandlerMap != null) {
             ReceiverEventHandlerInfo testReceiver = new ReceiverEventHandlerInfo<>(eventReceiver, 0, componentTypes);
@@ -273,20 +310,31 @@ public void send(EntityRef entity, Event event) {
             }
             networkReplicate(entity, event);
 
-            Set<EventHandlerInfo> selectedHandlersSet = selectEventHandlers(event.getClass(), entity);
-            List<EventHandlerInfo> selectedHandlers = Lists.newArrayList(selectedHandlersSet);
-            selectedHandlers.sort(priorityComparator);
+            EventHandlerInfo[] handlers = getSortedHandlers(event.getClass());
+            if (handlers.length == 0) {
+                return;
+            }
+            // Only handlers valid for the entity as it is now receive the event, not those for components added by
+            // earlier handlers
+            EventHandlerInfo[] selectedHandlers = new EventHandlerInfo[handlers.length];
+            int selectedCount = 0;
+            for (EventHandlerInfo handler : handlers) {
+                if (handler.isValidFor(entity)) {
+                    selectedHandlers[selectedCount++] = handler;
+                }
+            }
 
             if (event instanceof ConsumableEvent) {
-                sendConsumableEvent(entity, event, selectedHandlers);
+                sendConsumableEvent(entity, event, selectedHandlers, selectedCount);
             } else {
-                sendStandardEvent(entity, event, selectedHandlers);
+                sendStandardEvent(entity, event, selectedHandlers, selectedCount);
             }
         }
     }
 
-    private void sendStandardEvent(EntityRef entity, Event event, List<EventHandlerInfo> selectedHandlers) {
-        for (EventHandlerInfo handler : selectedHandlers) {
+    private void sendStandardEvent(EntityRef entity, Event event, EventHandlerInfo[] selectedHandlers, int selectedCount) {
+        for (int i = 0; i < selectedCount; i++) {
+            EventHandlerInfo handler = selectedHandlers[i];
             // Check isValid at each stage in case components were removed.
             if (handler.isValidFor(entity)) {
                 handler.invoke(entity, event);
@@ -294,9 +342,10 @@ private void sendStandardEvent(EntityRef entity, Event event, List<EventHandlerI
         }
     }
 
-    private void sendConsumableEvent(EntityRef entity, Event event, List<EventHandlerInfo> selectedHandlers) {
+    private void sendConsumableEvent(EntityRef entity, Event event, EventHandlerInfo[] selectedHandlers, int selectedCount) {
         ConsumableEvent consumableEvent = (ConsumableEvent) event;
-        for (EventHandlerInfo handler : selectedHandlers) {
+        for (int i = 0; i < selectedCount; i++) {
+            EventHandlerInfo handler = selectedHandlers[i];
             // Check isValid at each stage in case components were removed.
             if (handler.isValidFor(entity)) {
                 handler.invoke(entity, event);
@@ -373,37 +422,55 @@ public void send(EntityRef entity, Event event, Component component) {
             if (recordAndReplayCurrentStatus.getStatus() == RecordAndReplayStatus.RECORDING) {
                 eventCatcher.addEvent(new PendingEvent(entity, event, component));
             }
-            SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers = componentSpecificHandlers.get(event.getClass());
-            if (handlers != null) {
-                List<EventHandlerInfo> eventHandlers = Lists.newArrayList(handlers.get(component.getClass()));
-                eventHandlers.sort(priorityComparator);
-                for (EventHandlerInfo eventHandler : eventHandlers) {
-                    if (eventHandler.isValidFor(entity)) {
-                        eventHandler.invoke(entity, event);
-                    }
+            for (EventHandlerInfo eventHandler : getSortedHandlers(event.getClass(), component.getClass())) {
+                if (eventHandler.isValidFor(entity)) {
+                    eventHandler.invoke(entity, event);
                 }
             }
         }
     }
 
-    private Set<EventHandlerInfo> selectEventHandlers(Class<? extends Event> eventType, EntityRef entity) {
-        Set<EventHandlerInfo> result = Sets.newHashSet();
-        result.addAll(generalHandlers.get(eventType));
-        SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers = componentSpecificHandlers.get(eventType);
+    /**
+     * @return All handlers of the event type, sorted by priority. Which of them apply depends on the entity.
+     */
+    private EventHandlerInfo[] getSortedHandlers(Class<? extends Event> eventType) {
+        EventHandlerInfo[] handlers = sortedHandlers.get(eventType);
         if (handlers == null) {
-            return result;
+            Set<EventHandlerInfo> handlerSet = Sets.newLinkedHashSet(generalHandlers.get(eventType));
+            SetMultimap<Class<? extends Component>, EventHandlerInfo> componentHandlers = componentSpecificHandlers.get(eventType);
+            if (componentHandlers != null) {
+                handlerSet.addAll(componentHandlers.values());
+            }
+            handlers = sortByPriority(handlerSet);
+            sortedHandlers.put(eventType, handlers);
         }
+        return handlers;
+    }
 
-        for (Class<? extends Component> compClass : handlers.keySet()) {
-            if (entity.hasComponent(compClass)) {
-                for (EventHandlerInfo eventHandler : handlers.get(compClass)) {
-                    if (eventHandler.isValidFor(entity)) {
-                        result.add(eventHandler);
-                    }
-                }
-            }
+    /**
+     * @return The handlers of the event type for the component type, sorted by priority.
+     */
+    private EventHandlerInfo[] getSortedHandlers(Class<? extends Event> eventType, Class<? extends Component> componentType) {
+        Map<Class<? extends Component>, EventHandlerInfo[]> handlersByComponent =
+                sortedComponentHandlers.computeIfAbsent(eventType, k -> Maps.newHashMap());
+        EventHandlerInfo[] handlers = handlersByComponent.get(componentType);
+        if (handlers == null) {
+            SetMultimap<Class<? extends Component>, EventHandlerInfo> componentHandlers = componentSpecificHandlers.get(eventType);
+            handlers = sortByPriority(componentHandlers != null ? componentHandlers.get(componentType) : Collections.emptySet());
+            handlersByComponent.put(componentType, handlers);
         }
-        return result;
+        return handlers;
+    }
+
+    private EventHandlerInfo[] sortByPriority(Collection<EventHandlerInfo> handlers) {
+        List<EventHandlerInfo> sorted = Lists.newArrayList(handlers);
+        sorted.sort(priorityComparator);
+        return sorted.toArray(new EventHandlerInfo[0]);
+    }
+
+    private void invalidateSortedHandlers() {
+        sortedHandlers.clear();
+        sortedComponentHandlers.clear();
     }
 
     private static class EventHandlerPriorityComparator implements Comparator<EventHandlerInfo> {
@@ -482,6 +549,7 @@ public ComponentSystem getHandler() {
     private static class ByteCodeEventHandlerInfo implements EventHandlerInfo {
         private ComponentSystem handler;
         private String activity;
+        private EventHandlerInvoker invoker;
         private MethodAccess methodAccess;
         private int methodIndex;
         private ImmutableList<Class<? extends Component>> filterComponents;
@@ -498,11 +566,20 @@ private static class ByteCodeEventHandlerInfo implements EventHandlerInfo {
 
             this.handler = handler;
             this.activity = activity;
-            this.methodAccess = MethodAccess.get(handler.getClass());
-            methodIndex = methodAccess.getIndex(method.getName(), method.getParameterTypes());
             this.filterComponents = ImmutableList.copyOf(filterComponents);
             this.componentParams = ImmutableList.copyOf(componentParams);
             this.priority = priority;
+            if (componentParams.size() <= EventHandlerInvokers.MAX_COMPONENT_PARAMS) {
+                try {
+                    invoker = EventHandlerInvokers.create(handler, method, this.componentParams);
+                } catch (IllegalAccessException e) {
+                    logger.debug("Cannot generate an invoker for {}, falling back to reflection", method, e);
+                }
+            }
+            if (invoker == null) {
+                this.methodAccess = MethodAccess.get(handler.getClass());
+                methodIndex = methodAccess.getIndex(method.getName(), method.getParameterTypes());
+            }
         }
 
         @Override
@@ -518,17 +595,15 @@ public boolean isValidFor(EntityRef entity) {
         @Override
         public void invoke(EntityRef entity, Event event) {
             try {
-                Object[] params = new Object[2 + componentParams.size()];
-                params[0] = event;
-                params[1] = entity;
-                for (int i = 0; i < componentParams.size(); ++i) {
-                    params[i + 2] = entity.getComponent(componentParams.get(i));
-                }
                 if (!activity.isEmpty()) {
                     PerformanceMonitor.startActivity(activity);
                 }
                 try {
-                    methodAccess.invoke(handler, methodIndex, params);
+                    if (invoker != null) {
+                        invoker.invoke(event, entity);
+                    } else {
+                        methodAccess.invoke(handler, methodIndex, createParams(entity, event));
+                    }
                 } finally {
                     if (!activity.isEmpty()) {
                         PerformanceMonitor.endActivity();
@@ -539,6 +614,16 @@ public void invoke(EntityRef entity, Event event) {
             }
         }
 
+        private Object[] createParams(EntityRef entity, Event event) {
+            Object[] params = new Object[2 + componentParams.size()];
+            params[0] = event;
+            params[1] = entity;
+            for (int i = 0; i < componentParams.size(); ++i) {
+                params[i + 2] = entity.getComponent(componentParams.get(i));
+            }
+            return params;
+        }
+
         @Override
         public int getPriority() {
             return priority;
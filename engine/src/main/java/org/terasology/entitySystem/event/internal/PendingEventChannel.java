@@ -0,0 +1,88 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.entitySystem.event.internal;
+
+import org.terasology.entitySystem.event.PendingEvent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Passes the events sent from other threads to the main thread.
+ * <p>
+ * Every sending thread gets its own lock-free queue, so threads sending at the same time don't contend with each
+ * other. The main thread {@link #collect() collects} the queues of all threads at once, once per tick, and then
+ * processes the collected events at its own pace.
+ */
+class PendingEventChannel {
+
+    private final Queue<ThreadQueue> threadQueues = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ThreadQueue> threadQueue = ThreadLocal.withInitial(() -> {
+        ThreadQueue queue = new ThreadQueue(Thread.currentThread());
+        threadQueues.add(queue);
+        return queue;
+    });
+
+    // Only accessed by the main thread
+    private final Deque<PendingEvent> collected = new ArrayDeque<>();
+
+    /**
+     * Queues an event of the current thread. Can be called from any thread.
+     */
+    void offer(PendingEvent event) {
+        threadQueue.get().events.offer(event);
+    }
+
+    /**
+     * Moves the events all threads sent so far behind the events collected before.
+     * Must only be called by the main thread.
+     *
+     * @return Whether any event was collected
+     */
+    boolean collect() {
+        int previousSize = collected.size();
+        Iterator<ThreadQueue> iterator = threadQueues.iterator();
+        while (iterator.hasNext()) {
+            ThreadQueue queue = iterator.next();
+            // A thread which is no longer alive can't send any more events, so its queue can go once it is empty
+            boolean ownerAlive = queue.owner.isAlive();
+            for (PendingEvent event = queue.events.poll(); event != null; event = queue.events.poll()) {
+                collected.add(event);
+            }
+            if (!ownerAlive) {
+                iterator.remove();
+            }
+        }
+        return collected.size() > previousSize;
+    }
+
+    /**
+     * Must only be called by the main thread.
+     *
+     * @return The next collected event, or null if all collected events have been taken
+     */
+    PendingEvent poll() {
+        return collected.poll();
+    }
+
+    /**
+     * Must only be called by the main thread.
+     *
+     * @return The number of collected events that haven't been taken yet
+     */
+    int size() {
+        return collected.size();
+    }
+
+    private static final class ThreadQueue {
+        private final Thread owner;
+        private final Queue<PendingEvent> events = new ConcurrentLinkedQueue<>();
+
+        ThreadQueue(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -23,6 +23,7 @@
 import org.terasology.audio.StaticSound;
 import org.terasology.engine.paths.PathManager;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnAddedComponent;
@@ -72,9 +73,11 @@ public class BehaviorSystem extends BaseComponentSystem implements UpdateSubscri
     private AssetManager assetManager;
 
     private List<BehaviorTree> trees = Lists.newArrayList();
+    private EntityQuery behaviorEntities;
 
     @Override
     public void initialise() {
+        behaviorEntities = entityManager.registerQuery(BehaviorComponent.class);
         List<ResourceUrn> uris = Lists.newArrayList();
         uris.addAll(new ArrayList<>(assetManager.getAvailableAssets(StaticSound.class)));
         for (ResourceUrn uri : assetManager.getAvailableAssets(BehaviorTree.class)) {
@@ -99,8 +102,7 @@ public void onBehaviorActivated(OnActivatedComponent event, EntityRef entityRef,
 
     @Override
     public void update(float delta) {
-        Iterable<EntityRef> entities = entityManager.getEntitiesWith(BehaviorComponent.class);
-        for (EntityRef entity : entities) {
+        for (EntityRef entity : behaviorEntities) {
             BehaviorComponent behaviorComponent = entity.getComponent(BehaviorComponent.class);
             behaviorComponent.interpreter.tick(delta);
         }
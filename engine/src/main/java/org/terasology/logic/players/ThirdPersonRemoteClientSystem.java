@@ -25,6 +25,7 @@
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityBuilder;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
@@ -67,6 +68,15 @@ public class ThirdPersonRemoteClientSystem extends BaseComponentSystem implement
     @In
     private Time time;
 
+    private EntityQuery remotelyHeldItems;
+    private EntityQuery playerCharacters;
+
+    @Override
+    public void initialise() {
+        remotelyHeldItems = entityManager.registerQuery(ItemIsRemotelyHeldComponent.class);
+        playerCharacters = entityManager.registerQuery(CharacterComponent.class, PlayerCharacterComponent.class);
+    }
+
     /**
      * Ensures held item mount point entity exists, attaches it to the character and sets its transform.
      * @param event the activation that triggered the need to consider changing a held item
@@ -245,10 +255,10 @@ private void linkHeldItemLocationForRemotePlayer(EntityRef newItem, EntityRef pl
     public void update(float delta) {
 
         // Make a set of all held items that exist so we can review them and later toss any no longer needed
-        Set<EntityRef> heldItemsForReview = Sets.newHashSet(entityManager.getEntitiesWith(ItemIsRemotelyHeldComponent.class));
+        Set<EntityRef> heldItemsForReview = Sets.newHashSet(remotelyHeldItems);
 
         // Note that the inclusion of PlayerCharacterComponent excludes "characters" like Gooey. In the future such critters may also want held items
-        for (EntityRef remotePlayer : entityManager.getEntitiesWith(CharacterComponent.class, PlayerCharacterComponent.class)) {
+        for (EntityRef remotePlayer : playerCharacters) {
             if (relatesToLocalPlayer(remotePlayer)) {
                 continue;
             }
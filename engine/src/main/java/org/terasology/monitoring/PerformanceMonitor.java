@@ -140,6 +140,28 @@ public static TObjectDoubleMap<String> getAllocationMean() {
         return instance.getAllocationMean();
     }
 
+    /**
+     * Records the latest value of a metric, e.g. the duration of the last save.
+     * <br><br>
+     * Unlike activities, metrics can be recorded from any thread. They are kept until a new value gets recorded,
+     * which makes them suitable for processes that run in the background or only now and then.
+     *
+     * @param metricName the name of the metric, including its unit.
+     * @param value the latest value of the metric.
+     */
+    public static void recordMetric(String metricName, double value) {
+        instance.recordMetric(metricName, value);
+    }
+
+    /**
+     * Returns a mapping from the name of a metric to the value last recorded with {@link #recordMetric(String, double)}.
+     *
+     * @return a mapping from metric name to its latest value.
+     */
+    public static TObjectDoubleMap<String> getRecordedMetrics() {
+        return instance.getRecordedMetrics();
+    }
+
     /**
      * Enables or disables the Performance Monitoring system.
      * <br><br>
@@ -36,8 +36,9 @@ public ChunkMeshInfo(ChunkMesh mesh) {
         if (!mesh.isGenerated()) {
             for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
                 final ChunkMesh.VertexElements element = mesh.getVertexElements(type);
-                vertices += element.finalVertices.limit();
-                indices += element.finalIndices.limit();
+                // the buffers are only flipped once the mesh is complete, their limits are meaningless before
+                vertices += element.vertexCount * ChunkMesh.VertexElements.VERTEX_SIZE;
+                indices += element.indexCount;
             }
         }
 
@@ -87,6 +87,11 @@ public static void fireChunkDeflated(Chunk chunk, int oldSize, int newSize) {
         post(new ChunkMonitorEvent.Deflated(chunk.getPosition(new Vector3i()), oldSize, newSize));
     }
 
+    public static void fireChunkInflated(Chunk chunk, int oldSize, int newSize) {
+        Preconditions.checkNotNull(chunk, "The parameter 'chunk' must not be null");
+        post(new ChunkMonitorEvent.Inflated(chunk.getPosition(new Vector3i()), oldSize, newSize));
+    }
+
     public static void fireChunkTessellated(Vector3i chunkPos, ChunkMesh mesh) {
         Preconditions.checkNotNull(chunkPos, "The parameter 'chunkPos' must not be null");
         post(new ChunkMonitorEvent.Tessellated(chunkPos, mesh));
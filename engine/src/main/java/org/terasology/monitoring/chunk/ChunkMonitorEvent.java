@@ -94,6 +94,22 @@ public Deflated(Vector3i position, int oldSize, int newSize) {
         }
     }
 
+    /**
+     * Posted when a chunk has to allocate data which it could store in less memory before, like a light array which
+     * is no longer uniform.
+     */
+    public static class Inflated extends BasicChunkEvent {
+
+        public final int oldSize;
+        public final int newSize;
+
+        public Inflated(Vector3i position, int oldSize, int newSize) {
+            super(position);
+            this.oldSize = oldSize;
+            this.newSize = newSize;
+        }
+    }
+
     public static class Tessellated extends BasicChunkEvent {
 
         public final ChunkMeshInfo meshInfo;
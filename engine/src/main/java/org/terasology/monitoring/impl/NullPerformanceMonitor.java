@@ -53,4 +53,13 @@ public TObjectDoubleMap<String> getAllocationMean() {
         return metrics;
     }
 
+    @Override
+    public void recordMetric(String metricName, double value) {
+    }
+
+    @Override
+    public TObjectDoubleMap<String> getRecordedMetrics() {
+        return metrics;
+    }
+
 }
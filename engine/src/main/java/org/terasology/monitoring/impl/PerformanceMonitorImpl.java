@@ -57,6 +57,7 @@ public class PerformanceMonitorImpl implements PerformanceMonitorInternal {
     private final TObjectLongMap<String> runningExecutionTotals;
     private final TObjectLongMap<String> runningAllocationTotals;
     private final TObjectDoubleMap<String> spikeData;
+    private final TObjectDoubleMap<String> recordedMetrics;
 
     private final TObjectDoubleProcedure<String> decayLargestExecutionTime;
     private final TObjectLongProcedure<String> updateExecutionTimeTotalAndSpikeData;
@@ -79,6 +80,7 @@ public PerformanceMonitorImpl() {
         runningExecutionTotals = new TObjectLongHashMap<>();
         runningAllocationTotals = new TObjectLongHashMap<>();
         spikeData = new TObjectDoubleHashMap<>();
+        recordedMetrics = new TObjectDoubleHashMap<>();
 
         decayLargestExecutionTime  = new DecayerOfActivityLargestExecutionTime();
         updateExecutionTimeTotalAndSpikeData = new UpdaterOfActivityExecutionTimeTotalAndSpikeData();
@@ -184,6 +186,20 @@ public TObjectDoubleMap<String> getAllocationMean() {
         return activityToMeanMap;
     }
 
+    @Override
+    public void recordMetric(String metricName, double value) {
+        synchronized (recordedMetrics) {
+            recordedMetrics.put(metricName, value);
+        }
+    }
+
+    @Override
+    public TObjectDoubleMap<String> getRecordedMetrics() {
+        synchronized (recordedMetrics) {
+            return new TObjectDoubleHashMap<>(recordedMetrics);
+        }
+    }
+
     private class ActivityInfo {
         public String name;
         public long startTime;
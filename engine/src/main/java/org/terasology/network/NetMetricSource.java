@@ -42,4 +42,36 @@ public interface NetMetricSource {
      * @return The amount of bytes sent since last time this method was called
      */
     int getSentBytesSinceLastCall();
+
+    /**
+     * @return The amount of chunks sent with data that was already encoded for another client since last time this
+     * method was called
+     */
+    int getReusedEncodedChunksSinceLastCall();
+
+    /**
+     * @return The amount of chunks that had to be encoded to be sent since last time this method was called
+     */
+    int getEncodedChunksSinceLastCall();
+
+    /**
+     * @return The amount of entity updates sent with data that was already serialized for another client since last
+     * time this method was called
+     */
+    int getReusedEntityUpdatesSinceLastCall();
+
+    /**
+     * @return The amount of entity updates that had to be serialized to be sent since last time this method was called
+     */
+    int getSerializedEntityUpdatesSinceLastCall();
+
+    /**
+     * @return The amount of bytes of chunk data sent since last time this method was called
+     */
+    int getSentChunkBytesSinceLastCall();
+
+    /**
+     * @return The amount of chunks waiting to be sent
+     */
+    int getChunkSendQueueLength();
 }
@@ -65,6 +65,37 @@ public interface NetworkSystem extends BlockRegistrationListener {
 
     int getOutgoingBytesDelta();
 
+    /**
+     * @return The number of chunks sent to clients with data already encoded for another client, since last request
+     */
+    int getReusedEncodedChunksDelta();
+
+    /**
+     * @return The number of chunks encoded to be sent to clients since last request
+     */
+    int getEncodedChunksDelta();
+
+    /**
+     * @return The number of entity updates sent to clients with data already serialized for another client, since last
+     * request
+     */
+    int getReusedEntityUpdatesDelta();
+
+    /**
+     * @return The number of entity updates serialized to be sent to clients since last request
+     */
+    int getSerializedEntityUpdatesDelta();
+
+    /**
+     * @return The number of bytes of chunk data sent to clients since last request
+     */
+    int getSentChunkBytesDelta();
+
+    /**
+     * @return The number of chunks waiting to be sent to clients
+     */
+    int getChunkSendQueueLength();
+
     void forceDisconnect(Client client);
 
     void setContext(Context context);
@@ -16,6 +16,7 @@
 package org.terasology.network;
 
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
@@ -58,9 +59,15 @@ public class ServerPingSystem extends BaseComponentSystem implements UpdateSubsc
 
     private Instant lastPingTime;
 
+    private EntityQuery clients;
+
+    private EntityQuery pingSubscribers;
+
     @Override
     public void initialise() {
         lastPingTime = Instant.now();
+        clients = entityManager.registerQuery(ClientComponent.class);
+        pingSubscribers = entityManager.registerQuery(PingSubscriberComponent.class);
     }
 
     @Override
@@ -69,8 +76,7 @@ public void update(float delta) {
         if (time > PING_PERIOD) {
 
             // Server ping to all clients only if there are clients who subscribe
-            if (entityManager.getCountOfEntitiesWith(PingSubscriberComponent.class) != 0) {
-                Iterable<EntityRef> clients = entityManager.getEntitiesWith(ClientComponent.class);
+            if (!pingSubscribers.isEmpty()) {
                 for (EntityRef client : clients) {
                     if (client.equals(localPlayer.getClientEntity())) {
                         continue;
@@ -91,7 +97,7 @@ public void update(float delta) {
             }
 
             //update ping data for all clients
-            for (EntityRef client : entityManager.getEntitiesWith(PingSubscriberComponent.class)) {
+            for (EntityRef client : pingSubscribers) {
                 PingStockComponent pingStockComponent;
                 if (!client.hasComponent(PingStockComponent.class)) {
                     pingStockComponent = new PingStockComponent();
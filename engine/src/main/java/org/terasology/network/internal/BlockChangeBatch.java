@@ -0,0 +1,134 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntShortMap;
+import gnu.trove.map.TShortIntMap;
+import gnu.trove.map.hash.TIntShortHashMap;
+import gnu.trove.map.hash.TShortIntHashMap;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.math.ChunkMath;
+import org.terasology.protobuf.NetData;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Arrays;
+
+/**
+ * Coalesces the blocks changed within one chunk, so they are sent as one {@link NetData.BlockChangeBatchMessage}.
+ * <br><br>
+ * Only the last change of each block is kept. The message lists the changed blocks as runs of indices within the chunk
+ * and refers to their ids through a palette, so a large edit costs a few bytes per run instead of a message per block.
+ */
+class BlockChangeBatch {
+
+    private static final int NO_ENTRY = -1;
+
+    private final Vector3i chunkPos;
+    private final TIntShortMap blocks = new TIntShortHashMap();
+
+    /**
+     * @param chunkPos the position of the chunk the changed blocks are in
+     */
+    BlockChangeBatch(Vector3ic chunkPos) {
+        this.chunkPos = new Vector3i(chunkPos);
+    }
+
+    /**
+     * @param worldPos the world position of the changed block, which has to be within the chunk of this batch
+     * @param blockId  the id of the block now at the position
+     */
+    void add(Vector3ic worldPos, short blockId) {
+        blocks.put(index(ChunkMath.calcBlockPosX(worldPos.x()), ChunkMath.calcBlockPosY(worldPos.y()),
+                ChunkMath.calcBlockPosZ(worldPos.z())), blockId);
+    }
+
+    /**
+     * @return The number of changed blocks
+     */
+    int size() {
+        return blocks.size();
+    }
+
+    NetData.BlockChangeBatchMessage toMessage() {
+        NetData.BlockChangeBatchMessage.Builder message = NetData.BlockChangeBatchMessage.newBuilder();
+        message.setChunkPos(NetMessageUtil.convert(chunkPos));
+        int[] indices = blocks.keys();
+        Arrays.sort(indices);
+        int end = 0;
+        int runStart = 0;
+        while (runStart < indices.length) {
+            int runEnd = runStart + 1;
+            while (runEnd < indices.length && indices[runEnd] == indices[runEnd - 1] + 1) {
+                runEnd++;
+            }
+            message.addIndexRuns(indices[runStart] - end);
+            message.addIndexRuns(runEnd - runStart);
+            end = indices[runEnd - 1] + 1;
+            runStart = runEnd;
+        }
+
+        TShortIntMap palette = new TShortIntHashMap(8, 0.5f, (short) 0, NO_ENTRY);
+        TIntList paletteIndices = new TIntArrayList(indices.length);
+        for (int index : indices) {
+            short blockId = blocks.get(index);
+            int paletteIndex = palette.get(blockId);
+            if (paletteIndex == NO_ENTRY) {
+                paletteIndex = palette.size();
+                palette.put(blockId, paletteIndex);
+                message.addBlockPalette(blockId);
+            }
+            paletteIndices.add(paletteIndex);
+        }
+        if (palette.size() > 1) {
+            for (int i = 0; i < paletteIndices.size(); i++) {
+                message.addPaletteIndex(paletteIndices.get(i));
+            }
+        }
+        return message.build();
+    }
+
+    /**
+     * Adds a {@link NetData.BlockChangeMessage} per changed block to the message, in index order, for clients which
+     * don't apply batches.
+     */
+    void addBlockChangeMessages(NetData.NetMessage.Builder message) {
+        decode(toMessage(), (x, y, z, blockId) -> message.addBlockChange(NetData.BlockChangeMessage.newBuilder()
+                .setPos(NetData.Vector3iData.newBuilder().setX(x).setY(y).setZ(z))
+                .setNewBlock(blockId)));
+    }
+
+    /**
+     * Calls the visitor for every block changed by the message, in index order.
+     */
+    static void decode(NetData.BlockChangeBatchMessage message, BlockChangeVisitor visitor) {
+        int offsetX = message.getChunkPos().getX() * ChunkConstants.SIZE_X;
+        int offsetY = message.getChunkPos().getY() * ChunkConstants.SIZE_Y;
+        int offsetZ = message.getChunkPos().getZ() * ChunkConstants.SIZE_Z;
+        boolean singleBlock = message.getPaletteIndexCount() == 0;
+        int changed = 0;
+        int index = 0;
+        for (int run = 0; run + 1 < message.getIndexRunsCount(); run += 2) {
+            index += message.getIndexRuns(run);
+            int runEnd = index + message.getIndexRuns(run + 1);
+            for (; index < runEnd; index++) {
+                int paletteIndex = singleBlock ? 0 : message.getPaletteIndex(changed);
+                int x = index % ChunkConstants.SIZE_X;
+                int z = (index / ChunkConstants.SIZE_X) % ChunkConstants.SIZE_Z;
+                int y = index / (ChunkConstants.SIZE_X * ChunkConstants.SIZE_Z);
+                visitor.visit(offsetX + x, offsetY + y, offsetZ + z, (short) message.getBlockPalette(paletteIndex));
+                changed++;
+            }
+        }
+    }
+
+    private static int index(int x, int y, int z) {
+        return x + ChunkConstants.SIZE_X * (z + ChunkConstants.SIZE_Z * y);
+    }
+
+    interface BlockChangeVisitor {
+        void visit(int x, int y, int z, short blockId);
+    }
+}
@@ -0,0 +1,144 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector3fc;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.world.chunks.Chunk;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Orders the chunks waiting to be sent to a client by how soon the client needs them.
+ * <br><br>
+ * Chunks closer to the viewpoint of the client come first. Chunks behind the direction the client faces count as
+ * twice as far away by squared distance, since they are out of view. The order is only recomputed when the viewpoint
+ * moves into another chunk or turns by an eighth of a circle, so taking the next chunk usually costs O(log n).
+ */
+class ChunkSendQueue {
+
+    private static final int NO_FACING = -1;
+    private static final int FACINGS = 8;
+    /* How many stale entries the queue may hold before it is rebuilt */
+    private static final int MAX_STALE_ENTRIES = 64;
+    /* Keeps chunks exactly beside the viewpoint in view despite rounding errors of the facing direction */
+    private static final float BEHIND_THRESHOLD = -0.001f;
+
+    private final Map<Vector3i, Chunk> chunks = Maps.newHashMap();
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private final Vector3i center = new Vector3i();
+    private int facing = NO_FACING;
+    private float facingX;
+    private float facingZ;
+
+    /**
+     * Queues a chunk, replacing a chunk queued at the same position.
+     */
+    void add(Vector3ic pos, Chunk chunk) {
+        Vector3i key = new Vector3i(pos);
+        chunks.put(key, chunk);
+        queue.add(new Entry(key, chunk, getPriority(key)));
+    }
+
+    /**
+     * @return Whether a chunk was queued at the position
+     */
+    boolean remove(Vector3ic pos) {
+        if (chunks.remove(new Vector3i(pos)) != null) {
+            /* The entry stays in the queue until it is polled or the queue gets rebuilt */
+            if (queue.size() > 2 * chunks.size() + MAX_STALE_ENTRIES) {
+                rebuild();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The queued chunk the client needs most, which is removed from the queue, or null if the queue is empty
+     */
+    Chunk poll() {
+        Entry entry = queue.poll();
+        while (entry != null) {
+            if (chunks.get(entry.pos) == entry.chunk) {
+                chunks.remove(entry.pos);
+                return entry.chunk;
+            }
+            entry = queue.poll();
+        }
+        return null;
+    }
+
+    /**
+     * Moves the viewpoint the chunks get ordered around.
+     *
+     * @param newCenter the chunk the client is located in
+     * @param direction the direction the client faces, or null if unknown
+     * @return Whether the chunks got ordered anew
+     */
+    boolean setViewpoint(Vector3ic newCenter, Vector3fc direction) {
+        int newFacing = NO_FACING;
+        if (direction != null && (direction.x() != 0 || direction.z() != 0)) {
+            double angle = Math.atan2(direction.z(), direction.x());
+            newFacing = Math.floorMod((int) Math.round(angle * FACINGS / (2 * Math.PI)), FACINGS);
+        }
+        if (center.equals(newCenter) && facing == newFacing) {
+            return false;
+        }
+        center.set(newCenter);
+        facing = newFacing;
+        if (facing != NO_FACING) {
+            double angle = facing * 2 * Math.PI / FACINGS;
+            facingX = (float) Math.cos(angle);
+            facingZ = (float) Math.sin(angle);
+        }
+        rebuild();
+        return true;
+    }
+
+    int size() {
+        return chunks.size();
+    }
+
+    boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    private void rebuild() {
+        queue.clear();
+        for (Map.Entry<Vector3i, Chunk> chunk : chunks.entrySet()) {
+            queue.add(new Entry(chunk.getKey(), chunk.getValue(), getPriority(chunk.getKey())));
+        }
+    }
+
+    private long getPriority(Vector3ic pos) {
+        int dx = pos.x() - center.x();
+        int dy = pos.y() - center.y();
+        int dz = pos.z() - center.z();
+        long distance = (long) dx * dx + (long) dy * dy + (long) dz * dz;
+        if (facing != NO_FACING && dx * facingX + dz * facingZ < BEHIND_THRESHOLD) {
+            return 2 * distance;
+        }
+        return distance;
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        private final Vector3i pos;
+        private final Chunk chunk;
+        private final long priority;
+
+        Entry(Vector3i pos, Chunk chunk, long priority) {
+            this.pos = pos;
+            this.chunk = chunk;
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Long.compare(priority, other.priority);
+        }
+    }
+}
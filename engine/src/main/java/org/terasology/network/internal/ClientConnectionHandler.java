@@ -20,6 +20,8 @@
 import org.terasology.network.JoinStatus;
 import org.terasology.protobuf.NetData;
 import org.terasology.registry.CoreRegistry;
+import org.terasology.utilities.compression.CompressionCodec;
+import org.terasology.utilities.compression.CompressionCodecs;
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
@@ -246,6 +248,12 @@ private void receiveModule(ChannelHandlerContext channelHandlerContext, NetData.
     private void completeJoin(ChannelHandlerContext channelHandlerContext, NetData.JoinCompleteMessage joinComplete) {
         logger.info("Join complete received");
         server.setClientId(joinComplete.getClientId());
+        if (joinComplete.hasCompression()) {
+            // the server compresses every frame after this one on its own
+            logger.info("Server switched to {} compression", joinComplete.getCompression());
+            channelHandlerContext.pipeline().replace(CompressionDecoder.NAME, CompressionDecoder.NAME,
+                    new CompressionDecoder(false));
+        }
 
         channelHandlerContext.pipeline().remove(this);
         channelHandlerContext.pipeline().get(ClientHandler.class).joinComplete(server);
@@ -296,6 +304,10 @@ private void sendJoin(ChannelHandlerContext channelHandlerContext) {
         bldr.setName(config.getPlayer().getName());
         bldr.setViewDistanceLevel(config.getRendering().getViewDistance().getIndex());
         bldr.setColor(clrbldr.setRgba(config.getPlayer().getColor().rgba()).build());
+        for (CompressionCodec codec : CompressionCodecs.getAll()) {
+            bldr.addSupportedCompression(codec.getName());
+        }
+        bldr.setSupportsBlockChangeBatches(true);
 
         channelHandlerContext.channel().writeAndFlush(NetData.NetMessage.newBuilder().setJoin(bldr).build());
     }
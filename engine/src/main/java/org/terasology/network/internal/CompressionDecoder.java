@@ -0,0 +1,65 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.compression.JdkZlibDecoder;
+import org.terasology.utilities.compression.CompressionCodec;
+import org.terasology.utilities.compression.CompressionCodecs;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Decompresses the frames sent by the server, whichever compression it uses.
+ * <br><br>
+ * If the first frame starts a zlib stream, as every connection does until the server switched to a
+ * {@link CompressionEncoder}, this handler replaces itself with a {@link JdkZlibDecoder}. Otherwise every frame is
+ * decompressed by the {@link CompressionCodec} its first byte identifies.
+ */
+public class CompressionDecoder extends MessageToMessageDecoder<ByteBuf> {
+    public static final String NAME = "inflateDecoder";
+
+    /**
+     * The first byte of a zlib stream with the default window size, which no codec uses as id.
+     */
+    private static final byte ZLIB_HEADER = 0x78;
+
+    private final boolean detectZlibStream;
+
+    public CompressionDecoder() {
+        this(true);
+    }
+
+    /**
+     * @param detectZlibStream whether a first frame starting a zlib stream switches to the zlib decoder. False once
+     *                         the server announced that every following frame is compressed on its own.
+     */
+    public CompressionDecoder(boolean detectZlibStream) {
+        this.detectZlibStream = detectZlibStream;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf frame, List<Object> out) throws IOException {
+        if (!frame.isReadable()) {
+            return;
+        }
+        byte id = frame.getByte(frame.readerIndex());
+        if (detectZlibStream && id == ZLIB_HEADER) {
+            // the replaced context forwards to its replacement, so the frame reaches the zlib decoder
+            ctx.pipeline().replace(this, ctx.name(), new JdkZlibDecoder());
+            out.add(frame.retain());
+            return;
+        }
+        CompressionCodec codec = CompressionCodecs.getById(id);
+        if (codec == null) {
+            throw new CorruptedFrameException("Frame has not been compressed by a known codec: " + id);
+        }
+        out.add(Unpooled.wrappedBuffer(codec.decompress(ByteBufUtil.getBytes(frame))));
+    }
+}
@@ -0,0 +1,31 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+import org.terasology.utilities.compression.CompressionCodec;
+
+/**
+ * Compresses every outgoing frame on its own with a {@link CompressionCodec}, as alternative to a zlib stream.
+ * The first byte of each frame identifies the codec for the {@link CompressionDecoder} of the client.
+ * <br><br>
+ * Connections start with a zlib stream, the server only replaces it with this encoder once the client has named the
+ * codec as supported in its join message.
+ */
+public class CompressionEncoder extends MessageToByteEncoder<ByteBuf> {
+    public static final String NAME = "deflateEncoder";
+
+    private final CompressionCodec codec;
+
+    public CompressionEncoder(CompressionCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) {
+        out.writeBytes(codec.compress(ByteBufUtil.getBytes(msg)));
+    }
+}
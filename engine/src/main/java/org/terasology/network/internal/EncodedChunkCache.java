@@ -0,0 +1,104 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.chunks.ManagedChunk;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Shares the encoded data of chunks between all clients they are sent to.
+ * <br><br>
+ * A chunk gets copied only once per {@link ManagedChunk#getModificationCount() modification count}, on the game
+ * thread. The copy is encoded by the first network thread that sends the chunk, and the built message is immutable, so
+ * the serialized block and extra data it holds is reused for every client. The entries are held by weak references to
+ * the chunks, so they disappear together with unloaded chunks.
+ */
+class EncodedChunkCache {
+
+    private final Cache<ManagedChunk, EncodedChunk> entries = CacheBuilder.newBuilder().weakKeys().build();
+    private final AtomicLong encodedChunks = new AtomicLong();
+    private final AtomicLong encodedBytes = new AtomicLong();
+
+    /**
+     * @param chunk   the chunk to encode
+     * @param metrics the metrics of the client the chunk is encoded for, which records if the encoded chunk was reused
+     * @return the encoded chunk, shared by all callers until the chunk gets modified
+     */
+    EncodedChunk getEncodedChunk(ManagedChunk chunk, MetricRecordingHandler metrics) {
+        int modificationCount = chunk.getModificationCount();
+        EncodedChunk entry = entries.getIfPresent(chunk);
+        boolean reused = entry != null && entry.modificationCount == modificationCount;
+        if (!reused) {
+            entry = new EncodedChunk(modificationCount, chunk.copyForEncoding());
+            entries.put(chunk, entry);
+        }
+        if (metrics != null) {
+            metrics.recordEncodedChunk(reused);
+        }
+        return entry;
+    }
+
+    /**
+     * Estimates how many bytes the chunk takes once serialized, without waiting for a network thread to encode it. The
+     * average size of the chunks encoded so far stands in for chunks not encoded yet. Only the very first chunk gets
+     * encoded right away, as there is nothing to estimate from.
+     */
+    int estimateSerializedSize(EncodedChunk chunk) {
+        if (chunk.isEncoded()) {
+            return chunk.getChunkStore().getSerializedSize();
+        }
+        long count = encodedChunks.get();
+        if (count == 0) {
+            return chunk.getChunkStore().getSerializedSize();
+        }
+        return (int) (encodedBytes.get() / count);
+    }
+
+    void clear() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * A chunk copied for encoding. It is encoded when first asked for its data, once for all threads asking.
+     */
+    final class EncodedChunk {
+        private final int modificationCount;
+        private Supplier<EntityData.ChunkStore.Builder> encoder;
+        private volatile EntityData.ChunkStore chunkStore;
+
+        private EncodedChunk(int modificationCount, Supplier<EntityData.ChunkStore.Builder> encoder) {
+            this.modificationCount = modificationCount;
+            this.encoder = encoder;
+        }
+
+        boolean isEncoded() {
+            return chunkStore != null;
+        }
+
+        /**
+         * @return the encoded chunk, which gets encoded by the calling thread if no other thread did so yet
+         */
+        EntityData.ChunkStore getChunkStore() {
+            EntityData.ChunkStore result = chunkStore;
+            if (result == null) {
+                synchronized (this) {
+                    result = chunkStore;
+                    if (result == null) {
+                        result = encoder.get().build();
+                        /* The copied chunk data isn't needed anymore */
+                        encoder = null;
+                        encodedChunks.incrementAndGet();
+                        encodedBytes.addAndGet(result.getSerializedSize());
+                        chunkStore = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
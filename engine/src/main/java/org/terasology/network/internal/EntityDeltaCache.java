@@ -0,0 +1,101 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.network.serialization.ServerComponentFieldCheck;
+import org.terasology.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.protobuf.EntityData;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shares the serialized updates of dirty entities between all clients they are sent to.
+ * <br><br>
+ * Clients which have the same components of an entity added, changed and removed receive the same update, unless only
+ * one of them owns the entity. Each distinct update gets serialized once. The updates of an entity are dropped as soon
+ * as the entity changes again, and all of them when the network tick they were serialized for ends.
+ */
+class EntityDeltaCache {
+
+    private final TIntObjectMap<List<Entry>> entries = new TIntObjectHashMap<>();
+
+    /**
+     * @param netId      the network id of the entity
+     * @param entity     the entity to serialize
+     * @param added      the components added to the entity since the client got the last update
+     * @param changed    the components changed since the client got the last update
+     * @param removed    the components removed since the client got the last update
+     * @param isOwner    whether the client owns the entity
+     * @param serializer the serializer used if the update was not serialized for another client yet
+     * @param metrics    the metrics of the client the update is serialized for, which records if the update was reused
+     * @return the serialized update, or null if there is nothing to send
+     */
+    EntityData.PackedEntity getDelta(int netId, EntityRef entity, Set<Class<? extends Component>> added,
+                                     Set<Class<? extends Component>> changed, Set<Class<? extends Component>> removed,
+                                     boolean isOwner, NetworkEntitySerializer serializer, MetricRecordingHandler metrics) {
+        List<Entry> entityEntries = entries.get(netId);
+        if (entityEntries == null) {
+            entityEntries = Lists.newArrayListWithCapacity(2);
+            entries.put(netId, entityEntries);
+        }
+        for (Entry entry : entityEntries) {
+            if (entry.matches(added, changed, removed, isOwner)) {
+                if (metrics != null) {
+                    metrics.recordSerializedEntityUpdate(true);
+                }
+                return entry.delta;
+            }
+        }
+        EntityData.PackedEntity delta = serializer.serialize(entity, added, changed, removed,
+                new ServerComponentFieldCheck(isOwner, false));
+        entityEntries.add(new Entry(ImmutableSet.copyOf(added), ImmutableSet.copyOf(changed), ImmutableSet.copyOf(removed),
+                isOwner, delta));
+        if (metrics != null) {
+            metrics.recordSerializedEntityUpdate(false);
+        }
+        return delta;
+    }
+
+    /**
+     * Drops the updates of an entity, which must be serialized again after it changed.
+     *
+     * @param netId the network id of the entity
+     */
+    void invalidate(int netId) {
+        entries.remove(netId);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private final Set<Class<? extends Component>> added;
+        private final Set<Class<? extends Component>> changed;
+        private final Set<Class<? extends Component>> removed;
+        private final boolean isOwner;
+        private final EntityData.PackedEntity delta;
+
+        Entry(Set<Class<? extends Component>> added, Set<Class<? extends Component>> changed,
+              Set<Class<? extends Component>> removed, boolean isOwner, EntityData.PackedEntity delta) {
+            this.added = added;
+            this.changed = changed;
+            this.removed = removed;
+            this.isOwner = isOwner;
+            this.delta = delta;
+        }
+
+        boolean matches(Set<Class<? extends Component>> otherAdded, Set<Class<? extends Component>> otherChanged,
+                        Set<Class<? extends Component>> otherRemoved, boolean otherIsOwner) {
+            return isOwner == otherIsOwner && changed.equals(otherChanged) && added.equals(otherAdded)
+                    && removed.equals(otherRemoved);
+        }
+    }
+}
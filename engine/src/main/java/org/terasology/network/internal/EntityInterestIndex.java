@@ -0,0 +1,134 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.procedure.TIntProcedure;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+
+import java.util.Map;
+
+/**
+ * Indexes network entities by the chunk cell they are located in, so the entities near a client can be found without
+ * looking at every network entity.
+ * <p>
+ * Only entities with a position of their own are indexed; entities without a cell are relevant everywhere.
+ */
+public class EntityInterestIndex {
+
+    private final TIntObjectMap<Vector3i> cellByNetId = new TIntObjectHashMap<>();
+    private final Map<Vector3i, TIntSet> netIdsByCell = Maps.newHashMap();
+
+    /**
+     * Moves an entity into the given cell, adding it to the index if it was not indexed yet.
+     *
+     * @param netId the network id of the entity
+     * @param cell the chunk position the entity is located in
+     * @return Whether the cell of the entity changed
+     */
+    public boolean update(int netId, Vector3ic cell) {
+        Vector3i oldCell = cellByNetId.get(netId);
+        if (oldCell != null) {
+            if (oldCell.equals(cell)) {
+                return false;
+            }
+            removeFromCell(netId, oldCell);
+        }
+        Vector3i newCell = new Vector3i(cell);
+        cellByNetId.put(netId, newCell);
+        TIntSet netIds = netIdsByCell.get(newCell);
+        if (netIds == null) {
+            netIds = new TIntHashSet();
+            netIdsByCell.put(newCell, netIds);
+        }
+        netIds.add(netId);
+        return true;
+    }
+
+    /**
+     * Removes an entity from the index.
+     *
+     * @param netId the network id of the entity
+     * @return Whether the entity was indexed
+     */
+    public boolean remove(int netId) {
+        Vector3i oldCell = cellByNetId.remove(netId);
+        if (oldCell != null) {
+            removeFromCell(netId, oldCell);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param netId the network id of the entity
+     * @return The cell the entity is located in, or null if it is not indexed
+     */
+    public Vector3ic getCell(int netId) {
+        return cellByNetId.get(netId);
+    }
+
+    public int size() {
+        return cellByNetId.size();
+    }
+
+    public void clear() {
+        cellByNetId.clear();
+        netIdsByCell.clear();
+    }
+
+    /**
+     * Calls the procedure for every indexed entity in the box of cells around center.
+     *
+     * @param center the cell in the middle of the box
+     * @param extents the number of cells the box reaches out from center along each axis
+     * @param procedure called with the network id of each entity, stops the iteration by returning false
+     */
+    public void forEachWithin(Vector3ic center, Vector3ic extents, TIntProcedure procedure) {
+        long boxCells = (2L * extents.x() + 1) * (2L * extents.y() + 1) * (2L * extents.z() + 1);
+        if (boxCells > netIdsByCell.size()) {
+            /* Fewer occupied cells than cells in the box, so test those instead */
+            for (Map.Entry<Vector3i, TIntSet> entry : netIdsByCell.entrySet()) {
+                if (isWithin(center, entry.getKey(), extents) && !entry.getValue().forEach(procedure)) {
+                    return;
+                }
+            }
+        } else {
+            Vector3i cell = new Vector3i();
+            for (int x = center.x() - extents.x(); x <= center.x() + extents.x(); x++) {
+                for (int y = center.y() - extents.y(); y <= center.y() + extents.y(); y++) {
+                    for (int z = center.z() - extents.z(); z <= center.z() + extents.z(); z++) {
+                        TIntSet netIds = netIdsByCell.get(cell.set(x, y, z));
+                        if (netIds != null && !netIds.forEach(procedure)) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Whether cell lies in the box reaching extents cells out from center along each axis
+     */
+    public static boolean isWithin(Vector3ic center, Vector3ic cell, Vector3ic extents) {
+        return Math.abs(cell.x() - center.x()) <= extents.x()
+                && Math.abs(cell.y() - center.y()) <= extents.y()
+                && Math.abs(cell.z() - center.z()) <= extents.z();
+    }
+
+    private void removeFromCell(int netId, Vector3i cell) {
+        TIntSet netIds = netIdsByCell.get(cell);
+        if (netIds != null) {
+            netIds.remove(netId);
+            if (netIds.isEmpty()) {
+                netIdsByCell.remove(cell);
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@
 import org.terasology.network.NetMetricSource;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A generic Netty handler for recording metrics on sent and received bytes and messages.
@@ -35,6 +36,13 @@ public class MetricRecordingHandler extends ChannelDuplexHandler implements NetM
     private AtomicInteger receivedBytes = new AtomicInteger();
     private AtomicInteger sentMessages = new AtomicInteger();
     private AtomicInteger sentBytes = new AtomicInteger();
+    private AtomicInteger reusedEncodedChunks = new AtomicInteger();
+    private AtomicInteger encodedChunks = new AtomicInteger();
+    private AtomicInteger reusedEntityUpdates = new AtomicInteger();
+    private AtomicInteger serializedEntityUpdates = new AtomicInteger();
+    private AtomicInteger sentChunkBytes = new AtomicInteger();
+    private AtomicInteger chunkSendQueueLength = new AtomicInteger();
+    private AtomicLong totalSentBytes = new AtomicLong();
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
@@ -49,9 +57,55 @@ public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
         ByteBuf buf = (ByteBuf) msg;
         sentMessages.incrementAndGet();
         sentBytes.addAndGet(buf.readableBytes());
+        totalSentBytes.addAndGet(buf.readableBytes());
         super.write(ctx, msg, promise);
     }
 
+    /**
+     * Records that a chunk is sent over this connection.
+     *
+     * @param reused whether the encoded chunk was shared with another connection instead of being encoded for this one
+     */
+    public void recordEncodedChunk(boolean reused) {
+        if (reused) {
+            reusedEncodedChunks.incrementAndGet();
+        } else {
+            encodedChunks.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records that an entity update is sent over this connection.
+     *
+     * @param reused whether the serialized update was shared with another connection instead of being serialized for
+     *               this one
+     */
+    public void recordSerializedEntityUpdate(boolean reused) {
+        if (reused) {
+            reusedEntityUpdates.incrementAndGet();
+        } else {
+            serializedEntityUpdates.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records the bytes chunks sent over this connection take, as estimated before they got written.
+     */
+    public void recordSentChunkBytes(int bytes) {
+        sentChunkBytes.addAndGet(bytes);
+    }
+
+    public void setChunkSendQueueLength(int length) {
+        chunkSendQueueLength.set(length);
+    }
+
+    /**
+     * @return The amount of bytes written to this connection since it was opened
+     */
+    public long getTotalSentBytes() {
+        return totalSentBytes.get();
+    }
+
     @Override
     public int getReceivedMessagesSinceLastCall() {
         return receivedMessages.getAndSet(0);
@@ -71,4 +125,34 @@ public int getSentMessagesSinceLastCall() {
     public int getSentBytesSinceLastCall() {
         return sentBytes.getAndSet(0);
     }
+
+    @Override
+    public int getReusedEncodedChunksSinceLastCall() {
+        return reusedEncodedChunks.getAndSet(0);
+    }
+
+    @Override
+    public int getEncodedChunksSinceLastCall() {
+        return encodedChunks.getAndSet(0);
+    }
+
+    @Override
+    public int getReusedEntityUpdatesSinceLastCall() {
+        return reusedEntityUpdates.getAndSet(0);
+    }
+
+    @Override
+    public int getSerializedEntityUpdatesSinceLastCall() {
+        return serializedEntityUpdates.getAndSet(0);
+    }
+
+    @Override
+    public int getSentChunkBytesSinceLastCall() {
+        return sentChunkBytes.getAndSet(0);
+    }
+
+    @Override
+    public int getChunkSendQueueLength() {
+        return chunkSendQueueLength.get();
+    }
 }
@@ -14,7 +14,6 @@
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 import io.netty.channel.Channel;
-import org.joml.RoundingMode;
 import org.joml.Vector3f;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
@@ -49,20 +48,27 @@
 import org.terasology.protobuf.NetData;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.rendering.world.viewDistance.ViewDistance;
+import org.terasology.utilities.compression.CompressionCodec;
 import org.terasology.world.WorldChangeListener;
 import org.terasology.world.WorldProvider;
 import org.terasology.world.block.Block;
 import org.terasology.world.block.BlockComponent;
 import org.terasology.world.block.family.BlockFamily;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.propagation.BlockChange;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A remote client.
@@ -71,18 +77,26 @@
 public class NetClient extends AbstractClient implements WorldChangeListener {
     private static final Logger logger = LoggerFactory.getLogger(NetClient.class);
     private static final float NET_TICK_RATE = 0.05f;
+    private static final int BYTES_PER_KILOBIT = 125;
+    /* How many bytes have to be sent before the compression ratio of the connection gets measured again */
+    private static final int COMPRESSION_SAMPLE_BYTES = 4096;
+    /* Beyond this many changed blocks per tick, resending the whole chunk is cheaper for both sides */
+    private static final int MAX_BLOCK_CHANGE_BATCH = ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z / 8;
 
     private Time time;
     private NetworkSystemImpl networkSystem;
     private Channel channel;
     private NetworkEntitySerializer entitySerializer;
-    private EventSerializer eventSerializer;
-    private EventLibrary eventLibrary;
-    private NetMetricSource metricSource;
+    /* Also read by the network thread that receives messages from the client */
+    private volatile EventSerializer eventSerializer;
+    private volatile EventLibrary eventLibrary;
+    private MetricRecordingHandler metricSource;
 
     // Relevance
-    private Set<Vector3i> relevantChunks = Sets.newHashSet();
+    private Map<Vector3i, Chunk> relevantChunks = Maps.newHashMap();
     private TIntSet netRelevant = new TIntHashSet();
+    private Vector3i interestCenter;
+    private ViewDistance interestViewDistance;
 
     // Entity replication data
     private TIntSet netInitial = new TIntHashSet();
@@ -95,24 +109,32 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private String preferredName = "Player";
     private long lastReceivedTime;
     private ViewDistance viewDistance = ViewDistance.NEAR;
-    private float chunkSendCounter = 1.0f;
-
-    private float chunkSendRate = 0.05469f;
+    private int chunkSendBudget;
+    /* Bytes the chunks sent took beyond their estimate, as found out once the network thread encoded them */
+    private final AtomicInteger chunkBytesUnderestimated = new AtomicInteger();
+    private float compressionRatio = 1.0f;
+    private AtomicLong serializedBytesSent = new AtomicLong();
+    private long sampledSerializedBytes;
+    private long sampledWireBytes;
 
     private PublicIdentityCertificate identity;
+    /* Names of the compression codecs the client can decompress single frames with, in lower case */
+    private Set<String> supportedCompression = Collections.emptySet();
+    /* Older clients ignore block change batches, so they are sent a message per changed block */
+    private boolean supportsBlockChangeBatches;
 
     // Outgoing messages
-    private BlockingQueue<NetData.BlockChangeMessage> queuedOutgoingBlockChanges = Queues.newLinkedBlockingQueue();
+    private final Map<Vector3i, BlockChangeBatch> queuedOutgoingBlockChanges = Maps.newLinkedHashMap();
     private BlockingQueue<NetData.ExtraDataChangeMessage> queuedOutgoingExtraDataChanges = Queues.newLinkedBlockingQueue();
     private List<NetData.EventMessage> queuedOutgoingEvents = Lists.newArrayList();
     private final List<BlockFamily> newlyRegisteredFamilies = Lists.newArrayList();
 
-    private Map<Vector3i, Chunk> readyChunks = Maps.newLinkedHashMap();
+    private ChunkSendQueue chunkSendQueue = new ChunkSendQueue();
     private Set<Vector3i> invalidatedChunks = Sets.newLinkedHashSet();
 
 
     // Incoming messages
-    private BlockingQueue<NetData.NetMessage> queuedIncomingMessage = Queues.newLinkedBlockingQueue();
+    private BlockingQueue<ReceivedMessage> queuedIncomingMessage = Queues.newLinkedBlockingQueue();
 
     // Metrics
     private AtomicInteger receivedMessages = new AtomicInteger();
@@ -129,7 +151,7 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
      */
     public NetClient(Channel channel, NetworkSystemImpl networkSystem, PublicIdentityCertificate identity) {
         this.channel = channel;
-        metricSource = (NetMetricSource) channel.pipeline().get(MetricRecordingHandler.NAME);
+        metricSource = (MetricRecordingHandler) channel.pipeline().get(MetricRecordingHandler.NAME);
         this.networkSystem = networkSystem;
         this.time = CoreRegistry.get(Time.class);
         this.identity = identity;
@@ -206,17 +228,25 @@ public void disconnect() {
     @Override
     public void update(boolean netTick) {
         if (netTick) {
+            updateCompressionRatio();
             NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
             message.setTime(time.getGameTimeInMs());
             sendRegisteredBlocks(message);
             sendChunkInvalidations(message);
-            sendNewChunks(message);
+            ChunksToSend chunks = takeNewChunks();
             sendRemovedEntities(message);
             sendInitialEntities(message);
             sendDirtyEntities(message);
+            List<BlockChangeBatch> blockChanges = takeBlockChanges();
             sendEvents(message);
-            send(message.build());
+            /*
+             * The chunks are copies by now, so encoding them is left to the event loop along with building and sending
+             * the message. Entities and their deltas are serialized above: their type handlers read live components
+             * and map entity references to network ids, and copying the components first costs about as much.
+             */
+            channel.eventLoop().execute(() -> assembleAndSend(message, chunks, blockChanges));
         }
+        /* Received events and entity updates are applied to live entities, so they are deserialized here as well */
         processReceivedMessages();
     }
 
@@ -234,36 +264,75 @@ private void sendRegisteredBlocks(NetData.NetMessage.Builder message) {
         }
     }
 
-    private void sendNewChunks(NetData.NetMessage.Builder message) {
-        if (!readyChunks.isEmpty()) {
-            chunkSendCounter += chunkSendRate * NET_TICK_RATE * networkSystem.getBandwidthPerClient();
-            if (chunkSendCounter > 1.0f) {
-                chunkSendCounter -= 1.0f;
-                Vector3i center = new Vector3i();
-                LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
-                if (loc != null) {
-                    Vector3f target = loc.getWorldPosition(new Vector3f());
-                    if (target.isFinite()) {
-                        center.set(target, RoundingMode.HALF_UP); // use center as temporary variable
-                        ChunkMath.calcChunkPos(center, center); // update center to chunkPos
-                    }
-                }
-                Vector3i pos = null;
-                long distance = Integer.MAX_VALUE;
-                for (Vector3i chunkPos : readyChunks.keySet()) {
-                    long chunkDistance = chunkPos.distanceSquared(center);
-                    if (pos == null || chunkDistance < distance) {
-                        pos = chunkPos;
-                        distance = chunkDistance;
-                    }
+    /**
+     * Takes the queued chunks the client needs most, as many as the share of the upstream bandwidth of this client
+     * allows per tick. A chunk costs the bytes it takes after compression, estimated from the compression ratio
+     * measured on this connection. The budget is not exceeded by more than one chunk, and overspending is paid back in
+     * the following ticks.
+     * <p>
+     * Chunks that were not encoded yet are charged with the average size of encoded chunks, the difference to their
+     * actual size is paid back once the event loop encoded them.
+     *
+     * @return The chunks to send, copied to be encoded off the game thread
+     */
+    private ChunksToSend takeNewChunks() {
+        int bytesPerTick = (int) (networkSystem.getBandwidthPerClient() * BYTES_PER_KILOBIT * NET_TICK_RATE);
+        int underestimatedBytes = chunkBytesUnderestimated.getAndSet(0);
+        ChunksToSend chunks = new ChunksToSend(compressionRatio);
+        if (chunkSendQueue.isEmpty()) {
+            chunkSendBudget = bytesPerTick;
+        } else {
+            chunkSendBudget = Math.min(chunkSendBudget + bytesPerTick, bytesPerTick) - underestimatedBytes;
+            LocationComponent loc = getCharacterLocation();
+            if (loc != null) {
+                Vector3f position = loc.getWorldPosition(new Vector3f());
+                if (position.isFinite()) {
+                    chunkSendQueue.setViewpoint(ChunkMath.calcChunkPos(position, new Vector3i()),
+                            loc.getWorldDirection(new Vector3f()));
                 }
-                Chunk chunk = readyChunks.remove(pos);
-                relevantChunks.add(pos);
-                message.addChunkInfo(chunk.encode());
             }
-        } else {
-            chunkSendCounter = 1.0f;
+            EncodedChunkCache encodedChunkCache = networkSystem.getEncodedChunkCache();
+            while (chunkSendBudget > 0 && !chunkSendQueue.isEmpty()) {
+                Chunk chunk = chunkSendQueue.poll();
+                EncodedChunkCache.EncodedChunk encodedChunk = encodedChunkCache.getEncodedChunk(chunk, metricSource);
+                int chunkBytes = (int) (encodedChunkCache.estimateSerializedSize(encodedChunk) * compressionRatio);
+                chunkSendBudget -= chunkBytes;
+                chunks.chargedBytes += chunkBytes;
+                relevantChunks.put(chunk.getPosition(new Vector3i()), chunk);
+                chunks.chunks.add(encodedChunk);
+            }
+        }
+        if (metricSource != null) {
+            metricSource.setChunkSendQueueLength(chunkSendQueue.size());
         }
+        return chunks;
+    }
+
+    /**
+     * Compares the bytes written to the connection with the size of the messages sent since the last sample.
+     */
+    private void updateCompressionRatio() {
+        if (metricSource == null) {
+            return;
+        }
+        long wireBytes = metricSource.getTotalSentBytes();
+        long serializedBytes = serializedBytesSent.get();
+        long serializedDelta = serializedBytes - sampledSerializedBytes;
+        long wireDelta = wireBytes - sampledWireBytes;
+        if (serializedDelta >= COMPRESSION_SAMPLE_BYTES && wireDelta > 0) {
+            float sample = Math.min(1.0f, (float) wireDelta / serializedDelta);
+            compressionRatio = (compressionRatio + sample) / 2;
+            sampledSerializedBytes = serializedBytes;
+            sampledWireBytes = wireBytes;
+        }
+    }
+
+    private LocationComponent getCharacterLocation() {
+        ClientComponent clientComp = getEntity().getComponent(ClientComponent.class);
+        if (clientComp != null) {
+            return clientComp.character.getComponent(LocationComponent.class);
+        }
+        return null;
     }
 
     private void sendChunkInvalidations(NetData.NetMessage.Builder message) {
@@ -277,6 +346,50 @@ private void sendChunkInvalidations(NetData.NetMessage.Builder message) {
         invalidatedChunks.clear();
     }
 
+    /**
+     * @return Whether the entity has been or is about to be created on this client
+     */
+    public boolean isNetRelevant(int netId) {
+        return netRelevant.contains(netId) || netInitial.contains(netId);
+    }
+
+    /**
+     * @return The network ids of all entities that have been or are about to be created on this client
+     */
+    public int[] getNetRelevant() {
+        TIntSet result = new TIntHashSet(netRelevant);
+        result.addAll(netInitial);
+        return result.toArray();
+    }
+
+    /**
+     * @return The chunk the character of this client was located in at the last {@link #updateInterestCenter()}, or
+     * null if it had no location
+     */
+    public Vector3ic getInterestCenter() {
+        return interestCenter;
+    }
+
+    /**
+     * Looks up the chunk the character of this client is located in, which network entities are replicated around.
+     *
+     * @return Whether the chunk or the view distance changed since the last update
+     */
+    boolean updateInterestCenter() {
+        Vector3i center = null;
+        LocationComponent loc = getCharacterLocation();
+        if (loc != null) {
+            Vector3f position = loc.getWorldPosition(new Vector3f());
+            if (position.isFinite()) {
+                center = ChunkMath.calcChunkPos(position, new Vector3i());
+            }
+        }
+        boolean changed = !Objects.equal(center, interestCenter) || viewDistance != interestViewDistance;
+        interestCenter = center;
+        interestViewDistance = viewDistance;
+        return changed;
+    }
+
     public void setNetInitial(int netId) {
         netInitial.add(netId);
     }
@@ -335,7 +448,7 @@ public void send(Event event, EntityRef target) {
         try {
             BlockComponent blockComp = target.getComponent(BlockComponent.class);
             if (blockComp != null) {
-                if (relevantChunks.contains(ChunkMath.calcChunkPos(JomlUtil.from(blockComp.position), new Vector3i()))) {
+                if (relevantChunks.containsKey(ChunkMath.calcChunkPos(JomlUtil.from(blockComp.position), new Vector3i()))) {
                     queuedOutgoingEvents.add(NetData.EventMessage.newBuilder()
                         .setTargetBlockPos(NetMessageUtil.convert(blockComp.position))
                         .setEvent(eventSerializer.serialize(event)).build());
@@ -369,6 +482,7 @@ void send(NetData.NetMessage data) {
         logger.trace("Sending packet with size {}", data.getSerializedSize());
         sentMessages.incrementAndGet();
         sentBytes.addAndGet(data.getSerializedSize());
+        serializedBytesSent.addAndGet(data.getSerializedSize());
         channel.writeAndFlush(data);
     }
 
@@ -376,13 +490,13 @@ void send(NetData.NetMessage data) {
     public void onChunkRelevant(Vector3ic pos, Chunk chunk) {
         Vector3i result = new Vector3i(pos);
         invalidatedChunks.remove(result);
-        readyChunks.put(result, chunk);
+        chunkSendQueue.add(result, chunk);
     }
 
     @Override
     public void onChunkIrrelevant(Vector3ic pos) {
         Vector3i result = new Vector3i(pos);
-        readyChunks.remove(result);
+        chunkSendQueue.remove(result);
         invalidatedChunks.add(result);
     }
 
@@ -390,18 +504,37 @@ public void onChunkIrrelevant(Vector3ic pos) {
     @Override
     public void onBlockChanged(Vector3ic pos, Block newBlock, Block originalBlock) {
         org.joml.Vector3i chunkPos = ChunkMath.calcChunkPos(pos, new org.joml.Vector3i());
-        if (relevantChunks.contains(chunkPos)) {
-            queuedOutgoingBlockChanges.add(NetData.BlockChangeMessage.newBuilder()
-                .setPos(NetMessageUtil.convert(pos))
-                .setNewBlock(newBlock.getId())
-                .build());
+        if (relevantChunks.containsKey(chunkPos)) {
+            synchronized (queuedOutgoingBlockChanges) {
+                getBlockChangeBatch(chunkPos).add(pos, newBlock.getId());
+            }
+        }
+    }
+
+    @Override
+    public void onBlocksChanged(Collection<BlockChange> changes) {
+        Vector3i chunkPos = new Vector3i();
+        Vector3i lastChunkPos = null;
+        BlockChangeBatch batch = null;
+        synchronized (queuedOutgoingBlockChanges) {
+            for (BlockChange change : changes) {
+                ChunkMath.calcChunkPos(change.getPosition(), chunkPos);
+                if (!chunkPos.equals(lastChunkPos)) {
+                    /* The changes come grouped by chunk, so this looks up each chunk about once */
+                    batch = relevantChunks.containsKey(chunkPos) ? getBlockChangeBatch(chunkPos) : null;
+                    lastChunkPos = new Vector3i(chunkPos);
+                }
+                if (batch != null) {
+                    batch.add(change.getPosition(), change.getTo().getId());
+                }
+            }
         }
     }
 
     @Override
     public void onExtraDataChanged(int i, Vector3ic pos, int newData, int oldData) {
         org.joml.Vector3i chunkPos = ChunkMath.calcChunkPos(pos, new org.joml.Vector3i());
-        if (relevantChunks.contains(chunkPos)) {
+        if (relevantChunks.containsKey(chunkPos)) {
             queuedOutgoingExtraDataChanges.add(NetData.ExtraDataChangeMessage.newBuilder()
                 .setIndex(i)
                 .setPos(NetMessageUtil.convert(pos))
@@ -412,23 +545,81 @@ public void onExtraDataChanged(int i, Vector3ic pos, int newData, int oldData) {
 
 
     private void processReceivedMessages() {
-        List<NetData.NetMessage> messages = Lists.newArrayListWithExpectedSize(queuedIncomingMessage.size());
+        List<ReceivedMessage> messages = Lists.newArrayListWithExpectedSize(queuedIncomingMessage.size());
         queuedIncomingMessage.drainTo(messages);
-        for (NetData.NetMessage message : messages) {
+        for (ReceivedMessage received : messages) {
+            NetData.NetMessage message = received.message;
             if (message.hasTime() && message.getTime() > lastReceivedTime) {
                 lastReceivedTime = message.getTime();
             }
             processEntityUpdates(message);
-            processEvents(message);
+            processEvents(received.events != null ? received.events : resolveEvents(message));
 
         }
     }
 
-    private void sendEvents(NetData.NetMessage.Builder message) {
-        List<NetData.BlockChangeMessage> blockChanges = Lists.newArrayListWithExpectedSize(queuedOutgoingBlockChanges.size());
-        queuedOutgoingBlockChanges.drainTo(blockChanges);
-        message.addAllBlockChange(blockChanges);
+    private BlockChangeBatch getBlockChangeBatch(Vector3i chunkPos) {
+        BlockChangeBatch batch = queuedOutgoingBlockChanges.get(chunkPos);
+        if (batch == null) {
+            batch = new BlockChangeBatch(chunkPos);
+            queuedOutgoingBlockChanges.put(new Vector3i(chunkPos), batch);
+        }
+        return batch;
+    }
+
+    /**
+     * Takes the blocks changed since the last tick, batched per chunk. A chunk with more changed blocks than
+     * {@link #MAX_BLOCK_CHANGE_BATCH} is queued to be sent again instead, and no changes are sent for it until then.
+     */
+    private List<BlockChangeBatch> takeBlockChanges() {
+        synchronized (queuedOutgoingBlockChanges) {
+            List<BlockChangeBatch> batches = Lists.newArrayListWithCapacity(queuedOutgoingBlockChanges.size());
+            for (Map.Entry<Vector3i, BlockChangeBatch> entry : queuedOutgoingBlockChanges.entrySet()) {
+                BlockChangeBatch batch = entry.getValue();
+                if (!relevantChunks.containsKey(entry.getKey())) {
+                    /* The chunk got invalidated on the client since */
+                    continue;
+                }
+                if (batch.size() > MAX_BLOCK_CHANGE_BATCH) {
+                    chunkSendQueue.add(entry.getKey(), relevantChunks.remove(entry.getKey()));
+                } else {
+                    batches.add(batch);
+                }
+            }
+            queuedOutgoingBlockChanges.clear();
+            return batches;
+        }
+    }
 
+    /**
+     * Encodes the chunks and block changes into the message and sends it. Runs on the event loop of the channel, after
+     * the messages queued before, so the messages of a client keep their order.
+     */
+    private void assembleAndSend(NetData.NetMessage.Builder message, ChunksToSend chunks,
+                                 List<BlockChangeBatch> blockChanges) {
+        if (!chunks.chunks.isEmpty()) {
+            int sentChunkBytes = 0;
+            for (EncodedChunkCache.EncodedChunk chunk : chunks.chunks) {
+                EntityData.ChunkStore chunkStore = chunk.getChunkStore();
+                sentChunkBytes += (int) (chunkStore.getSerializedSize() * chunks.compressionRatio);
+                message.addChunkInfo(chunkStore);
+            }
+            chunkBytesUnderestimated.addAndGet(sentChunkBytes - chunks.chargedBytes);
+            if (metricSource != null) {
+                metricSource.recordSentChunkBytes(sentChunkBytes);
+            }
+        }
+        for (BlockChangeBatch batch : blockChanges) {
+            if (supportsBlockChangeBatches) {
+                message.addBlockChangeBatch(batch.toMessage());
+            } else {
+                batch.addBlockChangeMessages(message);
+            }
+        }
+        send(message.build());
+    }
+
+    private void sendEvents(NetData.NetMessage.Builder message) {
         List<NetData.ExtraDataChangeMessage> extraDataChanges = Lists.newArrayListWithExpectedSize(queuedOutgoingExtraDataChanges.size());
         queuedOutgoingExtraDataChanges.drainTo(extraDataChanges);
         message.addAllExtraDataChange(extraDataChanges);
@@ -456,8 +647,9 @@ private void sendDirtyEntities(NetData.NetMessage.Builder message) {
                 logger.error("Sending non-existent entity update for netId {}", netId);
             }
             boolean isOwner = networkSystem.getOwner(entity) == this;
-            EntityData.PackedEntity entityData = entitySerializer.serialize(entity, addedComponents.get(netId), dirtyComponents.get(netId), removedComponents.get(netId),
-                    new ServerComponentFieldCheck(isOwner, false));
+            EntityData.PackedEntity entityData = networkSystem.getEntityDeltaCache().getDelta(netId, entity,
+                    addedComponents.get(netId), dirtyComponents.get(netId), removedComponents.get(netId), isOwner,
+                    entitySerializer, metricSource);
             if (entityData != null) {
                 message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId));
             }
@@ -500,18 +692,47 @@ private void sendInitialEntities(NetData.NetMessage.Builder message) {
 
     }
 
-    private void processEvents(NetData.NetMessage message) {
+    /**
+     * Looks up the type of every event in the message and drops the events a client may not send. Needs neither the
+     * entity system nor the world, so it runs on the network thread that received the message.
+     *
+     * @return The events to process, or null if the client is not connected to the entity system yet
+     */
+    private List<ReceivedEvent> resolveEvents(NetData.NetMessage message) {
+        EventSerializer serializer = eventSerializer;
+        EventLibrary library = eventLibrary;
+        if (serializer == null || library == null) {
+            return null;
+        }
+        List<ReceivedEvent> events = Lists.newArrayListWithCapacity(message.getEventCount());
+        for (NetData.EventMessage eventMessage : message.getEventList()) {
+            Class<? extends Event> eventClass = serializer.getEventClass(eventMessage.getEvent());
+            if (eventClass == null) {
+                /* Reads no components here, so the client is named by its id */
+                logger.error("Failed to deserialize event of unknown type from client '{}'", getId());
+                continue;
+            }
+            EventMetadata<?> metadata = library.getMetadata(eventClass);
+            if (metadata.getNetworkEventType() != NetworkEventType.SERVER) {
+                logger.warn("Received non-server event '{}' from client '{}'", metadata, getId());
+                continue;
+            }
+            events.add(new ReceivedEvent(eventMessage, metadata.isLagCompensated()));
+        }
+        return events;
+    }
+
+    private void processEvents(List<ReceivedEvent> events) {
+        if (events == null) {
+            return;
+        }
         boolean lagCompensated = false;
         PredictionSystem predictionSystem = CoreRegistry.get(PredictionSystem.class);
-        for (NetData.EventMessage eventMessage : message.getEventList()) {
+        for (ReceivedEvent received : events) {
+            NetData.EventMessage eventMessage = received.message;
             try {
                 Event event = eventSerializer.deserialize(eventMessage.getEvent());
-                EventMetadata<?> metadata = eventLibrary.getMetadata(event.getClass());
-                if (metadata.getNetworkEventType() != NetworkEventType.SERVER) {
-                    logger.warn("Received non-server event '{}' from client '{}'", metadata, getName());
-                    continue;
-                }
-                if (!lagCompensated && metadata.isLagCompensated()) {
+                if (!lagCompensated && received.lagCompensated) {
                     if (predictionSystem != null) {
                         predictionSystem.lagCompensate(getEntity(), lastReceivedTime);
                     }
@@ -543,7 +764,7 @@ public void messageReceived(NetData.NetMessage message) {
         int serializedSize = message.getSerializedSize();
         receivedBytes.addAndGet(serializedSize);
         receivedMessages.incrementAndGet();
-        queuedIncomingMessage.offer(message);
+        queuedIncomingMessage.offer(new ReceivedMessage(message, resolveEvents(message)));
     }
 
     public NetMetricSource getMetrics() {
@@ -555,11 +776,88 @@ public void setViewDistanceMode(ViewDistance distanceMode) {
         this.viewDistance = distanceMode;
     }
 
+    /**
+     * @param codecNames the names of the compression codecs the client announced it can decompress single frames with
+     */
+    public void setSupportedCompression(Collection<String> codecNames) {
+        Set<String> names = Sets.newHashSet();
+        for (String name : codecNames) {
+            names.add(name.toLowerCase(Locale.ENGLISH));
+        }
+        this.supportedCompression = names;
+    }
+
+    /**
+     * @param supported whether the client announced it applies block change batches. Otherwise block changes are sent
+     *                  to it as a message per changed block.
+     */
+    public void setSupportsBlockChangeBatches(boolean supported) {
+        this.supportsBlockChangeBatches = supported;
+    }
+
+    /**
+     * Completes the join of the client. If the client supports the given codec, every frame sent after the join
+     * complete message is compressed on its own with it, otherwise the zlib stream the connection started with is
+     * kept. Clients that don't announce any codecs thus keep working.
+     *
+     * @param codec the codec the server prefers, or null to keep the zlib stream
+     */
+    void sendJoinComplete(int clientId, CompressionCodec codec) {
+        NetData.JoinCompleteMessage.Builder joinComplete = NetData.JoinCompleteMessage.newBuilder().setClientId(clientId);
+        if (codec == null || !supportedCompression.contains(codec.getName().toLowerCase(Locale.ENGLISH))) {
+            send(NetData.NetMessage.newBuilder().setJoinComplete(joinComplete).build());
+            return;
+        }
+        NetData.NetMessage message = NetData.NetMessage.newBuilder()
+                .setJoinComplete(joinComplete.setCompression(codec.getName())).build();
+        // the message must be the last one in the zlib stream, so the encoder is swapped right after it got encoded
+        channel.eventLoop().execute(() -> {
+            send(message);
+            if (channel.isActive()) {
+                channel.pipeline().replace(CompressionEncoder.NAME, CompressionEncoder.NAME, new CompressionEncoder(codec));
+            }
+        });
+    }
+
     public void blockFamilyRegistered(BlockFamily family) {
         synchronized (newlyRegisteredFamilies) {
             newlyRegisteredFamilies.add(family);
         }
     }
 
+    /**
+     * A message from the client, with the events it holds already resolved by the network thread that received it.
+     */
+    private static final class ReceivedMessage {
+        private final NetData.NetMessage message;
+        private final List<ReceivedEvent> events;
+
+        ReceivedMessage(NetData.NetMessage message, List<ReceivedEvent> events) {
+            this.message = message;
+            this.events = events;
+        }
+    }
+
+    private static final class ReceivedEvent {
+        private final NetData.EventMessage message;
+        private final boolean lagCompensated;
+
+        ReceivedEvent(NetData.EventMessage message, boolean lagCompensated) {
+            this.message = message;
+            this.lagCompensated = lagCompensated;
+        }
+    }
 
+    /**
+     * The chunks taken from the send queue in one tick, with the bytes they were charged with.
+     */
+    private static final class ChunksToSend {
+        private final List<EncodedChunkCache.EncodedChunk> chunks = Lists.newArrayList();
+        private final float compressionRatio;
+        private int chargedBytes;
+
+        ChunksToSend(float compressionRatio) {
+            this.compressionRatio = compressionRatio;
+        }
+    }
 }
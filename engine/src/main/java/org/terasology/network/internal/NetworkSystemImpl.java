@@ -26,6 +26,9 @@
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.GlobalEventExecutor;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.assets.ResourceUrn;
@@ -47,6 +50,8 @@
 import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.metadata.EventLibrary;
 import org.terasology.entitySystem.metadata.EventMetadata;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.ChunkMath;
 import org.terasology.module.Module;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.network.Client;
@@ -73,6 +78,8 @@
 import org.terasology.reflection.metadata.ClassMetadata;
 import org.terasology.reflection.metadata.FieldMetadata;
 import org.terasology.registry.CoreRegistry;
+import org.terasology.utilities.compression.CompressionCodec;
+import org.terasology.utilities.compression.CompressionCodecs;
 import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.WorldProvider;
 import org.terasology.world.block.BlockManager;
@@ -102,6 +109,8 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private static final int OWNER_DEPTH_LIMIT = 50;
     private static final int NET_TICK_RATE = 50;
     private static final int NULL_NET_ID = 0;
+    /* How many chunks beyond the view distance an entity has to move before it is removed from a client again */
+    private static final int INTEREST_HYSTERESIS = 1;
     private final Set<Client> clientList = Sets.newLinkedHashSet();
     private final Set<NetClient> netClientList = Sets.newLinkedHashSet();
     // Shared
@@ -122,6 +131,8 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private boolean kicked;
     // Server only
     private ChannelGroup allChannels = new DefaultChannelGroup("tera-channels", GlobalEventExecutor.INSTANCE);
+    private final EncodedChunkCache encodedChunkCache = new EncodedChunkCache();
+    private final EntityDeltaCache entityDeltaCache = new EntityDeltaCache();
     private ChannelFuture serverChannelFuture;
     private NioEventLoopGroup bossGroup;
     private NioEventLoopGroup workerGroup;
@@ -132,6 +143,7 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private Map<EntityRef, Client> clientPlayerLookup = Maps.newHashMap();
     private Map<EntityRef, EntityRef> ownerLookup = Maps.newHashMap();
     private SetMultimap<EntityRef, EntityRef> ownedLookup = HashMultimap.create();
+    private final EntityInterestIndex interestIndex = new EntityInterestIndex();
     private StorageManager storageManager;
 
     // Client only
@@ -310,9 +322,12 @@ public void shutdown() {
         entitySerializer = null;
         clientList.clear();
         netClientList.clear();
+        encodedChunkCache.clear();
+        entityDeltaCache.clear();
         blockManager = null;
         ownerLookup.clear();
         ownedLookup.clear();
+        interestIndex.clear();
         ownershipHelper = null;
         storageManager = null;
         logger.info("Network shutdown");
@@ -339,10 +354,22 @@ public void update() {
                     nextNetworkTick += NET_TICK_RATE;
                     netTick = true;
                 }
+                if (netTick && mode.isServer()) {
+                    PerformanceMonitor.startActivity("Client interest");
+                    for (NetClient client : netClientList) {
+                        if (client.updateInterestCenter()) {
+                            updateInterest(client);
+                        }
+                    }
+                    PerformanceMonitor.endActivity();
+                }
                 PerformanceMonitor.startActivity("Client update");
                 for (Client client : clientList) {
                     client.update(netTick);
                 }
+                if (netTick) {
+                    entityDeltaCache.clear();
+                }
                 PerformanceMonitor.endActivity();
                 if (server != null) {
                     server.update(netTick);
@@ -413,6 +440,22 @@ public int getBandwidthPerClient() {
         return config.getUpstreamBandwidth();
     }
 
+    EncodedChunkCache getEncodedChunkCache() {
+        return encodedChunkCache;
+    }
+
+    EntityDeltaCache getEntityDeltaCache() {
+        return entityDeltaCache;
+    }
+
+    /**
+     * @return the codec the server compresses each frame it sends with once a client joined and named it as supported,
+     * or null to compress all frames as one zlib stream.
+     */
+    public CompressionCodec getCompressionCodec() {
+        return CompressionCodecs.getByName(config.getCompression(), null);
+    }
+
     @Override
     public EntityRef getOwnerEntity(EntityRef entity) {
         EntityRef owner = entity;
@@ -461,9 +504,11 @@ public void registerNetworkEntity(EntityRef entity) {
                     }
                     break;
                 default:
+                    updateInterestCell(entity, netComponent);
                     for (NetClient client : netClientList) {
-                        // TODO: Relevance Check
-                        client.setNetInitial(netComponent.getNetworkId());
+                        if (isInterested(client, entity, netComponent, false)) {
+                            client.setNetInitial(netComponent.getNetworkId());
+                        }
                     }
                     break;
             }
@@ -529,6 +574,14 @@ private void recursiveUpdateOwnership(EntityRef entity, NetClient lastOwner, Net
                 if (newOwner != null) {
                     newOwner.setNetInitial(networkComponent.getNetworkId());
                 }
+            } else if (networkComponent.replicateMode == NetworkComponent.ReplicateMode.RELEVANT) {
+                // Owners receive their entities regardless of distance
+                if (lastOwner != null) {
+                    updateInterest(lastOwner, entity, networkComponent);
+                }
+                if (newOwner != null) {
+                    updateInterest(newOwner, entity, networkComponent);
+                }
             }
             for (EntityRef owned : ownedLookup.get(entity)) {
                 recursiveUpdateOwnership(owned, lastOwner, newOwner);
@@ -546,9 +599,12 @@ public void unregisterNetworkEntity(EntityRef entity) {
             if (netComponent != null) {
                 logger.debug("Unregistering network entity: {} with netId {}", entity, netComponent.getNetworkId());
                 netIdToEntityId.remove(netComponent.getNetworkId());
+                interestIndex.remove(netComponent.getNetworkId());
                 if (mode.isServer()) {
                     for (NetClient client : netClientList) {
-                        client.setNetRemoved(netComponent.getNetworkId());
+                        if (client.isNetRelevant(netComponent.getNetworkId())) {
+                            client.setNetRemoved(netComponent.getNetworkId());
+                        }
                     }
                 }
                 netComponent.setNetworkId(NULL_NET_ID);
@@ -599,6 +655,10 @@ public void onEntityComponentAdded(EntityRef entity, Class<? extends Component>
         NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
             if (mode.isServer()) {
+                entityDeltaCache.invalidate(netComp.getNetworkId());
+                if (component == LocationComponent.class) {
+                    updateInterest(entity, netComp);
+                }
                 if (metadata.isReplicated()) {
                     for (NetClient client : netClientList) {
                         logger.debug("Component {} added to {}", component, entity);
@@ -616,6 +676,10 @@ public void onEntityComponentRemoved(EntityRef entity, Class<? extends Component
         NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
             if (mode.isServer()) {
+                entityDeltaCache.invalidate(netComp.getNetworkId());
+                if (component == LocationComponent.class) {
+                    updateInterest(entity, netComp);
+                }
                 if (metadata.isReplicated()) {
                     for (NetClient client : netClientList) {
                         logger.debug("Component {} removed from {}", component, entity);
@@ -647,7 +711,12 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
             switch (mode) {
                 case LISTEN_SERVER:
                 case DEDICATED_SERVER:
+                    entityDeltaCache.invalidate(netComp.getNetworkId());
+                    if (component == LocationComponent.class) {
+                        updateInterest(entity, netComp);
+                    }
                     if (metadata.isReplicated()) {
+                        // Clients the entity is not relevant to ignore this
                         for (NetClient client : netClientList) {
                             client.setComponentDirty(netComp.getNetworkId(), component);
                         }
@@ -665,6 +734,103 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
         updatedOwnedEntities(entity, component, metadata);
     }
 
+    /**
+     * Moves the entity in the interest index, and creates or removes it on the clients whose area it entered or left.
+     */
+    private void updateInterest(EntityRef entity, NetworkComponent netComp) {
+        if (updateInterestCell(entity, netComp)) {
+            for (NetClient client : netClientList) {
+                updateInterest(client, entity, netComp);
+            }
+        }
+    }
+
+    /**
+     * Creates the entities which entered the area of the client, and removes those which left it.
+     */
+    private void updateInterest(NetClient client) {
+        for (int netId : client.getNetRelevant()) {
+            if (interestIndex.getCell(netId) != null) {
+                EntityRef entity = getEntity(netId);
+                NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
+                if (netComp != null) {
+                    updateInterest(client, entity, netComp);
+                }
+            }
+        }
+        Vector3ic center = client.getInterestCenter();
+        if (center != null) {
+            interestIndex.forEachWithin(center, getInterestExtents(client, false), netId -> {
+                if (!client.isNetRelevant(netId)) {
+                    EntityRef entity = getEntity(netId);
+                    NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
+                    if (netComp != null) {
+                        updateInterest(client, entity, netComp);
+                    }
+                }
+                return true;
+            });
+        }
+    }
+
+    private void updateInterest(NetClient client, EntityRef entity, NetworkComponent netComp) {
+        int netId = netComp.getNetworkId();
+        boolean relevant = client.isNetRelevant(netId);
+        if (isInterested(client, entity, netComp, relevant) != relevant) {
+            if (relevant) {
+                client.setNetRemoved(netId);
+            } else {
+                client.setNetInitial(netId);
+            }
+        }
+    }
+
+    /**
+     * @param relevant whether the entity is currently created on the client, which lets it move further away before
+     *                 it is removed again
+     * @return Whether the entity should be replicated to the client
+     */
+    private boolean isInterested(NetClient client, EntityRef entity, NetworkComponent netComp, boolean relevant) {
+        switch (netComp.replicateMode) {
+            case OWNER:
+                return client.equals(getOwner(entity));
+            case ALWAYS:
+                return true;
+            default:
+                Vector3ic cell = interestIndex.getCell(netComp.getNetworkId());
+                if (cell == null || client.equals(getOwner(entity))) {
+                    return true;
+                }
+                Vector3ic center = client.getInterestCenter();
+                return center != null && EntityInterestIndex.isWithin(center, cell, getInterestExtents(client, relevant));
+        }
+    }
+
+    private static Vector3i getInterestExtents(Client client, boolean relevant) {
+        Vector3ic chunkDistance = client.getViewDistance().getChunkDistance();
+        int margin = relevant ? INTEREST_HYSTERESIS : 0;
+        return new Vector3i(chunkDistance.x() / 2 + margin, chunkDistance.y() / 2 + margin, chunkDistance.z() / 2 + margin);
+    }
+
+    /**
+     * Indexes the chunk a relevance replicated entity is located in. Entities attached to a parent move without their
+     * location changing, so like entities without a location they are not indexed and stay relevant to every client.
+     *
+     * @return Whether the indexed chunk of the entity changed
+     */
+    private boolean updateInterestCell(EntityRef entity, NetworkComponent netComp) {
+        if (netComp.replicateMode == NetworkComponent.ReplicateMode.RELEVANT) {
+            LocationComponent loc = entity.getComponent(LocationComponent.class);
+            if (loc != null && !loc.getParent().exists()) {
+                Vector3f position = loc.getWorldPosition(new Vector3f());
+                if (position.isFinite()) {
+                    return interestIndex.update(netComp.getNetworkId(), ChunkMath.calcChunkPos(position, new Vector3i()));
+                }
+            }
+        }
+        return interestIndex.remove(netComp.getNetworkId());
+    }
+
     private void updatedOwnedEntities(EntityRef entity, Class<? extends Component> component, ComponentMetadata<?
             extends Component> metadata) {
         if (mode.isAuthority() && metadata.isReferenceOwner()) {
@@ -763,6 +929,72 @@ public int getOutgoingBytesDelta() {
         }
     }
 
+    @Override
+    public int getReusedEncodedChunksDelta() {
+        int total = 0;
+        if (mode.isServer()) {
+            for (NetClient client : netClientList) {
+                total += client.getMetrics().getReusedEncodedChunksSinceLastCall();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getEncodedChunksDelta() {
+        int total = 0;
+        if (mode.isServer()) {
+            for (NetClient client : netClientList) {
+                total += client.getMetrics().getEncodedChunksSinceLastCall();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getReusedEntityUpdatesDelta() {
+        int total = 0;
+        if (mode.isServer()) {
+            for (NetClient client : netClientList) {
+                total += client.getMetrics().getReusedEntityUpdatesSinceLastCall();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getSerializedEntityUpdatesDelta() {
+        int total = 0;
+        if (mode.isServer()) {
+            for (NetClient client : netClientList) {
+                total += client.getMetrics().getSerializedEntityUpdatesSinceLastCall();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getSentChunkBytesDelta() {
+        int total = 0;
+        if (mode.isServer()) {
+            for (NetClient client : netClientList) {
+                total += client.getMetrics().getSentChunkBytesSinceLastCall();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getChunkSendQueueLength() {
+        int total = 0;
+        if (mode.isServer()) {
+            for (NetClient client : netClientList) {
+                total += client.getMetrics().getChunkSendQueueLength();
+            }
+        }
+        return total;
+    }
+
     long getEntityId(int netId) {
         return netIdToEntityId.get(netId);
     }
@@ -849,8 +1081,7 @@ private void processNewClient(NetClient client) {
         }
 
         client.connected(entityManager, entitySerializer, eventSerializer, eventLibrary);
-        client.send(NetData.NetMessage.newBuilder().setJoinComplete(
-                NetData.JoinCompleteMessage.newBuilder().setClientId(client.getEntity().getComponent(NetworkComponent.class).getNetworkId())).build());
+        client.sendJoinComplete(client.getEntity().getComponent(NetworkComponent.class).getNetworkId(), getCompressionCodec());
         clientList.add(client);
         netClientList.add(client);
         clientPlayerLookup.put(client.getEntity(), client);
@@ -869,8 +1100,10 @@ private void processNewClient(NetClient client) {
                         }
                         break;
                     default:
-                        // TODO: Relevance Check
-                        client.setNetInitial(netComp.getNetworkId());
+                        // Entities near the client follow once its character has a location
+                        if (isInterested(client, netEntity, netComp, false)) {
+                            client.setNetInitial(netComp.getNetworkId());
+                        }
                         break;
                 }
             }
@@ -120,6 +120,8 @@ private void receivedConnect(NetData.JoinMessage message) {
         client.setPreferredName(message.getName());
         client.setColor(new Color(message.getColor().getRgba()));
         client.setViewDistanceMode(ViewDistance.forIndex(message.getViewDistanceLevel()));
+        client.setSupportedCompression(message.getSupportedCompressionList());
+        client.setSupportsBlockChangeBatches(message.getSupportsBlockChangeBatches());
         channelHandlerContext.pipeline().remove(this);
         serverHandler.connectionComplete(client);
     }
@@ -10,6 +10,7 @@
 import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
@@ -86,6 +87,10 @@ public class ServerImpl implements Server {
     private SetMultimap<Integer, Class<? extends Component>> changedComponents = HashMultimap.create();
     private ListMultimap<Vector3i, NetData.BlockChangeMessage> awaitingChunkReadyBlockUpdates = ArrayListMultimap.create();
     private ListMultimap<Vector3i, NetData.ExtraDataChangeMessage> awaitingChunkReadyExtraDataUpdates = ArrayListMultimap.create();
+    private ListMultimap<Vector3i, NetData.BlockChangeBatchMessage> awaitingChunkReadyBlockChangeBatches = ArrayListMultimap.create();
+    /* Chunks received again while an older copy of them is still in use */
+    private Set<Vector3i> reloadingChunks = Sets.newHashSet();
+    private BlockingQueue<Vector3i> readyChunks = Queues.newLinkedBlockingQueue();
 
     private EngineTime time;
 
@@ -156,6 +161,7 @@ public void send(Event event, EntityRef target) {
     @Override
     public void update(boolean netTick) {
         processReceivedChunks();
+        processReadyChunks();
         if (entityManager != null) {
             if (netTick) {
                 NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
@@ -253,6 +259,7 @@ private void processMessages() {
             processReceivedChunks(message);
             processInvalidatedChunks(message);
             processBlockChanges(message);
+            processBlockChangeBatches(message);
             processExtraDataChanges(message);
             processRemoveEntities(message);
             message.getCreateEntityList().forEach(this::createEntityMessage);
@@ -297,6 +304,29 @@ private void processBlockChanges(NetData.NetMessage message) {
         }
     }
 
+    /**
+     * Apply the batches of block changes from the message to the local world, each in one write. Batches for chunks
+     * which are not ready yet, or which are being replaced by a copy received again, wait until the chunk is ready.
+     */
+    private void processBlockChangeBatches(NetData.NetMessage message) {
+        for (NetData.BlockChangeBatchMessage batch : message.getBlockChangeBatchList()) {
+            Vector3i chunkPos = NetMessageUtil.convert(batch.getChunkPos());
+            if (remoteWorldProvider != null && remoteWorldProvider.isChunkReady(chunkPos) && !reloadingChunks.contains(chunkPos)
+                    && !awaitingChunkReadyBlockChangeBatches.containsKey(chunkPos)) {
+                applyBlockChangeBatch(batch);
+            } else {
+                awaitingChunkReadyBlockChangeBatches.put(chunkPos, batch);
+            }
+        }
+    }
+
+    private void applyBlockChangeBatch(NetData.BlockChangeBatchMessage batch) {
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        BlockChangeBatch.decode(batch, (x, y, z, blockId) -> blocks.put(new Vector3i(x, y, z), blockManager.getBlock(blockId)));
+        logger.debug("Received {} block changes", blocks.size());
+        CoreRegistry.get(WorldProvider.class).setBlocks(blocks);
+    }
+
     /**
      * Apply the extra-data changes from the message to the local world.
      */
@@ -318,12 +348,17 @@ private void processInvalidatedChunks(NetData.NetMessage message) {
             remoteWorldProvider.invalidateChunks(chunkPos);
             awaitingChunkReadyBlockUpdates.removeAll(chunkPos);
             awaitingChunkReadyExtraDataUpdates.removeAll(chunkPos);
+            awaitingChunkReadyBlockChangeBatches.removeAll(chunkPos);
+            reloadingChunks.remove(chunkPos);
         }
     }
 
     private void processReceivedChunks(NetData.NetMessage message) {
         for (EntityData.ChunkStore chunkInfo : message.getChunkInfoList()) {
             Chunk chunk = ChunkSerializer.decode(chunkInfo, blockManager, extraDataManager);
+            if (remoteWorldProvider != null && remoteWorldProvider.isChunkReady(chunk.getPosition())) {
+                reloadingChunks.add(chunk.getPosition());
+            }
             chunkQueue.offer(chunk);
         }
     }
@@ -396,9 +431,25 @@ public NetMetricSource getMetrics() {
         return metricsSource;
     }
 
+    /**
+     * Called by the chunk loading pipeline, so the chunk is handed to the main thread to apply its awaited changes.
+     */
     @Override
     public void onChunkReady(Vector3i chunkPos) {
+        readyChunks.offer(chunkPos);
+    }
+
+    private void processReadyChunks() {
+        List<Vector3i> chunkPositions = Lists.newArrayListWithExpectedSize(readyChunks.size());
+        readyChunks.drainTo(chunkPositions);
+        for (Vector3i chunkPos : chunkPositions) {
+            applyAwaitingChanges(chunkPos);
+        }
+    }
+
+    private void applyAwaitingChanges(Vector3i chunkPos) {
         WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
+        reloadingChunks.remove(chunkPos);
 
         List<NetData.BlockChangeMessage> updateBlockMessages = awaitingChunkReadyBlockUpdates.removeAll(chunkPos);
         for (NetData.BlockChangeMessage message : updateBlockMessages) {
@@ -414,6 +465,9 @@ public void onChunkReady(Vector3i chunkPos) {
             int i = message.getIndex();
             worldProvider.setExtraData(i, pos, newValue);
         }
+
+        List<NetData.BlockChangeBatchMessage> batches = awaitingChunkReadyBlockChangeBatches.removeAll(chunkPos);
+        batches.forEach(this::applyBlockChangeBatch);
     }
 }
 
@@ -33,21 +33,18 @@
 import org.terasology.persistence.StorageManager;
 import org.terasology.persistence.serializers.PrefabSerializer;
 import org.terasology.protobuf.EntityData;
+import org.terasology.utilities.compression.CompressionCodecs;
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
-import java.util.zip.GZIPInputStream;
 
 /**
  * An abstract implementation of {@link StorageManager} that is able
@@ -66,11 +63,19 @@ public abstract class AbstractStorageManager implements StorageManager {
     private final EngineEntityManager entityManager;
     private final PrefabSerializer prefabSerializer;
     private final OwnershipHelper helper;
+    private final ChunkRegionStorage chunkRegionStorage;
 
+    /**
+     * Whether chunks get grouped into region files (formerly zips) instead of being stored in a file each.
+     */
     private boolean storeChunksInZips = true;
 
+    /**
+     * @param migrateChunkZips whether chunk zips of older save games may get converted into region files.
+     */
     public AbstractStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
-                                  BlockManager blockManager, ExtraBlockDataManager extraDataManager, boolean storeChunksInZips) {
+                                  BlockManager blockManager, ExtraBlockDataManager extraDataManager, boolean storeChunksInZips,
+                                  boolean migrateChunkZips) {
         this.entityManager = entityManager;
         this.environment = environment;
         this.storeChunksInZips = storeChunksInZips;
@@ -79,6 +84,7 @@ public AbstractStorageManager(Path savePath, ModuleEnvironment environment, Engi
         this.extraDataManager = extraDataManager;
 
         this.storagePathProvider = new StoragePathProvider(savePath);
+        this.chunkRegionStorage = new ChunkRegionStorage(storagePathProvider, migrateChunkZips);
         this.helper = new OwnershipHelper(entityManager.getComponentLibrary());
     }
 
@@ -108,9 +114,8 @@ public ChunkStore loadChunkStore(Vector3i chunkPos) {
         byte[] chunkData = loadCompressedChunk(chunkPos);
         ChunkStore store = null;
         if (chunkData != null) {
-            ByteArrayInputStream bais = new ByteArrayInputStream(chunkData);
-            try (GZIPInputStream gzipIn = new GZIPInputStream(bais)) {
-                EntityData.ChunkStore storeData = EntityData.ChunkStore.parseFrom(gzipIn);
+            try {
+                EntityData.ChunkStore storeData = EntityData.ChunkStore.parseFrom(CompressionCodecs.decompress(chunkData));
                 store = new ChunkStoreInternal(storeData, entityManager, blockManager, extraDataManager);
             } catch (IOException e) {
                 logger.error("Failed to read existing saved chunk {}", chunkPos);
@@ -119,21 +124,13 @@ public ChunkStore loadChunkStore(Vector3i chunkPos) {
         return store;
     }
 
-    protected byte[] loadChunkZip(Vector3i chunkPos) {
-        byte[] chunkData = null;
-        Vector3i chunkZipPos = JomlUtil.from(storagePathProvider.getChunkZipPosition(JomlUtil.from(chunkPos)));
-        Path chunkPath = storagePathProvider.getChunkZipPath(JomlUtil.from(chunkZipPos));
-        if (Files.isRegularFile(chunkPath)) {
-            try (FileSystem chunkZip = FileSystems.newFileSystem(chunkPath, null)) {
-                Path targetChunk = chunkZip.getPath(storagePathProvider.getChunkFilename(JomlUtil.from(chunkPos)));
-                if (Files.isRegularFile(targetChunk)) {
-                    chunkData = Files.readAllBytes(targetChunk);
-                }
-            } catch (IOException e) {
-                logger.error("Failed to load chunk zip {}", chunkPath, e);
-            }
+    protected byte[] loadChunkFromRegion(Vector3i chunkPos) {
+        try {
+            return chunkRegionStorage.loadChunk(JomlUtil.from(chunkPos));
+        } catch (IOException e) {
+            logger.error("Failed to load chunk {} from its region file", chunkPos, e);
         }
-        return chunkData;
+        return null;
     }
 
     @Override
@@ -153,7 +150,7 @@ void setStoreChunksInZips(boolean storeChunksInZips) {
 
     protected byte[] loadCompressedChunk(Vector3i chunkPos) {
         if (isStoreChunksInZips()) {
-            return loadChunkZip(chunkPos);
+            return loadChunkFromRegion(chunkPos);
         } else {
             Path chunkPath = storagePathProvider.getChunkPath(JomlUtil.from(chunkPos));
             if (Files.isRegularFile(chunkPath)) {
@@ -214,6 +211,10 @@ protected void deactivateOrDestroyEntityRecursive(EntityRef entity) {
         }
     }
 
+    ChunkRegionStorage getChunkRegionStorage() {
+        return chunkRegionStorage;
+    }
+
     protected StoragePathProvider getStoragePathProvider() {
         return storagePathProvider;
     }
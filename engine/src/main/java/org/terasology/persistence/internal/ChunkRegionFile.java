@@ -0,0 +1,274 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.persistence.internal;
+
+import gnu.trove.map.TIntObjectMap;
+import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A single file holding the encoded chunks of a cubic cell of {@link #CHUNKS_PER_AXIS}<sup>3</sup> chunks.
+ * <br><br>
+ * The file starts with a fixed size header: a magic number, the format version and a table with the first sector and
+ * the length of every chunk of the cell. Chunk data is stored in sectors of {@link #SECTOR_SIZE} bytes following
+ * the header. Updated chunks get written into free sectors, so that the sectors referenced by the header are never
+ * overwritten. Only after the new data has been forced to the disk, the header is changed to reference it. A crash
+ * during {@link #write(TIntObjectMap)} thus leaves each chunk either in its old or in its new state.
+ * <br><br>
+ * Files are accessed through plain positional reads and writes rather than memory mappings, so that closing a region
+ * file releases it right away and it can be moved or deleted on every platform. The header is kept in memory and
+ * changed entries are written through. Files opened {@link #openReadOnly(Path) read only} are never written, not even
+ * to drop invalid header entries. Instances are thread safe.
+ */
+final class ChunkRegionFile implements Closeable {
+    public static final int CHUNKS_PER_AXIS = 32;
+    public static final int CHUNK_COUNT = CHUNKS_PER_AXIS * CHUNKS_PER_AXIS * CHUNKS_PER_AXIS;
+    public static final int SECTOR_SIZE = 4096;
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkRegionFile.class);
+
+    private static final int MAGIC = 0x5445524e; // "TERN"
+    private static final int VERSION = 1;
+    private static final int TABLE_OFFSET = 16;
+    private static final int ENTRY_SIZE = 8;
+    private static final int HEADER_SIZE = TABLE_OFFSET + CHUNK_COUNT * ENTRY_SIZE;
+    private static final int HEADER_SECTORS = (HEADER_SIZE + SECTOR_SIZE - 1) / SECTOR_SIZE;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean readOnly;
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    private final BitSet usedSectors = new BitSet();
+
+    private ChunkRegionFile(Path path, FileChannel channel, boolean readOnly) {
+        this.path = path;
+        this.channel = channel;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Opens the region file at the given path, creating an empty one if there is none yet.
+     */
+    public static ChunkRegionFile open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * Opens the existing region file at the given path without ever modifying it. {@link #write(TIntObjectMap)} is
+     * not supported by the returned instance.
+     */
+    public static ChunkRegionFile openReadOnly(Path path) throws IOException {
+        return open(path, true);
+    }
+
+    private static ChunkRegionFile open(Path path, boolean readOnly) throws IOException {
+        FileChannel channel = readOnly
+                ? FileChannel.open(path, StandardOpenOption.READ)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ChunkRegionFile regionFile = new ChunkRegionFile(path, channel, readOnly);
+            if (channel.size() == 0 && !readOnly) {
+                regionFile.header.putInt(0, MAGIC);
+                regionFile.header.putInt(4, VERSION);
+                regionFile.writeFully(regionFile.header.duplicate(), 0);
+                channel.force(false);
+            } else {
+                if (channel.size() < HEADER_SIZE) {
+                    throw new IOException("Chunk region file " + path + " is truncated");
+                }
+                regionFile.readFully(regionFile.header.duplicate(), 0);
+                if (regionFile.header.getInt(0) != MAGIC) {
+                    throw new IOException(path + " is not a chunk region file");
+                } else if (regionFile.header.getInt(4) != VERSION) {
+                    throw new IOException("Unsupported version " + regionFile.header.getInt(4)
+                            + " of chunk region file " + path);
+                }
+            }
+            regionFile.initUsedSectors();
+            return regionFile;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the index of the chunk within the region file of its cell
+     */
+    public static int getIndex(Vector3ic chunkPos) {
+        int x = Math.floorMod(chunkPos.x(), CHUNKS_PER_AXIS);
+        int y = Math.floorMod(chunkPos.y(), CHUNKS_PER_AXIS);
+        int z = Math.floorMod(chunkPos.z(), CHUNKS_PER_AXIS);
+        return x + CHUNKS_PER_AXIS * (y + CHUNKS_PER_AXIS * z);
+    }
+
+    private void initUsedSectors() throws IOException {
+        long fileSectors = (channel.size() + SECTOR_SIZE - 1) / SECTOR_SIZE;
+        usedSectors.set(0, HEADER_SECTORS);
+        for (int index = 0; index < CHUNK_COUNT; index++) {
+            int length = getLength(index);
+            if (length == 0) {
+                continue;
+            }
+            int firstSector = getFirstSector(index);
+            int sectorCount = getSectorCount(length);
+            if (firstSector < HEADER_SECTORS || firstSector + (long) sectorCount > fileSectors) {
+                logger.warn("Dropping chunk {} of {}, it references data outside of the file", index, path);
+                setEntry(index, 0, 0);
+                if (!readOnly) {
+                    writeEntry(index);
+                }
+            } else {
+                usedSectors.set(firstSector, firstSector + sectorCount);
+            }
+        }
+    }
+
+    /**
+     * @return the data stored for the chunk with the given index, or null if there is none
+     */
+    public synchronized byte[] read(int index) throws IOException {
+        int length = getLength(index);
+        if (length == 0) {
+            return null;
+        }
+        byte[] result = new byte[length];
+        readFully(ByteBuffer.wrap(result), (long) getFirstSector(index) * SECTOR_SIZE);
+        return result;
+    }
+
+    /**
+     * @return true if data is stored for the chunk with the given index
+     */
+    public synchronized boolean contains(int index) {
+        return getLength(index) != 0;
+    }
+
+    /**
+     * Stores the given chunks, replacing any previous data of them.
+     * <br><br>
+     * The data gets written into free sectors and forced to the disk before the header gets updated and forced too.
+     * Sectors of the replaced data only become free once the new header is on the disk.
+     *
+     * @param chunks the encoded chunks by their {@link #getIndex(Vector3ic) index}
+     */
+    public synchronized void write(TIntObjectMap<byte[]> chunks) throws IOException {
+        if (readOnly) {
+            throw new IOException("Chunk region file " + path + " is opened read only");
+        }
+        if (chunks.isEmpty()) {
+            return;
+        }
+        int[] indices = chunks.keys();
+        Arrays.sort(indices);
+        int[] firstSectors = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            byte[] chunkData = chunks.get(indices[i]);
+            firstSectors[i] = allocate(getSectorCount(chunkData.length));
+            writeFully(ByteBuffer.wrap(chunkData), (long) firstSectors[i] * SECTOR_SIZE);
+        }
+        channel.force(false);
+
+        int[] oldFirstSectors = new int[indices.length];
+        int[] oldLengths = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            oldFirstSectors[i] = getFirstSector(indices[i]);
+            oldLengths[i] = getLength(indices[i]);
+            setEntry(indices[i], firstSectors[i], chunks.get(indices[i]).length);
+            writeEntry(indices[i]);
+        }
+        channel.force(false);
+
+        for (int i = 0; i < indices.length; i++) {
+            if (oldLengths[i] != 0) {
+                usedSectors.clear(oldFirstSectors[i], oldFirstSectors[i] + getSectorCount(oldLengths[i]));
+            }
+        }
+    }
+
+    /**
+     * Marks the first run of free sectors that is long enough as used, appending to the file if there is none.
+     *
+     * @return the first sector of the run
+     */
+    private int allocate(int sectorCount) {
+        int start = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (true) {
+            int end = usedSectors.nextSetBit(start);
+            if (end == -1 || end - start >= sectorCount) {
+                usedSectors.set(start, start + sectorCount);
+                return start;
+            }
+            start = usedSectors.nextClearBit(end);
+        }
+    }
+
+    /**
+     * @return the number of sectors in use, including the ones of the header
+     */
+    public synchronized int getUsedSectorCount() {
+        return usedSectors.cardinality();
+    }
+
+    private static int getSectorCount(int length) {
+        return (length + SECTOR_SIZE - 1) / SECTOR_SIZE;
+    }
+
+    private int getFirstSector(int index) {
+        return header.getInt(TABLE_OFFSET + index * ENTRY_SIZE);
+    }
+
+    private int getLength(int index) {
+        return header.getInt(TABLE_OFFSET + index * ENTRY_SIZE + 4);
+    }
+
+    private void setEntry(int index, int firstSector, int length) {
+        header.putInt(TABLE_OFFSET + index * ENTRY_SIZE, firstSector);
+        header.putInt(TABLE_OFFSET + index * ENTRY_SIZE + 4, length);
+    }
+
+    private void writeEntry(int index) throws IOException {
+        int offset = TABLE_OFFSET + index * ENTRY_SIZE;
+        ByteBuffer entry = header.duplicate();
+        entry.limit(offset + ENTRY_SIZE).position(offset);
+        writeFully(entry, offset);
+    }
+
+    /**
+     * Reads the remaining bytes of the buffer from the given position of the file.
+     */
+    private void readFully(ByteBuffer target, long position) throws IOException {
+        int start = target.position();
+        while (target.hasRemaining()) {
+            if (channel.read(target, position + target.position() - start) < 0) {
+                throw new IOException("Unexpected end of chunk region file " + path);
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer source, long position) throws IOException {
+        int start = source.position();
+        while (source.hasRemaining()) {
+            channel.write(source, position + source.position() - start);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,237 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.persistence.internal;
+
+import com.google.common.collect.Maps;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Keeps the {@link ChunkRegionFile}s of a save game open and moves chunks into them.
+ * <br><br>
+ * A save transaction doesn't touch the region files directly. It writes a journal per region into the transaction
+ * directory, which gets applied to the region file when the changes get merged. As a journal only gets deleted after
+ * it has been applied, an interrupted merge can simply be repeated.
+ * <br><br>
+ * Worlds stored in chunk zips by older versions get migrated: the zip of a cell is converted into a region file the
+ * first time a chunk of that cell is needed.
+ */
+class ChunkRegionStorage implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkRegionStorage.class);
+
+    private static final int JOURNAL_MAGIC = 0x5445524a; // "TERJ"
+
+    private final StoragePathProvider storagePathProvider;
+    private final boolean migrateChunkZips;
+    private final Map<Vector3i, ChunkRegionFile> openRegions = Maps.newHashMap();
+
+    /**
+     * @param migrateChunkZips if false, chunks of cells that have not been migrated yet get read from their zip,
+     *                         region files get opened read only and the save game doesn't get modified.
+     */
+    ChunkRegionStorage(StoragePathProvider storagePathProvider, boolean migrateChunkZips) {
+        this.storagePathProvider = storagePathProvider;
+        this.migrateChunkZips = migrateChunkZips;
+    }
+
+    /**
+     * @return the encoded chunk or null if it has not been stored yet.
+     */
+    public byte[] loadChunk(Vector3ic chunkPos) throws IOException {
+        Vector3i regionPos = storagePathProvider.getChunkRegionPosition(chunkPos);
+        ChunkRegionFile region = getRegion(regionPos, false);
+        if (region != null) {
+            return region.read(ChunkRegionFile.getIndex(chunkPos));
+        }
+        Path chunkZipPath = storagePathProvider.getChunkZipPath(regionPos);
+        if (Files.isRegularFile(chunkZipPath)) {
+            try (FileSystem chunkZip = FileSystems.newFileSystem(chunkZipPath, (ClassLoader) null)) {
+                Path targetChunk = chunkZip.getPath(storagePathProvider.getChunkFilename(chunkPos));
+                if (Files.isRegularFile(targetChunk)) {
+                    return Files.readAllBytes(targetChunk);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes a journal with the given chunks, which all need to belong to the same region, and forces it to the disk.
+     *
+     * @param chunks the encoded chunks by their position
+     */
+    public static void writeJournal(Path journalPath, Map<Vector3ic, byte[]> chunks) throws IOException {
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+            out.writeInt(JOURNAL_MAGIC);
+            out.writeInt(chunks.size());
+            for (Map.Entry<Vector3ic, byte[]> entry : chunks.entrySet()) {
+                out.writeInt(ChunkRegionFile.getIndex(entry.getKey()));
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    /**
+     * @return true if the file is a region journal or a chunk zip that {@link #merge(Path)} can apply.
+     */
+    public boolean isRegionUpdate(Path path) {
+        return storagePathProvider.parseChunkRegionJournalPosition(path) != null
+                || storagePathProvider.parseChunkZipPosition(path) != null;
+    }
+
+    /**
+     * Applies a region journal or the content of a chunk zip to the matching region file and deletes the file
+     * afterwards.
+     * <br><br>
+     * The write lock for the save directory should be acquired before this method gets called.
+     */
+    public void merge(Path path) throws IOException {
+        if (!migrateChunkZips) {
+            throw new IOException("Can't merge " + path + " into a read only save game");
+        }
+        Vector3i regionPos = storagePathProvider.parseChunkRegionJournalPosition(path);
+        TIntObjectMap<byte[]> chunks;
+        if (regionPos != null) {
+            chunks = readJournal(path);
+        } else {
+            regionPos = storagePathProvider.parseChunkZipPosition(path);
+            chunks = readChunkZip(path);
+        }
+        ChunkRegionFile region = getRegion(regionPos, true);
+        region.write(chunks);
+        Files.delete(path);
+    }
+
+    private static TIntObjectMap<byte[]> readJournal(Path journalPath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalPath)))) {
+            if (in.readInt() != JOURNAL_MAGIC) {
+                throw new IOException(journalPath + " is not a chunk region journal");
+            }
+            int count = in.readInt();
+            TIntObjectMap<byte[]> chunks = new TIntObjectHashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = in.readInt();
+                byte[] chunkData = new byte[in.readInt()];
+                in.readFully(chunkData);
+                chunks.put(index, chunkData);
+            }
+            return chunks;
+        }
+    }
+
+    private TIntObjectMap<byte[]> readChunkZip(Path chunkZipPath) throws IOException {
+        TIntObjectMap<byte[]> chunks = new TIntObjectHashMap<>();
+        try (FileSystem chunkZip = FileSystems.newFileSystem(chunkZipPath, (ClassLoader) null)) {
+            for (Path root : chunkZip.getRootDirectories()) {
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(root)) {
+                    for (Path entry : entries) {
+                        Vector3i chunkPos = storagePathProvider.parseChunkPosition(entry);
+                        if (chunkPos != null && Files.isRegularFile(entry)) {
+                            chunks.put(ChunkRegionFile.getIndex(chunkPos), Files.readAllBytes(entry));
+                        } else {
+                            logger.warn("Ignoring unexpected entry {} in chunk zip {}", entry, chunkZipPath);
+                        }
+                    }
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * @param create whether to create an empty region file if neither the region file nor a chunk zip exists. Only
+     *               applies if chunk zips get migrated, the region files of a read only save game never get created.
+     * @return the open region file or null if there is none.
+     */
+    private synchronized ChunkRegionFile getRegion(Vector3i regionPos, boolean create) throws IOException {
+        ChunkRegionFile region = openRegions.get(regionPos);
+        if (region != null) {
+            return region;
+        }
+        Path regionPath = storagePathProvider.getChunkRegionPath(regionPos);
+        if (!Files.isRegularFile(regionPath)) {
+            Path chunkZipPath = storagePathProvider.getChunkZipPath(regionPos);
+            if (Files.isRegularFile(chunkZipPath)) {
+                if (!migrateChunkZips) {
+                    return null;
+                }
+                migrateChunkZip(chunkZipPath, regionPath);
+            } else if (!create || !migrateChunkZips) {
+                return null;
+            }
+        }
+        region = migrateChunkZips ? ChunkRegionFile.open(regionPath) : ChunkRegionFile.openReadOnly(regionPath);
+        openRegions.put(regionPos, region);
+        return region;
+    }
+
+    /**
+     * Converts the chunk zip into a region file. The region file gets created under a temporary name and renamed
+     * when complete, the zip only gets deleted afterwards.
+     */
+    private void migrateChunkZip(Path chunkZipPath, Path regionPath) throws IOException {
+        Path tempPath = regionPath.resolveSibling(regionPath.getFileName() + ".tmp");
+        Files.deleteIfExists(tempPath);
+        TIntObjectMap<byte[]> chunks = readChunkZip(chunkZipPath);
+        try (ChunkRegionFile region = ChunkRegionFile.open(tempPath)) {
+            region.write(chunks);
+        }
+        try {
+            Files.move(tempPath, regionPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, regionPath);
+        }
+        Files.delete(chunkZipPath);
+        logger.info("Migrated {} chunks from {} to {}", chunks.size(), chunkZipPath, regionPath);
+    }
+
+    /**
+     * Closes all open region files. They get reopened when they are needed again.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        IOException firstException = null;
+        for (ChunkRegionFile region : openRegions.values()) {
+            try {
+                region.close();
+            } catch (IOException e) {
+                if (firstException == null) {
+                    firstException = e;
+                } else {
+                    firstException.addSuppressed(e);
+                }
+            }
+        }
+        openRegions.clear();
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+}
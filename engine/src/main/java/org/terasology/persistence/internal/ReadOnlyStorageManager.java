@@ -41,7 +41,7 @@ public ReadOnlyStorageManager(Path savePath, ModuleEnvironment environment, Engi
 
     public ReadOnlyStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
                                   BlockManager blockManager, ExtraBlockDataManager extraDataManager, boolean storeChunksInZips) {
-        super(savePath, environment, entityManager, blockManager, extraDataManager, storeChunksInZips);
+        super(savePath, environment, entityManager, blockManager, extraDataManager, storeChunksInZips, false);
     }
 
     @Override
@@ -53,6 +53,8 @@
 import org.terasology.registry.CoreRegistry;
 import org.terasology.rendering.opengl.ScreenGrabber;
 import org.terasology.utilities.FilesUtil;
+import org.terasology.utilities.compression.CompressionCodec;
+import org.terasology.utilities.compression.CompressionCodecs;
 import org.terasology.utilities.concurrency.ShutdownTask;
 import org.terasology.utilities.concurrency.Task;
 import org.terasology.utilities.concurrency.TaskMaster;
@@ -131,14 +133,14 @@ public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, Eng
                                    BlockManager blockManager, ExtraBlockDataManager extraDataManager, boolean storeChunksInZips,
                                    RecordAndReplaySerializer recordAndReplaySerializer, RecordAndReplayUtils recordAndReplayUtils,
                             RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) throws IOException {
-        super(savePath, environment, entityManager, blockManager, extraDataManager, storeChunksInZips);
+        super(savePath, environment, entityManager, blockManager, extraDataManager, storeChunksInZips, true);
 
         entityManager.subscribeForDestruction(this);
         entityManager.subscribeForChanges(this);
         // TODO Ensure that the component library and the type serializer library are thread save (e.g. immutable)
         this.privateEntityManager = createPrivateEntityManager(entityManager.getComponentLibrary());
         Files.createDirectories(getStoragePathProvider().getStoragePathDirectory());
-        this.saveTransactionHelper = new SaveTransactionHelper(getStoragePathProvider());
+        this.saveTransactionHelper = new SaveTransactionHelper(getStoragePathProvider(), getChunkRegionStorage());
         this.saveThreadManager = TaskMaster.createFIFOTaskMaster("Saving", 1);
         this.config = CoreRegistry.get(Config.class);
         this.entityRefReplacingComponentLibrary = privateEntityManager.getComponentLibrary()
@@ -164,6 +166,18 @@ public void finishSavingAndShutdown() {
         }
         saveThreadManager.shutdown(new ShutdownTask(), true);
         checkSaveTransactionAndClearUpIfItIsDone();
+        closeChunkRegions();
+    }
+
+    private void closeChunkRegions() {
+        worldDirectoryWriteLock.lock();
+        try {
+            getChunkRegionStorage().close();
+        } catch (IOException e) {
+            logger.error("Failed to close chunk region files", e);
+        } finally {
+            worldDirectoryWriteLock.unlock();
+        }
     }
 
     private void checkSaveTransactionAndClearUpIfItIsDone() {
@@ -264,8 +278,8 @@ private void waitForCompletionOfPreviousSave() {
 
     private SaveTransaction createSaveTransaction() {
         SaveTransactionBuilder saveTransactionBuilder = new SaveTransactionBuilder(privateEntityManager,
-                entitySetDeltaRecorder, isStoreChunksInZips(), getStoragePathProvider(), worldDirectoryWriteLock,
-                recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
+                entitySetDeltaRecorder, isStoreChunksInZips(), getStoragePathProvider(), getChunkRegionStorage(),
+                getChunkCompressionCodec(), worldDirectoryWriteLock, recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
 
         ChunkProvider chunkProvider = CoreRegistry.get(ChunkProvider.class);
         NetworkSystem networkSystem = CoreRegistry.get(NetworkSystem.class);
@@ -328,7 +342,7 @@ public void deactivateChunk(Chunk chunk) {
         Collection<EntityRef> entitiesOfChunk = getEntitiesOfChunk(chunk);
         ChunkImpl chunkImpl = (ChunkImpl) chunk; // storage manager only works with ChunkImpl
         unloadedAndUnsavedChunkMap.put(chunk.getPosition(), new CompressedChunkBuilder(getEntityManager(), chunkImpl,
-                entitiesOfChunk, true));
+                entitiesOfChunk, true, getChunkCompressionCodec()));
 
         entitiesOfChunk.forEach(this::deactivateOrDestroyEntityRecursive);
     }
@@ -399,6 +413,16 @@ public void update() {
 
     }
 
+    /**
+     * @return the codec chosen in the system config, gzip if there is no config or it names no known codec.
+     */
+    private CompressionCodec getChunkCompressionCodec() {
+        if (config == null) {
+            return CompressionCodecs.GZIP;
+        }
+        return CompressionCodecs.getByName(config.getSystem().getSaveCompression(), CompressionCodecs.GZIP);
+    }
+
     private boolean isRunModeAllowSaving() {
         NetworkSystem networkSystem = CoreRegistry.get(NetworkSystem.class);
         return networkSystem.getMode().isAuthority();
@@ -501,6 +525,7 @@ public void deleteWorld() {
         unloadedAndSavingChunkMap.clear();
         unloadedAndUnsavedPlayerMap.clear();
         unloadedAndSavingPlayerMap.clear();
+        closeChunkRegions();
 
         try {
             FilesUtil.recursiveDelete(getStoragePathProvider().getWorldPath());
@@ -15,11 +15,11 @@
  */
 package org.terasology.persistence.internal;
 
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.joml.Vector3f;
 import org.joml.Vector3i;
+import org.joml.Vector3ic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.paths.PathManager;
@@ -29,35 +29,36 @@
 import org.terasology.game.GameManifest;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.ChunkMath;
+import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.network.ClientComponent;
 import org.terasology.protobuf.EntityData;
 import org.terasology.recording.RecordAndReplayCurrentStatus;
 import org.terasology.recording.RecordAndReplaySerializer;
 import org.terasology.recording.RecordAndReplayStatus;
 import org.terasology.recording.RecordAndReplayUtils;
+import org.terasology.utilities.compression.CompressionCodec;
 import org.terasology.utilities.concurrency.AbstractTask;
 import org.terasology.world.chunks.internal.ChunkImpl;
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.net.URI;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.AtomicMoveNotSupportedException;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -69,7 +70,14 @@
 public class SaveTransaction extends AbstractTask {
     private static final Logger logger = LoggerFactory.getLogger(SaveTransaction.class);
 
-    private static final ImmutableMap<String, String> CREATE_ZIP_OPTIONS = ImmutableMap.of("create", "true", "encoding", "UTF-8");
+    private static final int ENCODING_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final ForkJoinPool.ForkJoinWorkerThreadFactory ENCODING_THREAD_FACTORY = pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("Saving-encoder-" + thread.getPoolIndex());
+        return thread;
+    };
+
+
     private final GameManifest gameManifest;
     private final Lock worldDirectoryWriteLock;
     private final EngineEntityManager privateEntityManager;
@@ -88,9 +96,14 @@ public class SaveTransaction extends AbstractTask {
     private Map<String, EntityData.PlayerStore> allPlayers;
     private Map<Vector3i, CompressedChunkBuilder> allChunks;
 
+    // statistics:
+    private long chunkEncodingTimeMs;
+    private long encodedChunkBytes;
+
 
     // Save parameters:
     private final boolean storeChunksInZips;
+    private final CompressionCodec chunkCompressionCodec;
 
     // utility classes for saving:
     private final StoragePathProvider storagePathProvider;
@@ -107,7 +120,8 @@ public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaR
                            Map<String, PlayerStoreBuilder> loadedPlayers, GlobalStoreBuilder globalStoreBuilder,
                            Map<Vector3i, CompressedChunkBuilder> unloadedChunks, Map<Vector3i, ChunkImpl> loadedChunks,
                            GameManifest gameManifest, boolean storeChunksInZips,
-                           StoragePathProvider storagePathProvider, Lock worldDirectoryWriteLock,
+                           StoragePathProvider storagePathProvider, ChunkRegionStorage chunkRegionStorage,
+                           CompressionCodec chunkCompressionCodec, Lock worldDirectoryWriteLock,
                            RecordAndReplaySerializer recordAndReplaySerializer,
                            RecordAndReplayUtils recordAndReplayUtils,
                            RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) {
@@ -120,8 +134,9 @@ public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaR
         this.globalStoreBuilder = globalStoreBuilder;
         this.gameManifest = gameManifest;
         this.storeChunksInZips = storeChunksInZips;
+        this.chunkCompressionCodec = chunkCompressionCodec;
         this.storagePathProvider = storagePathProvider;
-        this.saveTransactionHelper = new SaveTransactionHelper(storagePathProvider);
+        this.saveTransactionHelper = new SaveTransactionHelper(storagePathProvider, chunkRegionStorage);
         this.worldDirectoryWriteLock = worldDirectoryWriteLock;
         this.recordAndReplaySerializer = recordAndReplaySerializer;
         this.recordAndReplayUtils = recordAndReplayUtils;
@@ -139,6 +154,7 @@ public void run() {
         if (isReplay()) {
             return;
         }
+        long startTime = System.nanoTime();
         try {
             if (Files.exists(storagePathProvider.getUnmergedChangesPath())) {
                 // should not happen, as initialization should clean it up
@@ -156,7 +172,7 @@ public void run() {
             perpareChangesForMerge();
             mergeChanges();
             result = SaveTransactionResult.createSuccessResult();
-            logger.info("Save game finished");
+            recordMetrics((System.nanoTime() - startTime) / 1_000_000);
             saveRecordingData();
         } catch (IOException | RuntimeException t) {
             logger.error("Save game creation failed", t);
@@ -230,7 +246,7 @@ private void prepareCompressedChunkBuilders(Set<EntityRef> unsavedEntities) {
             ChunkImpl chunk = chunkEntry.getValue();
             unsavedEntities.removeAll(entitiesToStore);
             CompressedChunkBuilder compressedChunkBuilder = new CompressedChunkBuilder(privateEntityManager, chunk,
-                    entitiesToStore, false);
+                    entitiesToStore, false, chunkCompressionCodec);
             unsavedEntities.removeAll(compressedChunkBuilder.getStoredEntities());
             allChunks.put(chunkEntry.getKey(), compressedChunkBuilder);
         }
@@ -402,61 +418,80 @@ private void writeGlobalStore() throws IOException {
     private void writeChunkStores() throws IOException {
         Path chunksPath = storagePathProvider.getWorldTempPath();
         Files.createDirectories(chunksPath);
+        Map<Vector3i, byte[]> encodedChunks = encodeChunks();
         if (storeChunksInZips) {
-            Map<Vector3i, FileSystem> newChunkZips = Maps.newHashMap();
-            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : allChunks.entrySet()) {
+            // The journals get applied to the region files when the changes get merged
+            Map<Vector3i, Map<Vector3ic, byte[]>> chunksByRegion = Maps.newHashMap();
+            for (Map.Entry<Vector3i, byte[]> entry : encodedChunks.entrySet()) {
                 Vector3i chunkPos = entry.getKey();
-                Vector3i chunkZipPos = storagePathProvider.getChunkZipPosition(chunkPos);
-                FileSystem zip = newChunkZips.get(chunkZipPos);
-                if (zip == null) {
-                    Path targetPath = storagePathProvider.getChunkZipTempPath(chunkZipPos);
-                    Files.deleteIfExists(targetPath);
-                    zip = FileSystems.newFileSystem(URI.create("jar:" + targetPath.toUri()), CREATE_ZIP_OPTIONS);
-                    newChunkZips.put(chunkZipPos, zip);
-                }
-                Path chunkPath = zip.getPath(storagePathProvider.getChunkFilename(chunkPos));
-                CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
-                byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
-                try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
-                    bos.write(compressedChunk);
-                }
+                Vector3i chunkRegionPos = storagePathProvider.getChunkRegionPosition(chunkPos);
+                chunksByRegion.computeIfAbsent(chunkRegionPos, k -> Maps.newHashMap()).put(chunkPos, entry.getValue());
             }
-            // Copy existing, unmodified content into the zips and close them
-            for (Map.Entry<Vector3i, FileSystem> chunkZipEntry : newChunkZips.entrySet()) {
-                Vector3i chunkZipPos = chunkZipEntry.getKey();
-                Path oldChunkZipPath = storagePathProvider.getChunkZipPath(chunkZipPos);
-                final FileSystem zip = chunkZipEntry.getValue();
-                if (Files.isRegularFile(oldChunkZipPath)) {
-                    try (FileSystem oldZip = FileSystems.newFileSystem(oldChunkZipPath, null)) {
-                        for (Path root : oldZip.getRootDirectories()) {
-                            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-                                @Override
-                                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
-                                        throws IOException {
-                                    if (!Files.isRegularFile(zip.getPath(file.toString()))) {
-                                        Files.copy(file, zip.getPath(file.toString()));
-                                    }
-                                    return FileVisitResult.CONTINUE;
-                                }
-                            });
-                        }
-                    }
-                }
-                zip.close();
+            for (Map.Entry<Vector3i, Map<Vector3ic, byte[]>> regionEntry : chunksByRegion.entrySet()) {
+                Path journalPath = storagePathProvider.getChunkRegionJournalTempPath(regionEntry.getKey());
+                ChunkRegionStorage.writeJournal(journalPath, regionEntry.getValue());
             }
         } else {
-            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : allChunks.entrySet()) {
-                Vector3i chunkPos = entry.getKey();
-                CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
-                byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
-                Path chunkPath = storagePathProvider.getChunkTempPath(chunkPos);
+            for (Map.Entry<Vector3i, byte[]> entry : encodedChunks.entrySet()) {
+                Path chunkPath = storagePathProvider.getChunkTempPath(entry.getKey());
                 try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
-                    out.write(compressedChunk);
+                    out.write(entry.getValue());
                 }
             }
         }
     }
 
+    /**
+     * Encodes and compresses all chunks to save. This is the most expensive part of saving and runs in parallel,
+     * the files get written sequentially afterwards.
+     *
+     * @return the encoded chunks by their position
+     */
+    private Map<Vector3i, byte[]> encodeChunks() throws IOException {
+        long startTime = System.nanoTime();
+        List<Vector3i> chunkPositions = Lists.newArrayList(allChunks.keySet());
+        List<Callable<byte[]>> encodingTasks = Lists.newArrayListWithCapacity(chunkPositions.size());
+        for (Vector3i chunkPos : chunkPositions) {
+            encodingTasks.add(allChunks.get(chunkPos)::buildEncodedChunk);
+        }
+
+        Map<Vector3i, byte[]> encodedChunks = Maps.newHashMapWithExpectedSize(chunkPositions.size());
+        ForkJoinPool encodingPool = new ForkJoinPool(ENCODING_THREADS, ENCODING_THREAD_FACTORY, null, false);
+        try {
+            List<Future<byte[]>> results = encodingPool.invokeAll(encodingTasks);
+            for (int i = 0; i < chunkPositions.size(); i++) {
+                byte[] encodedChunk = results.get(i).get();
+                encodedChunkBytes += encodedChunk.length;
+                encodedChunks.put(chunkPositions.get(i), encodedChunk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while encoding chunks", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Failed to encode chunks", e.getCause());
+        } finally {
+            encodingPool.shutdownNow();
+        }
+        chunkEncodingTimeMs = (System.nanoTime() - startTime) / 1_000_000;
+        return encodedChunks;
+    }
+
+    private void recordMetrics(long saveTimeMs) {
+        int chunkCount = allChunks.size();
+        logger.info("Save game finished in {} ms, encoding {} chunks ({} KiB) took {} ms", saveTimeMs, chunkCount,
+                encodedChunkBytes / 1024, chunkEncodingTimeMs);
+        PerformanceMonitor.recordMetric("Saving - Duration (ms)", saveTimeMs);
+        PerformanceMonitor.recordMetric("Saving - Chunk encoding (ms)", chunkEncodingTimeMs);
+        PerformanceMonitor.recordMetric("Saving - Chunks saved", chunkCount);
+        if (saveTimeMs > 0) {
+            PerformanceMonitor.recordMetric("Saving - Chunks per second", chunkCount * 1000.0 / saveTimeMs);
+            PerformanceMonitor.recordMetric("Saving - Chunk KiB per second", encodedChunkBytes * 1000.0 / 1024 / saveTimeMs);
+        }
+    }
+
     /**
      * @return the result if there is one yet or null. This method returns the value of a volatile variable and
      * can thus be used even from another thread.
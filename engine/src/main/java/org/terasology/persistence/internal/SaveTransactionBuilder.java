@@ -24,6 +24,7 @@
 import org.terasology.recording.RecordAndReplayCurrentStatus;
 import org.terasology.recording.RecordAndReplaySerializer;
 import org.terasology.recording.RecordAndReplayUtils;
+import org.terasology.utilities.compression.CompressionCodec;
 import org.terasology.world.chunks.internal.ChunkImpl;
 
 import java.util.Map;
@@ -44,6 +45,8 @@ class SaveTransactionBuilder {
     private GlobalStoreBuilder globalStoreBuilder;
     private final boolean storeChunksInZips;
     private final StoragePathProvider storagePathProvider;
+    private final ChunkRegionStorage chunkRegionStorage;
+    private final CompressionCodec chunkCompressionCodec;
     private GameManifest gameManifest;
     private RecordAndReplaySerializer recordAndReplaySerializer;
     private RecordAndReplayUtils recordAndReplayUtils;
@@ -51,6 +54,7 @@ class SaveTransactionBuilder {
 
     SaveTransactionBuilder(EngineEntityManager privateEntityManager, EntitySetDeltaRecorder deltaToSave,
                            boolean storeChunksInZips, StoragePathProvider storagePathProvider,
+                           ChunkRegionStorage chunkRegionStorage, CompressionCodec chunkCompressionCodec,
                            Lock worldDirectoryWriteLock, RecordAndReplaySerializer recordAndReplaySerializer,
                            RecordAndReplayUtils recordAndReplayUtils,
                            RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) {
@@ -58,6 +62,8 @@ class SaveTransactionBuilder {
         this.deltaToSave = deltaToSave;
         this.storeChunksInZips = storeChunksInZips;
         this.storagePathProvider = storagePathProvider;
+        this.chunkRegionStorage = chunkRegionStorage;
+        this.chunkCompressionCodec = chunkCompressionCodec;
         this.worldDirectoryWriteLock = worldDirectoryWriteLock;
         this.recordAndReplaySerializer = recordAndReplaySerializer;
         this.recordAndReplayUtils = recordAndReplayUtils;
@@ -88,7 +94,8 @@ void addLoadedChunk(final org.terasology.math.geom.Vector3i chunkPosition, final
     public SaveTransaction build() {
         return new SaveTransaction(privateEntityManager, deltaToSave, unloadedPlayers, loadedPlayers, globalStoreBuilder,
                 unloadedChunks, loadedChunks, gameManifest, storeChunksInZips, storagePathProvider,
-                worldDirectoryWriteLock, recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
+                chunkRegionStorage, chunkCompressionCodec, worldDirectoryWriteLock, recordAndReplaySerializer,
+                recordAndReplayUtils, recordAndReplayCurrentStatus);
 
     }
 
@@ -32,7 +32,11 @@ public class StoragePathProvider {
     private static final String GLOBAL_ENTITY_STORE = "global.dat";
     private static final String UNFINISHED_SAVE_TRANSACTION = "unfinished-save-transaction";
     private static final String UNMERGED_CHANGED = "unmerged-changes";
-    private static final int CHUNK_ZIP_DIM = 32;
+    private static final String CHUNK_EXTENSION = ".chunk";
+    private static final String CHUNK_ZIP_EXTENSION = ".chunks.zip";
+    private static final String CHUNK_REGION_EXTENSION = ".chunks.region";
+    private static final String CHUNK_REGION_JOURNAL_EXTENSION = ".chunks.journal";
+    private static final int CHUNK_ZIP_DIM = ChunkRegionFile.CHUNKS_PER_AXIS;
 
     private final Path storagePathDirectory;
     private final Path playersPath;
@@ -89,13 +93,19 @@ public Path getWorldTempPath() {
         return unfinishedSaveTransactionPath.resolve(WORLDS_PATH).resolve(TerasologyConstants.MAIN_WORLD);
     }
 
+    /**
+     * Chunk zips are no longer written, existing ones get migrated to region files.
+     */
     public Path getChunkZipPath(Vector3i chunkZipPos) {
         return worldPath.resolve(getChunkZipFilename(chunkZipPos));
     }
 
+    public Path getChunkRegionPath(Vector3i chunkRegionPos) {
+        return worldPath.resolve(getChunkRegionFilename(chunkRegionPos, CHUNK_REGION_EXTENSION));
+    }
 
-    public Path getChunkZipTempPath(Vector3i chunkZipPos) {
-        return getWorldTempPath().resolve(getChunkZipFilename(chunkZipPos));
+    public Path getChunkRegionJournalTempPath(Vector3i chunkRegionPos) {
+        return getWorldTempPath().resolve(getChunkRegionFilename(chunkRegionPos, CHUNK_REGION_JOURNAL_EXTENSION));
     }
 
     public Path getGlobalEntityStorePath() {
@@ -115,6 +125,58 @@ private String getChunkZipFilename(Vector3ic pos) {
         return String.format("%d.%d.%d.chunks.zip", pos.x(), pos.y(), pos.z());
     }
 
+    private String getChunkRegionFilename(Vector3ic pos, String extension) {
+        return String.format("%d.%d.%d", pos.x(), pos.y(), pos.z()) + extension;
+    }
+
+    /**
+     * @return the position of the chunk stored in the given file, or null if it is no chunk file
+     */
+    public Vector3i parseChunkPosition(Path chunkPath) {
+        return parsePosition(chunkPath, CHUNK_EXTENSION);
+    }
+
+    /**
+     * @return the position of the chunk zip, or null if the path doesn't point to a chunk zip
+     */
+    public Vector3i parseChunkZipPosition(Path chunkZipPath) {
+        return parsePosition(chunkZipPath, CHUNK_ZIP_EXTENSION);
+    }
+
+    /**
+     * @return the position of the region the journal belongs to, or null if the path doesn't point to a journal
+     */
+    public Vector3i parseChunkRegionJournalPosition(Path journalPath) {
+        return parsePosition(journalPath, CHUNK_REGION_JOURNAL_EXTENSION);
+    }
+
+    private static Vector3i parsePosition(Path path, String extension) {
+        Path fileName = path.getFileName();
+        if (fileName == null) {
+            return null;
+        }
+        String name = fileName.toString();
+        if (!name.endsWith(extension)) {
+            return null;
+        }
+        String[] parts = name.substring(0, name.length() - extension.length()).split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new Vector3i(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the position of the region file that stores the chunk. Matches the cells of the former chunk zips.
+     */
+    public Vector3i getChunkRegionPosition(Vector3ic chunkPos) {
+        return getChunkZipPosition(chunkPos);
+    }
+
     public Vector3i getChunkZipPosition(Vector3ic chunkPos) {
         Vector3i result = new Vector3i(chunkPos);
         result.div(CHUNK_ZIP_DIM);
@@ -247,6 +247,31 @@ org.terasology.protobuf.NetData.BiomeChangeMessageOrBuilder getBiomeChangeOrBuil
     org.terasology.protobuf.NetData.ExtraDataChangeMessageOrBuilder getExtraDataChangeOrBuilder(
         int index);
 
+    // repeated .BlockChangeBatchMessage blockChangeBatch = 12;
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+     */
+    java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage> 
+        getBlockChangeBatchList();
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+     */
+    org.terasology.protobuf.NetData.BlockChangeBatchMessage getBlockChangeBatch(int index);
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+     */
+    int getBlockChangeBatchCount();
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+     */
+    java.util.List<? extends org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder> 
+        getBlockChangeBatchOrBuilderList();
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+     */
+    org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder getBlockChangeBatchOrBuilder(
+        int index);
+
     // optional .ServerInfoRequest serverInfoRequest = 15;
     /**
      * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
@@ -577,6 +602,14 @@ private NetMessage(
               extraDataChange_.add(input.readMessage(org.terasology.protobuf.NetData.ExtraDataChangeMessage.PARSER, extensionRegistry));
               break;
             }
+            case 98: {
+              if (!((mutable_bitField0_ & 0x00000400) == 0x00000400)) {
+                blockChangeBatch_ = new java.util.ArrayList<org.terasology.protobuf.NetData.BlockChangeBatchMessage>();
+                mutable_bitField0_ |= 0x00000400;
+              }
+              blockChangeBatch_.add(input.readMessage(org.terasology.protobuf.NetData.BlockChangeBatchMessage.PARSER, extensionRegistry));
+              break;
+            }
             case 122: {
               org.terasology.protobuf.NetData.ServerInfoRequest.Builder subBuilder = null;
               if (((bitField0_ & 0x00000002) == 0x00000002)) {
@@ -604,9 +637,9 @@ private NetMessage(
               break;
             }
             case 138: {
-              if (!((mutable_bitField0_ & 0x00001000) == 0x00001000)) {
+              if (!((mutable_bitField0_ & 0x00002000) == 0x00002000)) {
                 blockFamilyRegistered_ = new java.util.ArrayList<org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage>();
-                mutable_bitField0_ |= 0x00001000;
+                mutable_bitField0_ |= 0x00002000;
               }
               blockFamilyRegistered_.add(input.readMessage(org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage.PARSER, extensionRegistry));
               break;
@@ -625,9 +658,9 @@ private NetMessage(
               break;
             }
             case 154: {
-              if (!((mutable_bitField0_ & 0x00004000) == 0x00004000)) {
+              if (!((mutable_bitField0_ & 0x00008000) == 0x00008000)) {
                 moduleRequest_ = new java.util.ArrayList<org.terasology.protobuf.NetData.ModuleRequest>();
-                mutable_bitField0_ |= 0x00004000;
+                mutable_bitField0_ |= 0x00008000;
               }
               moduleRequest_.add(input.readMessage(org.terasology.protobuf.NetData.ModuleRequest.PARSER, extensionRegistry));
               break;
@@ -758,10 +791,13 @@ private NetMessage(
         if (((mutable_bitField0_ & 0x00000200) == 0x00000200)) {
           extraDataChange_ = java.util.Collections.unmodifiableList(extraDataChange_);
         }
-        if (((mutable_bitField0_ & 0x00001000) == 0x00001000)) {
+        if (((mutable_bitField0_ & 0x00000400) == 0x00000400)) {
+          blockChangeBatch_ = java.util.Collections.unmodifiableList(blockChangeBatch_);
+        }
+        if (((mutable_bitField0_ & 0x00002000) == 0x00002000)) {
           blockFamilyRegistered_ = java.util.Collections.unmodifiableList(blockFamilyRegistered_);
         }
-        if (((mutable_bitField0_ & 0x00004000) == 0x00004000)) {
+        if (((mutable_bitField0_ & 0x00008000) == 0x00008000)) {
           moduleRequest_ = java.util.Collections.unmodifiableList(moduleRequest_);
         }
         this.unknownFields = unknownFields.build();
@@ -1136,6 +1172,42 @@ public org.terasology.protobuf.NetData.ExtraDataChangeMessageOrBuilder getExtraD
       return extraDataChange_.get(index);
     }
 
+    // repeated .BlockChangeBatchMessage blockChangeBatch = 12;
+    public static final int BLOCKCHANGEBATCH_FIELD_NUMBER = 12;
+    private java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage> blockChangeBatch_;
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+     */
+    public java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage> getBlockChangeBatchList() {
+      return blockChangeBatch_;
+    }
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+     */
+    public java.util.List<? extends org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder> 
+        getBlockChangeBatchOrBuilderList() {
+      return blockChangeBatch_;
+    }
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+     */
+    public int getBlockChangeBatchCount() {
+      return blockChangeBatch_.size();
+    }
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+     */
+    public org.terasology.protobuf.NetData.BlockChangeBatchMessage getBlockChangeBatch(int index) {
+      return blockChangeBatch_.get(index);
+    }
+    /**
+     * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+     */
+    public org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder getBlockChangeBatchOrBuilder(
+        int index) {
+      return blockChangeBatch_.get(index);
+    }
+
     // optional .ServerInfoRequest serverInfoRequest = 15;
     public static final int SERVERINFOREQUEST_FIELD_NUMBER = 15;
     private org.terasology.protobuf.NetData.ServerInfoRequest serverInfoRequest_;
@@ -1451,6 +1523,7 @@ private void initFields() {
       time_ = 0L;
       biomeChange_ = java.util.Collections.emptyList();
       extraDataChange_ = java.util.Collections.emptyList();
+      blockChangeBatch_ = java.util.Collections.emptyList();
       serverInfoRequest_ = org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance();
       serverInfo_ = org.terasology.protobuf.NetData.ServerInfoMessage.getDefaultInstance();
       blockFamilyRegistered_ = java.util.Collections.emptyList();
@@ -1523,6 +1596,12 @@ public final boolean isInitialized() {
           return false;
         }
       }
+      for (int i = 0; i < getBlockChangeBatchCount(); i++) {
+        if (!getBlockChangeBatch(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
       if (hasServerInfoRequest()) {
         if (!getServerInfoRequest().isInitialized()) {
           memoizedIsInitialized = 0;
@@ -1639,6 +1718,9 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       for (int i = 0; i < extraDataChange_.size(); i++) {
         output.writeMessage(11, extraDataChange_.get(i));
       }
+      for (int i = 0; i < blockChangeBatch_.size(); i++) {
+        output.writeMessage(12, blockChangeBatch_.get(i));
+      }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         output.writeMessage(15, serverInfoRequest_);
       }
@@ -1725,6 +1807,10 @@ public int getSerializedSize() {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(11, extraDataChange_.get(i));
       }
+      for (int i = 0; i < blockChangeBatch_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(12, blockChangeBatch_.get(i));
+      }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(15, serverInfoRequest_);
@@ -1891,6 +1977,7 @@ private void maybeForceBuilderInitialization() {
           getEventFieldBuilder();
           getBiomeChangeFieldBuilder();
           getExtraDataChangeFieldBuilder();
+          getBlockChangeBatchFieldBuilder();
           getServerInfoRequestFieldBuilder();
           getServerInfoFieldBuilder();
           getBlockFamilyRegisteredFieldBuilder();
@@ -1967,21 +2054,27 @@ public Builder clear() {
         } else {
           extraDataChangeBuilder_.clear();
         }
+        if (blockChangeBatchBuilder_ == null) {
+          blockChangeBatch_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000400);
+        } else {
+          blockChangeBatchBuilder_.clear();
+        }
         if (serverInfoRequestBuilder_ == null) {
           serverInfoRequest_ = org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance();
         } else {
           serverInfoRequestBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000400);
+        bitField0_ = (bitField0_ & ~0x00000800);
         if (serverInfoBuilder_ == null) {
           serverInfo_ = org.terasology.protobuf.NetData.ServerInfoMessage.getDefaultInstance();
         } else {
           serverInfoBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000800);
+        bitField0_ = (bitField0_ & ~0x00001000);
         if (blockFamilyRegisteredBuilder_ == null) {
           blockFamilyRegistered_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00001000);
+          bitField0_ = (bitField0_ & ~0x00002000);
         } else {
           blockFamilyRegisteredBuilder_.clear();
         }
@@ -1990,10 +2083,10 @@ public Builder clear() {
         } else {
           joinBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00002000);
+        bitField0_ = (bitField0_ & ~0x00004000);
         if (moduleRequestBuilder_ == null) {
           moduleRequest_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00004000);
+          bitField0_ = (bitField0_ & ~0x00008000);
         } else {
           moduleRequestBuilder_.clear();
         }
@@ -2002,43 +2095,43 @@ public Builder clear() {
         } else {
           moduleDataHeaderBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00008000);
+        bitField0_ = (bitField0_ & ~0x00010000);
         if (moduleDataBuilder_ == null) {
           moduleData_ = org.terasology.protobuf.NetData.ModuleData.getDefaultInstance();
         } else {
           moduleDataBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00010000);
+        bitField0_ = (bitField0_ & ~0x00020000);
         if (joinCompleteBuilder_ == null) {
           joinComplete_ = org.terasology.protobuf.NetData.JoinCompleteMessage.getDefaultInstance();
         } else {
           joinCompleteBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00020000);
+        bitField0_ = (bitField0_ & ~0x00040000);
         if (handshakeHelloBuilder_ == null) {
           handshakeHello_ = org.terasology.protobuf.NetData.HandshakeHello.getDefaultInstance();
         } else {
           handshakeHelloBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00040000);
+        bitField0_ = (bitField0_ & ~0x00080000);
         if (newIdentityRequestBuilder_ == null) {
           newIdentityRequest_ = org.terasology.protobuf.NetData.NewIdentityRequest.getDefaultInstance();
         } else {
           newIdentityRequestBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00080000);
+        bitField0_ = (bitField0_ & ~0x00100000);
         if (provisionIdentityBuilder_ == null) {
           provisionIdentity_ = org.terasology.protobuf.NetData.ProvisionIdentity.getDefaultInstance();
         } else {
           provisionIdentityBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00100000);
+        bitField0_ = (bitField0_ & ~0x00200000);
         if (handshakeVerificationBuilder_ == null) {
           handshakeVerification_ = org.terasology.protobuf.NetData.HandshakeVerification.getDefaultInstance();
         } else {
           handshakeVerificationBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00200000);
+        bitField0_ = (bitField0_ & ~0x00400000);
         return this;
       }
 
@@ -2152,7 +2245,16 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.extraDataChange_ = extraDataChangeBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00000400) == 0x00000400)) {
+        if (blockChangeBatchBuilder_ == null) {
+          if (((bitField0_ & 0x00000400) == 0x00000400)) {
+            blockChangeBatch_ = java.util.Collections.unmodifiableList(blockChangeBatch_);
+            bitField0_ = (bitField0_ & ~0x00000400);
+          }
+          result.blockChangeBatch_ = blockChangeBatch_;
+        } else {
+          result.blockChangeBatch_ = blockChangeBatchBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000800) == 0x00000800)) {
           to_bitField0_ |= 0x00000002;
         }
         if (serverInfoRequestBuilder_ == null) {
@@ -2160,7 +2262,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.serverInfoRequest_ = serverInfoRequestBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00000800) == 0x00000800)) {
+        if (((from_bitField0_ & 0x00001000) == 0x00001000)) {
           to_bitField0_ |= 0x00000004;
         }
         if (serverInfoBuilder_ == null) {
@@ -2169,15 +2271,15 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
           result.serverInfo_ = serverInfoBuilder_.build();
         }
         if (blockFamilyRegisteredBuilder_ == null) {
-          if (((bitField0_ & 0x00001000) == 0x00001000)) {
+          if (((bitField0_ & 0x00002000) == 0x00002000)) {
             blockFamilyRegistered_ = java.util.Collections.unmodifiableList(blockFamilyRegistered_);
-            bitField0_ = (bitField0_ & ~0x00001000);
+            bitField0_ = (bitField0_ & ~0x00002000);
           }
           result.blockFamilyRegistered_ = blockFamilyRegistered_;
         } else {
           result.blockFamilyRegistered_ = blockFamilyRegisteredBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00002000) == 0x00002000)) {
+        if (((from_bitField0_ & 0x00004000) == 0x00004000)) {
           to_bitField0_ |= 0x00000008;
         }
         if (joinBuilder_ == null) {
@@ -2186,15 +2288,15 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
           result.join_ = joinBuilder_.build();
         }
         if (moduleRequestBuilder_ == null) {
-          if (((bitField0_ & 0x00004000) == 0x00004000)) {
+          if (((bitField0_ & 0x00008000) == 0x00008000)) {
             moduleRequest_ = java.util.Collections.unmodifiableList(moduleRequest_);
-            bitField0_ = (bitField0_ & ~0x00004000);
+            bitField0_ = (bitField0_ & ~0x00008000);
           }
           result.moduleRequest_ = moduleRequest_;
         } else {
           result.moduleRequest_ = moduleRequestBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00008000) == 0x00008000)) {
+        if (((from_bitField0_ & 0x00010000) == 0x00010000)) {
           to_bitField0_ |= 0x00000010;
         }
         if (moduleDataHeaderBuilder_ == null) {
@@ -2202,7 +2304,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.moduleDataHeader_ = moduleDataHeaderBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00010000) == 0x00010000)) {
+        if (((from_bitField0_ & 0x00020000) == 0x00020000)) {
           to_bitField0_ |= 0x00000020;
         }
         if (moduleDataBuilder_ == null) {
@@ -2210,7 +2312,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.moduleData_ = moduleDataBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00020000) == 0x00020000)) {
+        if (((from_bitField0_ & 0x00040000) == 0x00040000)) {
           to_bitField0_ |= 0x00000040;
         }
         if (joinCompleteBuilder_ == null) {
@@ -2218,7 +2320,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.joinComplete_ = joinCompleteBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00040000) == 0x00040000)) {
+        if (((from_bitField0_ & 0x00080000) == 0x00080000)) {
           to_bitField0_ |= 0x00000080;
         }
         if (handshakeHelloBuilder_ == null) {
@@ -2226,7 +2328,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.handshakeHello_ = handshakeHelloBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00080000) == 0x00080000)) {
+        if (((from_bitField0_ & 0x00100000) == 0x00100000)) {
           to_bitField0_ |= 0x00000100;
         }
         if (newIdentityRequestBuilder_ == null) {
@@ -2234,7 +2336,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.newIdentityRequest_ = newIdentityRequestBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00100000) == 0x00100000)) {
+        if (((from_bitField0_ & 0x00200000) == 0x00200000)) {
           to_bitField0_ |= 0x00000200;
         }
         if (provisionIdentityBuilder_ == null) {
@@ -2242,7 +2344,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.provisionIdentity_ = provisionIdentityBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00200000) == 0x00200000)) {
+        if (((from_bitField0_ & 0x00400000) == 0x00400000)) {
           to_bitField0_ |= 0x00000400;
         }
         if (handshakeVerificationBuilder_ == null) {
@@ -2503,6 +2605,32 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
             }
           }
         }
+        if (blockChangeBatchBuilder_ == null) {
+          if (!other.blockChangeBatch_.isEmpty()) {
+            if (blockChangeBatch_.isEmpty()) {
+              blockChangeBatch_ = other.blockChangeBatch_;
+              bitField0_ = (bitField0_ & ~0x00000400);
+            } else {
+              ensureBlockChangeBatchIsMutable();
+              blockChangeBatch_.addAll(other.blockChangeBatch_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.blockChangeBatch_.isEmpty()) {
+            if (blockChangeBatchBuilder_.isEmpty()) {
+              blockChangeBatchBuilder_.dispose();
+              blockChangeBatchBuilder_ = null;
+              blockChangeBatch_ = other.blockChangeBatch_;
+              bitField0_ = (bitField0_ & ~0x00000400);
+              blockChangeBatchBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getBlockChangeBatchFieldBuilder() : null;
+            } else {
+              blockChangeBatchBuilder_.addAllMessages(other.blockChangeBatch_);
+            }
+          }
+        }
         if (other.hasServerInfoRequest()) {
           mergeServerInfoRequest(other.getServerInfoRequest());
         }
@@ -2513,7 +2641,7 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
           if (!other.blockFamilyRegistered_.isEmpty()) {
             if (blockFamilyRegistered_.isEmpty()) {
               blockFamilyRegistered_ = other.blockFamilyRegistered_;
-              bitField0_ = (bitField0_ & ~0x00001000);
+              bitField0_ = (bitField0_ & ~0x00002000);
             } else {
               ensureBlockFamilyRegisteredIsMutable();
               blockFamilyRegistered_.addAll(other.blockFamilyRegistered_);
@@ -2526,7 +2654,7 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
               blockFamilyRegisteredBuilder_.dispose();
               blockFamilyRegisteredBuilder_ = null;
               blockFamilyRegistered_ = other.blockFamilyRegistered_;
-              bitField0_ = (bitField0_ & ~0x00001000);
+              bitField0_ = (bitField0_ & ~0x00002000);
               blockFamilyRegisteredBuilder_ = 
                 com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
                    getBlockFamilyRegisteredFieldBuilder() : null;
@@ -2542,7 +2670,7 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
           if (!other.moduleRequest_.isEmpty()) {
             if (moduleRequest_.isEmpty()) {
               moduleRequest_ = other.moduleRequest_;
-              bitField0_ = (bitField0_ & ~0x00004000);
+              bitField0_ = (bitField0_ & ~0x00008000);
             } else {
               ensureModuleRequestIsMutable();
               moduleRequest_.addAll(other.moduleRequest_);
@@ -2555,7 +2683,7 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
               moduleRequestBuilder_.dispose();
               moduleRequestBuilder_ = null;
               moduleRequest_ = other.moduleRequest_;
-              bitField0_ = (bitField0_ & ~0x00004000);
+              bitField0_ = (bitField0_ & ~0x00008000);
               moduleRequestBuilder_ = 
                 com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
                    getModuleRequestFieldBuilder() : null;
@@ -2645,6 +2773,12 @@ public final boolean isInitialized() {
             return false;
           }
         }
+        for (int i = 0; i < getBlockChangeBatchCount(); i++) {
+          if (!getBlockChangeBatch(i).isInitialized()) {
+            
+            return false;
+          }
+        }
         if (hasServerInfoRequest()) {
           if (!getServerInfoRequest().isInitialized()) {
             
@@ -4936,6 +5070,246 @@ public org.terasology.protobuf.NetData.ExtraDataChangeMessage.Builder addExtraDa
         return extraDataChangeBuilder_;
       }
 
+      // repeated .BlockChangeBatchMessage blockChangeBatch = 12;
+      private java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage> blockChangeBatch_ =
+        java.util.Collections.emptyList();
+      private void ensureBlockChangeBatchIsMutable() {
+        if (!((bitField0_ & 0x00000400) == 0x00000400)) {
+          blockChangeBatch_ = new java.util.ArrayList<org.terasology.protobuf.NetData.BlockChangeBatchMessage>(blockChangeBatch_);
+          bitField0_ |= 0x00000400;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.terasology.protobuf.NetData.BlockChangeBatchMessage, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder, org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder> blockChangeBatchBuilder_;
+
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage> getBlockChangeBatchList() {
+        if (blockChangeBatchBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(blockChangeBatch_);
+        } else {
+          return blockChangeBatchBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public int getBlockChangeBatchCount() {
+        if (blockChangeBatchBuilder_ == null) {
+          return blockChangeBatch_.size();
+        } else {
+          return blockChangeBatchBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage getBlockChangeBatch(int index) {
+        if (blockChangeBatchBuilder_ == null) {
+          return blockChangeBatch_.get(index);
+        } else {
+          return blockChangeBatchBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public Builder setBlockChangeBatch(
+          int index, org.terasology.protobuf.NetData.BlockChangeBatchMessage value) {
+        if (blockChangeBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.set(index, value);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public Builder setBlockChangeBatch(
+          int index, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder builderForValue) {
+        if (blockChangeBatchBuilder_ == null) {
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public Builder addBlockChangeBatch(org.terasology.protobuf.NetData.BlockChangeBatchMessage value) {
+        if (blockChangeBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.add(value);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public Builder addBlockChangeBatch(
+          int index, org.terasology.protobuf.NetData.BlockChangeBatchMessage value) {
+        if (blockChangeBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.add(index, value);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public Builder addBlockChangeBatch(
+          org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder builderForValue) {
+        if (blockChangeBatchBuilder_ == null) {
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.add(builderForValue.build());
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public Builder addBlockChangeBatch(
+          int index, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder builderForValue) {
+        if (blockChangeBatchBuilder_ == null) {
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public Builder addAllBlockChangeBatch(
+          java.lang.Iterable<? extends org.terasology.protobuf.NetData.BlockChangeBatchMessage> values) {
+        if (blockChangeBatchBuilder_ == null) {
+          ensureBlockChangeBatchIsMutable();
+          super.addAll(values, blockChangeBatch_);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public Builder clearBlockChangeBatch() {
+        if (blockChangeBatchBuilder_ == null) {
+          blockChangeBatch_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000400);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public Builder removeBlockChangeBatch(int index) {
+        if (blockChangeBatchBuilder_ == null) {
+          ensureBlockChangeBatchIsMutable();
+          blockChangeBatch_.remove(index);
+          onChanged();
+        } else {
+          blockChangeBatchBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder getBlockChangeBatchBuilder(
+          int index) {
+        return getBlockChangeBatchFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder getBlockChangeBatchOrBuilder(
+          int index) {
+        if (blockChangeBatchBuilder_ == null) {
+          return blockChangeBatch_.get(index);  } else {
+          return blockChangeBatchBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public java.util.List<? extends org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder> 
+           getBlockChangeBatchOrBuilderList() {
+        if (blockChangeBatchBuilder_ != null) {
+          return blockChangeBatchBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(blockChangeBatch_);
+        }
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder addBlockChangeBatchBuilder() {
+        return getBlockChangeBatchFieldBuilder().addBuilder(
+            org.terasology.protobuf.NetData.BlockChangeBatchMessage.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder addBlockChangeBatchBuilder(
+          int index) {
+        return getBlockChangeBatchFieldBuilder().addBuilder(
+            index, org.terasology.protobuf.NetData.BlockChangeBatchMessage.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .BlockChangeBatchMessage blockChangeBatch = 12;</code>
+       */
+      public java.util.List<org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder> 
+           getBlockChangeBatchBuilderList() {
+        return getBlockChangeBatchFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.terasology.protobuf.NetData.BlockChangeBatchMessage, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder, org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder> 
+          getBlockChangeBatchFieldBuilder() {
+        if (blockChangeBatchBuilder_ == null) {
+          blockChangeBatchBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.terasology.protobuf.NetData.BlockChangeBatchMessage, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder, org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder>(
+                  blockChangeBatch_,
+                  ((bitField0_ & 0x00000400) == 0x00000400),
+                  getParentForChildren(),
+                  isClean());
+          blockChangeBatch_ = null;
+        }
+        return blockChangeBatchBuilder_;
+      }
+
       // optional .ServerInfoRequest serverInfoRequest = 15;
       private org.terasology.protobuf.NetData.ServerInfoRequest serverInfoRequest_ = org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance();
       private com.google.protobuf.SingleFieldBuilder<
@@ -4944,7 +5318,7 @@ public org.terasology.protobuf.NetData.ExtraDataChangeMessage.Builder addExtraDa
        * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
        */
       public boolean hasServerInfoRequest() {
-        return ((bitField0_ & 0x00000400) == 0x00000400);
+        return ((bitField0_ & 0x00000800) == 0x00000800);
       }
       /**
        * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
@@ -4969,7 +5343,7 @@ public Builder setServerInfoRequest(org.terasology.protobuf.NetData.ServerInfoRe
         } else {
           serverInfoRequestBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00000400;
+        bitField0_ |= 0x00000800;
         return this;
       }
       /**
@@ -4983,7 +5357,7 @@ public Builder setServerInfoRequest(
         } else {
           serverInfoRequestBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000400;
+        bitField0_ |= 0x00000800;
         return this;
       }
       /**
@@ -4991,7 +5365,7 @@ public Builder setServerInfoRequest(
        */
       public Builder mergeServerInfoRequest(org.terasology.protobuf.NetData.ServerInfoRequest value) {
         if (serverInfoRequestBuilder_ == null) {
-          if (((bitField0_ & 0x00000400) == 0x00000400) &&
+          if (((bitField0_ & 0x00000800) == 0x00000800) &&
               serverInfoRequest_ != org.terasology.protobuf.NetData.ServerInfoRequest.getDefaultInstance()) {
             serverInfoRequest_ =
               org.terasology.protobuf.NetData.ServerInfoRequest.newBuilder(serverInfoRequest_).mergeFrom(value).buildPartial();
@@ -5002,7 +5376,7 @@ public Builder mergeServerInfoRequest(org.terasology.protobuf.NetData.ServerInfo
         } else {
           serverInfoRequestBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00000400;
+        bitField0_ |= 0x00000800;
         return this;
       }
       /**
@@ -5015,14 +5389,14 @@ public Builder clearServerInfoRequest() {
         } else {
           serverInfoRequestBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000400);
+        bitField0_ = (bitField0_ & ~0x00000800);
         return this;
       }
       /**
        * <code>optional .ServerInfoRequest serverInfoRequest = 15;</code>
        */
       public org.terasology.protobuf.NetData.ServerInfoRequest.Builder getServerInfoRequestBuilder() {
-        bitField0_ |= 0x00000400;
+        bitField0_ |= 0x00000800;
         onChanged();
         return getServerInfoRequestFieldBuilder().getBuilder();
       }
@@ -5061,7 +5435,7 @@ public org.terasology.protobuf.NetData.ServerInfoRequestOrBuilder getServerInfoR
        * <code>optional .ServerInfoMessage serverInfo = 16;</code>
        */
       public boolean hasServerInfo() {
-        return ((bitField0_ & 0x00000800) == 0x00000800);
+        return ((bitField0_ & 0x00001000) == 0x00001000);
       }
       /**
        * <code>optional .ServerInfoMessage serverInfo = 16;</code>
@@ -5086,7 +5460,7 @@ public Builder setServerInfo(org.terasology.protobuf.NetData.ServerInfoMessage v
         } else {
           serverInfoBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00000800;
+        bitField0_ |= 0x00001000;
         return this;
       }
       /**
@@ -5100,7 +5474,7 @@ public Builder setServerInfo(
         } else {
           serverInfoBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000800;
+        bitField0_ |= 0x00001000;
         return this;
       }
       /**
@@ -5108,7 +5482,7 @@ public Builder setServerInfo(
        */
       public Builder mergeServerInfo(org.terasology.protobuf.NetData.ServerInfoMessage value) {
         if (serverInfoBuilder_ == null) {
-          if (((bitField0_ & 0x00000800) == 0x00000800) &&
+          if (((bitField0_ & 0x00001000) == 0x00001000) &&
               serverInfo_ != org.terasology.protobuf.NetData.ServerInfoMessage.getDefaultInstance()) {
             serverInfo_ =
               org.terasology.protobuf.NetData.ServerInfoMessage.newBuilder(serverInfo_).mergeFrom(value).buildPartial();
@@ -5119,7 +5493,7 @@ public Builder mergeServerInfo(org.terasology.protobuf.NetData.ServerInfoMessage
         } else {
           serverInfoBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00000800;
+        bitField0_ |= 0x00001000;
         return this;
       }
       /**
@@ -5132,14 +5506,14 @@ public Builder clearServerInfo() {
         } else {
           serverInfoBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000800);
+        bitField0_ = (bitField0_ & ~0x00001000);
         return this;
       }
       /**
        * <code>optional .ServerInfoMessage serverInfo = 16;</code>
        */
       public org.terasology.protobuf.NetData.ServerInfoMessage.Builder getServerInfoBuilder() {
-        bitField0_ |= 0x00000800;
+        bitField0_ |= 0x00001000;
         onChanged();
         return getServerInfoFieldBuilder().getBuilder();
       }
@@ -5174,9 +5548,9 @@ public org.terasology.protobuf.NetData.ServerInfoMessageOrBuilder getServerInfoO
       private java.util.List<org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage> blockFamilyRegistered_ =
         java.util.Collections.emptyList();
       private void ensureBlockFamilyRegisteredIsMutable() {
-        if (!((bitField0_ & 0x00001000) == 0x00001000)) {
+        if (!((bitField0_ & 0x00002000) == 0x00002000)) {
           blockFamilyRegistered_ = new java.util.ArrayList<org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage>(blockFamilyRegistered_);
-          bitField0_ |= 0x00001000;
+          bitField0_ |= 0x00002000;
          }
       }
 
@@ -5325,7 +5699,7 @@ public Builder addAllBlockFamilyRegistered(
       public Builder clearBlockFamilyRegistered() {
         if (blockFamilyRegisteredBuilder_ == null) {
           blockFamilyRegistered_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00001000);
+          bitField0_ = (bitField0_ & ~0x00002000);
           onChanged();
         } else {
           blockFamilyRegisteredBuilder_.clear();
@@ -5402,7 +5776,7 @@ public org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage.Builder addB
           blockFamilyRegisteredBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
               org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage, org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage.Builder, org.terasology.protobuf.NetData.BlockFamilyRegisteredMessageOrBuilder>(
                   blockFamilyRegistered_,
-                  ((bitField0_ & 0x00001000) == 0x00001000),
+                  ((bitField0_ & 0x00002000) == 0x00002000),
                   getParentForChildren(),
                   isClean());
           blockFamilyRegistered_ = null;
@@ -5418,7 +5792,7 @@ public org.terasology.protobuf.NetData.BlockFamilyRegisteredMessage.Builder addB
        * <code>optional .JoinMessage join = 18;</code>
        */
       public boolean hasJoin() {
-        return ((bitField0_ & 0x00002000) == 0x00002000);
+        return ((bitField0_ & 0x00004000) == 0x00004000);
       }
       /**
        * <code>optional .JoinMessage join = 18;</code>
@@ -5443,7 +5817,7 @@ public Builder setJoin(org.terasology.protobuf.NetData.JoinMessage value) {
         } else {
           joinBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00002000;
+        bitField0_ |= 0x00004000;
         return this;
       }
       /**
@@ -5457,7 +5831,7 @@ public Builder setJoin(
         } else {
           joinBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00002000;
+        bitField0_ |= 0x00004000;
         return this;
       }
       /**
@@ -5465,7 +5839,7 @@ public Builder setJoin(
        */
       public Builder mergeJoin(org.terasology.protobuf.NetData.JoinMessage value) {
         if (joinBuilder_ == null) {
-          if (((bitField0_ & 0x00002000) == 0x00002000) &&
+          if (((bitField0_ & 0x00004000) == 0x00004000) &&
               join_ != org.terasology.protobuf.NetData.JoinMessage.getDefaultInstance()) {
             join_ =
               org.terasology.protobuf.NetData.JoinMessage.newBuilder(join_).mergeFrom(value).buildPartial();
@@ -5476,7 +5850,7 @@ public Builder mergeJoin(org.terasology.protobuf.NetData.JoinMessage value) {
         } else {
           joinBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00002000;
+        bitField0_ |= 0x00004000;
         return this;
       }
       /**
@@ -5489,14 +5863,14 @@ public Builder clearJoin() {
         } else {
           joinBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00002000);
+        bitField0_ = (bitField0_ & ~0x00004000);
         return this;
       }
       /**
        * <code>optional .JoinMessage join = 18;</code>
        */
       public org.terasology.protobuf.NetData.JoinMessage.Builder getJoinBuilder() {
-        bitField0_ |= 0x00002000;
+        bitField0_ |= 0x00004000;
         onChanged();
         return getJoinFieldBuilder().getBuilder();
       }
@@ -5531,9 +5905,9 @@ public org.terasology.protobuf.NetData.JoinMessageOrBuilder getJoinOrBuilder() {
       private java.util.List<org.terasology.protobuf.NetData.ModuleRequest> moduleRequest_ =
         java.util.Collections.emptyList();
       private void ensureModuleRequestIsMutable() {
-        if (!((bitField0_ & 0x00004000) == 0x00004000)) {
+        if (!((bitField0_ & 0x00008000) == 0x00008000)) {
           moduleRequest_ = new java.util.ArrayList<org.terasology.protobuf.NetData.ModuleRequest>(moduleRequest_);
-          bitField0_ |= 0x00004000;
+          bitField0_ |= 0x00008000;
          }
       }
 
@@ -5682,7 +6056,7 @@ public Builder addAllModuleRequest(
       public Builder clearModuleRequest() {
         if (moduleRequestBuilder_ == null) {
           moduleRequest_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00004000);
+          bitField0_ = (bitField0_ & ~0x00008000);
           onChanged();
         } else {
           moduleRequestBuilder_.clear();
@@ -5759,7 +6133,7 @@ public org.terasology.protobuf.NetData.ModuleRequest.Builder addModuleRequestBui
           moduleRequestBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
               org.terasology.protobuf.NetData.ModuleRequest, org.terasology.protobuf.NetData.ModuleRequest.Builder, org.terasology.protobuf.NetData.ModuleRequestOrBuilder>(
                   moduleRequest_,
-                  ((bitField0_ & 0x00004000) == 0x00004000),
+                  ((bitField0_ & 0x00008000) == 0x00008000),
                   getParentForChildren(),
                   isClean());
           moduleRequest_ = null;
@@ -5775,7 +6149,7 @@ public org.terasology.protobuf.NetData.ModuleRequest.Builder addModuleRequestBui
        * <code>optional .ModuleDataHeader moduleDataHeader = 20;</code>
        */
       public boolean hasModuleDataHeader() {
-        return ((bitField0_ & 0x00008000) == 0x00008000);
+        return ((bitField0_ & 0x00010000) == 0x00010000);
       }
       /**
        * <code>optional .ModuleDataHeader moduleDataHeader = 20;</code>
@@ -5800,7 +6174,7 @@ public Builder setModuleDataHeader(org.terasology.protobuf.NetData.ModuleDataHea
         } else {
           moduleDataHeaderBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00008000;
+        bitField0_ |= 0x00010000;
         return this;
       }
       /**
@@ -5814,7 +6188,7 @@ public Builder setModuleDataHeader(
         } else {
           moduleDataHeaderBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00008000;
+        bitField0_ |= 0x00010000;
         return this;
       }
       /**
@@ -5822,7 +6196,7 @@ public Builder setModuleDataHeader(
        */
       public Builder mergeModuleDataHeader(org.terasology.protobuf.NetData.ModuleDataHeader value) {
         if (moduleDataHeaderBuilder_ == null) {
-          if (((bitField0_ & 0x00008000) == 0x00008000) &&
+          if (((bitField0_ & 0x00010000) == 0x00010000) &&
               moduleDataHeader_ != org.terasology.protobuf.NetData.ModuleDataHeader.getDefaultInstance()) {
             moduleDataHeader_ =
               org.terasology.protobuf.NetData.ModuleDataHeader.newBuilder(moduleDataHeader_).mergeFrom(value).buildPartial();
@@ -5833,7 +6207,7 @@ public Builder mergeModuleDataHeader(org.terasology.protobuf.NetData.ModuleDataH
         } else {
           moduleDataHeaderBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00008000;
+        bitField0_ |= 0x00010000;
         return this;
       }
       /**
@@ -5846,14 +6220,14 @@ public Builder clearModuleDataHeader() {
         } else {
           moduleDataHeaderBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00008000);
+        bitField0_ = (bitField0_ & ~0x00010000);
         return this;
       }
       /**
        * <code>optional .ModuleDataHeader moduleDataHeader = 20;</code>
        */
       public org.terasology.protobuf.NetData.ModuleDataHeader.Builder getModuleDataHeaderBuilder() {
-        bitField0_ |= 0x00008000;
+        bitField0_ |= 0x00010000;
         onChanged();
         return getModuleDataHeaderFieldBuilder().getBuilder();
       }
@@ -5892,7 +6266,7 @@ public org.terasology.protobuf.NetData.ModuleDataHeaderOrBuilder getModuleDataHe
        * <code>optional .ModuleData moduleData = 21;</code>
        */
       public boolean hasModuleData() {
-        return ((bitField0_ & 0x00010000) == 0x00010000);
+        return ((bitField0_ & 0x00020000) == 0x00020000);
       }
       /**
        * <code>optional .ModuleData moduleData = 21;</code>
@@ -5917,7 +6291,7 @@ public Builder setModuleData(org.terasology.protobuf.NetData.ModuleData value) {
         } else {
           moduleDataBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5931,7 +6305,7 @@ public Builder setModuleData(
         } else {
           moduleDataBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5939,7 +6313,7 @@ public Builder setModuleData(
        */
       public Builder mergeModuleData(org.terasology.protobuf.NetData.ModuleData value) {
         if (moduleDataBuilder_ == null) {
-          if (((bitField0_ & 0x00010000) == 0x00010000) &&
+          if (((bitField0_ & 0x00020000) == 0x00020000) &&
               moduleData_ != org.terasology.protobuf.NetData.ModuleData.getDefaultInstance()) {
             moduleData_ =
               org.terasology.protobuf.NetData.ModuleData.newBuilder(moduleData_).mergeFrom(value).buildPartial();
@@ -5950,7 +6324,7 @@ public Builder mergeModuleData(org.terasology.protobuf.NetData.ModuleData value)
         } else {
           moduleDataBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5963,14 +6337,14 @@ public Builder clearModuleData() {
         } else {
           moduleDataBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00010000);
+        bitField0_ = (bitField0_ & ~0x00020000);
         return this;
       }
       /**
        * <code>optional .ModuleData moduleData = 21;</code>
        */
       public org.terasology.protobuf.NetData.ModuleData.Builder getModuleDataBuilder() {
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00020000;
         onChanged();
         return getModuleDataFieldBuilder().getBuilder();
       }
@@ -6009,7 +6383,7 @@ public org.terasology.protobuf.NetData.ModuleDataOrBuilder getModuleDataOrBuilde
        * <code>optional .JoinCompleteMessage joinComplete = 22;</code>
        */
       public boolean hasJoinComplete() {
-        return ((bitField0_ & 0x00020000) == 0x00020000);
+        return ((bitField0_ & 0x00040000) == 0x00040000);
       }
       /**
        * <code>optional .JoinCompleteMessage joinComplete = 22;</code>
@@ -6034,7 +6408,7 @@ public Builder setJoinComplete(org.terasology.protobuf.NetData.JoinCompleteMessa
         } else {
           joinCompleteBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00040000;
         return this;
       }
       /**
@@ -6048,7 +6422,7 @@ public Builder setJoinComplete(
         } else {
           joinCompleteBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00040000;
         return this;
       }
       /**
@@ -6056,7 +6430,7 @@ public Builder setJoinComplete(
        */
       public Builder mergeJoinComplete(org.terasology.protobuf.NetData.JoinCompleteMessage value) {
         if (joinCompleteBuilder_ == null) {
-          if (((bitField0_ & 0x00020000) == 0x00020000) &&
+          if (((bitField0_ & 0x00040000) == 0x00040000) &&
               joinComplete_ != org.terasology.protobuf.NetData.JoinCompleteMessage.getDefaultInstance()) {
             joinComplete_ =
               org.terasology.protobuf.NetData.JoinCompleteMessage.newBuilder(joinComplete_).mergeFrom(value).buildPartial();
@@ -6067,7 +6441,7 @@ public Builder mergeJoinComplete(org.terasology.protobuf.NetData.JoinCompleteMes
         } else {
           joinCompleteBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00040000;
         return this;
       }
       /**
@@ -6080,14 +6454,14 @@ public Builder clearJoinComplete() {
         } else {
           joinCompleteBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00020000);
+        bitField0_ = (bitField0_ & ~0x00040000);
         return this;
       }
       /**
        * <code>optional .JoinCompleteMessage joinComplete = 22;</code>
        */
       public org.terasology.protobuf.NetData.JoinCompleteMessage.Builder getJoinCompleteBuilder() {
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00040000;
         onChanged();
         return getJoinCompleteFieldBuilder().getBuilder();
       }
@@ -6130,7 +6504,7 @@ public org.terasology.protobuf.NetData.JoinCompleteMessageOrBuilder getJoinCompl
        * </pre>
        */
       public boolean hasHandshakeHello() {
-        return ((bitField0_ & 0x00040000) == 0x00040000);
+        return ((bitField0_ & 0x00080000) == 0x00080000);
       }
       /**
        * <code>optional .HandshakeHello handshakeHello = 100;</code>
@@ -6163,7 +6537,7 @@ public Builder setHandshakeHello(org.terasology.protobuf.NetData.HandshakeHello
         } else {
           handshakeHelloBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00080000;
         return this;
       }
       /**
@@ -6181,7 +6555,7 @@ public Builder setHandshakeHello(
         } else {
           handshakeHelloBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00080000;
         return this;
       }
       /**
@@ -6193,7 +6567,7 @@ public Builder setHandshakeHello(
        */
       public Builder mergeHandshakeHello(org.terasology.protobuf.NetData.HandshakeHello value) {
         if (handshakeHelloBuilder_ == null) {
-          if (((bitField0_ & 0x00040000) == 0x00040000) &&
+          if (((bitField0_ & 0x00080000) == 0x00080000) &&
               handshakeHello_ != org.terasology.protobuf.NetData.HandshakeHello.getDefaultInstance()) {
             handshakeHello_ =
               org.terasology.protobuf.NetData.HandshakeHello.newBuilder(handshakeHello_).mergeFrom(value).buildPartial();
@@ -6204,7 +6578,7 @@ public Builder mergeHandshakeHello(org.terasology.protobuf.NetData.HandshakeHell
         } else {
           handshakeHelloBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00080000;
         return this;
       }
       /**
@@ -6221,7 +6595,7 @@ public Builder clearHandshakeHello() {
         } else {
           handshakeHelloBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00040000);
+        bitField0_ = (bitField0_ & ~0x00080000);
         return this;
       }
       /**
@@ -6232,7 +6606,7 @@ public Builder clearHandshakeHello() {
        * </pre>
        */
       public org.terasology.protobuf.NetData.HandshakeHello.Builder getHandshakeHelloBuilder() {
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00080000;
         onChanged();
         return getHandshakeHelloFieldBuilder().getBuilder();
       }
@@ -6279,7 +6653,7 @@ public org.terasology.protobuf.NetData.HandshakeHelloOrBuilder getHandshakeHello
        * <code>optional .NewIdentityRequest newIdentityRequest = 101;</code>
        */
       public boolean hasNewIdentityRequest() {
-        return ((bitField0_ & 0x00080000) == 0x00080000);
+        return ((bitField0_ & 0x00100000) == 0x00100000);
       }
       /**
        * <code>optional .NewIdentityRequest newIdentityRequest = 101;</code>
@@ -6304,7 +6678,7 @@ public Builder setNewIdentityRequest(org.terasology.protobuf.NetData.NewIdentity
         } else {
           newIdentityRequestBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00100000;
         return this;
       }
       /**
@@ -6318,7 +6692,7 @@ public Builder setNewIdentityRequest(
         } else {
           newIdentityRequestBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00100000;
         return this;
       }
       /**
@@ -6326,7 +6700,7 @@ public Builder setNewIdentityRequest(
        */
       public Builder mergeNewIdentityRequest(org.terasology.protobuf.NetData.NewIdentityRequest value) {
         if (newIdentityRequestBuilder_ == null) {
-          if (((bitField0_ & 0x00080000) == 0x00080000) &&
+          if (((bitField0_ & 0x00100000) == 0x00100000) &&
               newIdentityRequest_ != org.terasology.protobuf.NetData.NewIdentityRequest.getDefaultInstance()) {
             newIdentityRequest_ =
               org.terasology.protobuf.NetData.NewIdentityRequest.newBuilder(newIdentityRequest_).mergeFrom(value).buildPartial();
@@ -6337,7 +6711,7 @@ public Builder mergeNewIdentityRequest(org.terasology.protobuf.NetData.NewIdenti
         } else {
           newIdentityRequestBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00100000;
         return this;
       }
       /**
@@ -6350,14 +6724,14 @@ public Builder clearNewIdentityRequest() {
         } else {
           newIdentityRequestBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00080000);
+        bitField0_ = (bitField0_ & ~0x00100000);
         return this;
       }
       /**
        * <code>optional .NewIdentityRequest newIdentityRequest = 101;</code>
        */
       public org.terasology.protobuf.NetData.NewIdentityRequest.Builder getNewIdentityRequestBuilder() {
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00100000;
         onChanged();
         return getNewIdentityRequestFieldBuilder().getBuilder();
       }
@@ -6396,7 +6770,7 @@ public org.terasology.protobuf.NetData.NewIdentityRequestOrBuilder getNewIdentit
        * <code>optional .ProvisionIdentity provisionIdentity = 102;</code>
        */
       public boolean hasProvisionIdentity() {
-        return ((bitField0_ & 0x00100000) == 0x00100000);
+        return ((bitField0_ & 0x00200000) == 0x00200000);
       }
       /**
        * <code>optional .ProvisionIdentity provisionIdentity = 102;</code>
@@ -6421,7 +6795,7 @@ public Builder setProvisionIdentity(org.terasology.protobuf.NetData.ProvisionIde
         } else {
           provisionIdentityBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00100000;
+        bitField0_ |= 0x00200000;
         return this;
       }
       /**
@@ -6435,7 +6809,7 @@ public Builder setProvisionIdentity(
         } else {
           provisionIdentityBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00100000;
+        bitField0_ |= 0x00200000;
         return this;
       }
       /**
@@ -6443,7 +6817,7 @@ public Builder setProvisionIdentity(
        */
       public Builder mergeProvisionIdentity(org.terasology.protobuf.NetData.ProvisionIdentity value) {
         if (provisionIdentityBuilder_ == null) {
-          if (((bitField0_ & 0x00100000) == 0x00100000) &&
+          if (((bitField0_ & 0x00200000) == 0x00200000) &&
               provisionIdentity_ != org.terasology.protobuf.NetData.ProvisionIdentity.getDefaultInstance()) {
             provisionIdentity_ =
               org.terasology.protobuf.NetData.ProvisionIdentity.newBuilder(provisionIdentity_).mergeFrom(value).buildPartial();
@@ -6454,7 +6828,7 @@ public Builder mergeProvisionIdentity(org.terasology.protobuf.NetData.ProvisionI
         } else {
           provisionIdentityBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00100000;
+        bitField0_ |= 0x00200000;
         return this;
       }
       /**
@@ -6467,14 +6841,14 @@ public Builder clearProvisionIdentity() {
         } else {
           provisionIdentityBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00100000);
+        bitField0_ = (bitField0_ & ~0x00200000);
         return this;
       }
       /**
        * <code>optional .ProvisionIdentity provisionIdentity = 102;</code>
        */
       public org.terasology.protobuf.NetData.ProvisionIdentity.Builder getProvisionIdentityBuilder() {
-        bitField0_ |= 0x00100000;
+        bitField0_ |= 0x00200000;
         onChanged();
         return getProvisionIdentityFieldBuilder().getBuilder();
       }
@@ -6513,7 +6887,7 @@ public org.terasology.protobuf.NetData.ProvisionIdentityOrBuilder getProvisionId
        * <code>optional .HandshakeVerification handshakeVerification = 103;</code>
        */
       public boolean hasHandshakeVerification() {
-        return ((bitField0_ & 0x00200000) == 0x00200000);
+        return ((bitField0_ & 0x00400000) == 0x00400000);
       }
       /**
        * <code>optional .HandshakeVerification handshakeVerification = 103;</code>
@@ -6538,7 +6912,7 @@ public Builder setHandshakeVerification(org.terasology.protobuf.NetData.Handshak
         } else {
           handshakeVerificationBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00200000;
+        bitField0_ |= 0x00400000;
         return this;
       }
       /**
@@ -6552,7 +6926,7 @@ public Builder setHandshakeVerification(
         } else {
           handshakeVerificationBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00200000;
+        bitField0_ |= 0x00400000;
         return this;
       }
       /**
@@ -6560,7 +6934,7 @@ public Builder setHandshakeVerification(
        */
       public Builder mergeHandshakeVerification(org.terasology.protobuf.NetData.HandshakeVerification value) {
         if (handshakeVerificationBuilder_ == null) {
-          if (((bitField0_ & 0x00200000) == 0x00200000) &&
+          if (((bitField0_ & 0x00400000) == 0x00400000) &&
               handshakeVerification_ != org.terasology.protobuf.NetData.HandshakeVerification.getDefaultInstance()) {
             handshakeVerification_ =
               org.terasology.protobuf.NetData.HandshakeVerification.newBuilder(handshakeVerification_).mergeFrom(value).buildPartial();
@@ -6571,7 +6945,7 @@ public Builder mergeHandshakeVerification(org.terasology.protobuf.NetData.Handsh
         } else {
           handshakeVerificationBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00200000;
+        bitField0_ |= 0x00400000;
         return this;
       }
       /**
@@ -6584,14 +6958,14 @@ public Builder clearHandshakeVerification() {
         } else {
           handshakeVerificationBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00200000);
+        bitField0_ = (bitField0_ & ~0x00400000);
         return this;
       }
       /**
        * <code>optional .HandshakeVerification handshakeVerification = 103;</code>
        */
       public org.terasology.protobuf.NetData.HandshakeVerification.Builder getHandshakeVerificationBuilder() {
-        bitField0_ |= 0x00200000;
+        bitField0_ |= 0x00400000;
         onChanged();
         return getHandshakeVerificationFieldBuilder().getBuilder();
       }
@@ -13095,58 +13469,128 @@ public Builder clearNewData() {
     // @@protoc_insertion_point(class_scope:ExtraDataChangeMessage)
   }
 
-  public interface Vector3iDataOrBuilder
-      extends com.google.protobuf.MessageOrBuilder {
+  public interface BlockChangeBatchMessageOrBuilder extends
+      com.google.protobuf.GeneratedMessage.
+          ExtendableMessageOrBuilder<BlockChangeBatchMessage> {
 
-    // optional int32 x = 1;
+    // optional .Vector3iData chunkPos = 1;
     /**
-     * <code>optional int32 x = 1;</code>
+     * <code>optional .Vector3iData chunkPos = 1;</code>
      */
-    boolean hasX();
+    boolean hasChunkPos();
     /**
-     * <code>optional int32 x = 1;</code>
+     * <code>optional .Vector3iData chunkPos = 1;</code>
      */
-    int getX();
+    org.terasology.protobuf.NetData.Vector3iData getChunkPos();
+    /**
+     * <code>optional .Vector3iData chunkPos = 1;</code>
+     */
+    org.terasology.protobuf.NetData.Vector3iDataOrBuilder getChunkPosOrBuilder();
 
-    // optional int32 y = 2;
+    // repeated int32 indexRuns = 2 [packed = true];
     /**
-     * <code>optional int32 y = 2;</code>
+     * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+     *
+     * <pre>
+     * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+     * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+     * </pre>
      */
-    boolean hasY();
+    java.util.List<java.lang.Integer> getIndexRunsList();
     /**
-     * <code>optional int32 y = 2;</code>
+     * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+     *
+     * <pre>
+     * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+     * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+     * </pre>
      */
-    int getY();
+    int getIndexRunsCount();
+    /**
+     * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+     *
+     * <pre>
+     * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+     * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+     * </pre>
+     */
+    int getIndexRuns(int index);
 
-    // optional int32 z = 3;
+    // repeated int32 blockPalette = 3 [packed = true];
     /**
-     * <code>optional int32 z = 3;</code>
+     * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+     *
+     * <pre>
+     * The ids of the blocks set
+     * </pre>
      */
-    boolean hasZ();
+    java.util.List<java.lang.Integer> getBlockPaletteList();
     /**
-     * <code>optional int32 z = 3;</code>
+     * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+     *
+     * <pre>
+     * The ids of the blocks set
+     * </pre>
      */
-    int getZ();
+    int getBlockPaletteCount();
+    /**
+     * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+     *
+     * <pre>
+     * The ids of the blocks set
+     * </pre>
+     */
+    int getBlockPalette(int index);
+
+    // repeated int32 paletteIndex = 4 [packed = true];
+    /**
+     * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+     *
+     * <pre>
+     * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+     * </pre>
+     */
+    java.util.List<java.lang.Integer> getPaletteIndexList();
+    /**
+     * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+     *
+     * <pre>
+     * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+     * </pre>
+     */
+    int getPaletteIndexCount();
+    /**
+     * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+     *
+     * <pre>
+     * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+     * </pre>
+     */
+    int getPaletteIndex(int index);
   }
   /**
-   * Protobuf type {@code Vector3iData}
+   * Protobuf type {@code BlockChangeBatchMessage}
+   *
+   * <pre>
+   * The blocks changed within one chunk during one network tick
+   * </pre>
    */
-  public static final class Vector3iData extends
-      com.google.protobuf.GeneratedMessage
-      implements Vector3iDataOrBuilder {
-    // Use Vector3iData.newBuilder() to construct.
-    private Vector3iData(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+  public static final class BlockChangeBatchMessage extends
+      com.google.protobuf.GeneratedMessage.ExtendableMessage<
+        BlockChangeBatchMessage> implements BlockChangeBatchMessageOrBuilder {
+    // Use BlockChangeBatchMessage.newBuilder() to construct.
+    private BlockChangeBatchMessage(com.google.protobuf.GeneratedMessage.ExtendableBuilder<org.terasology.protobuf.NetData.BlockChangeBatchMessage, ?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private Vector3iData(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private BlockChangeBatchMessage(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final Vector3iData defaultInstance;
-    public static Vector3iData getDefaultInstance() {
+    private static final BlockChangeBatchMessage defaultInstance;
+    public static BlockChangeBatchMessage getDefaultInstance() {
       return defaultInstance;
     }
 
-    public Vector3iData getDefaultInstanceForType() {
+    public BlockChangeBatchMessage getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -13156,7 +13600,7 @@ public Vector3iData getDefaultInstanceForType() {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private Vector3iData(
+    private BlockChangeBatchMessage(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -13179,19 +13623,80 @@ private Vector3iData(
               }
               break;
             }
-            case 8: {
+            case 10: {
+              org.terasology.protobuf.NetData.Vector3iData.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000001) == 0x00000001)) {
+                subBuilder = chunkPos_.toBuilder();
+              }
+              chunkPos_ = input.readMessage(org.terasology.protobuf.NetData.Vector3iData.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(chunkPos_);
+                chunkPos_ = subBuilder.buildPartial();
+              }
               bitField0_ |= 0x00000001;
-              x_ = input.readInt32();
               break;
             }
             case 16: {
-              bitField0_ |= 0x00000002;
-              y_ = input.readInt32();
+              if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                indexRuns_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              indexRuns_.add(input.readInt32());
+              break;
+            }
+            case 18: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000002) == 0x00000002) && input.getBytesUntilLimit() > 0) {
+                indexRuns_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                indexRuns_.add(input.readInt32());
+              }
+              input.popLimit(limit);
               break;
             }
             case 24: {
-              bitField0_ |= 0x00000004;
-              z_ = input.readInt32();
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                blockPalette_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              blockPalette_.add(input.readInt32());
+              break;
+            }
+            case 26: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004) && input.getBytesUntilLimit() > 0) {
+                blockPalette_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                blockPalette_.add(input.readInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 32: {
+              if (!((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+                paletteIndex_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              paletteIndex_.add(input.readInt32());
+              break;
+            }
+            case 34: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000008) == 0x00000008) && input.getBytesUntilLimit() > 0) {
+                paletteIndex_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                paletteIndex_.add(input.readInt32());
+              }
+              input.popLimit(limit);
               break;
             }
           }
@@ -13202,76 +13707,1145 @@ private Vector3iData(
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e.getMessage()).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+          indexRuns_ = java.util.Collections.unmodifiableList(indexRuns_);
+        }
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          blockPalette_ = java.util.Collections.unmodifiableList(blockPalette_);
+        }
+        if (((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+          paletteIndex_ = java.util.Collections.unmodifiableList(paletteIndex_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return org.terasology.protobuf.NetData.internal_static_Vector3iData_descriptor;
+      return org.terasology.protobuf.NetData.internal_static_BlockChangeBatchMessage_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return org.terasology.protobuf.NetData.internal_static_Vector3iData_fieldAccessorTable
+      return org.terasology.protobuf.NetData.internal_static_BlockChangeBatchMessage_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              org.terasology.protobuf.NetData.Vector3iData.class, org.terasology.protobuf.NetData.Vector3iData.Builder.class);
+              org.terasology.protobuf.NetData.BlockChangeBatchMessage.class, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<Vector3iData> PARSER =
-        new com.google.protobuf.AbstractParser<Vector3iData>() {
-      public Vector3iData parsePartialFrom(
+    public static com.google.protobuf.Parser<BlockChangeBatchMessage> PARSER =
+        new com.google.protobuf.AbstractParser<BlockChangeBatchMessage>() {
+      public BlockChangeBatchMessage parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new Vector3iData(input, extensionRegistry);
+        return new BlockChangeBatchMessage(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<Vector3iData> getParserForType() {
+    public com.google.protobuf.Parser<BlockChangeBatchMessage> getParserForType() {
       return PARSER;
     }
 
     private int bitField0_;
-    // optional int32 x = 1;
-    public static final int X_FIELD_NUMBER = 1;
-    private int x_;
+    // optional .Vector3iData chunkPos = 1;
+    public static final int CHUNKPOS_FIELD_NUMBER = 1;
+    private org.terasology.protobuf.NetData.Vector3iData chunkPos_;
     /**
-     * <code>optional int32 x = 1;</code>
+     * <code>optional .Vector3iData chunkPos = 1;</code>
      */
-    public boolean hasX() {
+    public boolean hasChunkPos() {
       return ((bitField0_ & 0x00000001) == 0x00000001);
     }
     /**
-     * <code>optional int32 x = 1;</code>
+     * <code>optional .Vector3iData chunkPos = 1;</code>
      */
-    public int getX() {
-      return x_;
+    public org.terasology.protobuf.NetData.Vector3iData getChunkPos() {
+      return chunkPos_;
     }
-
-    // optional int32 y = 2;
-    public static final int Y_FIELD_NUMBER = 2;
-    private int y_;
     /**
-     * <code>optional int32 y = 2;</code>
+     * <code>optional .Vector3iData chunkPos = 1;</code>
      */
-    public boolean hasY() {
-      return ((bitField0_ & 0x00000002) == 0x00000002);
+    public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getChunkPosOrBuilder() {
+      return chunkPos_;
     }
+
+    // repeated int32 indexRuns = 2 [packed = true];
+    public static final int INDEXRUNS_FIELD_NUMBER = 2;
+    private java.util.List<java.lang.Integer> indexRuns_;
     /**
-     * <code>optional int32 y = 2;</code>
+     * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+     *
+     * <pre>
+     * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+     * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+     * </pre>
      */
-    public int getY() {
-      return y_;
+    public java.util.List<java.lang.Integer>
+        getIndexRunsList() {
+      return indexRuns_;
     }
-
-    // optional int32 z = 3;
-    public static final int Z_FIELD_NUMBER = 3;
-    private int z_;
     /**
-     * <code>optional int32 z = 3;</code>
-     */
+     * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+     *
+     * <pre>
+     * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+     * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+     * </pre>
+     */
+    public int getIndexRunsCount() {
+      return indexRuns_.size();
+    }
+    /**
+     * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+     *
+     * <pre>
+     * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+     * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+     * </pre>
+     */
+    public int getIndexRuns(int index) {
+      return indexRuns_.get(index);
+    }
+    private int indexRunsMemoizedSerializedSize = -1;
+
+    // repeated int32 blockPalette = 3 [packed = true];
+    public static final int BLOCKPALETTE_FIELD_NUMBER = 3;
+    private java.util.List<java.lang.Integer> blockPalette_;
+    /**
+     * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+     *
+     * <pre>
+     * The ids of the blocks set
+     * </pre>
+     */
+    public java.util.List<java.lang.Integer>
+        getBlockPaletteList() {
+      return blockPalette_;
+    }
+    /**
+     * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+     *
+     * <pre>
+     * The ids of the blocks set
+     * </pre>
+     */
+    public int getBlockPaletteCount() {
+      return blockPalette_.size();
+    }
+    /**
+     * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+     *
+     * <pre>
+     * The ids of the blocks set
+     * </pre>
+     */
+    public int getBlockPalette(int index) {
+      return blockPalette_.get(index);
+    }
+    private int blockPaletteMemoizedSerializedSize = -1;
+
+    // repeated int32 paletteIndex = 4 [packed = true];
+    public static final int PALETTEINDEX_FIELD_NUMBER = 4;
+    private java.util.List<java.lang.Integer> paletteIndex_;
+    /**
+     * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+     *
+     * <pre>
+     * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+     * </pre>
+     */
+    public java.util.List<java.lang.Integer>
+        getPaletteIndexList() {
+      return paletteIndex_;
+    }
+    /**
+     * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+     *
+     * <pre>
+     * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+     * </pre>
+     */
+    public int getPaletteIndexCount() {
+      return paletteIndex_.size();
+    }
+    /**
+     * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+     *
+     * <pre>
+     * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+     * </pre>
+     */
+    public int getPaletteIndex(int index) {
+      return paletteIndex_.get(index);
+    }
+    private int paletteIndexMemoizedSerializedSize = -1;
+
+    private void initFields() {
+      chunkPos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+      indexRuns_ = java.util.Collections.emptyList();
+      blockPalette_ = java.util.Collections.emptyList();
+      paletteIndex_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+
+      if (!extensionsAreInitialized()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      com.google.protobuf.GeneratedMessage
+        .ExtendableMessage<org.terasology.protobuf.NetData.BlockChangeBatchMessage>.ExtensionWriter extensionWriter =
+          newExtensionWriter();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeMessage(1, chunkPos_);
+      }
+      if (getIndexRunsList().size() > 0) {
+        output.writeRawVarint32(18);
+        output.writeRawVarint32(indexRunsMemoizedSerializedSize);
+      }
+      for (int i = 0; i < indexRuns_.size(); i++) {
+        output.writeInt32NoTag(indexRuns_.get(i));
+      }
+      if (getBlockPaletteList().size() > 0) {
+        output.writeRawVarint32(26);
+        output.writeRawVarint32(blockPaletteMemoizedSerializedSize);
+      }
+      for (int i = 0; i < blockPalette_.size(); i++) {
+        output.writeInt32NoTag(blockPalette_.get(i));
+      }
+      if (getPaletteIndexList().size() > 0) {
+        output.writeRawVarint32(34);
+        output.writeRawVarint32(paletteIndexMemoizedSerializedSize);
+      }
+      for (int i = 0; i < paletteIndex_.size(); i++) {
+        output.writeInt32NoTag(paletteIndex_.get(i));
+      }
+      extensionWriter.writeUntil(536870912, output);
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, chunkPos_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < indexRuns_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(indexRuns_.get(i));
+        }
+        size += dataSize;
+        if (!getIndexRunsList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        indexRunsMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < blockPalette_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(blockPalette_.get(i));
+        }
+        size += dataSize;
+        if (!getBlockPaletteList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        blockPaletteMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < paletteIndex_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(paletteIndex_.get(i));
+        }
+        size += dataSize;
+        if (!getPaletteIndexList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        paletteIndexMemoizedSerializedSize = dataSize;
+      }
+      size += extensionsSerializedSize();
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.terasology.protobuf.NetData.BlockChangeBatchMessage parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.terasology.protobuf.NetData.BlockChangeBatchMessage prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code BlockChangeBatchMessage}
+     *
+     * <pre>
+     * The blocks changed within one chunk during one network tick
+     * </pre>
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.ExtendableBuilder<
+          org.terasology.protobuf.NetData.BlockChangeBatchMessage, Builder> implements org.terasology.protobuf.NetData.BlockChangeBatchMessageOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.terasology.protobuf.NetData.internal_static_BlockChangeBatchMessage_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.terasology.protobuf.NetData.internal_static_BlockChangeBatchMessage_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.terasology.protobuf.NetData.BlockChangeBatchMessage.class, org.terasology.protobuf.NetData.BlockChangeBatchMessage.Builder.class);
+      }
+
+      // Construct using org.terasology.protobuf.NetData.BlockChangeBatchMessage.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getChunkPosFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        if (chunkPosBuilder_ == null) {
+          chunkPos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+        } else {
+          chunkPosBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        indexRuns_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000002);
+        blockPalette_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        paletteIndex_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.terasology.protobuf.NetData.internal_static_BlockChangeBatchMessage_descriptor;
+      }
+
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage getDefaultInstanceForType() {
+        return org.terasology.protobuf.NetData.BlockChangeBatchMessage.getDefaultInstance();
+      }
+
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage build() {
+        org.terasology.protobuf.NetData.BlockChangeBatchMessage result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.terasology.protobuf.NetData.BlockChangeBatchMessage buildPartial() {
+        org.terasology.protobuf.NetData.BlockChangeBatchMessage result = new org.terasology.protobuf.NetData.BlockChangeBatchMessage(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        if (chunkPosBuilder_ == null) {
+          result.chunkPos_ = chunkPos_;
+        } else {
+          result.chunkPos_ = chunkPosBuilder_.build();
+        }
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          indexRuns_ = java.util.Collections.unmodifiableList(indexRuns_);
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.indexRuns_ = indexRuns_;
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          blockPalette_ = java.util.Collections.unmodifiableList(blockPalette_);
+          bitField0_ = (bitField0_ & ~0x00000004);
+        }
+        result.blockPalette_ = blockPalette_;
+        if (((bitField0_ & 0x00000008) == 0x00000008)) {
+          paletteIndex_ = java.util.Collections.unmodifiableList(paletteIndex_);
+          bitField0_ = (bitField0_ & ~0x00000008);
+        }
+        result.paletteIndex_ = paletteIndex_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.terasology.protobuf.NetData.BlockChangeBatchMessage) {
+          return mergeFrom((org.terasology.protobuf.NetData.BlockChangeBatchMessage)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.terasology.protobuf.NetData.BlockChangeBatchMessage other) {
+        if (other == org.terasology.protobuf.NetData.BlockChangeBatchMessage.getDefaultInstance()) return this;
+        if (other.hasChunkPos()) {
+          mergeChunkPos(other.getChunkPos());
+        }
+        if (!other.indexRuns_.isEmpty()) {
+          if (indexRuns_.isEmpty()) {
+            indexRuns_ = other.indexRuns_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureIndexRunsIsMutable();
+            indexRuns_.addAll(other.indexRuns_);
+          }
+          onChanged();
+        }
+        if (!other.blockPalette_.isEmpty()) {
+          if (blockPalette_.isEmpty()) {
+            blockPalette_ = other.blockPalette_;
+            bitField0_ = (bitField0_ & ~0x00000004);
+          } else {
+            ensureBlockPaletteIsMutable();
+            blockPalette_.addAll(other.blockPalette_);
+          }
+          onChanged();
+        }
+        if (!other.paletteIndex_.isEmpty()) {
+          if (paletteIndex_.isEmpty()) {
+            paletteIndex_ = other.paletteIndex_;
+            bitField0_ = (bitField0_ & ~0x00000008);
+          } else {
+            ensurePaletteIndexIsMutable();
+            paletteIndex_.addAll(other.paletteIndex_);
+          }
+          onChanged();
+        }
+        this.mergeExtensionFields(other);
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!extensionsAreInitialized()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.terasology.protobuf.NetData.BlockChangeBatchMessage parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.terasology.protobuf.NetData.BlockChangeBatchMessage) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      // optional .Vector3iData chunkPos = 1;
+      private org.terasology.protobuf.NetData.Vector3iData chunkPos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder> chunkPosBuilder_;
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public boolean hasChunkPos() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public org.terasology.protobuf.NetData.Vector3iData getChunkPos() {
+        if (chunkPosBuilder_ == null) {
+          return chunkPos_;
+        } else {
+          return chunkPosBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public Builder setChunkPos(org.terasology.protobuf.NetData.Vector3iData value) {
+        if (chunkPosBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          chunkPos_ = value;
+          onChanged();
+        } else {
+          chunkPosBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public Builder setChunkPos(
+          org.terasology.protobuf.NetData.Vector3iData.Builder builderForValue) {
+        if (chunkPosBuilder_ == null) {
+          chunkPos_ = builderForValue.build();
+          onChanged();
+        } else {
+          chunkPosBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public Builder mergeChunkPos(org.terasology.protobuf.NetData.Vector3iData value) {
+        if (chunkPosBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001) &&
+              chunkPos_ != org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance()) {
+            chunkPos_ =
+              org.terasology.protobuf.NetData.Vector3iData.newBuilder(chunkPos_).mergeFrom(value).buildPartial();
+          } else {
+            chunkPos_ = value;
+          }
+          onChanged();
+        } else {
+          chunkPosBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public Builder clearChunkPos() {
+        if (chunkPosBuilder_ == null) {
+          chunkPos_ = org.terasology.protobuf.NetData.Vector3iData.getDefaultInstance();
+          onChanged();
+        } else {
+          chunkPosBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        return this;
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public org.terasology.protobuf.NetData.Vector3iData.Builder getChunkPosBuilder() {
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return getChunkPosFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getChunkPosOrBuilder() {
+        if (chunkPosBuilder_ != null) {
+          return chunkPosBuilder_.getMessageOrBuilder();
+        } else {
+          return chunkPos_;
+        }
+      }
+      /**
+       * <code>optional .Vector3iData chunkPos = 1;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder> 
+          getChunkPosFieldBuilder() {
+        if (chunkPosBuilder_ == null) {
+          chunkPosBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              org.terasology.protobuf.NetData.Vector3iData, org.terasology.protobuf.NetData.Vector3iData.Builder, org.terasology.protobuf.NetData.Vector3iDataOrBuilder>(
+                  chunkPos_,
+                  getParentForChildren(),
+                  isClean());
+          chunkPos_ = null;
+        }
+        return chunkPosBuilder_;
+      }
+
+      // repeated int32 indexRuns = 2 [packed = true];
+      private java.util.List<java.lang.Integer> indexRuns_ = java.util.Collections.emptyList();
+      private void ensureIndexRunsIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          indexRuns_ = new java.util.ArrayList<java.lang.Integer>(indexRuns_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+      /**
+       * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+       *
+       * <pre>
+       * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+       * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+       * </pre>
+       */
+      public java.util.List<java.lang.Integer>
+          getIndexRunsList() {
+        return java.util.Collections.unmodifiableList(indexRuns_);
+      }
+      /**
+       * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+       *
+       * <pre>
+       * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+       * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+       * </pre>
+       */
+      public int getIndexRunsCount() {
+        return indexRuns_.size();
+      }
+      /**
+       * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+       *
+       * <pre>
+       * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+       * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+       * </pre>
+       */
+      public int getIndexRuns(int index) {
+        return indexRuns_.get(index);
+      }
+      /**
+       * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+       *
+       * <pre>
+       * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+       * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+       * </pre>
+       */
+      public Builder setIndexRuns(
+          int index, int value) {
+        ensureIndexRunsIsMutable();
+        indexRuns_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+       *
+       * <pre>
+       * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+       * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+       * </pre>
+       */
+      public Builder addIndexRuns(int value) {
+        ensureIndexRunsIsMutable();
+        indexRuns_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+       *
+       * <pre>
+       * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+       * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+       * </pre>
+       */
+      public Builder addAllIndexRuns(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureIndexRunsIsMutable();
+        super.addAll(values, indexRuns_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 indexRuns = 2 [packed = true];</code>
+       *
+       * <pre>
+       * Runs of changed blocks in ascending order of their index x + SIZE_X * (z + SIZE_Z * y) within the chunk,
+       * alternating the number of unchanged blocks before a run with the number of changed blocks in it
+       * </pre>
+       */
+      public Builder clearIndexRuns() {
+        indexRuns_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+
+      // repeated int32 blockPalette = 3 [packed = true];
+      private java.util.List<java.lang.Integer> blockPalette_ = java.util.Collections.emptyList();
+      private void ensureBlockPaletteIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          blockPalette_ = new java.util.ArrayList<java.lang.Integer>(blockPalette_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      /**
+       * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+       *
+       * <pre>
+       * The ids of the blocks set
+       * </pre>
+       */
+      public java.util.List<java.lang.Integer>
+          getBlockPaletteList() {
+        return java.util.Collections.unmodifiableList(blockPalette_);
+      }
+      /**
+       * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+       *
+       * <pre>
+       * The ids of the blocks set
+       * </pre>
+       */
+      public int getBlockPaletteCount() {
+        return blockPalette_.size();
+      }
+      /**
+       * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+       *
+       * <pre>
+       * The ids of the blocks set
+       * </pre>
+       */
+      public int getBlockPalette(int index) {
+        return blockPalette_.get(index);
+      }
+      /**
+       * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+       *
+       * <pre>
+       * The ids of the blocks set
+       * </pre>
+       */
+      public Builder setBlockPalette(
+          int index, int value) {
+        ensureBlockPaletteIsMutable();
+        blockPalette_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+       *
+       * <pre>
+       * The ids of the blocks set
+       * </pre>
+       */
+      public Builder addBlockPalette(int value) {
+        ensureBlockPaletteIsMutable();
+        blockPalette_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+       *
+       * <pre>
+       * The ids of the blocks set
+       * </pre>
+       */
+      public Builder addAllBlockPalette(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureBlockPaletteIsMutable();
+        super.addAll(values, blockPalette_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 blockPalette = 3 [packed = true];</code>
+       *
+       * <pre>
+       * The ids of the blocks set
+       * </pre>
+       */
+      public Builder clearBlockPalette() {
+        blockPalette_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+
+      // repeated int32 paletteIndex = 4 [packed = true];
+      private java.util.List<java.lang.Integer> paletteIndex_ = java.util.Collections.emptyList();
+      private void ensurePaletteIndexIsMutable() {
+        if (!((bitField0_ & 0x00000008) == 0x00000008)) {
+          paletteIndex_ = new java.util.ArrayList<java.lang.Integer>(paletteIndex_);
+          bitField0_ |= 0x00000008;
+         }
+      }
+      /**
+       * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+       *
+       * <pre>
+       * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+       * </pre>
+       */
+      public java.util.List<java.lang.Integer>
+          getPaletteIndexList() {
+        return java.util.Collections.unmodifiableList(paletteIndex_);
+      }
+      /**
+       * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+       *
+       * <pre>
+       * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+       * </pre>
+       */
+      public int getPaletteIndexCount() {
+        return paletteIndex_.size();
+      }
+      /**
+       * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+       *
+       * <pre>
+       * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+       * </pre>
+       */
+      public int getPaletteIndex(int index) {
+        return paletteIndex_.get(index);
+      }
+      /**
+       * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+       *
+       * <pre>
+       * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+       * </pre>
+       */
+      public Builder setPaletteIndex(
+          int index, int value) {
+        ensurePaletteIndexIsMutable();
+        paletteIndex_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+       *
+       * <pre>
+       * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+       * </pre>
+       */
+      public Builder addPaletteIndex(int value) {
+        ensurePaletteIndexIsMutable();
+        paletteIndex_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+       *
+       * <pre>
+       * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+       * </pre>
+       */
+      public Builder addAllPaletteIndex(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensurePaletteIndexIsMutable();
+        super.addAll(values, paletteIndex_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 paletteIndex = 4 [packed = true];</code>
+       *
+       * <pre>
+       * For every changed block in index order, the position of its id in blockPalette. Empty if the palette holds one id
+       * </pre>
+       */
+      public Builder clearPaletteIndex() {
+        paletteIndex_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:BlockChangeBatchMessage)
+    }
+
+    static {
+      defaultInstance = new BlockChangeBatchMessage(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:BlockChangeBatchMessage)
+  }
+
+  public interface Vector3iDataOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // optional int32 x = 1;
+    /**
+     * <code>optional int32 x = 1;</code>
+     */
+    boolean hasX();
+    /**
+     * <code>optional int32 x = 1;</code>
+     */
+    int getX();
+
+    // optional int32 y = 2;
+    /**
+     * <code>optional int32 y = 2;</code>
+     */
+    boolean hasY();
+    /**
+     * <code>optional int32 y = 2;</code>
+     */
+    int getY();
+
+    // optional int32 z = 3;
+    /**
+     * <code>optional int32 z = 3;</code>
+     */
+    boolean hasZ();
+    /**
+     * <code>optional int32 z = 3;</code>
+     */
+    int getZ();
+  }
+  /**
+   * Protobuf type {@code Vector3iData}
+   */
+  public static final class Vector3iData extends
+      com.google.protobuf.GeneratedMessage
+      implements Vector3iDataOrBuilder {
+    // Use Vector3iData.newBuilder() to construct.
+    private Vector3iData(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private Vector3iData(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final Vector3iData defaultInstance;
+    public static Vector3iData getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public Vector3iData getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private Vector3iData(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              x_ = input.readInt32();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              y_ = input.readInt32();
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              z_ = input.readInt32();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.terasology.protobuf.NetData.internal_static_Vector3iData_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.terasology.protobuf.NetData.internal_static_Vector3iData_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.terasology.protobuf.NetData.Vector3iData.class, org.terasology.protobuf.NetData.Vector3iData.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<Vector3iData> PARSER =
+        new com.google.protobuf.AbstractParser<Vector3iData>() {
+      public Vector3iData parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new Vector3iData(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<Vector3iData> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    // optional int32 x = 1;
+    public static final int X_FIELD_NUMBER = 1;
+    private int x_;
+    /**
+     * <code>optional int32 x = 1;</code>
+     */
+    public boolean hasX() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional int32 x = 1;</code>
+     */
+    public int getX() {
+      return x_;
+    }
+
+    // optional int32 y = 2;
+    public static final int Y_FIELD_NUMBER = 2;
+    private int y_;
+    /**
+     * <code>optional int32 y = 2;</code>
+     */
+    public boolean hasY() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional int32 y = 2;</code>
+     */
+    public int getY() {
+      return y_;
+    }
+
+    // optional int32 z = 3;
+    public static final int Z_FIELD_NUMBER = 3;
+    private int z_;
+    /**
+     * <code>optional int32 z = 3;</code>
+     */
     public boolean hasZ() {
       return ((bitField0_ & 0x00000004) == 0x00000004);
     }
@@ -14034,6 +15608,36 @@ public interface JoinMessageOrBuilder extends
      * <code>optional .Color color = 4;</code>
      */
     org.terasology.protobuf.NetData.ColorOrBuilder getColorOrBuilder();
+
+    // repeated string supportedCompression = 5;
+    /**
+     * <code>repeated string supportedCompression = 5;</code>
+     */
+    java.util.List<java.lang.String>
+    getSupportedCompressionList();
+    /**
+     * <code>repeated string supportedCompression = 5;</code>
+     */
+    int getSupportedCompressionCount();
+    /**
+     * <code>repeated string supportedCompression = 5;</code>
+     */
+    java.lang.String getSupportedCompression(int index);
+    /**
+     * <code>repeated string supportedCompression = 5;</code>
+     */
+    com.google.protobuf.ByteString
+        getSupportedCompressionBytes(int index);
+
+    // optional bool supportsBlockChangeBatches = 6;
+    /**
+     * <code>optional bool supportsBlockChangeBatches = 6;</code>
+     */
+    boolean hasSupportsBlockChangeBatches();
+    /**
+     * <code>optional bool supportsBlockChangeBatches = 6;</code>
+     */
+    boolean getSupportsBlockChangeBatches();
   }
   /**
    * Protobuf type {@code JoinMessage}
@@ -14114,6 +15718,19 @@ private JoinMessage(
               bitField0_ |= 0x00000008;
               break;
             }
+            case 42: {
+              if (!((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+                supportedCompression_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000010;
+              }
+              supportedCompression_.add(input.readBytes());
+              break;
+            }
+            case 48: {
+              bitField0_ |= 0x00000010;
+              supportsBlockChangeBatches_ = input.readBool();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -14122,6 +15739,9 @@ private JoinMessage(
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e.getMessage()).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+          supportedCompression_ = new com.google.protobuf.UnmodifiableLazyStringList(supportedCompression_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -14260,22 +15880,68 @@ public int getViewDistanceLevel() {
     public static final int COLOR_FIELD_NUMBER = 4;
     private org.terasology.protobuf.NetData.Color color_;
     /**
-     * <code>optional .Color color = 4;</code>
+     * <code>optional .Color color = 4;</code>
+     */
+    public boolean hasColor() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>optional .Color color = 4;</code>
+     */
+    public org.terasology.protobuf.NetData.Color getColor() {
+      return color_;
+    }
+    /**
+     * <code>optional .Color color = 4;</code>
+     */
+    public org.terasology.protobuf.NetData.ColorOrBuilder getColorOrBuilder() {
+      return color_;
+    }
+
+    // repeated string supportedCompression = 5;
+    public static final int SUPPORTEDCOMPRESSION_FIELD_NUMBER = 5;
+    private com.google.protobuf.LazyStringList supportedCompression_;
+    /**
+     * <code>repeated string supportedCompression = 5;</code>
+     */
+    public java.util.List<java.lang.String>
+        getSupportedCompressionList() {
+      return supportedCompression_;
+    }
+    /**
+     * <code>repeated string supportedCompression = 5;</code>
+     */
+    public int getSupportedCompressionCount() {
+      return supportedCompression_.size();
+    }
+    /**
+     * <code>repeated string supportedCompression = 5;</code>
+     */
+    public java.lang.String getSupportedCompression(int index) {
+      return supportedCompression_.get(index);
+    }
+    /**
+     * <code>repeated string supportedCompression = 5;</code>
      */
-    public boolean hasColor() {
-      return ((bitField0_ & 0x00000008) == 0x00000008);
+    public com.google.protobuf.ByteString
+        getSupportedCompressionBytes(int index) {
+      return supportedCompression_.getByteString(index);
     }
+
+    // optional bool supportsBlockChangeBatches = 6;
+    public static final int SUPPORTSBLOCKCHANGEBATCHES_FIELD_NUMBER = 6;
+    private boolean supportsBlockChangeBatches_;
     /**
-     * <code>optional .Color color = 4;</code>
+     * <code>optional bool supportsBlockChangeBatches = 6;</code>
      */
-    public org.terasology.protobuf.NetData.Color getColor() {
-      return color_;
+    public boolean hasSupportsBlockChangeBatches() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
     }
     /**
-     * <code>optional .Color color = 4;</code>
+     * <code>optional bool supportsBlockChangeBatches = 6;</code>
      */
-    public org.terasology.protobuf.NetData.ColorOrBuilder getColorOrBuilder() {
-      return color_;
+    public boolean getSupportsBlockChangeBatches() {
+      return supportsBlockChangeBatches_;
     }
 
     private void initFields() {
@@ -14283,6 +15949,8 @@ private void initFields() {
       version_ = "";
       viewDistanceLevel_ = 0;
       color_ = org.terasology.protobuf.NetData.Color.getDefaultInstance();
+      supportedCompression_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      supportsBlockChangeBatches_ = false;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -14315,6 +15983,12 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       if (((bitField0_ & 0x00000008) == 0x00000008)) {
         output.writeMessage(4, color_);
       }
+      for (int i = 0; i < supportedCompression_.size(); i++) {
+        output.writeBytes(5, supportedCompression_.getByteString(i));
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeBool(6, supportsBlockChangeBatches_);
+      }
       extensionWriter.writeUntil(536870912, output);
       getUnknownFields().writeTo(output);
     }
@@ -14341,6 +16015,19 @@ public int getSerializedSize() {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(4, color_);
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < supportedCompression_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(supportedCompression_.getByteString(i));
+        }
+        size += dataSize;
+        size += 1 * getSupportedCompressionList().size();
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(6, supportsBlockChangeBatches_);
+      }
       size += extensionsSerializedSize();
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -14471,6 +16158,10 @@ public Builder clear() {
           colorBuilder_.clear();
         }
         bitField0_ = (bitField0_ & ~0x00000008);
+        supportedCompression_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        supportsBlockChangeBatches_ = false;
+        bitField0_ = (bitField0_ & ~0x00000020);
         return this;
       }
 
@@ -14519,6 +16210,16 @@ public org.terasology.protobuf.NetData.JoinMessage buildPartial() {
         } else {
           result.color_ = colorBuilder_.build();
         }
+        if (((bitField0_ & 0x00000010) == 0x00000010)) {
+          supportedCompression_ = new com.google.protobuf.UnmodifiableLazyStringList(
+              supportedCompression_);
+          bitField0_ = (bitField0_ & ~0x00000010);
+        }
+        result.supportedCompression_ = supportedCompression_;
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.supportsBlockChangeBatches_ = supportsBlockChangeBatches_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -14551,6 +16252,19 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.JoinMessage other) {
         if (other.hasColor()) {
           mergeColor(other.getColor());
         }
+        if (!other.supportedCompression_.isEmpty()) {
+          if (supportedCompression_.isEmpty()) {
+            supportedCompression_ = other.supportedCompression_;
+            bitField0_ = (bitField0_ & ~0x00000010);
+          } else {
+            ensureSupportedCompressionIsMutable();
+            supportedCompression_.addAll(other.supportedCompression_);
+          }
+          onChanged();
+        }
+        if (other.hasSupportsBlockChangeBatches()) {
+          setSupportsBlockChangeBatches(other.getSupportsBlockChangeBatches());
+        }
         this.mergeExtensionFields(other);
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -14881,6 +16595,132 @@ public org.terasology.protobuf.NetData.ColorOrBuilder getColorOrBuilder() {
         return colorBuilder_;
       }
 
+      // repeated string supportedCompression = 5;
+      private com.google.protobuf.LazyStringList supportedCompression_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureSupportedCompressionIsMutable() {
+        if (!((bitField0_ & 0x00000010) == 0x00000010)) {
+          supportedCompression_ = new com.google.protobuf.LazyStringArrayList(supportedCompression_);
+          bitField0_ |= 0x00000010;
+         }
+      }
+      /**
+       * <code>repeated string supportedCompression = 5;</code>
+       */
+      public java.util.List<java.lang.String>
+          getSupportedCompressionList() {
+        return java.util.Collections.unmodifiableList(supportedCompression_);
+      }
+      /**
+       * <code>repeated string supportedCompression = 5;</code>
+       */
+      public int getSupportedCompressionCount() {
+        return supportedCompression_.size();
+      }
+      /**
+       * <code>repeated string supportedCompression = 5;</code>
+       */
+      public java.lang.String getSupportedCompression(int index) {
+        return supportedCompression_.get(index);
+      }
+      /**
+       * <code>repeated string supportedCompression = 5;</code>
+       */
+      public com.google.protobuf.ByteString
+          getSupportedCompressionBytes(int index) {
+        return supportedCompression_.getByteString(index);
+      }
+      /**
+       * <code>repeated string supportedCompression = 5;</code>
+       */
+      public Builder setSupportedCompression(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureSupportedCompressionIsMutable();
+        supportedCompression_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string supportedCompression = 5;</code>
+       */
+      public Builder addSupportedCompression(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureSupportedCompressionIsMutable();
+        supportedCompression_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string supportedCompression = 5;</code>
+       */
+      public Builder addAllSupportedCompression(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureSupportedCompressionIsMutable();
+        super.addAll(values, supportedCompression_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string supportedCompression = 5;</code>
+       */
+      public Builder clearSupportedCompression() {
+        supportedCompression_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string supportedCompression = 5;</code>
+       */
+      public Builder addSupportedCompressionBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureSupportedCompressionIsMutable();
+        supportedCompression_.add(value);
+        onChanged();
+        return this;
+      }
+
+      // optional bool supportsBlockChangeBatches = 6;
+      private boolean supportsBlockChangeBatches_ ;
+      /**
+       * <code>optional bool supportsBlockChangeBatches = 6;</code>
+       */
+      public boolean hasSupportsBlockChangeBatches() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
+      }
+      /**
+       * <code>optional bool supportsBlockChangeBatches = 6;</code>
+       */
+      public boolean getSupportsBlockChangeBatches() {
+        return supportsBlockChangeBatches_;
+      }
+      /**
+       * <code>optional bool supportsBlockChangeBatches = 6;</code>
+       */
+      public Builder setSupportsBlockChangeBatches(boolean value) {
+        bitField0_ |= 0x00000020;
+        supportsBlockChangeBatches_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool supportsBlockChangeBatches = 6;</code>
+       */
+      public Builder clearSupportsBlockChangeBatches() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        supportsBlockChangeBatches_ = false;
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:JoinMessage)
     }
 
@@ -15301,6 +17141,21 @@ public interface JoinCompleteMessageOrBuilder extends
      * <code>optional int32 clientId = 1;</code>
      */
     int getClientId();
+
+    // optional string compression = 2;
+    /**
+     * <code>optional string compression = 2;</code>
+     */
+    boolean hasCompression();
+    /**
+     * <code>optional string compression = 2;</code>
+     */
+    java.lang.String getCompression();
+    /**
+     * <code>optional string compression = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getCompressionBytes();
   }
   /**
    * Protobuf type {@code JoinCompleteMessage}
@@ -15358,6 +17213,11 @@ private JoinCompleteMessage(
               clientId_ = input.readInt32();
               break;
             }
+            case 18: {
+              bitField0_ |= 0x00000002;
+              compression_ = input.readBytes();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -15414,8 +17274,52 @@ public int getClientId() {
       return clientId_;
     }
 
+    // optional string compression = 2;
+    public static final int COMPRESSION_FIELD_NUMBER = 2;
+    private java.lang.Object compression_;
+    /**
+     * <code>optional string compression = 2;</code>
+     */
+    public boolean hasCompression() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional string compression = 2;</code>
+     */
+    public java.lang.String getCompression() {
+      java.lang.Object ref = compression_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          compression_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string compression = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getCompressionBytes() {
+      java.lang.Object ref = compression_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        compression_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
     private void initFields() {
       clientId_ = 0;
+      compression_ = "";
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -15439,6 +17343,9 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
         output.writeInt32(1, clientId_);
       }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getCompressionBytes());
+      }
       extensionWriter.writeUntil(536870912, output);
       getUnknownFields().writeTo(output);
     }
@@ -15453,6 +17360,10 @@ public int getSerializedSize() {
         size += com.google.protobuf.CodedOutputStream
           .computeInt32Size(1, clientId_);
       }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getCompressionBytes());
+      }
       size += extensionsSerializedSize();
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -15572,6 +17483,8 @@ public Builder clear() {
         super.clear();
         clientId_ = 0;
         bitField0_ = (bitField0_ & ~0x00000001);
+        compression_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
         return this;
       }
 
@@ -15604,6 +17517,10 @@ public org.terasology.protobuf.NetData.JoinCompleteMessage buildPartial() {
           to_bitField0_ |= 0x00000001;
         }
         result.clientId_ = clientId_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.compression_ = compression_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -15623,6 +17540,11 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.JoinCompleteMessage oth
         if (other.hasClientId()) {
           setClientId(other.getClientId());
         }
+        if (other.hasCompression()) {
+          bitField0_ |= 0x00000002;
+          compression_ = other.compression_;
+          onChanged();
+        }
         this.mergeExtensionFields(other);
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -15688,6 +17610,80 @@ public Builder clearClientId() {
         return this;
       }
 
+      // optional string compression = 2;
+      private java.lang.Object compression_ = "";
+      /**
+       * <code>optional string compression = 2;</code>
+       */
+      public boolean hasCompression() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional string compression = 2;</code>
+       */
+      public java.lang.String getCompression() {
+        java.lang.Object ref = compression_;
+        if (!(ref instanceof java.lang.String)) {
+          java.lang.String s = ((com.google.protobuf.ByteString) ref)
+              .toStringUtf8();
+          compression_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string compression = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getCompressionBytes() {
+        java.lang.Object ref = compression_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          compression_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string compression = 2;</code>
+       */
+      public Builder setCompression(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        compression_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string compression = 2;</code>
+       */
+      public Builder clearCompression() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        compression_ = getDefaultInstance().getCompression();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string compression = 2;</code>
+       */
+      public Builder setCompressionBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        compression_ = value;
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:JoinCompleteMessage)
     }
 
@@ -26562,6 +28558,11 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_ExtraDataChangeMessage_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_BlockChangeBatchMessage_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_BlockChangeBatchMessage_fieldAccessorTable;
   private static com.google.protobuf.Descriptors.Descriptor
     internal_static_Vector3iData_descriptor;
   private static
@@ -26656,7 +28657,7 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
       descriptor;
   static {
     java.lang.String[] descriptorData = {
-      "\n\020NetMessage.proto\032\020EntityData.proto\"\261\007\n" +
+      "\n\020NetMessage.proto\032\020EntityData.proto\"\345\007\n" +
       "\nNetMessage\022\036\n\tchunkInfo\030\002 \003(\0132\013.ChunkSt" +
       "ore\0220\n\017invalidateChunk\030\003 \003(\0132\027.Invalidat" +
       "eChunkMessage\022(\n\013blockChange\030\004 \003(\0132\023.Blo" +
@@ -26667,80 +28668,87 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
       "(\0132\r.EventMessage\022\014\n\004time\030\t \001(\003\022(\n\013biome" +
       "Change\030\n \003(\0132\023.BiomeChangeMessage\0220\n\017ext",
       "raDataChange\030\013 \003(\0132\027.ExtraDataChangeMess" +
-      "age\022-\n\021serverInfoRequest\030\017 \001(\0132\022.ServerI" +
-      "nfoRequest\022&\n\nserverInfo\030\020 \001(\0132\022.ServerI" +
-      "nfoMessage\022<\n\025blockFamilyRegistered\030\021 \003(" +
-      "\0132\035.BlockFamilyRegisteredMessage\022\032\n\004join" +
-      "\030\022 \001(\0132\014.JoinMessage\022%\n\rmoduleRequest\030\023 " +
-      "\003(\0132\016.ModuleRequest\022+\n\020moduleDataHeader\030" +
-      "\024 \001(\0132\021.ModuleDataHeader\022\037\n\nmoduleData\030\025" +
-      " \001(\0132\013.ModuleData\022*\n\014joinComplete\030\026 \001(\0132" +
-      "\024.JoinCompleteMessage\022\'\n\016handshakeHello\030",
-      "d \001(\0132\017.HandshakeHello\022/\n\022newIdentityReq" +
-      "uest\030e \001(\0132\023.NewIdentityRequest\022-\n\021provi" +
-      "sionIdentity\030f \001(\0132\022.ProvisionIdentity\0225" +
-      "\n\025handshakeVerification\030g \001(\0132\026.Handshak" +
-      "eVerification*\t\010\210\'\020\200\200\200\200\002\"a\n\016HandshakeHel" +
-      "lo\022\016\n\006random\030\001 \001(\014\022!\n\013certificate\030\002 \001(\0132" +
-      "\014.Certificate\022\021\n\ttimestamp\030\003 \001(\022*\t\010\210\'\020\200\200" +
-      "\200\200\002\"H\n\022NewIdentityRequest\022\027\n\017preMasterSe" +
-      "cret\030\001 \001(\014\022\016\n\006random\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"=\n" +
-      "\021ProvisionIdentity\022\035\n\025encryptedCertifica",
-      "tes\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"]\n\016CertificateSet\022\'" +
-      "\n\021publicCertificate\030\001 \001(\0132\014.Certificate\022" +
-      "\027\n\017privateExponent\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"5\n\025H" +
-      "andshakeVerification\022\021\n\tsignature\030\001 \001(\014*" +
-      "\t\010\210\'\020\200\200\200\200\002\"Z\n\013Certificate\022\n\n\002id\030\001 \001(\t\022\017\n" +
-      "\007modulus\030\002 \001(\014\022\020\n\010exponent\030\003 \001(\014\022\021\n\tsign" +
-      "ature\030\004 \001(\014*\t\010\210\'\020\200\200\200\200\002\"L\n\034BlockFamilyReg" +
-      "isteredMessage\022\020\n\010blockUri\030\001 \003(\t\022\017\n\007bloc" +
-      "kId\030\002 \003(\005*\t\010\210\'\020\200\200\200\200\002\"?\n\026InvalidateChunkM" +
-      "essage\022\032\n\003pos\030\001 \001(\0132\r.Vector3iData*\t\010\210\'\020",
-      "\200\200\200\200\002\"M\n\022BlockChangeMessage\022\032\n\003pos\030\001 \001(\013" +
-      "2\r.Vector3iData\022\020\n\010newBlock\030\002 \001(\005*\t\010\210\'\020\200" +
-      "\200\200\200\002\"M\n\022BiomeChangeMessage\022\032\n\003pos\030\001 \001(\0132" +
-      "\r.Vector3iData\022\020\n\010newBiome\030\002 \001(\005*\t\010\210\'\020\200\200" +
-      "\200\200\002\"_\n\026ExtraDataChangeMessage\022\r\n\005index\030\001" +
-      " \001(\005\022\032\n\003pos\030\002 \001(\0132\r.Vector3iData\022\017\n\007newD" +
-      "ata\030\003 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\014Vector3iData\022\t\n\001" +
-      "x\030\001 \001(\005\022\t\n\001y\030\002 \001(\005\022\t\n\001z\030\003 \001(\005\"\036\n\021ServerI" +
-      "nfoRequest*\t\010\210\'\020\200\200\200\200\002\"i\n\013JoinMessage\022\014\n\004" +
-      "name\030\001 \001(\t\022\017\n\007version\030\002 \001(\t\022\031\n\021viewDista",
-      "nceLevel\030\003 \001(\021\022\025\n\005color\030\004 \001(\0132\006.Color*\t\010" +
-      "\210\'\020\200\200\200\200\002\"\025\n\005Color\022\014\n\004rgba\030\001 \001(\r\"2\n\023JoinC" +
-      "ompleteMessage\022\020\n\010clientId\030\001 \001(\005*\t\010\210\'\020\200\200" +
-      "\200\200\002\"\307\003\n\021ServerInfoMessage\022\033\n\006module\030\001 \003(" +
-      "\0132\013.ModuleInfo\022\023\n\007blockId\030\002 \003(\021B\002\020\001\022\021\n\tb" +
-      "lockName\030\003 \003(\t\022%\n\tcomponent\030\004 \003(\0132\022.Seri" +
-      "alizationInfo\022!\n\005event\030\005 \003(\0132\022.Serializa" +
-      "tionInfo\022\023\n\007assetId\030\006 \003(\005B\002\020\001\022\020\n\010assetUr" +
-      "i\030\007 \003(\t\022\033\n\023registerBlockFamily\030\010 \003(\t\022\035\n\t" +
-      "worldInfo\030\t \003(\0132\n.WorldInfo\022\030\n\014biomeShor",
-      "tId\030\n \003(\021B\002\020\001\022\017\n\007biomeId\030\013 \003(\t\022\024\n\014errorM" +
-      "essage\030\014 \001(\t\022\017\n\007version\030\017 \001(\t\022\020\n\010gameNam" +
-      "e\030\020 \001(\t\022\014\n\004time\030\021 \001(\003\022\030\n\020reflectionHeigh" +
-      "t\030\022 \001(\002\022\014\n\004MOTD\030\023 \001(\t\022\033\n\023onlinePlayersAm" +
-      "ount\030\024 \001(\005*\t\010\210\'\020\200\200\200\200\002\"3\n\tWorldInfo\022\r\n\005ti" +
-      "tle\030\001 \001(\t\022\014\n\004time\030\002 \001(\003*\t\010\210\'\020\200\200\200\200\002\"]\n\021Se" +
-      "rializationInfo\022\014\n\004name\030\001 \001(\t\022\n\n\002id\030\002 \001(" +
-      "\005\022\021\n\tfieldName\030\003 \003(\t\022\020\n\010fieldIds\030\004 \001(\014*\t" +
-      "\010\210\'\020\200\200\200\200\002\"@\n\nModuleInfo\022\020\n\010moduleId\030\001 \001(" +
-      "\t\022\025\n\rmoduleVersion\030\002 \001(\t*\t\010\210\'\020\200\200\200\200\002\",\n\rM",
-      "oduleRequest\022\020\n\010moduleId\030\001 \001(\t*\t\010\210\'\020\200\200\200\200" +
-      "\002\"W\n\020ModuleDataHeader\022\n\n\002id\030\001 \001(\t\022\017\n\007ver" +
-      "sion\030\002 \001(\t\022\014\n\004size\030\003 \001(\003\022\r\n\005error\030\017 \001(\t*" +
-      "\t\010\210\'\020\200\200\200\200\002\"\'\n\nModuleData\022\016\n\006module\030\001 \001(\014" +
-      "*\t\010\210\'\020\200\200\200\200\002\"-\n\017ModuleSendError\022\017\n\007messag" +
-      "e\030\001 \001(\t*\t\010\210\'\020\200\200\200\200\002\"`\n\023CreateEntityMessag" +
-      "e\022\035\n\006entity\030\001 \001(\0132\r.PackedEntity\022\037\n\010bloc" +
-      "kPos\030\002 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002\"N\n\023" +
-      "UpdateEntityMessage\022\035\n\006entity\030\001 \001(\0132\r.Pa" +
-      "ckedEntity\022\r\n\005netId\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\023",
-      "RemoveEntityMessage\022\r\n\005netId\030\001 \001(\005*\t\010\210\'\020" +
-      "\200\200\200\200\002\"i\n\014EventMessage\022\020\n\010targetId\030\001 \001(\005\022" +
-      "\025\n\005event\030\002 \001(\0132\006.Event\022%\n\016targetBlockPos" +
-      "\030\003 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002B$\n\027org." +
-      "terasology.protobufB\007NetDataH\001"
+      "age\0222\n\020blockChangeBatch\030\014 \003(\0132\030.BlockCha" +
+      "ngeBatchMessage\022-\n\021serverInfoRequest\030\017 \001" +
+      "(\0132\022.ServerInfoRequest\022&\n\nserverInfo\030\020 \001" +
+      "(\0132\022.ServerInfoMessage\022<\n\025blockFamilyReg" +
+      "istered\030\021 \003(\0132\035.BlockFamilyRegisteredMes" +
+      "sage\022\032\n\004join\030\022 \001(\0132\014.JoinMessage\022%\n\rmodu" +
+      "leRequest\030\023 \003(\0132\016.ModuleRequest\022+\n\020modul" +
+      "eDataHeader\030\024 \001(\0132\021.ModuleDataHeader\022\037\n\n" +
+      "moduleData\030\025 \001(\0132\013.ModuleData\022*\n\014joinCom",
+      "plete\030\026 \001(\0132\024.JoinCompleteMessage\022\'\n\016han" +
+      "dshakeHello\030d \001(\0132\017.HandshakeHello\022/\n\022ne" +
+      "wIdentityRequest\030e \001(\0132\023.NewIdentityRequ" +
+      "est\022-\n\021provisionIdentity\030f \001(\0132\022.Provisi" +
+      "onIdentity\0225\n\025handshakeVerification\030g \001(" +
+      "\0132\026.HandshakeVerification*\t\010\210\'\020\200\200\200\200\002\"a\n\016" +
+      "HandshakeHello\022\016\n\006random\030\001 \001(\014\022!\n\013certif" +
+      "icate\030\002 \001(\0132\014.Certificate\022\021\n\ttimestamp\030\003" +
+      " \001(\022*\t\010\210\'\020\200\200\200\200\002\"H\n\022NewIdentityRequest\022\027\n" +
+      "\017preMasterSecret\030\001 \001(\014\022\016\n\006random\030\002 \001(\014*\t",
+      "\010\210\'\020\200\200\200\200\002\"=\n\021ProvisionIdentity\022\035\n\025encryp" +
+      "tedCertificates\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"]\n\016Cert" +
+      "ificateSet\022\'\n\021publicCertificate\030\001 \001(\0132\014." +
+      "Certificate\022\027\n\017privateExponent\030\002 \001(\014*\t\010\210" +
+      "\'\020\200\200\200\200\002\"5\n\025HandshakeVerification\022\021\n\tsign" +
+      "ature\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"Z\n\013Certificate\022\n\n" +
+      "\002id\030\001 \001(\t\022\017\n\007modulus\030\002 \001(\014\022\020\n\010exponent\030\003" +
+      " \001(\014\022\021\n\tsignature\030\004 \001(\014*\t\010\210\'\020\200\200\200\200\002\"L\n\034Bl" +
+      "ockFamilyRegisteredMessage\022\020\n\010blockUri\030\001" +
+      " \003(\t\022\017\n\007blockId\030\002 \003(\005*\t\010\210\'\020\200\200\200\200\002\"?\n\026Inva",
+      "lidateChunkMessage\022\032\n\003pos\030\001 \001(\0132\r.Vector" +
+      "3iData*\t\010\210\'\020\200\200\200\200\002\"M\n\022BlockChangeMessage\022" +
+      "\032\n\003pos\030\001 \001(\0132\r.Vector3iData\022\020\n\010newBlock\030" +
+      "\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"M\n\022BiomeChangeMessage\022\032" +
+      "\n\003pos\030\001 \001(\0132\r.Vector3iData\022\020\n\010newBiome\030\002" +
+      " \001(\005*\t\010\210\'\020\200\200\200\200\002\"_\n\026ExtraDataChangeMessag" +
+      "e\022\r\n\005index\030\001 \001(\005\022\032\n\003pos\030\002 \001(\0132\r.Vector3i" +
+      "Data\022\017\n\007newData\030\003 \001(\005*\t\010\210\'\020\200\200\200\200\002\"\220\001\n\027Blo" +
+      "ckChangeBatchMessage\022\037\n\010chunkPos\030\001 \001(\0132\r" +
+      ".Vector3iData\022\025\n\tindexRuns\030\002 \003(\005B\002\020\001\022\030\n\014",
+      "blockPalette\030\003 \003(\005B\002\020\001\022\030\n\014paletteIndex\030\004" +
+      " \003(\005B\002\020\001*\t\010\210\'\020\200\200\200\200\002\"/\n\014Vector3iData\022\t\n\001x" +
+      "\030\001 \001(\005\022\t\n\001y\030\002 \001(\005\022\t\n\001z\030\003 \001(\005\"\036\n\021ServerIn" +
+      "foRequest*\t\010\210\'\020\200\200\200\200\002\"\253\001\n\013JoinMessage\022\014\n\004" +
+      "name\030\001 \001(\t\022\017\n\007version\030\002 \001(\t\022\031\n\021viewDista" +
+      "nceLevel\030\003 \001(\021\022\025\n\005color\030\004 \001(\0132\006.Color\022\034\n" +
+      "\024supportedCompression\030\005 \003(\t\022\"\n\032supportsB" +
+      "lockChangeBatches\030\006 \001(\010*\t\010\210\'\020\200\200\200\200\002\"\025\n\005Co" +
+      "lor\022\014\n\004rgba\030\001 \001(\r\"G\n\023JoinCompleteMessage" +
+      "\022\020\n\010clientId\030\001 \001(\005\022\023\n\013compression\030\002 \001(\t*",
+      "\t\010\210\'\020\200\200\200\200\002\"\307\003\n\021ServerInfoMessage\022\033\n\006modu" +
+      "le\030\001 \003(\0132\013.ModuleInfo\022\023\n\007blockId\030\002 \003(\021B\002" +
+      "\020\001\022\021\n\tblockName\030\003 \003(\t\022%\n\tcomponent\030\004 \003(\013" +
+      "2\022.SerializationInfo\022!\n\005event\030\005 \003(\0132\022.Se" +
+      "rializationInfo\022\023\n\007assetId\030\006 \003(\005B\002\020\001\022\020\n\010" +
+      "assetUri\030\007 \003(\t\022\033\n\023registerBlockFamily\030\010 " +
+      "\003(\t\022\035\n\tworldInfo\030\t \003(\0132\n.WorldInfo\022\030\n\014bi" +
+      "omeShortId\030\n \003(\021B\002\020\001\022\017\n\007biomeId\030\013 \003(\t\022\024\n" +
+      "\014errorMessage\030\014 \001(\t\022\017\n\007version\030\017 \001(\t\022\020\n\010" +
+      "gameName\030\020 \001(\t\022\014\n\004time\030\021 \001(\003\022\030\n\020reflecti",
+      "onHeight\030\022 \001(\002\022\014\n\004MOTD\030\023 \001(\t\022\033\n\023onlinePl" +
+      "ayersAmount\030\024 \001(\005*\t\010\210\'\020\200\200\200\200\002\"3\n\tWorldInf" +
+      "o\022\r\n\005title\030\001 \001(\t\022\014\n\004time\030\002 \001(\003*\t\010\210\'\020\200\200\200\200" +
+      "\002\"]\n\021SerializationInfo\022\014\n\004name\030\001 \001(\t\022\n\n\002" +
+      "id\030\002 \001(\005\022\021\n\tfieldName\030\003 \003(\t\022\020\n\010fieldIds\030" +
+      "\004 \001(\014*\t\010\210\'\020\200\200\200\200\002\"@\n\nModuleInfo\022\020\n\010module" +
+      "Id\030\001 \001(\t\022\025\n\rmoduleVersion\030\002 \001(\t*\t\010\210\'\020\200\200\200" +
+      "\200\002\",\n\rModuleRequest\022\020\n\010moduleId\030\001 \001(\t*\t\010" +
+      "\210\'\020\200\200\200\200\002\"W\n\020ModuleDataHeader\022\n\n\002id\030\001 \001(\t" +
+      "\022\017\n\007version\030\002 \001(\t\022\014\n\004size\030\003 \001(\003\022\r\n\005error",
+      "\030\017 \001(\t*\t\010\210\'\020\200\200\200\200\002\"\'\n\nModuleData\022\016\n\006modul" +
+      "e\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"-\n\017ModuleSendError\022\017\n" +
+      "\007message\030\001 \001(\t*\t\010\210\'\020\200\200\200\200\002\"`\n\023CreateEntit" +
+      "yMessage\022\035\n\006entity\030\001 \001(\0132\r.PackedEntity\022" +
+      "\037\n\010blockPos\030\002 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200" +
+      "\200\200\002\"N\n\023UpdateEntityMessage\022\035\n\006entity\030\001 \001" +
+      "(\0132\r.PackedEntity\022\r\n\005netId\030\002 \001(\005*\t\010\210\'\020\200\200" +
+      "\200\200\002\"/\n\023RemoveEntityMessage\022\r\n\005netId\030\001 \001(" +
+      "\005*\t\010\210\'\020\200\200\200\200\002\"i\n\014EventMessage\022\020\n\010targetId" +
+      "\030\001 \001(\005\022\025\n\005event\030\002 \001(\0132\006.Event\022%\n\016targetB",
+      "lockPos\030\003 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002B" +
+      "$\n\027org.terasology.protobufB\007NetDataH\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
       new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
@@ -26752,7 +28760,7 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
           internal_static_NetMessage_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_NetMessage_descriptor,
-              new java.lang.String[] { "ChunkInfo", "InvalidateChunk", "BlockChange", "CreateEntity", "RemoveEntity", "UpdateEntity", "Event", "Time", "BiomeChange", "ExtraDataChange", "ServerInfoRequest", "ServerInfo", "BlockFamilyRegistered", "Join", "ModuleRequest", "ModuleDataHeader", "ModuleData", "JoinComplete", "HandshakeHello", "NewIdentityRequest", "ProvisionIdentity", "HandshakeVerification", });
+              new java.lang.String[] { "ChunkInfo", "InvalidateChunk", "BlockChange", "CreateEntity", "RemoveEntity", "UpdateEntity", "Event", "Time", "BiomeChange", "ExtraDataChange", "BlockChangeBatch", "ServerInfoRequest", "ServerInfo", "BlockFamilyRegistered", "Join", "ModuleRequest", "ModuleDataHeader", "ModuleData", "JoinComplete", "HandshakeHello", "NewIdentityRequest", "ProvisionIdentity", "HandshakeVerification", });
           internal_static_HandshakeHello_descriptor =
             getDescriptor().getMessageTypes().get(1);
           internal_static_HandshakeHello_fieldAccessorTable = new
@@ -26819,104 +28827,110 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_ExtraDataChangeMessage_descriptor,
               new java.lang.String[] { "Index", "Pos", "NewData", });
-          internal_static_Vector3iData_descriptor =
+          internal_static_BlockChangeBatchMessage_descriptor =
             getDescriptor().getMessageTypes().get(12);
+          internal_static_BlockChangeBatchMessage_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_BlockChangeBatchMessage_descriptor,
+              new java.lang.String[] { "ChunkPos", "IndexRuns", "BlockPalette", "PaletteIndex", });
+          internal_static_Vector3iData_descriptor =
+            getDescriptor().getMessageTypes().get(13);
           internal_static_Vector3iData_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_Vector3iData_descriptor,
               new java.lang.String[] { "X", "Y", "Z", });
           internal_static_ServerInfoRequest_descriptor =
-            getDescriptor().getMessageTypes().get(13);
+            getDescriptor().getMessageTypes().get(14);
           internal_static_ServerInfoRequest_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_ServerInfoRequest_descriptor,
               new java.lang.String[] { });
           internal_static_JoinMessage_descriptor =
-            getDescriptor().getMessageTypes().get(14);
+            getDescriptor().getMessageTypes().get(15);
           internal_static_JoinMessage_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_JoinMessage_descriptor,
-              new java.lang.String[] { "Name", "Version", "ViewDistanceLevel", "Color", });
+              new java.lang.String[] { "Name", "Version", "ViewDistanceLevel", "Color", "SupportedCompression", "SupportsBlockChangeBatches", });
           internal_static_Color_descriptor =
-            getDescriptor().getMessageTypes().get(15);
+            getDescriptor().getMessageTypes().get(16);
           internal_static_Color_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_Color_descriptor,
               new java.lang.String[] { "Rgba", });
           internal_static_JoinCompleteMessage_descriptor =
-            getDescriptor().getMessageTypes().get(16);
+            getDescriptor().getMessageTypes().get(17);
           internal_static_JoinCompleteMessage_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_JoinCompleteMessage_descriptor,
-              new java.lang.String[] { "ClientId", });
+              new java.lang.String[] { "ClientId", "Compression", });
           internal_static_ServerInfoMessage_descriptor =
-            getDescriptor().getMessageTypes().get(17);
+            getDescriptor().getMessageTypes().get(18);
           internal_static_ServerInfoMessage_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_ServerInfoMessage_descriptor,
               new java.lang.String[] { "Module", "BlockId", "BlockName", "Component", "Event", "AssetId", "AssetUri", "RegisterBlockFamily", "WorldInfo", "BiomeShortId", "BiomeId", "ErrorMessage", "Version", "GameName", "Time", "ReflectionHeight", "MOTD", "OnlinePlayersAmount", });
           internal_static_WorldInfo_descriptor =
-            getDescriptor().getMessageTypes().get(18);
+            getDescriptor().getMessageTypes().get(19);
           internal_static_WorldInfo_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_WorldInfo_descriptor,
               new java.lang.String[] { "Title", "Time", });
           internal_static_SerializationInfo_descriptor =
-            getDescriptor().getMessageTypes().get(19);
+            getDescriptor().getMessageTypes().get(20);
           internal_static_SerializationInfo_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_SerializationInfo_descriptor,
               new java.lang.String[] { "Name", "Id", "FieldName", "FieldIds", });
           internal_static_ModuleInfo_descriptor =
-            getDescriptor().getMessageTypes().get(20);
+            getDescriptor().getMessageTypes().get(21);
           internal_static_ModuleInfo_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_ModuleInfo_descriptor,
               new java.lang.String[] { "ModuleId", "ModuleVersion", });
           internal_static_ModuleRequest_descriptor =
-            getDescriptor().getMessageTypes().get(21);
+            getDescriptor().getMessageTypes().get(22);
           internal_static_ModuleRequest_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_ModuleRequest_descriptor,
               new java.lang.String[] { "ModuleId", });
           internal_static_ModuleDataHeader_descriptor =
-            getDescriptor().getMessageTypes().get(22);
+            getDescriptor().getMessageTypes().get(23);
           internal_static_ModuleDataHeader_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_ModuleDataHeader_descriptor,
               new java.lang.String[] { "Id", "Version", "Size", "Error", });
           internal_static_ModuleData_descriptor =
-            getDescriptor().getMessageTypes().get(23);
+            getDescriptor().getMessageTypes().get(24);
           internal_static_ModuleData_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_ModuleData_descriptor,
               new java.lang.String[] { "Module", });
           internal_static_ModuleSendError_descriptor =
-            getDescriptor().getMessageTypes().get(24);
+            getDescriptor().getMessageTypes().get(25);
           internal_static_ModuleSendError_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_ModuleSendError_descriptor,
               new java.lang.String[] { "Message", });
           internal_static_CreateEntityMessage_descriptor =
-            getDescriptor().getMessageTypes().get(25);
+            getDescriptor().getMessageTypes().get(26);
           internal_static_CreateEntityMessage_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_CreateEntityMessage_descriptor,
               new java.lang.String[] { "Entity", "BlockPos", });
           internal_static_UpdateEntityMessage_descriptor =
-            getDescriptor().getMessageTypes().get(26);
+            getDescriptor().getMessageTypes().get(27);
           internal_static_UpdateEntityMessage_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_UpdateEntityMessage_descriptor,
               new java.lang.String[] { "Entity", "NetId", });
           internal_static_RemoveEntityMessage_descriptor =
-            getDescriptor().getMessageTypes().get(27);
+            getDescriptor().getMessageTypes().get(28);
           internal_static_RemoveEntityMessage_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_RemoveEntityMessage_descriptor,
               new java.lang.String[] { "NetId", });
           internal_static_EventMessage_descriptor =
-            getDescriptor().getMessageTypes().get(28);
+            getDescriptor().getMessageTypes().get(29);
           internal_static_EventMessage_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_EventMessage_descriptor,
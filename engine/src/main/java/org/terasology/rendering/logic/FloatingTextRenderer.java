@@ -19,6 +19,7 @@
 import com.google.common.collect.Maps;
 import org.terasology.assets.management.AssetManager;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
@@ -75,9 +76,11 @@ public class FloatingTextRenderer extends BaseComponentSystem implements RenderS
     private Font font;
     private Material underlineMaterial;
     private Map<EntityRef, Map<Material, Mesh>> entityMeshCache = Maps.newHashMap();
+    private EntityQuery floatingTextEntities;
 
     @Override
     public void initialise() {
+        this.floatingTextEntities = entityManager.registerQuery(FloatingTextComponent.class, LocationComponent.class);
         this.font = assetManager.getAsset("engine:NotoSans-Regular-Large", Font.class).get();
         this.underlineMaterial = assetManager.getAsset("engine:UIUnderline", Material.class).get();
     }
@@ -167,7 +170,7 @@ public void renderOpaque() {
 
     @Override
     public void renderAlphaBlend() {
-        render(entityManager.getEntitiesWith(FloatingTextComponent.class, LocationComponent.class));
+        render(floatingTextEntities);
     }
 
     @Override
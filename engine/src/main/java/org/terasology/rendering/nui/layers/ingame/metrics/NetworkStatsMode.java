@@ -51,6 +51,16 @@ public String getMetrics() {
             builder.append(String.format("In Bytes: %d%n", networkSystem.getIncomingBytesDelta()));
             builder.append(String.format("Out Msg: %d%n", networkSystem.getOutgoingMessagesDelta()));
             builder.append(String.format("Out Bytes: %d%n", networkSystem.getOutgoingBytesDelta()));
+            if (networkSystem.getMode().isServer()) {
+                int reusedChunks = networkSystem.getReusedEncodedChunksDelta();
+                int encodedChunks = networkSystem.getEncodedChunksDelta();
+                builder.append(String.format("Chunks Sent: %d (%d reused)%n", reusedChunks + encodedChunks, reusedChunks));
+                builder.append(String.format("Chunk Bytes: %d%n", networkSystem.getSentChunkBytesDelta()));
+                builder.append(String.format("Chunks Queued: %d%n", networkSystem.getChunkSendQueueLength()));
+                int reusedUpdates = networkSystem.getReusedEntityUpdatesDelta();
+                int serializedUpdates = networkSystem.getSerializedEntityUpdatesDelta();
+                builder.append(String.format("Entity Updates Sent: %d (%d reused)%n", reusedUpdates + serializedUpdates, reusedUpdates));
+            }
             if (lastTime != 0) {
                 // ignore the first update as it will not have useful data
                 lastMetric = builder.toString();
@@ -0,0 +1,32 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.rendering.nui.layers.ingame.metrics;
+
+import gnu.trove.map.TObjectDoubleMap;
+import org.terasology.monitoring.PerformanceMonitor;
+
+/**
+ * Shows the latest values of the metrics recorded by background processes, like saving.
+ * The metric names contain their units.
+ */
+final class RecordedMetricsMode extends TimeMetricsMode {
+
+    RecordedMetricsMode() {
+        super("\n- Recorded Metrics -", 20, "");
+    }
+
+    @Override
+    protected TObjectDoubleMap<String> gatherMetrics() {
+        return PerformanceMonitor.getRecordedMetrics();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean isPerformanceManagerMode() {
+        return true;
+    }
+}
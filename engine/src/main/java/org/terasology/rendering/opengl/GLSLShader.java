@@ -39,6 +39,7 @@
 import org.terasology.rendering.assets.shader.ShaderData;
 import org.terasology.rendering.assets.shader.ShaderParameterMetadata;
 import org.terasology.rendering.assets.shader.ShaderProgramFeature;
+import org.terasology.rendering.primitives.ChunkTessellator;
 import org.terasology.rendering.primitives.ChunkVertexFlag;
 import org.terasology.rendering.world.WorldRenderer;
 import org.terasology.world.block.tiles.WorldAtlas;
@@ -165,6 +166,8 @@ private StringBuilder createShaderBuilder() {
         preProcessorPreamble += "#define SSAO_NOISE_SIZE " + ssaoNoiseSize + "\n";
         // TODO: This shouldn't be hardcoded
         preProcessorPreamble += "#define TEXTURE_OFFSET_EFFECTS " + 0.0625f + "\n";
+        preProcessorPreamble += "#define TILED_TEXTURE_MARGIN " + ChunkTessellator.TILED_TEXTURE_MARGIN + "\n";
+        preProcessorPreamble += "#define TILED_TEXTURE_MAX_REPEAT " + (float) ChunkTessellator.TILED_TEXTURE_MAX_REPEAT + "\n";
 
         StringBuilder builder = new StringBuilder().append(preProcessorPreamble);
         if (renderConfig.isVolumetricFog()) {
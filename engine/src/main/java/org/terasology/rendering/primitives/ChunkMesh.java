@@ -16,10 +16,6 @@
 package org.terasology.rendering.primitives;
 
 import com.google.common.collect.Maps;
-import gnu.trove.list.TFloatList;
-import gnu.trove.list.TIntList;
-import gnu.trove.list.array.TFloatArrayList;
-import gnu.trove.list.array.TIntArrayList;
 import org.joml.Vector3fc;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL13;
@@ -96,6 +92,9 @@ public enum RenderPhase {
     private static final int STRIDE = OFFSET_NORMAL + SIZE_NORMAL * 4;
     // the STRIDE, above, is the gap between the beginnings of the data regarding two consecutive vertices
 
+    /* Backs meshes created without a pool, so they still share their buffers */
+    private static final ChunkVertexBufferPool DEFAULT_VERTEX_BUFFER_POOL = new ChunkVertexBufferPool();
+
     /* VERTEX DATA */
     private final int[] vertexBuffers = new int[4];
     private final int[] idxBuffers = new int[4];
@@ -118,10 +117,22 @@ public enum RenderPhase {
 
     private GLBufferPool bufferPool;
 
+    /**
+     * Creates a mesh building its vertex data in a pool shared by all meshes created this way. Renderers should pass
+     * their own pool instead, see {@link ChunkTessellator#getVertexBufferPool()}.
+     */
     public ChunkMesh(GLBufferPool bufferPool) {
+        this(bufferPool, DEFAULT_VERTEX_BUFFER_POOL);
+    }
+
+    /**
+     * @param vertexBufferPool the pool the vertex data is built in, the buffers are returned to it once they
+     *                         have been uploaded or the mesh is disposed
+     */
+    public ChunkMesh(GLBufferPool bufferPool, ChunkVertexBufferPool vertexBufferPool) {
         this.bufferPool = bufferPool;
         for (RenderType type : RenderType.values()) {
-            vertexElements.put(type, new VertexElements());
+            vertexElements.put(type, new VertexElements(vertexBufferPool));
         }
     }
 
@@ -150,8 +161,8 @@ public boolean generateVBOs() {
                     generateVBO(type);
                 }
 
-                // Free unused space on the heap
-                vertexElements = null;
+                // Hand the vertex data back for the next mesh
+                releaseVertexElements();
                 // Calculate the final amount of triangles
                 triangleCount = (vertexCount[0] + vertexCount[1] + vertexCount[2] + vertexCount[3]) / 3;
             } finally {
@@ -310,13 +321,23 @@ public void dispose() {
                 }
 
                 disposed = true;
-                vertexElements = null;
+                if (vertexElements != null) {
+                    releaseVertexElements();
+                }
             }
         } finally {
             lock.unlock();
         }
     }
 
+    private void releaseVertexElements() {
+        Map<RenderType, VertexElements> released = vertexElements;
+        vertexElements = null;
+        for (VertexElements elements : released.values()) {
+            elements.release();
+        }
+    }
+
     public boolean isDisposed() {
         return disposed;
     }
@@ -361,31 +382,107 @@ public int getTimeToGenerateOptimizedBuffers() {
     }
 
     /**
-     * Data structure for storing vertex data. Abused like a "struct" in C/C++. Just sad.
+     * Builds the vertex data of one render type directly in the interleaved layout that is uploaded to the GPU.
+     * The lighting of each vertex is filled in by the {@link ChunkTessellator} once all vertices have been added.
      */
     public static class VertexElements {
 
-        public final TFloatList normals;
-        public final TFloatList vertices;
-        public final TFloatList tex;
-        public final TFloatList color;
-        public final TIntList indices;
-        public final TIntList flags;
-        public final TIntList frames;
+        /** Number of int-sized fields per vertex. */
+        public static final int VERTEX_SIZE = STRIDE / 4;
+        static final int POSITION_FIELD = OFFSET_VERTEX / 4;
+        static final int LIGHT_FIELD = OFFSET_TEX_1 / 4;
+        static final int NORMAL_FIELD = OFFSET_NORMAL / 4;
+
         public int vertexCount;
+        public int indexCount;
 
         public IntBuffer finalVertices;
         public IntBuffer finalIndices;
 
-        VertexElements() {
-            vertexCount = 0;
-            normals = new TFloatArrayList();
-            vertices = new TFloatArrayList();
-            tex = new TFloatArrayList();
-            color = new TFloatArrayList();
-            indices = new TIntArrayList();
-            flags = new TIntArrayList();
-            frames = new TIntArrayList();
+        private final ChunkVertexBufferPool pool;
+
+        /**
+         * No memory is reserved until the first vertex is added, since most meshes of a chunk stay empty. The buffers
+         * then double as needed, so they end up at most twice the size of the mesh.
+         */
+        VertexElements(ChunkVertexBufferPool pool) {
+            this.pool = pool;
+            finalVertices = IntBuffer.allocate(0);
+            finalIndices = IntBuffer.allocate(0);
+        }
+
+        /**
+         * Appends a vertex. The vertex is referred to by its index, starting with {@link #vertexCount} before the call.
+         *
+         * @param color the color of the vertex, packed by {@link org.terasology.rendering.RenderMath#packColor}
+         */
+        public void addVertex(float x, float y, float z, float u, float v, int flags, int frames, int color,
+                              float normalX, float normalY, float normalZ) {
+            if (finalVertices.remaining() < VERTEX_SIZE) {
+                finalVertices = grow(finalVertices);
+            }
+            /* POSITION */
+            finalVertices.put(Float.floatToIntBits(x));
+            finalVertices.put(Float.floatToIntBits(y));
+            finalVertices.put(Float.floatToIntBits(z));
+            /* UV0 - TEX DATA 0.xy */
+            finalVertices.put(Float.floatToIntBits(u));
+            finalVertices.put(Float.floatToIntBits(v));
+            /* FLAGS - TEX DATA 0.z */
+            finalVertices.put(Float.floatToIntBits(flags));
+            /* ANIMATION FRAME COUNT - TEX DATA 0.w */
+            finalVertices.put(Float.floatToIntBits(frames));
+            /* LIGHTING DATA / TEX DATA 1, calculated afterwards */
+            finalVertices.put(0);
+            finalVertices.put(0);
+            finalVertices.put(0);
+            /* PACKED COLOR */
+            finalVertices.put(color);
+            /* NORMALS */
+            finalVertices.put(Float.floatToIntBits(normalX));
+            finalVertices.put(Float.floatToIntBits(normalY));
+            finalVertices.put(Float.floatToIntBits(normalZ));
+            vertexCount++;
+        }
+
+        public void addIndex(int index) {
+            if (!finalIndices.hasRemaining()) {
+                finalIndices = grow(finalIndices);
+            }
+            finalIndices.put(index);
+            indexCount++;
+        }
+
+        float getField(int vertex, int field) {
+            return Float.intBitsToFloat(finalVertices.get(vertex * VERTEX_SIZE + field));
+        }
+
+        void setField(int vertex, int field, float value) {
+            finalVertices.put(vertex * VERTEX_SIZE + field, Float.floatToIntBits(value));
+        }
+
+        /**
+         * Prepares the buffers for uploading, no vertices can be added afterwards.
+         */
+        void finish() {
+            finalVertices.flip();
+            finalIndices.flip();
+        }
+
+        private IntBuffer grow(IntBuffer buffer) {
+            /* Empty buffers are not pooled, the pool hands out its smallest size for them */
+            IntBuffer result = pool.acquire(buffer.capacity() * 2);
+            buffer.flip();
+            result.put(buffer);
+            pool.release(buffer);
+            return result;
+        }
+
+        private void release() {
+            pool.release(finalVertices);
+            pool.release(finalIndices);
+            finalVertices = null;
+            finalIndices = null;
         }
     }
 }
@@ -16,14 +16,9 @@
 package org.terasology.rendering.primitives;
 
 import com.google.common.base.Stopwatch;
-import gnu.trove.iterator.TIntIterator;
-import org.lwjgl.BufferUtils;
 import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
-import org.terasology.math.Direction;
-import org.terasology.math.TeraMath;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.monitoring.PerformanceMonitor;
-import org.terasology.rendering.RenderMath;
 import org.terasology.world.ChunkView;
 import org.terasology.world.block.Block;
 import org.terasology.world.chunks.ChunkConstants;
@@ -36,25 +31,70 @@
  */
 public final class ChunkTessellator {
 
+    /**
+     * Value of the animation frame count of vertices whose texture is repeated over a quad larger than one block.
+     * <p>
+     * The texture coordinates of such vertices are encoded as the corner of the texture tile in the atlas, plus
+     * the number of repetitions scaled into the tile, so that interpolating them across the quad stays within the tile:
+     * <pre>tileStart + tileSize * (MARGIN + (1 - 2 * MARGIN) * repetitions / MAX_REPEAT)</pre>
+     * The chunk shader reverses this and wraps the coordinates around the tile.
+     */
+    public static final int TILED_TEXTURE_FRAMES = -1;
+    public static final float TILED_TEXTURE_MARGIN = 0.01f;
+    public static final int TILED_TEXTURE_MAX_REPEAT = 64;
+
     private static int statVertexArrayUpdateCount;
 
     private GLBufferPool bufferPool;
+    private final ChunkVertexBufferPool vertexBufferPool = new ChunkVertexBufferPool();
+    private volatile boolean greedyMeshing;
 
     public ChunkTessellator(GLBufferPool bufferPool) {
+        this(bufferPool, false);
+    }
+
+    /**
+     * @param greedyMeshing Whether coplanar faces of opaque full-cube blocks with the same texture and lighting
+     *                      are merged into larger quads.
+     */
+    public ChunkTessellator(GLBufferPool bufferPool, boolean greedyMeshing) {
         this.bufferPool = bufferPool;
+        this.greedyMeshing = greedyMeshing;
+    }
+
+    /**
+     * @return The pool the vertex data of all meshes generated by this tessellator is built in
+     */
+    public ChunkVertexBufferPool getVertexBufferPool() {
+        return vertexBufferPool;
+    }
+
+    public boolean isGreedyMeshing() {
+        return greedyMeshing;
+    }
+
+    public void setGreedyMeshing(boolean greedyMeshing) {
+        this.greedyMeshing = greedyMeshing;
     }
 
     public ChunkMesh generateMesh(ChunkView chunkView, int meshHeight, int verticalOffset) {
         PerformanceMonitor.startActivity("GenerateMesh");
-        ChunkMesh mesh = new ChunkMesh(bufferPool);
+        ChunkMesh mesh = new ChunkMesh(bufferPool, vertexBufferPool);
 
         final Stopwatch watch = Stopwatch.createStarted();
 
+        GreedyChunkMesher greedyMesher = null;
+        if (greedyMeshing) {
+            greedyMesher = new GreedyChunkMesher(chunkView, mesh, meshHeight, verticalOffset);
+            greedyMesher.generate();
+        }
+
         for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
             for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
                 for (int y = verticalOffset; y < verticalOffset + meshHeight; y++) {
                     Block block = chunkView.getBlock(x, y, z);
-                    if (block != null && block.getMeshGenerator() != null) {
+                    if (block != null && block.getMeshGenerator() != null
+                            && (greedyMesher == null || !greedyMesher.isMergeable(block))) {
                         block.getMeshGenerator().generateChunkMesh(chunkView, mesh, x, y, z);
                     }
                 }
@@ -77,172 +117,33 @@ public ChunkMesh generateMesh(ChunkView chunkView, int meshHeight, int verticalO
     private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh) {
         PerformanceMonitor.startActivity("OptimizeBuffers");
 
+        ChunkVertexLighting lighting = new ChunkVertexLighting(chunkView);
+        Vector3f vertexPos = new Vector3f();
+        Vector3f normal = new Vector3f();
+        float[] result = new float[3];
         for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
             ChunkMesh.VertexElements elements = mesh.getVertexElements(type);
-            // Vertices double to account for light info
-            elements.finalVertices = BufferUtils.createIntBuffer(
-                    elements.vertices.size() + /* POSITION */
-                    elements.tex.size() + /* TEX0.xy (texture coords) */
-                    elements.flags.size() + /* TEX0.z (flags) */
-                    elements.frames.size() + /* TEX0.w (animation frame counts) */
-                    elements.vertexCount * 3 + /* TEX1 (lighting data) */
-                    elements.color.size() + /* COLOR */
-                    elements.normals.size() /* NORMALS */
-            );
-
             for (int i = 0; i < elements.vertexCount; i++) {
-                Vector3f vertexPos = new Vector3f(
-                        elements.vertices.get(i * 3),
-                        elements.vertices.get(i * 3 + 1),
-                        elements.vertices.get(i * 3 + 2));
-
-                /* POSITION */
-                elements.finalVertices.put(Float.floatToIntBits(vertexPos.x));
-                elements.finalVertices.put(Float.floatToIntBits(vertexPos.y));
-                elements.finalVertices.put(Float.floatToIntBits(vertexPos.z));
-
-                /* UV0 - TEX DATA 0.xy */
-                elements.finalVertices.put(Float.floatToIntBits(elements.tex.get(i * 2)));
-                elements.finalVertices.put(Float.floatToIntBits(elements.tex.get(i * 2 + 1)));
-
-                /* FLAGS - TEX DATA 0.z */
-                elements.finalVertices.put(Float.floatToIntBits(elements.flags.get(i)));
-                
-                /* ANIMATION FRAME COUNT - TEX DATA 0.w*/
-                elements.finalVertices.put(Float.floatToIntBits(elements.frames.get(i)));
-
-                float[] result = new float[3];
-                Vector3f normal = new Vector3f(elements.normals.get(i * 3), elements.normals.get(i * 3 + 1), elements.normals.get(i * 3 + 2));
-                calcLightingValuesForVertexPos(chunkView, vertexPos, result, normal);
+                vertexPos.set(
+                        elements.getField(i, ChunkMesh.VertexElements.POSITION_FIELD),
+                        elements.getField(i, ChunkMesh.VertexElements.POSITION_FIELD + 1),
+                        elements.getField(i, ChunkMesh.VertexElements.POSITION_FIELD + 2));
+                normal.set(
+                        elements.getField(i, ChunkMesh.VertexElements.NORMAL_FIELD),
+                        elements.getField(i, ChunkMesh.VertexElements.NORMAL_FIELD + 1),
+                        elements.getField(i, ChunkMesh.VertexElements.NORMAL_FIELD + 2));
+                lighting.calculate(vertexPos, normal, result);
 
                 /* LIGHTING DATA / TEX DATA 1 */
-                elements.finalVertices.put(Float.floatToIntBits(result[0]));
-                elements.finalVertices.put(Float.floatToIntBits(result[1]));
-                elements.finalVertices.put(Float.floatToIntBits(result[2]));
-
-                /* PACKED COLOR */
-                final int packedColor = RenderMath.packColor(
-                        elements.color.get(i * 4),
-                        elements.color.get(i * 4 + 1),
-                        elements.color.get(i * 4 + 2),
-                        elements.color.get(i * 4 + 3));
-                elements.finalVertices.put(packedColor);
-
-                /* NORMALS */
-                elements.finalVertices.put(Float.floatToIntBits(normal.x));
-                elements.finalVertices.put(Float.floatToIntBits(normal.y));
-                elements.finalVertices.put(Float.floatToIntBits(normal.z));
-            }
-
-            elements.finalIndices = BufferUtils.createIntBuffer(elements.indices.size());
-            TIntIterator indexIterator = elements.indices.iterator();
-            while (indexIterator.hasNext()) {
-                elements.finalIndices.put(indexIterator.next());
+                elements.setField(i, ChunkMesh.VertexElements.LIGHT_FIELD, result[0]);
+                elements.setField(i, ChunkMesh.VertexElements.LIGHT_FIELD + 1, result[1]);
+                elements.setField(i, ChunkMesh.VertexElements.LIGHT_FIELD + 2, result[2]);
             }
-
-            elements.finalVertices.flip();
-            elements.finalIndices.flip();
+            elements.finish();
         }
         PerformanceMonitor.endActivity();
     }
 
-    private void calcLightingValuesForVertexPos(ChunkView chunkView, Vector3f vertexPos, float[] output, Vector3f normal) {
-        PerformanceMonitor.startActivity("calcLighting");
-        float[] lights = new float[8];
-        float[] blockLights = new float[8];
-        Block[] blocks = new Block[4];
-
-        PerformanceMonitor.startActivity("gatherLightInfo");
-        Direction dir = Direction.inDirection(normal);
-        switch (dir) {
-            case LEFT:
-            case RIGHT:
-                blocks[0] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y + 0.1f), (vertexPos.z + 0.1f));
-                blocks[1] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y + 0.1f), (vertexPos.z - 0.1f));
-                blocks[2] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
-                blocks[3] = chunkView.getBlock((vertexPos.x + 0.8f * normal.x), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
-                break;
-            case FORWARD:
-            case BACKWARD:
-                blocks[0] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y + 0.1f), (vertexPos.z + 0.8f * normal.z));
-                blocks[1] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.8f * normal.z));
-                blocks[2] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.8f * normal.z));
-                blocks[3] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y + 0.1f), (vertexPos.z + 0.8f * normal.z));
-                break;
-            default:
-                blocks[0] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z + 0.1f));
-                blocks[1] = chunkView.getBlock((vertexPos.x + 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z - 0.1f));
-                blocks[2] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z - 0.1f));
-                blocks[3] = chunkView.getBlock((vertexPos.x - 0.1f), (vertexPos.y + 0.8f * normal.y), (vertexPos.z + 0.1f));
-        }
-
-        lights[0] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
-        lights[1] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
-        lights[2] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
-        lights[3] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
-
-        lights[4] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
-        lights[5] = chunkView.getSunlight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
-        lights[6] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
-        lights[7] = chunkView.getSunlight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
-
-        blockLights[0] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
-        blockLights[1] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
-        blockLights[2] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z - 0.1f));
-        blockLights[3] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y + 0.8f), (vertexPos.z + 0.1f));
-
-        blockLights[4] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
-        blockLights[5] = chunkView.getLight((vertexPos.x + 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
-        blockLights[6] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z - 0.1f));
-        blockLights[7] = chunkView.getLight((vertexPos.x - 0.1f), (vertexPos.y - 0.1f), (vertexPos.z + 0.1f));
-        PerformanceMonitor.endActivity();
-
-        float resultLight = 0;
-        float resultBlockLight = 0;
-        int counterLight = 0;
-        int counterBlockLight = 0;
-
-        int occCounter = 0;
-        int occCounterBillboard = 0;
-        for (int i = 0; i < 8; i++) {
-            if (lights[i] > 0) {
-                resultLight += lights[i];
-                counterLight++;
-            }
-            if (blockLights[i] > 0) {
-                resultBlockLight += blockLights[i];
-                counterBlockLight++;
-            }
-
-            if (i < 4) {
-                Block b = blocks[i];
-
-                if (b.isShadowCasting() && !b.isTranslucent()) {
-                    occCounter++;
-                } else if (b.isShadowCasting()) {
-                    occCounterBillboard++;
-                }
-            }
-        }
-
-        double resultAmbientOcclusion = (TeraMath.pow(0.40, occCounter) + TeraMath.pow(0.80, occCounterBillboard)) / 2.0;
-
-        if (counterLight == 0) {
-            output[0] = 0;
-        } else {
-            output[0] = resultLight / counterLight / 15f;
-        }
-
-        if (counterBlockLight == 0) {
-            output[1] = 0;
-        } else {
-            output[1] = resultBlockLight / counterBlockLight / 15f;
-        }
-
-        output[2] = (float) resultAmbientOcclusion;
-        PerformanceMonitor.endActivity();
-    }
-
     public static int getVertexArrayUpdateCount() {
         return statVertexArrayUpdateCount;
     }
@@ -0,0 +1,124 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.rendering.primitives;
+
+import com.google.common.base.Preconditions;
+import org.lwjgl.BufferUtils;
+
+import java.nio.IntBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recycles the direct buffers that chunk meshes are built in, so that remeshing a chunk doesn't allocate
+ * new off-heap memory once the pool has warmed up.
+ * <p>
+ * Buffers are handed out with power-of-two capacities. Released buffers are kept for reuse until the configured
+ * amount of memory is retained; anything beyond that is left to the garbage collector.
+ * <p>
+ * This class is thread-safe, a single pool is shared by all threads tessellating chunks.
+ */
+public final class ChunkVertexBufferPool {
+
+    public static final long DEFAULT_MAX_RETAINED_BYTES = 64L * 1024 * 1024;
+
+    private static final int MIN_CAPACITY_BITS = 10;
+    private static final int MAX_CAPACITY_BITS = 30;
+
+    private final ArrayDeque<IntBuffer>[] freeBuffers;
+    private final long maxRetainedBytes;
+    private long retainedBytes;
+
+    private final AtomicLong allocationCount = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong reuseCount = new AtomicLong();
+
+    public ChunkVertexBufferPool() {
+        this(DEFAULT_MAX_RETAINED_BYTES);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ChunkVertexBufferPool(long maxRetainedBytes) {
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.freeBuffers = new ArrayDeque[MAX_CAPACITY_BITS + 1];
+        for (int i = 0; i < freeBuffers.length; i++) {
+            freeBuffers[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * @param minCapacity the minimal number of ints the buffer has to hold
+     * @return a cleared direct buffer with a capacity of at least minCapacity
+     */
+    public IntBuffer acquire(int minCapacity) {
+        Preconditions.checkArgument(minCapacity >= 0 && minCapacity <= 1 << MAX_CAPACITY_BITS,
+                "Unsupported buffer capacity: %s", minCapacity);
+        int bits = minCapacity <= 1 << MIN_CAPACITY_BITS ? MIN_CAPACITY_BITS : 32 - Integer.numberOfLeadingZeros(minCapacity - 1);
+        synchronized (this) {
+            IntBuffer buffer = freeBuffers[bits].pollFirst();
+            if (buffer != null) {
+                retainedBytes -= buffer.capacity() * 4L;
+                reuseCount.incrementAndGet();
+                return buffer;
+            }
+        }
+        allocationCount.incrementAndGet();
+        allocatedBytes.addAndGet((1L << bits) * 4);
+        return BufferUtils.createIntBuffer(1 << bits);
+    }
+
+    /**
+     * Returns a buffer obtained from {@link #acquire(int)} to the pool. The buffer must not be used afterwards.
+     */
+    public void release(IntBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (Integer.bitCount(capacity) != 1 || capacity < 1 << MIN_CAPACITY_BITS || !buffer.isDirect()) {
+            return;
+        }
+        buffer.clear();
+        synchronized (this) {
+            if (retainedBytes + capacity * 4L <= maxRetainedBytes) {
+                freeBuffers[Integer.numberOfTrailingZeros(capacity)].addFirst(buffer);
+                retainedBytes += capacity * 4L;
+            }
+        }
+    }
+
+    /**
+     * @return How many buffers had to be newly allocated, because no released buffer of the right size was available
+     */
+    public long getAllocationCount() {
+        return allocationCount.get();
+    }
+
+    /**
+     * @return The total size of all newly allocated buffers, in bytes
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * @return How many requests were served with a released buffer
+     */
+    public long getReuseCount() {
+        return reuseCount.get();
+    }
+
+    /**
+     * @return The size of the buffers currently held for reuse, in bytes
+     */
+    public synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * Drops all buffers held for reuse.
+     */
+    public synchronized void clear() {
+        for (ArrayDeque<IntBuffer> buffers : freeBuffers) {
+            buffers.clear();
+        }
+        retainedBytes = 0;
+    }
+}
@@ -0,0 +1,312 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.rendering.primitives;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector2f;
+import org.joml.Vector3ic;
+import org.terasology.math.Side;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.rendering.RenderMath;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockAppearance;
+import org.terasology.world.block.BlockPart;
+import org.terasology.world.block.shapes.BlockMeshPart;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Map;
+
+/**
+ * Merges coplanar faces of opaque full-cube blocks into larger quads.
+ * <p>
+ * Faces are only merged if they use the same mesh part (and so the same texture), the same vertex flag and if the
+ * lighting is the same at all of their corners, so that the merged quad is lit exactly like the separate faces were.
+ * Merged quads repeat their texture through the chunk shader, see {@link ChunkTessellator#TILED_TEXTURE_FRAMES}.
+ * Everything else is left to the regular {@link BlockMeshGenerator} of the block.
+ */
+final class GreedyChunkMesher {
+
+    private static final int WHITE = RenderMath.packColor(1, 1, 1, 1);
+    private static final float VERTEX_EPSILON = 0.0001f;
+    private static final int MAX_SLICE_AREA = Math.max(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Z) * ChunkConstants.SIZE_Y;
+
+    private final ChunkView chunkView;
+    private final ChunkMesh mesh;
+    private final int[] min;
+    private final int[] max;
+
+    private final Map<Block, Boolean> mergeableBlocks = Maps.newIdentityHashMap();
+
+    // the faces of the slice being processed
+    private final BlockMeshPart[] parts = new BlockMeshPart[MAX_SLICE_AREA];
+    private final ChunkVertexFlag[] flags = new ChunkVertexFlag[MAX_SLICE_AREA];
+    private final float[] lights = new float[MAX_SLICE_AREA * 3];
+
+    private final int[] position = new int[3];
+    private final Vector3f vertexPos = new Vector3f();
+    private final Vector3f normal = new Vector3f();
+    private final float[] vertexLight = new float[3];
+    private final float[] coordinates = new float[3];
+    private final ChunkVertexLighting lighting;
+
+    private int quadCount;
+
+    GreedyChunkMesher(ChunkView chunkView, ChunkMesh mesh, int meshHeight, int verticalOffset) {
+        this.chunkView = chunkView;
+        this.mesh = mesh;
+        this.lighting = new ChunkVertexLighting(chunkView);
+        this.min = new int[]{0, verticalOffset, 0};
+        this.max = new int[]{ChunkConstants.SIZE_X, verticalOffset + meshHeight, ChunkConstants.SIZE_Z};
+    }
+
+    /**
+     * @return Whether all faces of the block are generated by this mesher, instead of the block's mesh generator.
+     */
+    boolean isMergeable(Block block) {
+        return mergeableBlocks.computeIfAbsent(block, GreedyChunkMesher::canMerge);
+    }
+
+    /**
+     * @return The number of quads that replaced two or more block faces
+     */
+    int getQuadCount() {
+        return quadCount;
+    }
+
+    private static boolean canMerge(Block block) {
+        if (block.getMeshGenerator() == null || block.getMeshGenerator().getClass() != BlockMeshGeneratorSingleShape.class
+                || block.isTranslucent() || block.isLiquid() || block.isWater() || block.isIce() || block.isWaving() || block.isDoubleSided()) {
+            return false;
+        }
+        BlockAppearance appearance = block.getPrimaryAppearance();
+        if (appearance == null || appearance.getPart(BlockPart.CENTER) != null) {
+            return false;
+        }
+        for (Side side : Side.getAllSides()) {
+            BlockMeshPart part = appearance.getPart(BlockPart.fromSide(side));
+            if (!block.isFullSide(side) || part != null && !isUnitFace(part, side)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Whether the part is a single, non-animated quad covering the whole side of the block.
+     */
+    private static boolean isUnitFace(BlockMeshPart part, Side side) {
+        if (part.size() != 4 || part.indicesSize() != 6 || part.getTexFrames() != 1) {
+            return false;
+        }
+        Vector3ic direction = side.direction();
+        for (int i = 0; i < 4; i++) {
+            org.joml.Vector3f vertex = part.getVertex(i);
+            for (int axis = 0; axis < 3; axis++) {
+                float component = vertex.get(axis);
+                int expected = direction.get(axis);
+                float error = expected != 0 ? component - expected * 0.5f : Math.abs(component) - 0.5f;
+                if (Math.abs(error) > VERTEX_EPSILON) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Generates the faces of all mergeable blocks of the mesh, one slice of each side at a time.
+     */
+    void generate() {
+        for (Side side : Side.getAllSides()) {
+            Vector3ic direction = side.direction();
+            int normalAxis = direction.x() != 0 ? 0 : direction.y() != 0 ? 1 : 2;
+            int axisA = normalAxis == 0 ? 1 : 0;
+            int axisB = normalAxis == 2 ? 1 : 2;
+            for (int slice = min[normalAxis]; slice < max[normalAxis]; slice++) {
+                fillSlice(side, normalAxis, slice, axisA, axisB);
+                mergeSlice(side, normalAxis, slice, axisA, axisB);
+            }
+        }
+    }
+
+    private void fillSlice(Side side, int normalAxis, int slice, int axisA, int axisB) {
+        Vector3ic direction = side.direction();
+        int sizeA = max[axisA] - min[axisA];
+        int sizeB = max[axisB] - min[axisB];
+        position[normalAxis] = slice;
+        for (int b = 0; b < sizeB; b++) {
+            for (int a = 0; a < sizeA; a++) {
+                int cell = a + b * sizeA;
+                parts[cell] = null;
+                position[axisA] = min[axisA] + a;
+                position[axisB] = min[axisB] + b;
+
+                Block block = chunkView.getBlock(position[0], position[1], position[2]);
+                if (block == null || !isMergeable(block)) {
+                    continue;
+                }
+                Block adjacent = chunkView.getBlock(position[0] + direction.x(), position[1] + direction.y(), position[2] + direction.z());
+                if (!BlockMeshGeneratorSingleShape.isSideVisibleForBlockTypes(adjacent, block, side)) {
+                    continue;
+                }
+                BlockMeshPart part = block.getPrimaryAppearance().getPart(BlockPart.fromSide(side));
+                if (part == null) {
+                    continue;
+                }
+                ChunkVertexFlag flag = ChunkVertexFlag.NORMAL;
+                if (block.isGrass() && side != Side.TOP && side != Side.BOTTOM) {
+                    flag = ChunkVertexFlag.COLOR_MASK;
+                }
+                if (isUniformlyLit(part, cell)) {
+                    parts[cell] = part;
+                    flags[cell] = flag;
+                } else {
+                    part.appendTo(mesh, position[0], position[1], position[2], ChunkMesh.RenderType.OPAQUE, flag);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the lighting of each corner of the face at the current position, as it will be computed for the final
+     * vertices, and stores it for the given cell if it is the same for all corners.
+     */
+    private boolean isUniformlyLit(BlockMeshPart part, int cell) {
+        for (int i = 0; i < 4; i++) {
+            org.joml.Vector3f vertex = part.getVertex(i);
+            org.joml.Vector3f vertexNormal = part.getNormal(i);
+            vertexPos.set(vertex.x + position[0], vertex.y + position[1], vertex.z + position[2]);
+            normal.set(vertexNormal.x, vertexNormal.y, vertexNormal.z);
+            lighting.calculate(vertexPos, normal, vertexLight);
+            if (i == 0) {
+                System.arraycopy(vertexLight, 0, lights, cell * 3, 3);
+            } else if (!sameLight(vertexLight, 0, lights, cell * 3)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameLight(float[] first, int firstOffset, float[] second, int secondOffset) {
+        return Float.floatToIntBits(first[firstOffset]) == Float.floatToIntBits(second[secondOffset])
+                && Float.floatToIntBits(first[firstOffset + 1]) == Float.floatToIntBits(second[secondOffset + 1])
+                && Float.floatToIntBits(first[firstOffset + 2]) == Float.floatToIntBits(second[secondOffset + 2]);
+    }
+
+    private boolean canJoin(int cell, int other) {
+        return parts[other] == parts[cell] && flags[other] == flags[cell] && sameLight(lights, cell * 3, lights, other * 3);
+    }
+
+    private void mergeSlice(Side side, int normalAxis, int slice, int axisA, int axisB) {
+        int sizeA = max[axisA] - min[axisA];
+        int sizeB = max[axisB] - min[axisB];
+        for (int b = 0; b < sizeB; b++) {
+            for (int a = 0; a < sizeA; a++) {
+                int cell = a + b * sizeA;
+                if (parts[cell] == null) {
+                    continue;
+                }
+
+                int width = 1;
+                while (a + width < sizeA && canJoin(cell, cell + width)) {
+                    width++;
+                }
+                int height = 1;
+                expand:
+                while (b + height < sizeB) {
+                    for (int k = 0; k < width; k++) {
+                        if (!canJoin(cell, cell + k + height * sizeA)) {
+                            break expand;
+                        }
+                    }
+                    height++;
+                }
+
+                position[normalAxis] = slice;
+                position[axisA] = min[axisA] + a;
+                position[axisB] = min[axisB] + b;
+                if (width == 1 && height == 1) {
+                    parts[cell].appendTo(mesh, position[0], position[1], position[2], ChunkMesh.RenderType.OPAQUE, flags[cell]);
+                } else {
+                    appendQuad(parts[cell], flags[cell], axisA, axisB, width, height);
+                    quadCount++;
+                }
+
+                for (int j = 0; j < height; j++) {
+                    for (int k = 0; k < width; k++) {
+                        parts[cell + k + j * sizeA] = null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the given face, stretched over width x height blocks starting at the current position.
+     * The texture coordinates are encoded as described in {@link ChunkTessellator#TILED_TEXTURE_FRAMES}.
+     */
+    private void appendQuad(BlockMeshPart part, ChunkVertexFlag flag, int axisA, int axisB, int width, int height) {
+        float minU = Float.MAX_VALUE;
+        float maxU = -Float.MAX_VALUE;
+        float minV = Float.MAX_VALUE;
+        float maxV = -Float.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            Vector2f texCoord = part.getTexCoord(i);
+            minU = Math.min(minU, texCoord.x);
+            maxU = Math.max(maxU, texCoord.x);
+            minV = Math.min(minV, texCoord.y);
+            maxV = Math.max(maxV, texCoord.y);
+        }
+        // the texture coordinates of block faces are inset by 1/128 of the tile on each side
+        float tileSize = (maxU - minU) * 64f / 63f;
+        float tileU = minU - tileSize / 128f;
+        float tileV = minV - tileSize / 128f;
+
+        // find out whether the u coordinate runs along the first or the second axis of the plane
+        boolean uAlongA = true;
+        boolean uAgainstA = true;
+        for (int i = 0; i < 4; i++) {
+            boolean atMaxA = part.getVertex(i).get(axisA) > 0;
+            boolean atMaxU = part.getTexCoord(i).x > (minU + maxU) / 2;
+            uAlongA &= atMaxA == atMaxU;
+            uAgainstA &= atMaxA != atMaxU;
+        }
+        int repeatU = uAlongA || uAgainstA ? width : height;
+        int repeatV = uAlongA || uAgainstA ? height : width;
+
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        int nextIndex = elements.vertexCount;
+        for (int i = 0; i < 4; i++) {
+            org.joml.Vector3f vertex = part.getVertex(i);
+            org.joml.Vector3f vertexNormal = part.getNormal(i);
+            Vector2f texCoord = part.getTexCoord(i);
+
+            coordinates[0] = vertex.x + position[0];
+            coordinates[1] = vertex.y + position[1];
+            coordinates[2] = vertex.z + position[2];
+            if (vertex.get(axisA) > 0) {
+                coordinates[axisA] += width - 1;
+            }
+            if (vertex.get(axisB) > 0) {
+                coordinates[axisB] += height - 1;
+            }
+
+            float localU = texCoord.x > (minU + maxU) / 2 ? repeatU : 0;
+            float localV = texCoord.y > (minV + maxV) / 2 ? repeatV : 0;
+            elements.addVertex(coordinates[0], coordinates[1], coordinates[2],
+                    encodeTiled(tileU, tileSize, localU), encodeTiled(tileV, tileSize, localV),
+                    flag.getValue(), ChunkTessellator.TILED_TEXTURE_FRAMES, WHITE,
+                    vertexNormal.x, vertexNormal.y, vertexNormal.z);
+        }
+
+        for (int i = 0; i < part.indicesSize(); i++) {
+            elements.addIndex(part.getIndex(i) + nextIndex);
+        }
+    }
+
+    private static float encodeTiled(float tileStart, float tileSize, float repeat) {
+        float margin = ChunkTessellator.TILED_TEXTURE_MARGIN;
+        return tileStart + tileSize * (margin + (1 - 2 * margin) * repeat / ChunkTessellator.TILED_TEXTURE_MAX_REPEAT);
+    }
+}
@@ -41,6 +41,7 @@
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.RenderableChunk;
 
+import java.beans.PropertyChangeListener;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -81,6 +82,8 @@ class RenderableWorldImpl implements RenderableWorld {
     private int statVisibleChunks;
     private int statIgnoredPhases;
 
+    private final PropertyChangeListener greedyMeshingListener = event -> chunkTessellator.setGreedyMeshing(renderingConfig.isGreedyMeshing());
+
 
     RenderableWorldImpl(WorldProvider worldProvider,
                                ChunkProvider chunkProvider,
@@ -89,7 +92,8 @@ class RenderableWorldImpl implements RenderableWorld {
 
         this.worldProvider = worldProvider;
         this.chunkProvider = chunkProvider;
-        chunkTessellator = new ChunkTessellator(bufferPool);
+        chunkTessellator = new ChunkTessellator(bufferPool, renderingConfig.isGreedyMeshing());
+        renderingConfig.subscribe(RenderingConfig.GREEDY_MESHING, greedyMeshingListener);
         chunkMeshUpdateManager = new ChunkMeshUpdateManager(chunkTessellator, worldProvider);
 
         this.playerCamera = playerCamera;
@@ -375,6 +379,7 @@ private int triangleCount(ChunkMesh mesh, ChunkMesh.RenderPhase renderPhase) {
 
     @Override
     public void dispose() {
+        renderingConfig.unsubscribe(RenderingConfig.GREEDY_MESHING, greedyMeshingListener);
         chunkMeshUpdateManager.shutdown();
     }
 
@@ -0,0 +1,37 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.utilities.compression;
+
+import java.io.IOException;
+
+/**
+ * Compresses blocks of data, like encoded chunks.
+ * <br><br>
+ * The first byte of compressed data is the {@link #getId() id} of the codec that produced it, so that
+ * {@link CompressionCodecs#decompress(byte[])} can pick the right codec when reading it back.
+ * Implementations must be thread safe.
+ */
+public interface CompressionCodec {
+
+    /**
+     * @return the first byte of all data produced by {@link #compress(byte[])}, unique among the codecs.
+     */
+    byte getId();
+
+    /**
+     * @return the name used to select the codec in the configuration.
+     */
+    String getName();
+
+    /**
+     * @return the compressed data, starting with the id of this codec.
+     */
+    byte[] compress(byte[] data);
+
+    /**
+     * @param data data produced by {@link #compress(byte[])} of this codec.
+     * @return the original data.
+     * @throws IOException if the data is corrupt or has not been produced by this codec.
+     */
+    byte[] decompress(byte[] data) throws IOException;
+}
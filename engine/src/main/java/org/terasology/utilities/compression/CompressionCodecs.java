@@ -0,0 +1,68 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.utilities.compression;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The available {@link CompressionCodec}s.
+ */
+public final class CompressionCodecs {
+
+    /**
+     * Compact but slow, the format chunks were stored in before codecs were introduced.
+     */
+    public static final CompressionCodec GZIP = new GzipCompressionCodec();
+
+    /**
+     * Many times faster than gzip, at the cost of larger output.
+     */
+    public static final CompressionCodec LZ = new LzCompressionCodec();
+
+    private static final List<CompressionCodec> CODECS = ImmutableList.of(GZIP, LZ);
+
+    private CompressionCodecs() {
+    }
+
+    public static List<CompressionCodec> getAll() {
+        return CODECS;
+    }
+
+    /**
+     * @return the codec with the given name, or the fallback if there is none.
+     */
+    public static CompressionCodec getByName(String name, CompressionCodec fallback) {
+        for (CompressionCodec codec : CODECS) {
+            if (codec.getName().equalsIgnoreCase(name)) {
+                return codec;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * @return the codec with the given id, or null if there is none.
+     */
+    public static CompressionCodec getById(byte id) {
+        for (CompressionCodec codec : CODECS) {
+            if (codec.getId() == id) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decompresses data produced by any of the codecs, identifying the codec by the first byte.
+     */
+    public static byte[] decompress(byte[] data) throws IOException {
+        CompressionCodec codec = data.length > 0 ? getById(data[0]) : null;
+        if (codec == null) {
+            throw new IOException("Data has not been compressed by a known codec");
+        }
+        return codec.decompress(data);
+    }
+}
@@ -0,0 +1,222 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.utilities.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A fast LZ77 codec without entropy coding, using the sequence format of LZ4 blocks.
+ * <br><br>
+ * The data starts with the id and the uncompressed length as var int. It is followed by sequences of a token byte,
+ * literals and a match: The high nibble of the token is the literal count, the low nibble the match length minus
+ * {@link #MIN_MATCH}. A nibble of 15 is continued by bytes that get added until one is below 255. After the literals
+ * comes the offset of the match as 16 bit little endian value, followed by the extra bytes of the match length.
+ * The last sequence consists of literals only.
+ * <br><br>
+ * Matches are found with a single hash table lookup per position, which compresses worse than gzip but many times
+ * faster, and decompression is little more than copying bytes.
+ * <br><br>
+ * Data that claims to decompress to more than {@link #MAX_LENGTH} bytes is rejected, so a corrupt or hostile frame
+ * can't make the receiver allocate huge buffers.
+ */
+final class LzCompressionCodec implements CompressionCodec {
+    static final byte ID = 'L';
+    /**
+     * The frame limit of the network pipeline, which is well above the size of a chunk store.
+     */
+    static final int MAX_LENGTH = 8388608;
+
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MATCH_FIND_LIMIT = 12;
+    private static final int MAX_OFFSET = 65535;
+    private static final int RUN_MASK = 15;
+    private static final int HASH_BITS = 14;
+    private static final int SKIP_TRIGGER = 6;
+
+    private static final ThreadLocal<int[]> HASH_TABLE = ThreadLocal.withInitial(() -> new int[1 << HASH_BITS]);
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return "lz";
+    }
+
+    @Override
+    public byte[] compress(byte[] data) {
+        int length = data.length;
+        byte[] out = new byte[6 + length + length / 255 + 16];
+        out[0] = ID;
+        int op = writeVarInt(out, 1, length);
+
+        int anchor = 0;
+        if (length > MATCH_FIND_LIMIT) {
+            int[] hashTable = HASH_TABLE.get();
+            Arrays.fill(hashTable, -1);
+            int matchFindLimit = length - MATCH_FIND_LIMIT;
+            int matchExtendLimit = length - LAST_LITERALS;
+            int ip = 0;
+            while (ip < matchFindLimit) {
+                int sequence = readInt(data, ip);
+                int hash = hash(sequence);
+                int ref = hashTable[hash];
+                hashTable[hash] = ip;
+                if (ref < 0 || ip - ref > MAX_OFFSET || readInt(data, ref) != sequence) {
+                    // skip faster through data that doesn't compress
+                    ip += 1 + ((ip - anchor) >>> SKIP_TRIGGER);
+                    continue;
+                }
+                while (ip > anchor && ref > 0 && data[ip - 1] == data[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH;
+                while (ip + matchLength < matchExtendLimit && data[ip + matchLength] == data[ref + matchLength]) {
+                    matchLength++;
+                }
+
+                int token = op++;
+                op = writeLiterals(data, anchor, ip - anchor, out, token, op);
+                int offset = ip - ref;
+                out[op++] = (byte) offset;
+                out[op++] = (byte) (offset >>> 8);
+                int extraMatchLength = matchLength - MIN_MATCH;
+                if (extraMatchLength >= RUN_MASK) {
+                    out[token] |= RUN_MASK;
+                    op = writeLength(out, op, extraMatchLength - RUN_MASK);
+                } else {
+                    out[token] |= extraMatchLength;
+                }
+
+                ip += matchLength;
+                anchor = ip;
+                if (ip - 2 < matchFindLimit) {
+                    hashTable[hash(readInt(data, ip - 2))] = ip - 2;
+                }
+            }
+        }
+        int token = op++;
+        op = writeLiterals(data, anchor, length - anchor, out, token, op);
+        return Arrays.copyOf(out, op);
+    }
+
+    @Override
+    public byte[] decompress(byte[] data) throws IOException {
+        if (data.length == 0 || data[0] != ID) {
+            throw new IOException("Data has not been compressed with the lz codec");
+        }
+        try {
+            int ip = 1;
+            int length = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (shift > 28) {
+                    throw new IOException("Corrupt lz data, the length takes more than 5 bytes");
+                }
+                byte b = data[ip++];
+                length |= (b & 0x7f) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            if (length < 0 || length > MAX_LENGTH) {
+                throw new IOException("Corrupt lz data, invalid length " + length);
+            }
+            byte[] out = new byte[length];
+            int op = 0;
+            while (true) {
+                int token = data[ip++] & 0xff;
+                int literalLength = token >>> 4;
+                if (literalLength == RUN_MASK) {
+                    int b;
+                    do {
+                        b = data[ip++] & 0xff;
+                        literalLength += b;
+                    } while (b == 255);
+                }
+                System.arraycopy(data, ip, out, op, literalLength);
+                ip += literalLength;
+                op += literalLength;
+                if (ip == data.length) {
+                    break;
+                }
+
+                int offset = (data[ip++] & 0xff) | (data[ip++] & 0xff) << 8;
+                int matchLength = token & RUN_MASK;
+                if (matchLength == RUN_MASK) {
+                    int b;
+                    do {
+                        b = data[ip++] & 0xff;
+                        matchLength += b;
+                    } while (b == 255);
+                }
+                matchLength += MIN_MATCH;
+                int ref = op - offset;
+                if (offset == 0 || ref < 0) {
+                    throw new IOException("Corrupt lz data, invalid match offset " + offset);
+                }
+                if (offset >= matchLength) {
+                    System.arraycopy(out, ref, out, op, matchLength);
+                    op += matchLength;
+                } else {
+                    // overlapping match, repeats the last offset bytes
+                    for (int i = 0; i < matchLength; i++) {
+                        out[op++] = out[ref++];
+                    }
+                }
+            }
+            if (op != length) {
+                throw new IOException("Corrupt lz data, expected " + length + " bytes but got " + op);
+            }
+            return out;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt lz data", e);
+        }
+    }
+
+    /**
+     * Writes the literal count into the high nibble of the token, followed by the extra length bytes and the literals.
+     */
+    private static int writeLiterals(byte[] data, int start, int count, byte[] out, int token, int op) {
+        if (count >= RUN_MASK) {
+            out[token] = (byte) (RUN_MASK << 4);
+            op = writeLength(out, op, count - RUN_MASK);
+        } else {
+            out[token] = (byte) (count << 4);
+        }
+        System.arraycopy(data, start, out, op, count);
+        return op + count;
+    }
+
+    private static int writeLength(byte[] out, int op, int length) {
+        int remaining = length;
+        while (remaining >= 255) {
+            out[op++] = (byte) 255;
+            remaining -= 255;
+        }
+        out[op++] = (byte) remaining;
+        return op;
+    }
+
+    private static int writeVarInt(byte[] out, int op, int value) {
+        int remaining = value;
+        while ((remaining & ~0x7f) != 0) {
+            out[op++] = (byte) ((remaining & 0x7f) | 0x80);
+            remaining >>>= 7;
+        }
+        out[op++] = (byte) remaining;
+        return op;
+    }
+
+    private static int readInt(byte[] data, int index) {
+        return (data[index] & 0xff) | (data[index + 1] & 0xff) << 8 | (data[index + 2] & 0xff) << 16 | data[index + 3] << 24;
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_BITS);
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.terasology.utilities.procedural;
 
+import java.util.Arrays;
+
 /**
  * Computes Brownian noise based on some noise generator.
  * Originally, Brown integrates white noise, but using other noises can be sometimes useful, too.
@@ -111,6 +113,86 @@ public float noise(float x, float y, float z) {
         return result * scale;
     }
 
+    /**
+     * Computes Fractional Brownian Motion for a grid of positions, by evaluating the base noise
+     * for the whole grid once per octave.
+     * <p>
+     * Apart from the target, this needs a scratch buffer of the grid's size and the working coordinates,
+     * which are allocated once per call (not per point).
+     *
+     * @see Noise#noise(float[], float[], float[])
+     */
+    @Override
+    public void noise(float[] xs, float[] ys, float[] target) {
+        int count = xs.length * ys.length;
+        float[] workingXs = xs.clone();
+        float[] workingYs = ys.clone();
+        float[] octave = new float[count];
+        float lac = (float) getLacunarity();
+        Arrays.fill(target, 0, count, 0.0f);
+
+        for (int i = 0; i < getOctaves(); i++) {
+            other.noise(workingXs, workingYs, octave);
+            float weight = spectralWeights[i];
+            for (int j = 0; j < count; j++) {
+                target[j] += octave[j] * weight;
+            }
+
+            float offsetX = 10 * other.noise(i + 0.5f, 0.5f);
+            float offsetY = 10 * other.noise(-i - 0.5f, -0.5f);
+            for (int j = 0; j < workingXs.length; j++) {
+                workingXs[j] = workingXs[j] * lac + offsetX;
+            }
+            for (int j = 0; j < workingYs.length; j++) {
+                workingYs[j] = workingYs[j] * lac + offsetY;
+            }
+        }
+
+        for (int j = 0; j < count; j++) {
+            target[j] *= scale;
+        }
+    }
+
+    /**
+     * Computes Fractional Brownian Motion for a grid of positions, by evaluating the base noise
+     * for the whole grid once per octave.
+     *
+     * @see #noise(float[], float[], float[])
+     * @see Noise#noise(float[], float[], float[], float[])
+     */
+    @Override
+    public void noise(float[] xs, float[] ys, float[] zs, float[] target) {
+        int count = xs.length * ys.length * zs.length;
+        float[] workingXs = xs.clone();
+        float[] workingYs = ys.clone();
+        float[] workingZs = zs.clone();
+        float[] octave = new float[count];
+        float lac = (float) getLacunarity();
+        Arrays.fill(target, 0, count, 0.0f);
+
+        for (int i = 0; i < getOctaves(); i++) {
+            other.noise(workingXs, workingYs, workingZs, octave);
+            float weight = spectralWeights[i];
+            for (int j = 0; j < count; j++) {
+                target[j] += octave[j] * weight;
+            }
+
+            for (int j = 0; j < workingXs.length; j++) {
+                workingXs[j] *= lac;
+            }
+            for (int j = 0; j < workingYs.length; j++) {
+                workingYs[j] *= lac;
+            }
+            for (int j = 0; j < workingZs.length; j++) {
+                workingZs[j] *= lac;
+            }
+        }
+
+        for (int j = 0; j < count; j++) {
+            target[j] *= scale;
+        }
+    }
+
     private static float computeScale(float[] spectralWeights) {
         float sum = 0;
         for (float weight : spectralWeights) {
@@ -51,4 +51,31 @@ public float noise(float x, float y) {
         int fy = TeraMath.floorToInt(y + 0.5f);
         return noise(fx, fy);
     }
+
+    @Override
+    public void noise(float[] xs, float[] ys, float[] target) {
+        int index = 0;
+        for (float y : ys) {
+            int fy = TeraMath.floorToInt(y + 0.5f);
+            for (float x : xs) {
+                int fx = TeraMath.floorToInt(x + 0.5f);
+                target[index++] = noise(fx, fy);
+            }
+        }
+    }
+
+    @Override
+    public void noise(float[] xs, float[] ys, float[] zs, float[] target) {
+        int index = 0;
+        for (float z : zs) {
+            int fz = TeraMath.floorToInt(z + 0.5f);
+            for (float y : ys) {
+                int fy = TeraMath.floorToInt(y + 0.5f);
+                for (float x : xs) {
+                    int fx = TeraMath.floorToInt(x + 0.5f);
+                    target[index++] = noise(fx, fy, fz);
+                }
+            }
+        }
+    }
 }
@@ -59,4 +59,45 @@ public interface Noise {
      * @return The noise value in the range [-1..1]
      */
     float noise(float x, float y, float z);
+
+    /**
+     * Computes the noise values of a 2D grid of positions in one call.
+     * The value at (xs[i], ys[j]) is stored at index {@code i + j * xs.length}.
+     * The default implementation samples every point individually; implementations should override it
+     * with a tighter loop where possible, but must return the same values as {@link #noise(float, float)}.
+     *
+     * @param xs     The positions on the x-axis
+     * @param ys     The positions on the y-axis
+     * @param target The array to fill, with at least {@code xs.length * ys.length} entries
+     */
+    default void noise(float[] xs, float[] ys, float[] target) {
+        int index = 0;
+        for (float y : ys) {
+            for (float x : xs) {
+                target[index++] = noise(x, y);
+            }
+        }
+    }
+
+    /**
+     * Computes the noise values of a 3D grid of positions in one call.
+     * The value at (xs[i], ys[j], zs[k]) is stored at index {@code i + xs.length * (j + ys.length * k)}.
+     * The default implementation samples every point individually; implementations should override it
+     * with a tighter loop where possible, but must return the same values as {@link #noise(float, float, float)}.
+     *
+     * @param xs     The positions on the x-axis
+     * @param ys     The positions on the y-axis
+     * @param zs     The positions on the z-axis
+     * @param target The array to fill, with at least {@code xs.length * ys.length * zs.length} entries
+     */
+    default void noise(float[] xs, float[] ys, float[] zs, float[] target) {
+        int index = 0;
+        for (float z : zs) {
+            for (float y : ys) {
+                for (float x : xs) {
+                    target[index++] = noise(x, y, z);
+                }
+            }
+        }
+    }
 }
@@ -26,6 +26,11 @@
 @Deprecated
 public class PerlinNoise extends AbstractNoise implements Noise2D, Noise3D {
 
+    /**
+     * The single z position sampled by the 2D methods (never modified)
+     */
+    private static final float[] PLANE_Z = {0};
+
     private final int[] noisePermutations;
     private final int permCount;
 
@@ -94,6 +99,40 @@ public float noise(float posX, float posY, float posZ) {
         float u = TeraMath.fadePerlin(x);
         float v = TeraMath.fadePerlin(y);
         float w = TeraMath.fadePerlin(z);
+        return interpolate(xInt, yInt, zInt, x, y, z, u, v, w);
+    }
+
+    @Override
+    public void noise(float[] xs, float[] ys, float[] target) {
+        noise(xs, ys, PLANE_Z, target);
+    }
+
+    /**
+     * Computes the noise values of a 3D grid of positions. The lattice coordinates and fade curves
+     * of the y and z axes are only computed once per row and layer.
+     */
+    @Override
+    public void noise(float[] xs, float[] ys, float[] zs, float[] target) {
+        int index = 0;
+        for (float posZ : zs) {
+            int zInt = Math.floorMod(TeraMath.floorToInt(posZ), permCount);
+            float z = posZ - TeraMath.fastFloor(posZ);
+            float w = TeraMath.fadePerlin(z);
+            for (float posY : ys) {
+                int yInt = Math.floorMod(TeraMath.floorToInt(posY), permCount);
+                float y = posY - TeraMath.fastFloor(posY);
+                float v = TeraMath.fadePerlin(y);
+                for (float posX : xs) {
+                    int xInt = Math.floorMod(TeraMath.floorToInt(posX), permCount);
+                    float x = posX - TeraMath.fastFloor(posX);
+                    float u = TeraMath.fadePerlin(x);
+                    target[index++] = interpolate(xInt, yInt, zInt, x, y, z, u, v, w);
+                }
+            }
+        }
+    }
+
+    private float interpolate(int xInt, int yInt, int zInt, float x, float y, float z, float u, float v, float w) {
         int a = noisePermutations[xInt] + yInt;
         int aa = noisePermutations[a] + zInt;
         int ab = noisePermutations[(a + 1)] + zInt;
@@ -138,6 +138,27 @@ private static float dot(Grad g, float x, float y, float z, float w) {
      */
     @Override
     public float noise(float xin, float yin) {
+        return noise2D(perm, permMod12, permCount, xin, yin);
+    }
+
+    /**
+     * Computes 2D simplex noise for a grid of positions, see {@link Noise#noise(float[], float[], float[])}.
+     */
+    @Override
+    public void noise(float[] xs, float[] ys, float[] target) {
+        // keep the permutation tables in locals so the loop doesn't have to reload them for every point
+        short[] localPerm = perm;
+        short[] localPermMod12 = permMod12;
+        int localPermCount = permCount;
+        int index = 0;
+        for (float y : ys) {
+            for (float x : xs) {
+                target[index++] = noise2D(localPerm, localPermMod12, localPermCount, x, y);
+            }
+        }
+    }
+
+    private static float noise2D(short[] perm, short[] permMod12, int permCount, float xin, float yin) {
         float n0;
         float n1;
         float n2; // Noise contributions from the three corners
@@ -217,6 +238,28 @@ public float noise(float xin, float yin) {
      */
     @Override
     public float noise(float xin, float yin, float zin) {
+        return noise3D(perm, permMod12, permCount, xin, yin, zin);
+    }
+
+    /**
+     * Computes 3D simplex noise for a grid of positions, see {@link Noise#noise(float[], float[], float[], float[])}.
+     */
+    @Override
+    public void noise(float[] xs, float[] ys, float[] zs, float[] target) {
+        short[] localPerm = perm;
+        short[] localPermMod12 = permMod12;
+        int localPermCount = permCount;
+        int index = 0;
+        for (float z : zs) {
+            for (float y : ys) {
+                for (float x : xs) {
+                    target[index++] = noise3D(localPerm, localPermMod12, localPermCount, x, y, z);
+                }
+            }
+        }
+    }
+
+    private static float noise3D(short[] perm, short[] permMod12, int permCount, float xin, float yin, float zin) {
         float n0;
         float n1;
         float n2;
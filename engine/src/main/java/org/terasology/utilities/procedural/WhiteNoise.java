@@ -64,6 +64,33 @@ public float noise(int x, int y, int z) {
         return noise(intNoise(intNoise(x) + y) + z);
     }
 
+    @Override
+    public void noise(float[] xs, float[] ys, float[] target) {
+        int index = 0;
+        for (float y : ys) {
+            int fy = Float.floatToIntBits(y);
+            for (float x : xs) {
+                int fx = Float.floatToIntBits(x);
+                target[index++] = (float) intNoise(intNoise(fx) + fy) / Integer.MAX_VALUE;
+            }
+        }
+    }
+
+    @Override
+    public void noise(float[] xs, float[] ys, float[] zs, float[] target) {
+        int index = 0;
+        for (float z : zs) {
+            int fz = Float.floatToIntBits(z);
+            for (float y : ys) {
+                int fy = Float.floatToIntBits(y);
+                for (float x : xs) {
+                    int fx = Float.floatToIntBits(x);
+                    target[index++] = (float) intNoise(intNoise(intNoise(fx) + fy) + fz) / Integer.MAX_VALUE;
+                }
+            }
+        }
+    }
+
     /**
      * @param x any float value
      * @return a random, but deterministic float value in [-1..1]
@@ -19,6 +19,9 @@
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.world.block.Block;
+import org.terasology.world.propagation.BlockChange;
+
+import java.util.Collection;
 
 /**
  */
@@ -26,5 +29,17 @@ public interface WorldChangeListener {
 
     void onBlockChanged(Vector3ic pos, Block newBlock, Block originalBlock);
 
+    /**
+     * Called once for blocks which were changed together, for example by filling a region. The changes are grouped by
+     * chunk. By default this calls {@link #onBlockChanged(Vector3ic, Block, Block)} for every change.
+     *
+     * @param changes The changes, which must not be modified
+     */
+    default void onBlocksChanged(Collection<BlockChange> changes) {
+        for (BlockChange change : changes) {
+            onBlockChanged(change.getPosition(), change.getTo(), change.getFrom());
+        }
+    }
+
     void onExtraDataChanged(int i, Vector3ic pos, int newData, int oldData);
 }
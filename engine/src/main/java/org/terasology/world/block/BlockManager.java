@@ -63,6 +63,22 @@ public abstract class BlockManager {
      */
     public abstract Block getBlock(short id);
 
+    /**
+     * Retrieves the Blocks for many ids at once, such as the ids of a column of a chunk. The Block of ids[i] is
+     * stored in dest[i], as {@link #getBlock(short)} would return it.
+     *
+     * @param ids    The ids to look up
+     * @param length The number of ids to look up, starting at index 0
+     * @param dest   The array to store the Blocks in, at least length long
+     * @return dest
+     */
+    public Block[] getBlocks(short[] ids, int length, Block[] dest) {
+        for (int i = 0; i < length; i++) {
+            dest[i] = getBlock(ids[i]);
+        }
+        return dest;
+    }
+
     /**
      * @return A collection of registered (in use) block uris
      */
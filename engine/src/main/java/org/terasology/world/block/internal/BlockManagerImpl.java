@@ -189,6 +189,7 @@ protected void registerFamily(BlockFamily family) {
             for (Block block : family.getBlocks()) {
                 registerBlock(block, newState);
             }
+            newState.indexBlocksById();
             registeredBlockInfo.set(newState);
         } finally {
             lock.unlock();
@@ -327,11 +328,26 @@ public Block getBlock(BlockUri uri) {
 
     @Override
     public Block getBlock(short id) {
-        Block result = registeredBlockInfo.get().blocksById.get(id);
-        if (result == null) {
-            return getAirBlock();
+        Block[] blocks = registeredBlockInfo.get().blockArray;
+        int index = id & 0xFFFF;
+        if (index < blocks.length) {
+            Block result = blocks[index];
+            if (result != null) {
+                return result;
+            }
         }
-        return result;
+        return getAirBlock();
+    }
+
+    @Override
+    public Block[] getBlocks(short[] ids, int length, Block[] dest) {
+        Block[] blocks = registeredBlockInfo.get().blockArray;
+        for (int i = 0; i < length; i++) {
+            int index = ids[i] & 0xFFFF;
+            Block result = index < blocks.length ? blocks[index] : null;
+            dest[i] = result != null ? result : getAirBlock();
+        }
+        return dest;
     }
 
     @Override
@@ -361,12 +377,15 @@ private static class RegisteredState {
         private final Map<BlockUri, Block> blocksByUri;
         private final TShortObjectMap<Block> blocksById;
         private final TObjectShortMap<BlockUri> idByUri;
+        /* blocksById as an array indexed by the unsigned id, for the lookups of every block of every chunk */
+        private Block[] blockArray;
 
         RegisteredState() {
             this.registeredFamilyByUri = Maps.newHashMap();
             this.blocksByUri = Maps.newHashMap();
             this.blocksById = new TShortObjectHashMap<>();
             this.idByUri = new TObjectShortHashMap<>();
+            this.blockArray = new Block[0];
         }
 
         RegisteredState(RegisteredState oldState) {
@@ -374,6 +393,24 @@ private static class RegisteredState {
             this.blocksByUri = Maps.newHashMap(oldState.blocksByUri);
             this.blocksById = new TShortObjectHashMap<>(oldState.blocksById);
             this.idByUri = new TObjectShortHashMap<>(oldState.idByUri);
+            this.blockArray = oldState.blockArray;
+        }
+
+        /**
+         * Rebuilds blockArray from blocksById. Has to be called before the state is published, the array is not
+         * changed afterwards.
+         */
+        void indexBlocksById() {
+            int length = 0;
+            for (short id : blocksById.keys()) {
+                length = Math.max(length, (id & 0xFFFF) + 1);
+            }
+            Block[] blocks = new Block[length];
+            blocksById.forEachEntry((id, block) -> {
+                blocks[id & 0xFFFF] = block;
+                return true;
+            });
+            blockArray = blocks;
         }
     }
 }
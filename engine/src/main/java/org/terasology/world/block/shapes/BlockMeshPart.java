@@ -18,6 +18,7 @@
 import org.joml.Quaternionf;
 import org.joml.Vector2f;
 import org.joml.Vector3f;
+import org.terasology.rendering.RenderMath;
 import org.terasology.rendering.primitives.ChunkMesh;
 import org.terasology.rendering.primitives.ChunkVertexFlag;
 
@@ -30,6 +31,7 @@
  */
 public class BlockMeshPart {
     private static final float BORDER = 1f / 128f;
+    private static final int WHITE = RenderMath.packColor(1, 1, 1, 1);
 
     private Vector3f[] vertices;
     private Vector3f[] normals;
@@ -89,30 +91,17 @@ public BlockMeshPart mapTexCoords(Vector2f offset, float width, int frames) {
 
     public void appendTo(ChunkMesh chunk, int offsetX, int offsetY, int offsetZ, ChunkMesh.RenderType renderType, ChunkVertexFlag flags) {
         ChunkMesh.VertexElements elements = chunk.getVertexElements(renderType);
-        for (Vector2f texCoord : texCoords) {
-            elements.tex.add(texCoord.x);
-            elements.tex.add(texCoord.y);
-        }
-
         int nextIndex = elements.vertexCount;
         for (int vIdx = 0; vIdx < vertices.length; ++vIdx) {
-            elements.color.add(1);
-            elements.color.add(1);
-            elements.color.add(1);
-            elements.color.add(1);
-            elements.vertices.add(vertices[vIdx].x + offsetX);
-            elements.vertices.add(vertices[vIdx].y + offsetY);
-            elements.vertices.add(vertices[vIdx].z + offsetZ);
-            elements.normals.add(normals[vIdx].x);
-            elements.normals.add(normals[vIdx].y);
-            elements.normals.add(normals[vIdx].z);
-            elements.flags.add(flags.getValue());
-            elements.frames.add(texFrames);
+            elements.addVertex(
+                    vertices[vIdx].x + offsetX, vertices[vIdx].y + offsetY, vertices[vIdx].z + offsetZ,
+                    texCoords[vIdx].x, texCoords[vIdx].y,
+                    flags.getValue(), texFrames, WHITE,
+                    normals[vIdx].x, normals[vIdx].y, normals[vIdx].z);
         }
-        elements.vertexCount += vertices.length;
 
         for (int index : indices) {
-            elements.indices.add(index + nextIndex);
+            elements.addIndex(index + nextIndex);
         }
     }
 
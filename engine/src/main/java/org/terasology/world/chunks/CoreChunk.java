@@ -85,6 +85,16 @@ public interface CoreChunk {
      */
     Block getBlock(int x, int y, int z);
 
+    /**
+     * Returns the blocks of a column of the chunk, which is faster than getting them one by one.
+     *
+     * @param x    X offset from the corner of the chunk
+     * @param z    Z offset from the corner of the chunk
+     * @param dest Array of at least {@link ChunkConstants#SIZE_Y} elements to store the blocks in, from the bottom up
+     * @return dest
+     */
+    Block[] getBlockColumn(int x, int z, Block[] dest);
+
     /**
      * Sets type of block at given position relative to the chunk.
      *
@@ -18,6 +18,8 @@
 import org.terasology.module.sandbox.API;
 import org.terasology.protobuf.EntityData;
 
+import java.util.function.Supplier;
+
 /**
  */
 @API
@@ -39,4 +41,18 @@ public interface ManagedChunk extends CoreChunk {
 
     // TODO: Expose appropriate iterators, remove this method
     EntityData.ChunkStore.Builder encode();
+
+    /**
+     * @return a counter that changes whenever data that is part of {@link #encode()} changes, so that an encoded
+     * chunk can be reused as long as the count stays the same.
+     */
+    int getModificationCount();
+
+    /**
+     * Copies the data that is part of {@link #encode()}, so that it can be encoded on another thread while the chunk
+     * keeps changing.
+     *
+     * @return encodes the copied data when called, from any thread
+     */
+    Supplier<EntityData.ChunkStore.Builder> copyForEncoding();
 }
@@ -0,0 +1,230 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.chunks.blockdata;
+
+import com.google.common.base.Preconditions;
+import org.terasology.world.chunks.deflate.TeraVisitingDeflator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * TeraLazyDenseArray8Bit implements a dense array with elements of 8 bit size, which holds a single uniform value for
+ * all elements until an element is set to a different value. Only then the array allocates one byte per element, like
+ * {@link TeraDenseArray8Bit}.
+ * <p>
+ * Deflating an array whose elements all have the same value makes it uniform again.
+ * <p>
+ * The elements are allocated at most once: threads writing to a uniform array at the same time install the filled
+ * elements with a compare-and-set, so no write ends up in elements which are thrown away, and readers only see them
+ * once they are filled.
+ */
+public final class TeraLazyDenseArray8Bit extends TeraArray {
+
+    private static final AtomicReferenceFieldUpdater<TeraLazyDenseArray8Bit, byte[]> DATA_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(TeraLazyDenseArray8Bit.class, byte[].class, "data");
+
+    private final byte fill;
+    /* null while all elements are fill */
+    private volatile byte[] data;
+
+    public TeraLazyDenseArray8Bit() {
+        super();
+        fill = 0;
+    }
+
+    public TeraLazyDenseArray8Bit(int sizeX, int sizeY, int sizeZ) {
+        super(sizeX, sizeY, sizeZ, true);
+        fill = 0;
+    }
+
+    public TeraLazyDenseArray8Bit(int sizeX, int sizeY, int sizeZ, byte fill) {
+        super(sizeX, sizeY, sizeZ, false);
+        this.fill = fill;
+    }
+
+    public TeraLazyDenseArray8Bit(int sizeX, int sizeY, int sizeZ, byte[] data) {
+        super(sizeX, sizeY, sizeZ, false);
+        this.fill = 0;
+        this.data = Preconditions.checkNotNull(data);
+        Preconditions.checkArgument(data.length == getSizeXYZ(), "The length of the parameter 'data' has to be " + getSizeXYZ() + " but is " + data.length);
+    }
+
+    @Override
+    protected void initialize() {
+    }
+
+    /**
+     * @return Whether all elements have the same value without the array storing them
+     */
+    public boolean isUniform() {
+        return data == null;
+    }
+
+    @Override
+    public boolean isSparse() {
+        return false;
+    }
+
+    @Override
+    public TeraArray copy() {
+        byte[] current = data;
+        if (current == null) {
+            return new TeraLazyDenseArray8Bit(getSizeX(), getSizeY(), getSizeZ(), fill);
+        }
+        return new TeraLazyDenseArray8Bit(getSizeX(), getSizeY(), getSizeZ(), current.clone());
+    }
+
+    @Override
+    public TeraArray deflate(TeraVisitingDeflator deflator) {
+        Preconditions.checkNotNull(deflator);
+        byte[] current = data;
+        if (current == null) {
+            return null;
+        }
+        byte first = current[0];
+        for (byte value : current) {
+            if (value != first) {
+                return deflator.deflateDenseArray8Bit(current, getSizeXZ(), getSizeX(), getSizeY(), getSizeZ());
+            }
+        }
+        return new TeraLazyDenseArray8Bit(getSizeX(), getSizeY(), getSizeZ(), first);
+    }
+
+    @Override
+    public int getEstimatedMemoryConsumptionInBytes() {
+        byte[] current = data;
+        if (current == null) {
+            return 8;
+        }
+        return 16 + current.length;
+    }
+
+    @Override
+    public int getElementSizeInBits() {
+        return 8;
+    }
+
+    @Override
+    public int get(int x, int y, int z) {
+        byte[] current = data;
+        if (current == null) {
+            return fill;
+        }
+        return current[pos(x, y, z)];
+    }
+
+    @Override
+    public int set(int x, int y, int z, int value) {
+        byte[] current = data;
+        if (current == null) {
+            if ((byte) value == fill) {
+                return fill;
+            }
+            current = allocate();
+        }
+        int pos = pos(x, y, z);
+        int old = current[pos];
+        current[pos] = (byte) value;
+        return old;
+    }
+
+    @Override
+    public boolean set(int x, int y, int z, int value, int expected) {
+        byte[] current = data;
+        if (current == null) {
+            if (fill != expected) {
+                return false;
+            }
+            if ((byte) value == fill) {
+                return true;
+            }
+            current = allocate();
+        }
+        int pos = pos(x, y, z);
+        if (current[pos] == expected) {
+            current[pos] = (byte) value;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The elements, allocated by this or by another thread
+     */
+    private byte[] allocate() {
+        byte[] allocated = new byte[getSizeXYZ()];
+        if (fill != 0) {
+            Arrays.fill(allocated, fill);
+        }
+        if (DATA_UPDATER.compareAndSet(this, null, allocated)) {
+            return allocated;
+        }
+        return data;
+    }
+
+    public static class SerializationHandler extends TeraArray.BasicSerializationHandler<TeraLazyDenseArray8Bit> {
+
+        @Override
+        public boolean canHandle(Class<?> clazz) {
+            return TeraLazyDenseArray8Bit.class.equals(clazz);
+        }
+
+        @Override
+        protected int internalComputeMinimumBufferSize(TeraLazyDenseArray8Bit array) {
+            final byte[] data = array.data;
+            if (data == null) {
+                return 5;
+            } else {
+                return 4 + data.length;
+            }
+        }
+
+        @Override
+        protected void internalSerialize(TeraLazyDenseArray8Bit array, ByteBuffer buffer) {
+            final byte[] data = array.data;
+            if (data == null) {
+                buffer.putInt(0);
+                buffer.put(array.fill);
+            } else {
+                buffer.putInt(data.length);
+                buffer.put(data);
+            }
+        }
+
+        @Override
+        protected TeraLazyDenseArray8Bit internalDeserialize(int sizeX, int sizeY, int sizeZ, ByteBuffer buffer) {
+            final int length = buffer.getInt();
+            if (length > 0) {
+                final byte[] data = new byte[length];
+                buffer.get(data, 0, length);
+                return new TeraLazyDenseArray8Bit(sizeX, sizeY, sizeZ, data);
+            }
+            return new TeraLazyDenseArray8Bit(sizeX, sizeY, sizeZ, buffer.get());
+        }
+    }
+
+    public static class Factory implements TeraArray.Factory<TeraLazyDenseArray8Bit> {
+
+        @Override
+        public Class<TeraLazyDenseArray8Bit> getArrayClass() {
+            return TeraLazyDenseArray8Bit.class;
+        }
+
+        @Override
+        public SerializationHandler createSerializationHandler() {
+            return new SerializationHandler();
+        }
+
+        @Override
+        public TeraLazyDenseArray8Bit create() {
+            return new TeraLazyDenseArray8Bit();
+        }
+
+        @Override
+        public TeraLazyDenseArray8Bit create(int sizeX, int sizeY, int sizeZ) {
+            return new TeraLazyDenseArray8Bit(sizeX, sizeY, sizeZ);
+        }
+    }
+}
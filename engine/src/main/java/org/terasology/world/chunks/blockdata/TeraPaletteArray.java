@@ -0,0 +1,438 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.chunks.blockdata;
+
+import com.google.common.base.Preconditions;
+import gnu.trove.map.hash.TShortIntHashMap;
+import org.terasology.world.chunks.deflate.TeraVisitingDeflator;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * TeraPaletteArray implements an array with elements of 16 bit size, which stores every element as an index into a
+ * palette of the distinct values in the array.
+ * <p>
+ * The indices take 0, 1, 2, 4, 8 or 16 bits, depending on the size of the palette. An array containing a single value
+ * stores no indices at all. When a value is set which doesn't fit into the palette any more the indices are widened
+ * to the next size. With more than 256 distinct values the elements are stored directly, taking 16 bits like
+ * {@link TeraDenseArray16Bit}. Values which are no longer used stay in the palette until the array is deflated.
+ * <p>
+ * Like {@link TeraDenseArray16Bit} its elements are in the range -32'768 through +32'767.
+ * <p>
+ * The palette and the entries are published together as an immutable {@link Layout} through a volatile field.
+ * Adding a value to the palette publishes a new layout with a copy of the palette before the first entry refers to
+ * the value, so threads reading the array while it is written to never see an entry without its value. Like the
+ * other arrays it is meant to be written by one thread at a time.
+ */
+public class TeraPaletteArray extends TeraArray {
+
+    private static final int MAX_BITS = 16;
+
+    /* Up to this many palette entries are looked up by scanning the palette, above through paletteIndices */
+    private static final int LINEAR_SEARCH_LIMIT = 16;
+
+    private volatile Layout layout;
+    /* Only used by the writing thread */
+    private TShortIntHashMap paletteIndices;
+
+    public TeraPaletteArray() {
+        super();
+    }
+
+    public TeraPaletteArray(int sizeX, int sizeY, int sizeZ) {
+        super(sizeX, sizeY, sizeZ, true);
+    }
+
+    public TeraPaletteArray(int sizeX, int sizeY, int sizeZ, short[] data) {
+        super(sizeX, sizeY, sizeZ, false);
+        Preconditions.checkNotNull(data);
+        Preconditions.checkArgument(data.length == getSizeXYZ(), "The length of parameter 'data' has to be " + getSizeXYZ() + " but is " + data.length);
+        TShortIntHashMap distinct = new TShortIntHashMap(16, 0.5f, (short) 0, -1);
+        short[] palette = new short[16];
+        int size = 0;
+        for (short value : data) {
+            if (distinct.putIfAbsent(value, size) == -1) {
+                if (size == palette.length) {
+                    palette = Arrays.copyOf(palette, size * 2);
+                }
+                palette[size++] = value;
+            }
+        }
+        int bits = bitsFor(size);
+        if (bits == MAX_BITS) {
+            long[] words = new long[wordCount(bits)];
+            for (int i = 0; i < data.length; i++) {
+                setEntry(words, i, bits, data[i] & 0xFFFF);
+            }
+            layout = new Layout(bits, null, 0, words);
+        } else {
+            long[] words = bits == 0 ? null : new long[wordCount(bits)];
+            for (int i = 0; bits > 0 && i < data.length; i++) {
+                setEntry(words, i, bits, distinct.get(data[i]));
+            }
+            layout = new Layout(bits, Arrays.copyOf(palette, 1 << bits), size, words);
+            if (size > LINEAR_SEARCH_LIMIT) {
+                paletteIndices = distinct;
+            }
+        }
+    }
+
+    private TeraPaletteArray(int sizeX, int sizeY, int sizeZ, Layout layout) {
+        super(sizeX, sizeY, sizeZ, false);
+        this.layout = layout;
+        if (layout.paletteSize > LINEAR_SEARCH_LIMIT) {
+            indexPalette();
+        }
+    }
+
+    @Override
+    protected void initialize() {
+        layout = new Layout(0, new short[1], 1, null);
+    }
+
+    @Override
+    public boolean isSparse() {
+        return false;
+    }
+
+    @Override
+    public TeraArray copy() {
+        Layout current = layout;
+        Layout copied = new Layout(current.bits,
+                current.palette == null ? null : Arrays.copyOf(current.palette, current.palette.length),
+                current.paletteSize, current.data == null ? null : Arrays.copyOf(current.data, current.data.length));
+        return new TeraPaletteArray(getSizeX(), getSizeY(), getSizeZ(), copied);
+    }
+
+    /**
+     * Drops the values which are no longer used from the palette, narrowing the indices if possible.
+     *
+     * @return The narrowed array, or null if it would use as many bits per element as this one
+     */
+    @Override
+    public TeraArray deflate(TeraVisitingDeflator deflator) {
+        Preconditions.checkNotNull(deflator);
+        Layout current = layout;
+        if (current.bits == 0) {
+            return null;
+        }
+        short[] values = new short[getSizeXYZ()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (short) get(current, i);
+        }
+        TeraPaletteArray narrowed = new TeraPaletteArray(getSizeX(), getSizeY(), getSizeZ(), values);
+        return narrowed.layout.bits < current.bits ? narrowed : null;
+    }
+
+    @Override
+    public int getEstimatedMemoryConsumptionInBytes() {
+        Layout current = layout;
+        if (current == null) {
+            return 4;
+        }
+        int size = 16;
+        if (current.palette != null) {
+            size += 16 + current.palette.length * 2;
+        }
+        if (current.data != null) {
+            size += 16 + current.data.length * 8;
+        }
+        if (paletteIndices != null) {
+            size += 16 + paletteIndices.capacity() * 7;
+        }
+        return size;
+    }
+
+    @Override
+    public int getElementSizeInBits() {
+        return layout.bits;
+    }
+
+    /**
+     * @return The count of distinct values the array has held since it was created or deflated, 0 if it stores
+     *         its values directly.
+     */
+    public int getPaletteSize() {
+        return layout.paletteSize;
+    }
+
+    @Override
+    public int get(int x, int y, int z) {
+        return get(pos(x, y, z));
+    }
+
+    @Override
+    public int set(int x, int y, int z, int value) {
+        int index = pos(x, y, z);
+        int old = get(index);
+        if (old != (short) value) {
+            int entry = entryOf((short) value);
+            setEntry(layout.data, index, layout.bits, entry);
+        }
+        return old;
+    }
+
+    @Override
+    public boolean set(int x, int y, int z, int value, int expected) {
+        int index = pos(x, y, z);
+        int old = get(index);
+        if (old == expected) {
+            if (old != (short) value) {
+                int entry = entryOf((short) value);
+                setEntry(layout.data, index, layout.bits, entry);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private int get(int index) {
+        Layout current = layout;
+        int entry = entry(current, index);
+        if (current.palette == null) {
+            return (short) entry;
+        }
+        if (entry >= current.paletteSize) {
+            /* The entry was written after the layout with its value had been published */
+            return get(index);
+        }
+        return current.palette[entry];
+    }
+
+    /**
+     * Reads an element of a layout which is not written to any more.
+     */
+    private static int get(Layout layout, int index) {
+        int entry = entry(layout, index);
+        return layout.palette == null ? (short) entry : layout.palette[entry];
+    }
+
+    private static int entry(Layout layout, int index) {
+        if (layout.bits == 0) {
+            return 0;
+        }
+        long word = layout.data[index >>> layout.wordShift];
+        return (int) (word >>> ((index & layout.indexMask) << layout.bitShift)) & layout.entryMask;
+    }
+
+    private static void setEntry(long[] data, int index, int bits, int entry) {
+        int entriesPerWord = Long.SIZE / bits;
+        int wordIndex = index / entriesPerWord;
+        int shift = (index % entriesPerWord) * bits;
+        long mask = ((1L << bits) - 1) << shift;
+        data[wordIndex] = (data[wordIndex] & ~mask) | (((long) entry << shift) & mask);
+    }
+
+    /**
+     * @return The entry to store for the value, adding it to the palette and widening the entries if needed
+     */
+    private int entryOf(short value) {
+        Layout current = layout;
+        if (current.palette == null) {
+            return value & 0xFFFF;
+        }
+        int entry = indexOf(current, value);
+        if (entry >= 0) {
+            return entry;
+        }
+        if (current.paletteSize == current.palette.length) {
+            current = widen(current);
+            if (current.palette == null) {
+                return value & 0xFFFF;
+            }
+        }
+        entry = current.paletteSize;
+        short[] palette = Arrays.copyOf(current.palette, current.palette.length);
+        palette[entry] = value;
+        layout = new Layout(current.bits, palette, entry + 1, current.data);
+        if (paletteIndices != null) {
+            paletteIndices.put(value, entry);
+        } else if (entry + 1 > LINEAR_SEARCH_LIMIT) {
+            indexPalette();
+        }
+        return entry;
+    }
+
+    private int indexOf(Layout current, short value) {
+        if (paletteIndices != null) {
+            return paletteIndices.get(value);
+        }
+        short[] palette = current.palette;
+        for (int i = 0; i < current.paletteSize; i++) {
+            if (palette[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void indexPalette() {
+        Layout current = layout;
+        paletteIndices = new TShortIntHashMap(current.paletteSize * 2, 0.5f, (short) 0, -1);
+        for (int i = 0; i < current.paletteSize; i++) {
+            paletteIndices.put(current.palette[i], i);
+        }
+    }
+
+    /**
+     * Switches to entries of the next size, or to storing the values directly once the palette would have more than
+     * 256 entries.
+     *
+     * @return The new layout, which is published already
+     */
+    private Layout widen(Layout current) {
+        int bits = current.bits == 0 ? 1 : current.bits * 2;
+        long[] data = new long[wordCount(bits)];
+        short[] palette;
+        if (bits == MAX_BITS) {
+            for (int i = 0; i < getSizeXYZ(); i++) {
+                setEntry(data, i, bits, get(current, i) & 0xFFFF);
+            }
+            palette = null;
+            paletteIndices = null;
+        } else {
+            for (int i = 0; current.bits > 0 && i < getSizeXYZ(); i++) {
+                long word = current.data[i >>> current.wordShift];
+                setEntry(data, i, bits, (int) (word >>> ((i & current.indexMask) << current.bitShift)) & current.entryMask);
+            }
+            palette = Arrays.copyOf(current.palette, 1 << bits);
+        }
+        Layout widened = new Layout(bits, palette, palette == null ? 0 : current.paletteSize, data);
+        layout = widened;
+        return widened;
+    }
+
+    private int wordCount(int bits) {
+        int entriesPerWord = Long.SIZE / bits;
+        return (getSizeXYZ() + entriesPerWord - 1) / entriesPerWord;
+    }
+
+    private static int bitsFor(int paletteSize) {
+        int bits = 0;
+        while ((1 << bits) < paletteSize) {
+            bits = bits == 0 ? 1 : bits * 2;
+        }
+        return bits;
+    }
+
+    /**
+     * The storage of the array. It is replaced as a whole when the entries are widened or a value is added to the
+     * palette, so threads reading the array while it is written to always see matching palette and entries. Only the
+     * entries in {@code data} are written in place.
+     */
+    private static final class Layout {
+        private final int bits;
+        private final int bitShift;
+        private final int wordShift;
+        private final int indexMask;
+        private final int entryMask;
+        /* The values of the entries, null when the entries are the values */
+        private final short[] palette;
+        /* The count of values in the palette, the rest of it is unused */
+        private final int paletteSize;
+        /* The entries packed into longs, null when all elements are palette[0] */
+        private final long[] data;
+
+        Layout(int bits, short[] palette, int paletteSize, long[] data) {
+            this.bits = bits;
+            this.palette = palette;
+            this.paletteSize = paletteSize;
+            this.data = data;
+            bitShift = Integer.numberOfTrailingZeros(bits);
+            if (bits > 0) {
+                int entriesPerWord = Long.SIZE / bits;
+                wordShift = Integer.numberOfTrailingZeros(entriesPerWord);
+                indexMask = entriesPerWord - 1;
+                entryMask = (1 << bits) - 1;
+            } else {
+                wordShift = 0;
+                indexMask = 0;
+                entryMask = 0;
+            }
+        }
+    }
+
+    public static class SerializationHandler extends TeraArray.BasicSerializationHandler<TeraPaletteArray> {
+
+        @Override
+        public boolean canHandle(Class<?> clazz) {
+            return TeraPaletteArray.class.equals(clazz);
+        }
+
+        @Override
+        protected int internalComputeMinimumBufferSize(TeraPaletteArray array) {
+            Layout layout = array.layout;
+            int size = 12 + layout.paletteSize * 2;
+            if (layout.data != null) {
+                size += layout.data.length * 8;
+            }
+            return size;
+        }
+
+        @Override
+        protected void internalSerialize(TeraPaletteArray array, ByteBuffer buffer) {
+            Layout layout = array.layout;
+            buffer.putInt(layout.bits);
+            buffer.putInt(layout.paletteSize);
+            for (int i = 0; i < layout.paletteSize; i++) {
+                buffer.putShort(layout.palette[i]);
+            }
+            if (layout.data == null) {
+                buffer.putInt(0);
+            } else {
+                buffer.putInt(layout.data.length);
+                LongBuffer lbuffer = buffer.asLongBuffer();
+                lbuffer.put(layout.data);
+                buffer.position(buffer.position() + layout.data.length * 8);
+            }
+        }
+
+        @Override
+        protected TeraPaletteArray internalDeserialize(int sizeX, int sizeY, int sizeZ, ByteBuffer buffer) {
+            int bits = buffer.getInt();
+            int paletteSize = buffer.getInt();
+            short[] palette = null;
+            if (bits < MAX_BITS) {
+                palette = new short[1 << bits];
+                for (int i = 0; i < paletteSize; i++) {
+                    palette[i] = buffer.getShort();
+                }
+            }
+            int length = buffer.getInt();
+            long[] data = null;
+            if (length > 0) {
+                data = new long[length];
+                LongBuffer lbuffer = buffer.asLongBuffer();
+                lbuffer.get(data, 0, length);
+                buffer.position(buffer.position() + length * 8);
+            }
+            Layout layout = new Layout(bits, palette, bits < MAX_BITS ? paletteSize : 0, data);
+            return new TeraPaletteArray(sizeX, sizeY, sizeZ, layout);
+        }
+    }
+
+    public static class Factory implements TeraArray.Factory<TeraPaletteArray> {
+
+        @Override
+        public Class<TeraPaletteArray> getArrayClass() {
+            return TeraPaletteArray.class;
+        }
+
+        @Override
+        public SerializationHandler createSerializationHandler() {
+            return new SerializationHandler();
+        }
+
+        @Override
+        public TeraPaletteArray create() {
+            return new TeraPaletteArray();
+        }
+
+        @Override
+        public TeraPaletteArray create(int sizeX, int sizeY, int sizeZ) {
+            return new TeraPaletteArray(sizeX, sizeY, sizeZ);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.world.chunks.deflate;
+
+import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraPaletteArray;
+
+/**
+ * Deflates dense 16 bit arrays into {@link TeraPaletteArray}s where those take less memory than the arrays the
+ * {@link TeraStandardDeflator} would create. All other arrays are deflated like the standard deflator does.
+ * <p>
+ * Reading a palette array is several times slower than reading a dense array, so use this only for data which is
+ * mostly kept rather than read, like the block data of chunks far away.
+ */
+public class TeraPaletteDeflator extends TeraStandardDeflator {
+
+    @Override
+    public TeraArray deflateDenseArray16Bit(short[] data, int rowSize, int sizeX, int sizeY, int sizeZ) {
+        TeraArray standard = super.deflateDenseArray16Bit(data, rowSize, sizeX, sizeY, sizeZ);
+        TeraPaletteArray palette = new TeraPaletteArray(sizeX, sizeY, sizeZ, data);
+        if (standard != null
+                && standard.getEstimatedMemoryConsumptionInBytes() <= palette.getEstimatedMemoryConsumptionInBytes()) {
+            return standard;
+        }
+        return palette.getElementSizeInBits() < 16 ? palette : standard;
+    }
+}
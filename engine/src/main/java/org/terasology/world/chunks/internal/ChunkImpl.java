@@ -36,11 +36,13 @@
 import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
 import org.terasology.world.chunks.blockdata.TeraArray;
 import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
-import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.world.chunks.blockdata.TeraLazyDenseArray8Bit;
 import org.terasology.world.chunks.deflate.TeraDeflator;
+import org.terasology.world.chunks.deflate.TeraPaletteDeflator;
 import org.terasology.world.chunks.deflate.TeraStandardDeflator;
 
 import java.text.DecimalFormat;
+import java.util.function.Supplier;
 
 /**
  * Chunks are the basic components of the world. Each chunk contains a fixed amount of blocks
@@ -57,6 +59,8 @@ public class ChunkImpl implements Chunk {
     private static final DecimalFormat PERCENT_FORMAT = new DecimalFormat("0.##");
     private static final DecimalFormat SIZE_FORMAT = new DecimalFormat("#,###");
 
+    private static final ThreadLocal<short[]> COLUMN_IDS = ThreadLocal.withInitial(() -> new short[ChunkConstants.SIZE_Y]);
+
     private final Vector3i chunkPos = new Vector3i();
 
     private BlockManager blockManager;
@@ -69,6 +73,7 @@ public class ChunkImpl implements Chunk {
     private volatile TeraArray blockDataSnapshot;
     private TeraArray[] extraData;
     private volatile TeraArray[] extraDataSnapshots;
+    private volatile int modificationCount;
 
     private AABB aabb;
     private Region3i region;
@@ -97,9 +102,9 @@ public ChunkImpl(Vector3i chunkPos, TeraArray blocks, TeraArray[] extra, BlockMa
         this.chunkPos.set(Preconditions.checkNotNull(chunkPos));
         this.blockData = Preconditions.checkNotNull(blocks);
         this.extraData = Preconditions.checkNotNull(extra);
-        sunlightData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
-        sunlightRegenData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
-        lightData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
+        sunlightData = new TeraLazyDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
+        sunlightRegenData = new TeraLazyDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
+        lightData = new TeraLazyDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
         dirty = true;
         this.blockManager = blockManager;
         region = Region3i.createFromMinAndSize(new Vector3i(chunkPos.x * ChunkConstants.SIZE_X, chunkPos.y * ChunkConstants.SIZE_Y, chunkPos.z * ChunkConstants.SIZE_Z),
@@ -158,6 +163,16 @@ public final Block getBlock(int x, int y, int z) {
         return blockManager.getBlock(id);
     }
 
+    @Override
+    public Block[] getBlockColumn(int x, int z, Block[] dest) {
+        short[] ids = COLUMN_IDS.get();
+        TeraArray data = blockData;
+        for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+            ids[y] = (short) data.get(x, y, z);
+        }
+        return blockManager.getBlocks(ids, ChunkConstants.SIZE_Y, dest);
+    }
+
     // This could be made to check for and clear extraData fields as appropriate,
     // but that could take an excessive amount of time,
     // so whatever sets a block to something extraData sensitive should also initialise the extra data.
@@ -167,6 +182,7 @@ public Block setBlock(int x, int y, int z, Block block) {
             blockData = blockData.copy();
         }
         int oldValue = blockData.set(x, y, z, block.getId());
+        modificationCount++;
         return blockManager.getBlock((short) oldValue);
     }
 
@@ -198,7 +214,7 @@ public boolean setSunlight(BaseVector3i pos, byte amount) {
     @Override
     public boolean setSunlight(int x, int y, int z, byte amount) {
         Preconditions.checkArgument(amount >= 0 && amount <= ChunkConstants.MAX_SUNLIGHT);
-        return sunlightData.set(x, y, z, amount) != amount;
+        return setLightData(sunlightData, x, y, z, amount);
     }
 
     @Override
@@ -219,7 +235,7 @@ public boolean setSunlightRegen(BaseVector3i pos, byte amount) {
     @Override
     public boolean setSunlightRegen(int x, int y, int z, byte amount) {
         Preconditions.checkArgument(amount >= 0 && amount <= ChunkConstants.MAX_SUNLIGHT_REGEN);
-        return sunlightRegenData.set(x, y, z, amount) != amount;
+        return setLightData(sunlightRegenData, x, y, z, amount);
     }
 
     @Override
@@ -240,7 +256,25 @@ public boolean setLight(BaseVector3i pos, byte amount) {
     @Override
     public boolean setLight(int x, int y, int z, byte amount) {
         Preconditions.checkArgument(amount >= 0 && amount <= ChunkConstants.MAX_LIGHT);
-        return lightData.set(x, y, z, amount) != amount;
+        return setLightData(lightData, x, y, z, amount);
+    }
+
+    /**
+     * Sets a value of one of the light arrays, reporting to the {@link ChunkMonitor} when a uniform array has to
+     * allocate its elements.
+     *
+     * @return Whether the value changed
+     */
+    private boolean setLightData(TeraArray data, int x, int y, int z, byte amount) {
+        if (data instanceof TeraLazyDenseArray8Bit && ((TeraLazyDenseArray8Bit) data).isUniform()) {
+            int oldSize = getEstimatedMemoryConsumptionInBytes();
+            boolean changed = data.set(x, y, z, amount) != amount;
+            if (changed) {
+                ChunkMonitor.fireChunkInflated(this, oldSize, getEstimatedMemoryConsumptionInBytes());
+            }
+            return changed;
+        }
+        return data.set(x, y, z, amount) != amount;
     }
 
     @Override
@@ -264,6 +298,7 @@ public void setExtraData(int index, int x, int y, int z, int value) {
             extraData[index] = extraData[index].copy();
         }
         extraData[index].set(x, y, z, value);
+        modificationCount++;
     }
 
     @Override
@@ -350,6 +385,21 @@ public AABB getAABB() {
 
     @Override
     public void deflate() {
+        deflate(new TeraStandardDeflator());
+    }
+
+    /**
+     * Deflates the chunk like {@link #deflate()}, but stores the block data in a
+     * {@link org.terasology.world.chunks.blockdata.TeraPaletteArray} where that takes less memory.
+     * <p>
+     * Reading the blocks of a palette array is several times slower than of a dense array, so this is only used when
+     * enabled through {@link org.terasology.config.SystemConfig#isPaletteBlockStorage()}.
+     */
+    public void deflateToPalette() {
+        deflate(new TeraPaletteDeflator());
+    }
+
+    private void deflate(TeraDeflator blockDeflator) {
         final TeraDeflator def = new TeraStandardDeflator();
         if (logger.isDebugEnabled()) {
             int blocksSize = blockData.getEstimatedMemoryConsumptionInBytes();
@@ -362,7 +412,7 @@ public void deflate() {
             }
             int totalSize = blocksSize + sunlightRegenSize + sunlightSize + lightSize + extraSize;
 
-            blockData = def.deflate(blockData);
+            blockData = blockDeflator.deflate(blockData);
             lightData = def.deflate(lightData);
             for (int i = 0; i < extraData.length; i++) {
                 extraData[i] = def.deflate(extraData[i]);
@@ -398,7 +448,7 @@ public void deflate() {
             ChunkMonitor.fireChunkDeflated(this, totalSize, totalReduced);
         } else {
             final int oldSize = getEstimatedMemoryConsumptionInBytes();
-            blockData = def.deflate(blockData);
+            blockData = blockDeflator.deflate(blockData);
             lightData = def.deflate(lightData);
             for (int i = 0; i < extraData.length; i++) {
                 extraData[i] = def.deflate(extraData[i]);
@@ -516,9 +566,9 @@ public void markReady() {
     public void prepareForReactivation() {
         if (disposed) {
             disposed = false;
-            sunlightData = new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
-            sunlightRegenData = new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
-            lightData = new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+            sunlightData = new TeraLazyDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+            sunlightRegenData = new TeraLazyDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+            lightData = new TeraLazyDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
         }
     }
 
@@ -581,6 +631,22 @@ public EntityData.ChunkStore.Builder encode() {
         return ChunkSerializer.encode(chunkPos, blockData, extraData);
     }
 
+    @Override
+    public Supplier<EntityData.ChunkStore.Builder> copyForEncoding() {
+        Vector3i pos = new Vector3i(chunkPos);
+        TeraArray blockDataCopy = blockData.copy();
+        TeraArray[] extraDataCopies = new TeraArray[extraData.length];
+        for (int i = 0; i < extraData.length; i++) {
+            extraDataCopies[i] = extraData[i].copy();
+        }
+        return () -> ChunkSerializer.encode(pos, blockDataCopy, extraDataCopies);
+    }
+
+    @Override
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
     /**
      * Calling this method results in a (cheap) snapshot to be taken of the current state of the chunk.
      * This snapshot can then be obtained and rleased by calling {@link #encodeAndReleaseSnapshot()}.
@@ -6,6 +6,7 @@
 import com.google.common.collect.Lists;
 import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.TShortObjectMap;
@@ -53,7 +54,7 @@
 import org.terasology.world.internal.ChunkViewCore;
 import org.terasology.world.internal.ChunkViewCoreImpl;
 import org.terasology.world.propagation.light.InternalLightProcessor;
-import org.terasology.world.propagation.light.LightMerger;
+import org.terasology.world.propagation.light.ParallelLightMerger;
 
 import java.util.Collection;
 import java.util.Iterator;
@@ -61,6 +62,8 @@
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -100,16 +103,28 @@ public class LocalChunkProvider implements ChunkProvider {
     private final WorldGenerator generator;
     private final BlockManager blockManager;
     private final ExtraBlockDataManager extraDataManager;
+    private final int chunkProcessingThreads;
     private ChunkProcessingPipeline loadingPipeline;
+    private ExecutorService lightMergingExecutor;
     private TaskMaster<ChunkUnloadRequest> unloadRequestTaskMaster;
     private EntityRef worldEntity = EntityRef.NULL;
     private BlockEntityRegistry registry;
 
     private RelevanceSystem relevanceSystem;
+    private volatile boolean paletteBlockStorage;
 
     public LocalChunkProvider(StorageManager storageManager, EntityManager entityManager, WorldGenerator generator,
                               BlockManager blockManager, ExtraBlockDataManager extraDataManager,
                               Map<Vector3i, Chunk> chunkCache) {
+        this(storageManager, entityManager, generator, blockManager, extraDataManager, chunkCache, 0);
+    }
+
+    /**
+     * @param chunkProcessingThreads count of threads for chunk generation, 0 to size it to the available cores.
+     */
+    public LocalChunkProvider(StorageManager storageManager, EntityManager entityManager, WorldGenerator generator,
+                              BlockManager blockManager, ExtraBlockDataManager extraDataManager,
+                              Map<Vector3i, Chunk> chunkCache, int chunkProcessingThreads) {
         this.storageManager = storageManager;
         this.entityManager = entityManager;
         this.generator = generator;
@@ -117,6 +132,9 @@ public LocalChunkProvider(StorageManager storageManager, EntityManager entityMan
         this.extraDataManager = extraDataManager;
         this.unloadRequestTaskMaster = TaskMaster.createFIFOTaskMaster("Chunk-Unloader", 4);
         this.chunkCache = chunkCache;
+        this.chunkProcessingThreads = chunkProcessingThreads > 0
+                ? chunkProcessingThreads
+                : ChunkProcessingPipeline.getDefaultThreadCount();
         ChunkMonitor.fireChunkProviderInitialized(this);
     }
 
@@ -391,6 +409,7 @@ public void restart() {
     @Override
     public void shutdown() {
         loadingPipeline.shutdown();
+        lightMergingExecutor.shutdownNow();
         unloadRequestTaskMaster.shutdown(new ChunkUnloadRequest(), true);
     }
 
@@ -429,6 +448,7 @@ public boolean reloadChunk(Vector3i coords) {
     public void purgeWorld() {
         ChunkMonitor.fireChunkProviderDisposed(this);
         loadingPipeline.shutdown();
+        lightMergingExecutor.shutdownNow();
         unloadRequestTaskMaster.shutdown(new ChunkUnloadRequest(), true);
         getAllChunks().stream().filter(ManagedChunk::isReady).forEach(chunk -> {
             worldEntity.send(new BeforeChunkUnload(chunk.getPosition()));
@@ -439,24 +459,7 @@ public void purgeWorld() {
         storageManager.deleteWorld();
         worldEntity.send(new PurgeWorldEvent());
 
-        loadingPipeline = new ChunkProcessingPipeline(this::getChunk, relevanceSystem.createChunkTaskComporator());
-        loadingPipeline.addStage(
-                ChunkTaskProvider.create("Chunk generate internal lightning",
-                        InternalLightProcessor::generateInternalLighting))
-                .addStage(ChunkTaskProvider.create("Chunk deflate", Chunk::deflate))
-                .addStage(ChunkTaskProvider.createMulti("Light merging",
-                        chunks -> {
-                            Chunk[] localchunks = chunks.toArray(new Chunk[0]);
-                            return new LightMerger().merge(localchunks);
-                        },
-                        pos -> StreamSupport.stream(BlockRegions.iterableInPlace(BlockRegions.createFromMinAndMax(
-                                pos.x() - 1, pos.y() - 1, pos.z() - 1,
-                                pos.x() + 1, pos.y() + 1, pos.z() + 1
-                        )).spliterator(), false)
-                                .map(org.joml.Vector3i::new)
-                                .collect(Collectors.toSet())
-                ))
-                .addStage(ChunkTaskProvider.create("Chunk ready", this::processReadyChunk));
+        loadingPipeline = createLoadingPipeline();
         unloadRequestTaskMaster = TaskMaster.createFIFOTaskMaster("Chunk-Unloader", 8);
         ChunkMonitor.fireChunkProviderInitialized(this);
 
@@ -477,26 +480,53 @@ private boolean isChunkReady(Chunk chunk) {
         return chunk != null && chunk.isReady();
     }
 
+    /**
+     * @param paletteBlockStorage whether deflated chunks store their blocks in palette arrays, see
+     *         {@link ChunkImpl#deflateToPalette()}.
+     */
+    public void setPaletteBlockStorage(boolean paletteBlockStorage) {
+        this.paletteBlockStorage = paletteBlockStorage;
+    }
+
+    private void deflate(Chunk chunk) {
+        if (paletteBlockStorage && chunk instanceof ChunkImpl) {
+            ((ChunkImpl) chunk).deflateToPalette();
+        } else {
+            chunk.deflate();
+        }
+    }
+
     // TODO: move loadingPipeline initialization into constructor.
     public void setRelevanceSystem(RelevanceSystem relevanceSystem) {
         this.relevanceSystem = relevanceSystem;
-        loadingPipeline = new ChunkProcessingPipeline(this::getChunk, relevanceSystem.createChunkTaskComporator());
-        loadingPipeline.addStage(
+        loadingPipeline = createLoadingPipeline();
+    }
+
+    /**
+     * Lighting stages get own threads, so they keep up while the shared threads are busy generating. Light merging
+     * tasks hand their chunk to a {@link ParallelLightMerger}, which merges the chunks waiting at the same time on
+     * its own threads without merging neighbouring chunks concurrently.
+     */
+    private ChunkProcessingPipeline createLoadingPipeline() {
+        int lightingThreads = Math.max(1, chunkProcessingThreads / 4);
+        lightMergingExecutor = Executors.newFixedThreadPool(lightingThreads,
+                new ThreadFactoryBuilder().setNameFormat("Light-Merging-%d").setDaemon(true).build());
+        ParallelLightMerger lightMerger = new ParallelLightMerger(lightMergingExecutor);
+        ChunkProcessingPipeline pipeline = new ChunkProcessingPipeline(this::getChunk,
+                relevanceSystem.createChunkTaskComporator(), chunkProcessingThreads);
+        pipeline.addStage(
                 ChunkTaskProvider.create("Chunk generate internal lightning",
-                        InternalLightProcessor::generateInternalLighting))
-                .addStage(ChunkTaskProvider.create("Chunk deflate", Chunk::deflate))
-                .addStage(ChunkTaskProvider.createMulti("Light merging",
-                        chunks -> {
-                            Chunk[] localchunks = chunks.toArray(new Chunk[0]);
-                            return new LightMerger().merge(localchunks);
-                        },
+                        InternalLightProcessor::generateInternalLighting), lightingThreads)
+                .addStage(ChunkTaskProvider.create("Chunk deflate", this::deflate))
+                .addStage(ChunkTaskProvider.createMulti("Light merging", lightMerger::merge,
                         pos -> StreamSupport.stream(BlockRegions.iterableInPlace(BlockRegions.createFromMinAndMax(
                                 pos.x() - 1, pos.y() - 1, pos.z() - 1,
                                 pos.x() + 1, pos.y() + 1, pos.z() + 1
                         )).spliterator(), false)
                                 .map(org.joml.Vector3i::new)
                                 .collect(Collectors.toCollection(Sets::newLinkedHashSet))
-                ))
+                ), lightingThreads)
                 .addStage(ChunkTaskProvider.create("Chunk ready", this::processReadyChunk));
+        return pipeline;
     }
 }
@@ -0,0 +1,110 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.world.chunks.pipeline;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reverse index from chunk position to the {@link ChunkProcessingInfo}s which are waiting for the chunk at that
+ * position to reach some stage.
+ * <p>
+ * Every waiting chunk is registered against exactly one missing requirement at a time. When the required chunk
+ * advances, only its dependents are released and re-checked by {@link ChunkProcessingPipeline}, instead of
+ * rescanning every pending task.
+ */
+final class ChunkDependencyIndex {
+    private final Map<Vector3ic, List<Dependent>> dependentsByPosition = Maps.newHashMap();
+    private final Map<ChunkProcessingInfo, Vector3ic> awaitedPositions = Maps.newHashMap();
+
+    /**
+     * Register {@code dependent} as waiting for the chunk at {@code position}.
+     *
+     * @param dependent chunk processing which cannot run yet.
+     * @param position position of the missing chunk.
+     * @param requiredStage index of the stage the missing chunk must reach.
+     */
+    synchronized void await(ChunkProcessingInfo dependent, Vector3ic position, int requiredStage) {
+        remove(dependent);
+        Vector3ic key = new Vector3i(position);
+        dependentsByPosition.computeIfAbsent(key, k -> Lists.newArrayList()).add(new Dependent(dependent,
+                requiredStage));
+        awaitedPositions.put(dependent, key);
+    }
+
+    /**
+     * Remove and return every dependent waiting for the chunk at {@code position} to reach {@code reachedStage} or an
+     * earlier stage.
+     *
+     * @param position position of the chunk which advanced.
+     * @param reachedStage index of the stage the chunk has reached.
+     * @return released dependents, which must be re-checked by the caller.
+     */
+    synchronized List<ChunkProcessingInfo> release(Vector3ic position, int reachedStage) {
+        List<Dependent> dependents = dependentsByPosition.get(position);
+        if (dependents == null) {
+            return Collections.emptyList();
+        }
+        List<ChunkProcessingInfo> released = Lists.newArrayList();
+        Iterator<Dependent> iterator = dependents.iterator();
+        while (iterator.hasNext()) {
+            Dependent dependent = iterator.next();
+            if (dependent.requiredStage <= reachedStage) {
+                iterator.remove();
+                awaitedPositions.remove(dependent.processingInfo);
+                released.add(dependent.processingInfo);
+            }
+        }
+        if (dependents.isEmpty()) {
+            dependentsByPosition.remove(position);
+        }
+        return released;
+    }
+
+    /**
+     * Forget {@code dependent}, for example because its processing was stopped.
+     *
+     * @param dependent chunk processing to forget.
+     */
+    synchronized void remove(ChunkProcessingInfo dependent) {
+        Vector3ic position = awaitedPositions.remove(dependent);
+        if (position == null) {
+            return;
+        }
+        List<Dependent> dependents = dependentsByPosition.get(position);
+        dependents.removeIf(d -> d.processingInfo == dependent);
+        if (dependents.isEmpty()) {
+            dependentsByPosition.remove(position);
+        }
+    }
+
+    synchronized void clear() {
+        dependentsByPosition.clear();
+        awaitedPositions.clear();
+    }
+
+    /**
+     * @return count of chunk processings waiting for another chunk.
+     */
+    synchronized int size() {
+        return awaitedPositions.size();
+    }
+
+    private static final class Dependent {
+        private final ChunkProcessingInfo processingInfo;
+        private final int requiredStage;
+
+        private Dependent(ChunkProcessingInfo processingInfo, int requiredStage) {
+            this.processingInfo = processingInfo;
+            this.requiredStage = requiredStage;
+        }
+    }
+}
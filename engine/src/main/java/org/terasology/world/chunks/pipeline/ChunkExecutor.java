@@ -0,0 +1,173 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.world.chunks.pipeline;
+
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.world.chunks.Chunk;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs chunk tasks in priority order on a fixed set of worker threads.
+ * <p>
+ * Tasks are queued in lanes. Lane {@link #SHARED_LANE} is served by the shared threads, every other lane has threads
+ * dedicated to it, so tasks there are never starved by long running tasks in the shared lane. Shared threads steal
+ * from the other lanes when the shared lane is empty.
+ * <p>
+ * Lanes are ordered with the pipeline comparator directly, which sees the queued {@link PositionFuture}s.
+ */
+final class ChunkExecutor {
+    static final int SHARED_LANE = 0;
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkExecutor.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /* One condition per lane; shared workers wait on the one of the shared lane */
+    private final List<Condition> workAvailable = Lists.newArrayList();
+    private final Comparator<Future<Chunk>> comparator;
+    private final List<Queue<PositionFuture<Chunk>>> lanes = Lists.newArrayList();
+    private final String name;
+    private volatile boolean shutdown;
+    private int threadIndex;
+
+    /**
+     * @param name prefix of worker thread names.
+     * @param sharedThreads count of threads serving the shared lane.
+     * @param comparator priority of tasks, lowest first.
+     */
+    ChunkExecutor(String name, int sharedThreads, Comparator<Future<Chunk>> comparator) {
+        this.name = name;
+        this.comparator = comparator;
+        lanes.add(new PriorityQueue<>(comparator));
+        workAvailable.add(lock.newCondition());
+        for (int i = 0; i < sharedThreads; i++) {
+            startWorker(-1);
+        }
+    }
+
+    /**
+     * Create lane with dedicated threads.
+     *
+     * @param dedicatedThreads count of threads serving only the new lane.
+     * @return index of the new lane.
+     */
+    int addLane(int dedicatedThreads) {
+        int lane;
+        lock.lock();
+        try {
+            lanes.add(new PriorityQueue<>(comparator));
+            workAvailable.add(lock.newCondition());
+            lane = lanes.size() - 1;
+        } finally {
+            lock.unlock();
+        }
+        for (int i = 0; i < dedicatedThreads; i++) {
+            startWorker(lane);
+        }
+        return lane;
+    }
+
+    void execute(PositionFuture<Chunk> task, int lane) {
+        lock.lock();
+        try {
+            if (shutdown) {
+                logger.error("Cannot run {} because executor is shut down", task);
+                return;
+            }
+            lanes.get(lane).add(task);
+            /* Wake a single worker: one of the lane if idle, else a shared one which may steal the task */
+            Condition laneAvailable = workAvailable.get(lane);
+            if (lock.hasWaiters(laneAvailable)) {
+                laneAvailable.signal();
+            } else {
+                workAvailable.get(SHARED_LANE).signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop all tasks which are not running yet.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            lanes.forEach(Queue::clear);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            lanes.forEach(Queue::clear);
+            workAvailable.forEach(Condition::signalAll);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isShutdown() {
+        return shutdown;
+    }
+
+    private void startWorker(int lane) {
+        Thread thread = new Thread(() -> work(lane));
+        thread.setDaemon(true);
+        thread.setName(name + "-" + threadIndex++);
+        thread.start();
+    }
+
+    /**
+     * Worker loop.
+     *
+     * @param lane lane served by the worker, -1 for shared workers.
+     */
+    private void work(int lane) {
+        while (true) {
+            PositionFuture<Chunk> task;
+            lock.lock();
+            try {
+                while ((task = poll(lane)) == null) {
+                    if (shutdown) {
+                        return;
+                    }
+                    workAvailable.get(lane >= 0 ? lane : SHARED_LANE).await();
+                }
+            } catch (InterruptedException e) {
+                if (!shutdown) {
+                    logger.error("Chunk processing thread was interrupted", e);
+                }
+                return;
+            } finally {
+                lock.unlock();
+            }
+            task.run();
+        }
+    }
+
+    private PositionFuture<Chunk> poll(int lane) {
+        if (lane >= 0) {
+            return lanes.get(lane).poll();
+        }
+        for (Queue<PositionFuture<Chunk>> queue : lanes) {
+            PositionFuture<Chunk> task = queue.poll();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+}
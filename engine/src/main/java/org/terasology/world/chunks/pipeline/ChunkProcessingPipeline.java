@@ -6,6 +6,7 @@
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.SettableFuture;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
@@ -13,7 +14,6 @@
 import org.slf4j.LoggerFactory;
 import org.terasology.monitoring.ThreadActivity;
 import org.terasology.monitoring.ThreadMonitor;
-import org.terasology.utilities.ReflectionUtil;
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.pipeline.stages.ChunkTask;
 import org.terasology.world.chunks.pipeline.stages.ChunkTaskProvider;
@@ -22,60 +22,57 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.RunnableFuture;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * Manages execution of chunk processing.
  * <p>
  * {@link Chunk}s will processing on stages {@link ChunkProcessingPipeline#addStage}
+ * <p>
+ * Chunk tasks which miss required chunks are parked in a {@link ChunkDependencyIndex}, so when a chunk moves to the
+ * next stage only tasks depending on it are checked again.
  */
 public class ChunkProcessingPipeline {
 
-    private static final int NUM_TASK_THREADS = 4;
     private static final Logger logger = LoggerFactory.getLogger(ChunkProcessingPipeline.class);
 
     private final List<ChunkTaskProvider> stages = Lists.newArrayList();
+    private final Map<ChunkTaskProvider, Integer> stageLanes = Maps.newHashMap();
     private final Thread reactor;
-    private final CompletionService<Chunk> chunkProcessor;
-    private final ThreadPoolExecutor executor;
+    private final BlockingQueue<PositionFuture<Chunk>> completedTasks;
+    private final ChunkExecutor executor;
     private final Function<Vector3ic, Chunk> chunkProvider;
     private final Map<Vector3ic, ChunkProcessingInfo> chunkProcessingInfoMap = Maps.newConcurrentMap();
-    private int threadIndex;
+    private final ChunkDependencyIndex dependencyIndex = new ChunkDependencyIndex();
 
     /**
-     * Create ChunkProcessingPipeline.
+     * Create ChunkProcessingPipeline with threads sized to the available cores.
      */
     public ChunkProcessingPipeline(Function<Vector3ic, Chunk> chunkProvider, Comparator<Future<Chunk>> comparable) {
+        this(chunkProvider, comparable, 0);
+    }
+
+    /**
+     * Create ChunkProcessingPipeline.
+     *
+     * @param numThreads count of threads for generation and for stages without own threads, {@code 0} to size it
+     *         to the available cores.
+     */
+    public ChunkProcessingPipeline(Function<Vector3ic, Chunk> chunkProvider, Comparator<Future<Chunk>> comparable,
+                                   int numThreads) {
         this.chunkProvider = chunkProvider;
 
-        executor = new ThreadPoolExecutor(
-                NUM_TASK_THREADS,
-                NUM_TASK_THREADS, 0L,
-                TimeUnit.MILLISECONDS,
-                new PriorityBlockingQueue(800, unwrappingComporator(comparable)),
-                this::threadFactory,
-                this::rejectQueueHandler) {
-            @Override
-            protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
-                RunnableFuture<T> newTaskFor = super.newTaskFor(callable);
-                return new PositionFuture<>(newTaskFor, ((PositionalCallable) callable).getPosition());
-            }
-        };
-        chunkProcessor = new ExecutorCompletionService<>(executor,
-                new PriorityBlockingQueue<>(800, comparable));
+        executor = new ChunkExecutor("Chunk-Processing", numThreads > 0 ? numThreads : getDefaultThreadCount(),
+                comparable);
+        completedTasks = new PriorityBlockingQueue<>(800, comparable);
         reactor = new Thread(this::chunkTaskHandler);
         reactor.setDaemon(true);
         reactor.setName("Chunk-Processing-Reactor");
@@ -83,15 +80,12 @@ protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
     }
 
     /**
-     * BlackMagic method: {@link ExecutorCompletionService} wraps task with QueueingFuture (private access)
-     * there takes wrapped task for comparing in {@link ThreadPoolExecutor}
+     * Count of chunk processing threads used when none is configured. Leaves one core for the game thread.
+     *
+     * @return default count of threads.
      */
-    private Comparator unwrappingComporator(Comparator<Future<Chunk>> comparable) {
-        return (o1, o2) -> {
-                Object unwrapped1 = ReflectionUtil.readField(o1, "task");
-                Object unwrapped2 = ReflectionUtil.readField(o2, "task");
-                return comparable.compare((Future<Chunk>) unwrapped1, (Future<Chunk>) unwrapped2);
-        };
+    public static int getDefaultThreadCount() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
     }
 
     /**
@@ -99,16 +93,16 @@ private Comparator unwrappingComporator(Comparator<Future<Chunk>> comparable) {
      */
     private void chunkTaskHandler() {
         try {
-            while (!executor.isTerminated()) {
-                PositionFuture<Chunk> future = (PositionFuture<Chunk>) chunkProcessor.take();
+            while (!executor.isShutdown()) {
+                PositionFuture<Chunk> future = completedTasks.take();
                 ChunkProcessingInfo chunkProcessingInfo = chunkProcessingInfoMap.get(future.getPosition());
-                if (chunkProcessingInfo == null) {
+                if (chunkProcessingInfo == null || future.isCancelled()) {
                     continue; // chunk processing was cancelled.
                 }
                 onStageDone(future, chunkProcessingInfo);
             }
         } catch (InterruptedException e) {
-            if (!executor.isTerminated()) {
+            if (!executor.isShutdown()) {
                 logger.error("Reactor thread was interrupted", e);
             }
             reactor.interrupt();
@@ -121,15 +115,19 @@ private void onStageDone(PositionFuture<Chunk> future, ChunkProcessingInfo chunk
             chunkProcessingInfo.setChunk(future.get());
 
             //Move by stage.
+            int reachedStage;
             if (chunkProcessingInfo.hasNextStage(stages)) {
                 chunkProcessingInfo.nextStage(stages);
                 chunkProcessingInfo.makeChunkTask();
+                reachedStage = stages.indexOf(chunkProcessingInfo.getChunkTaskProvider());
+                processChunkTask(chunkProcessingInfo, reachedStage);
             } else {
                 // haven't next stage
                 chunkProcessingInfo.endProcessing();
                 cleanup(chunkProcessingInfo);
+                reachedStage = stages.size();
             }
-            processChunkTasks();
+            processDependents(chunkProcessingInfo.getPosition(), reachedStage);
 
         } catch (ExecutionException e) {
             String stageName =
@@ -144,22 +142,45 @@ private void onStageDone(PositionFuture<Chunk> future, ChunkProcessingInfo chunk
         }
     }
 
-    private void processChunkTasks() {
-        chunkProcessingInfoMap.values().stream()
-                .filter(chunkProcessingInfo -> chunkProcessingInfo.getChunkTask() != null && chunkProcessingInfo.getCurrentFuture() == null)
-                .forEach(chunkProcessingInfo -> {
-                    ChunkTask chunkTask = chunkProcessingInfo.getChunkTask();
-                    Set<Chunk> providedChunks = chunkTask.getRequirements().stream()
-                            .map(pos -> getChunkBy(chunkProcessingInfo.getChunkTaskProvider(), pos))
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toSet());
-                    if (providedChunks.size() == chunkTask.getRequirements().size()) {
-                        chunkProcessingInfo.setCurrentFuture(runTask(chunkTask, providedChunks));
-                    }
-                });
+    /**
+     * Wake the chunk tasks which are waiting for the chunk at {@code position}.
+     *
+     * @param position position of the chunk which reached a new stage.
+     * @param reachedStage index of the stage which the chunk reached, {@code stages.size()} if processing is done.
+     */
+    private void processDependents(Vector3ic position, int reachedStage) {
+        for (ChunkProcessingInfo dependent : dependencyIndex.release(position, reachedStage)) {
+            if (chunkProcessingInfoMap.get(dependent.getPosition()) == dependent) {
+                processChunkTask(dependent, stages.indexOf(dependent.getChunkTaskProvider()));
+            }
+        }
+    }
+
+    /**
+     * Run chunk task if all requirements are provided. Otherwise registers it as waiting for the first missing
+     * requirement.
+     *
+     * @param chunkProcessingInfo chunk processing with pending chunk task.
+     * @param stageIndex index of stage of the chunk task.
+     */
+    private void processChunkTask(ChunkProcessingInfo chunkProcessingInfo, int stageIndex) {
+        ChunkTask chunkTask = chunkProcessingInfo.getChunkTask();
+        if (chunkTask == null || chunkProcessingInfo.getCurrentFuture() != null) {
+            return;
+        }
+        Set<Chunk> providedChunks = Sets.newHashSetWithExpectedSize(chunkTask.getRequirements().size());
+        for (Vector3ic pos : chunkTask.getRequirements()) {
+            Chunk chunk = getChunkBy(stageIndex, pos);
+            if (chunk == null) {
+                dependencyIndex.await(chunkProcessingInfo, pos, stageIndex);
+                return;
+            }
+            providedChunks.add(chunk);
+        }
+        runTask(chunkProcessingInfo, chunkTask, providedChunks);
     }
 
-    private Chunk getChunkBy(ChunkTaskProvider requiredStage, Vector3ic position) {
+    private Chunk getChunkBy(int requiredStage, Vector3ic position) {
         Chunk chunk = chunkProvider.apply(position);
         if (chunk == null) {
             ChunkProcessingInfo candidate = chunkProcessingInfoMap.get(position);
@@ -167,30 +188,36 @@ private Chunk getChunkBy(ChunkTaskProvider requiredStage, Vector3ic position) {
                 return null;
             }
             ChunkTaskProvider candidateCurrentStage = candidate.getChunkTaskProvider();
-            if (stages.indexOf(candidateCurrentStage) >= stages.indexOf(requiredStage)) {
+            if (stages.indexOf(candidateCurrentStage) >= requiredStage) {
                 chunk = candidate.getChunk();
             }
         }
         return chunk;
     }
 
-    private Future<Chunk> runTask(ChunkTask task, Set<Chunk> chunks) {
-        return chunkProcessor.submit(new PositionalCallable(() -> {
+    private void runTask(ChunkProcessingInfo chunkProcessingInfo, ChunkTask task, Set<Chunk> chunks) {
+        int lane = stageLanes.getOrDefault(chunkProcessingInfo.getChunkTaskProvider(), ChunkExecutor.SHARED_LANE);
+        submit(chunkProcessingInfo, () -> {
             try (ThreadActivity ignored = ThreadMonitor.startThreadActivity(task.getName())) {
                 return task.apply(chunks);
             }
-        }, task.getPosition()));
-    }
-
-    private Thread threadFactory(Runnable runnable) {
-        Thread thread = new Thread(runnable);
-        thread.setDaemon(true);
-        thread.setName("Chunk-Processing-" + threadIndex++);
-        return thread;
+        }, lane);
     }
 
-    private void rejectQueueHandler(Runnable runnable, ThreadPoolExecutor threadPoolExecutor) {
-        logger.error("Cannot run {}  because queue is full", runnable);
+    /**
+     * Queue task on executor as current future of the chunk. Finished task is passed to reactor thread.
+     */
+    private void submit(ChunkProcessingInfo chunkProcessingInfo, Callable<Chunk> callable, int lane) {
+        PositionFuture<Chunk> future = new PositionFuture<Chunk>(new FutureTask<>(callable),
+                chunkProcessingInfo.getPosition()) {
+            @Override
+            public void run() {
+                super.run();
+                completedTasks.add(this);
+            }
+        };
+        chunkProcessingInfo.setCurrentFuture(future);
+        executor.execute(future, lane);
     }
 
     /**
@@ -204,6 +231,23 @@ public ChunkProcessingPipeline addStage(ChunkTaskProvider stage) {
         return this;
     }
 
+    /**
+     * Add stage to pipeline, which runs on own threads.
+     * <p>
+     * Use it for cheap stages, which must not wait behind expensive generation. Shared threads still help with the
+     * stage when they are idle.
+     *
+     * @param stage function for ChunkTask generating by Chunk.
+     * @param numThreads count of threads dedicated to the stage.
+     * @return self for Fluent api.
+     */
+    public ChunkProcessingPipeline addStage(ChunkTaskProvider stage, int numThreads) {
+        Preconditions.checkArgument(numThreads > 0, "Stage must have at least one dedicated thread");
+        stages.add(stage);
+        stageLanes.put(stage, executor.addLane(numThreads));
+        return this;
+    }
+
     /**
      * Run generator task and then run pipeline processing with it.
      * <p>
@@ -221,8 +265,7 @@ public Future<Chunk> invokeGeneratorTask(Vector3i position, Supplier<Chunk> gene
             SettableFuture<Chunk> exitFuture = SettableFuture.create();
             chunkProcessingInfo = new ChunkProcessingInfo(position, exitFuture);
             chunkProcessingInfoMap.put(position, chunkProcessingInfo);
-            chunkProcessingInfo.setCurrentFuture(chunkProcessor.submit(new PositionalCallable(generatorTask::get,
-                    position)));
+            submit(chunkProcessingInfo, generatorTask::get, ChunkExecutor.SHARED_LANE);
             return exitFuture;
         }
     }
@@ -241,13 +284,14 @@ public void shutdown() {
         executor.shutdown();
         chunkProcessingInfoMap.keySet().forEach(this::stopProcessingAt);
         chunkProcessingInfoMap.clear();
-        executor.getQueue().clear();
+        dependencyIndex.clear();
         reactor.interrupt();
     }
 
     public void restart() {
         chunkProcessingInfoMap.clear();
-        executor.getQueue().clear();
+        dependencyIndex.clear();
+        executor.clear();
         chunkProcessingInfoMap.keySet().forEach(this::stopProcessingAt);
     }
 
@@ -258,6 +302,7 @@ public void restart() {
      */
     public void stopProcessingAt(Vector3ic pos) {
         ChunkProcessingInfo removed = chunkProcessingInfoMap.remove(pos);
+        dependencyIndex.remove(removed);
         removed.getExternalFuture().cancel(true);
 
         Future<Chunk> currentFuture = removed.getCurrentFuture();
@@ -300,24 +345,11 @@ public List<Vector3ic> getProcessingPosition() {
     }
 
     /**
-     * Dummy callable for passthru position for {@link java.util.concurrent.ThreadPoolExecutor}#newTaskFor
+     * Get count of chunks which wait for another chunk before their next stage can run.
+     *
+     * @return count of waiting chunks
      */
-    private static final class PositionalCallable implements Callable<Chunk> {
-        private final Callable<Chunk> callable;
-        private final Vector3ic position;
-
-        private PositionalCallable(Callable<Chunk> callable, Vector3ic position) {
-            this.callable = callable;
-            this.position = position;
-        }
-
-        public Vector3ic getPosition() {
-            return position;
-        }
-
-        @Override
-        public Chunk call() throws Exception {
-            return callable.call();
-        }
+    public int getWaitingChunkCount() {
+        return dependencyIndex.size();
     }
 }
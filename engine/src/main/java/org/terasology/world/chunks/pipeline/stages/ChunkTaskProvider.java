@@ -8,6 +8,7 @@
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
@@ -51,6 +52,18 @@ public static ChunkTaskProvider createMulti(String name, Function<Collection<Chu
         );
     }
 
+    /**
+     * Like {@link #createMulti(String, Function, Function)}, for processing which needs the position of the chunk.
+     */
+    public static ChunkTaskProvider createMulti(String name, BiFunction<Vector3ic, Collection<Chunk>, Chunk> processing,
+                                                Function<Vector3ic, Set<Vector3ic>> requirementCalculator) {
+        return new ChunkTaskProvider(
+                name,
+                pos -> new MultiplyRequirementChunkTask(name, pos, chunks -> processing.apply(pos, chunks),
+                        requirementCalculator.apply(pos))
+        );
+    }
+
     public String getName() {
         return name;
     }
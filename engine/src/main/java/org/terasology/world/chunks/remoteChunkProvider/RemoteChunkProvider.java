@@ -6,6 +6,7 @@
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -25,19 +26,22 @@
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.event.BeforeChunkUnload;
 import org.terasology.world.chunks.event.OnChunkLoaded;
+import org.terasology.world.chunks.internal.ChunkImpl;
 import org.terasology.world.chunks.pipeline.ChunkProcessingPipeline;
 import org.terasology.world.chunks.pipeline.PositionFuture;
 import org.terasology.world.chunks.pipeline.stages.ChunkTaskProvider;
 import org.terasology.world.internal.ChunkViewCore;
 import org.terasology.world.internal.ChunkViewCoreImpl;
 import org.terasology.world.propagation.light.InternalLightProcessor;
-import org.terasology.world.propagation.light.LightMerger;
+import org.terasology.world.propagation.light.ParallelLightMerger;
 
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -60,23 +64,25 @@ public class RemoteChunkProvider implements ChunkProvider {
     private final Map<Vector3i, Chunk> chunkCache = Maps.newHashMap();
     private final BlockManager blockManager;
     private final ChunkProcessingPipeline loadingPipeline;
+    private final ExecutorService lightMergingExecutor;
     private EntityRef worldEntity = EntityRef.NULL;
     private ChunkReadyListener listener;
+    private volatile boolean paletteBlockStorage;
 
     public RemoteChunkProvider(BlockManager blockManager, LocalPlayer localPlayer) {
         this.blockManager = blockManager;
         loadingPipeline = new ChunkProcessingPipeline(this::getChunk,
                 new LocalPlayerRelativeChunkComparator(localPlayer));
+        lightMergingExecutor = Executors.newFixedThreadPool(
+                Math.max(1, ChunkProcessingPipeline.getDefaultThreadCount() / 4),
+                new ThreadFactoryBuilder().setNameFormat("Light-Merging-%d").setDaemon(true).build());
+        ParallelLightMerger lightMerger = new ParallelLightMerger(lightMergingExecutor);
 
         loadingPipeline.addStage(
                 ChunkTaskProvider.create("Chunk generate internal lightning",
                         InternalLightProcessor::generateInternalLighting))
-                .addStage(ChunkTaskProvider.create("Chunk deflate", Chunk::deflate))
-                .addStage(ChunkTaskProvider.createMulti("Light merging",
-                        chunks -> {
-                            Chunk[] localchunks = chunks.toArray(new Chunk[0]);
-                            return new LightMerger().merge(localchunks);
-                        },
+                .addStage(ChunkTaskProvider.create("Chunk deflate", this::deflate))
+                .addStage(ChunkTaskProvider.createMulti("Light merging", lightMerger::merge,
                         pos -> StreamSupport.stream(BlockRegions.iterableInPlace(BlockRegions.createFromMinAndMax(
                                 pos.x() - 1, pos.y() - 1, pos.z() - 1,
                                 pos.x() + 1, pos.y() + 1, pos.z() + 1
@@ -85,18 +91,35 @@ public RemoteChunkProvider(BlockManager blockManager, LocalPlayer localPlayer) {
                                 .collect(Collectors.toSet())
                 ))
                 .addStage(ChunkTaskProvider.create("", chunk -> {
-                    listener.onChunkReady(chunk.getPosition());
-                    worldEntity.send(new OnChunkLoaded(chunk.getPosition()));
                     Chunk oldChunk = chunkCache.put(chunk.getPosition(), chunk);
                     if (oldChunk != null) {
                         oldChunk.dispose();
                     }
                     chunk.markReady();
+                    /* Only now changes to the chunk reach the received chunk rather than the one it replaces */
+                    listener.onChunkReady(chunk.getPosition());
+                    worldEntity.send(new OnChunkLoaded(chunk.getPosition()));
                 }));
 
         ChunkMonitor.fireChunkProviderInitialized(this);
     }
 
+    /**
+     * @param paletteBlockStorage whether deflated chunks store their blocks in palette arrays, see
+     *         {@link ChunkImpl#deflateToPalette()}.
+     */
+    public void setPaletteBlockStorage(boolean paletteBlockStorage) {
+        this.paletteBlockStorage = paletteBlockStorage;
+    }
+
+    private void deflate(Chunk chunk) {
+        if (paletteBlockStorage && chunk instanceof ChunkImpl) {
+            ((ChunkImpl) chunk).deflateToPalette();
+        } else {
+            chunk.deflate();
+        }
+    }
+
     public void subscribe(ChunkReadyListener chunkReadyListener) {
         this.listener = chunkReadyListener;
     }
@@ -158,6 +181,7 @@ public boolean isChunkReady(Vector3i pos) {
     public void dispose() {
         ChunkMonitor.fireChunkProviderDisposed(this);
         loadingPipeline.shutdown();
+        lightMergingExecutor.shutdownNow();
     }
 
 
@@ -0,0 +1,204 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.generation;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.terasology.math.geom.Rect2i;
+import org.terasology.utilities.collection.TypeMap;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares 2D facets between all regions of the same column, so that vertically stacked chunks don't regenerate
+ * the same height maps, humidity maps, etc. over and over again.
+ * <p>
+ * Only facets that are 2D themselves and whose whole provider chain produces and updates nothing but 2D facets
+ * are cached: the result of such a chain cannot depend on the vertical extents of the region. Cached facets are
+ * shared between regions and must be treated as read-only once their chain has run.
+ * <p>
+ * Entries are keyed by facet type and by the 2D area (including the facet border) that they cover, and are evicted
+ * in least-recently-used order once the capacity is reached.
+ */
+public class FacetColumnCache {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains;
+    private final Map<Class<? extends WorldFacet>, List<Class<? extends WorldFacet>>> columnFacetsByFacet = Maps.newHashMap();
+    private final Map<Class<? extends WorldFacet>, Set<Class<? extends WorldFacet>>> producedFacetsByColumnFacet = Maps.newHashMap();
+
+    private final Map<Key, TypeMap<WorldFacet>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public FacetColumnCache(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains) {
+        this(facetProviderChains, DEFAULT_CAPACITY);
+    }
+
+    public FacetColumnCache(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, int capacity) {
+        this.facetProviderChains = facetProviderChains;
+        this.entries = new LinkedHashMap<Key, TypeMap<WorldFacet>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, TypeMap<WorldFacet>> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        for (Class<? extends WorldFacet> facet : facetProviderChains.keySet()) {
+            Set<Class<? extends WorldFacet>> produced = determineProducedFacets(facetProviderChains.get(facet));
+            if (produced != null && WorldFacet2D.class.isAssignableFrom(facet) && isSelfContained(facet, produced)) {
+                producedFacetsByColumnFacet.put(facet, produced);
+            }
+        }
+
+        for (Class<? extends WorldFacet> facet : facetProviderChains.keySet()) {
+            Set<FacetProvider> chain = Sets.newHashSet(facetProviderChains.get(facet));
+            List<Class<? extends WorldFacet>> columnFacets = Lists.newArrayList();
+            for (Class<? extends WorldFacet> columnFacet : producedFacetsByColumnFacet.keySet()) {
+                if (chain.containsAll(facetProviderChains.get(columnFacet))) {
+                    columnFacets.add(columnFacet);
+                }
+            }
+            // smaller chains first, so that larger chains can reuse what has already been loaded
+            columnFacets.sort(Comparator.comparingInt(columnFacet -> facetProviderChains.get(columnFacet).size()));
+            columnFacetsByFacet.put(facet, ImmutableList.copyOf(columnFacets));
+        }
+    }
+
+    /**
+     * @return The set of all facets produced or updated by the given provider chain,
+     * or null if any of the providers touches a facet that isn't 2D.
+     */
+    private static Set<Class<? extends WorldFacet>> determineProducedFacets(List<FacetProvider> chain) {
+        Set<Class<? extends WorldFacet>> result = Sets.newHashSet();
+        for (FacetProvider provider : chain) {
+            Produces produces = provider.getClass().getAnnotation(Produces.class);
+            if (produces != null) {
+                Collections.addAll(result, produces.value());
+            }
+            Updates updates = provider.getClass().getAnnotation(Updates.class);
+            if (updates != null) {
+                for (Facet facet : updates.value()) {
+                    result.add(facet.value());
+                }
+            }
+        }
+        for (Class<? extends WorldFacet> facet : result) {
+            if (!WorldFacet2D.class.isAssignableFrom(facet)) {
+                return null;
+            }
+        }
+        return ImmutableSet.copyOf(result);
+    }
+
+    /**
+     * A chain is self-contained if no provider outside of it updates one of the facets it generates,
+     * otherwise the shared facets could be modified after they have been cached.
+     */
+    private boolean isSelfContained(Class<? extends WorldFacet> facet, Set<Class<? extends WorldFacet>> produced) {
+        Set<FacetProvider> chain = Sets.newHashSet(facetProviderChains.get(facet));
+        for (Class<? extends WorldFacet> producedFacet : produced) {
+            if (!chain.containsAll(facetProviderChains.get(producedFacet))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The cacheable facets that are generated as part of the chain of the given facet,
+     * ordered by the length of their own chain.
+     */
+    List<Class<? extends WorldFacet>> getColumnFacetsFor(Class<? extends WorldFacet> facet) {
+        return columnFacetsByFacet.getOrDefault(facet, Collections.emptyList());
+    }
+
+    /**
+     * @return All facets produced or updated by the chain of the given cacheable facet.
+     */
+    Set<Class<? extends WorldFacet>> getProducedFacets(Class<? extends WorldFacet> columnFacet) {
+        return producedFacetsByColumnFacet.getOrDefault(columnFacet, Collections.emptySet());
+    }
+
+    List<FacetProvider> getChain(Class<? extends WorldFacet> facet) {
+        return facetProviderChains.get(facet);
+    }
+
+    TypeMap<WorldFacet> get(Class<? extends WorldFacet> columnFacet, Rect2i area) {
+        TypeMap<WorldFacet> result;
+        synchronized (entries) {
+            result = entries.get(new Key(columnFacet, area));
+        }
+        if (result != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return result;
+    }
+
+    void put(Class<? extends WorldFacet> columnFacet, Rect2i area, TypeMap<WorldFacet> facets) {
+        synchronized (entries) {
+            entries.put(new Key(columnFacet, area), facets);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static final class Key {
+        private final Class<? extends WorldFacet> facet;
+        private final Rect2i area;
+
+        private Key(Class<? extends WorldFacet> facet, Rect2i area) {
+            this.facet = facet;
+            this.area = area;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o instanceof Key) {
+                Key other = (Key) o;
+                return facet == other.facet && Objects.equals(area, other.area);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(facet, area);
+        }
+    }
+}
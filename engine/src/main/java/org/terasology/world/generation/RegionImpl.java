@@ -18,6 +18,7 @@
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Sets;
 import org.terasology.math.Region3i;
+import org.terasology.math.geom.Rect2i;
 import org.terasology.utilities.collection.TypeMap;
 
 import java.util.Map;
@@ -35,26 +36,79 @@ public class RegionImpl implements Region, GeneratingRegion {
     private final Set<FacetProvider> processedProviders = Sets.newHashSet();
     private final TypeMap<WorldFacet> generatedFacets = TypeMap.create();
 
+    private final FacetColumnCache columnCache;
+
     public RegionImpl(Region3i region, ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, Map<Class<? extends WorldFacet>, Border3D> borders) {
+        this(region, facetProviderChains, borders, null);
+    }
+
+    /**
+     * @param columnCache the cache to share 2D facets with the other regions of the same column, or null
+     */
+    public RegionImpl(Region3i region, ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, Map<Class<? extends WorldFacet>, Border3D> borders,
+                      FacetColumnCache columnCache) {
         this.region = region;
         this.facetProviderChains = facetProviderChains;
         this.borders = borders;
+        this.columnCache = columnCache;
     }
 
     @Override
     public <T extends WorldFacet> T getFacet(Class<T> dataType) {
         T facet = generatedFacets.get(dataType);
         if (facet == null) {
-            facetProviderChains.get(dataType).stream().filter(provider -> !processedProviders.contains(provider)).forEach(provider -> {
-                provider.process(this);
-                processedProviders.add(provider);
-            });
+            if (columnCache != null) {
+                columnCache.getColumnFacetsFor(dataType).forEach(this::loadColumnFacet);
+            }
+            runChain(dataType);
             facet = generatingFacets.get(dataType);
             generatedFacets.put(dataType, facet);
         }
         return facet;
     }
 
+    private void runChain(Class<? extends WorldFacet> dataType) {
+        facetProviderChains.get(dataType).stream().filter(provider -> !processedProviders.contains(provider)).forEach(provider -> {
+            provider.process(this);
+            processedProviders.add(provider);
+        });
+    }
+
+    /**
+     * Makes the given 2D facet (and everything generated along with it) available, either from the column cache
+     * or by running its chain and storing the result in the cache.
+     */
+    private void loadColumnFacet(Class<? extends WorldFacet> columnFacet) {
+        if (generatedFacets.containsKey(columnFacet)) {
+            return;
+        }
+        Rect2i area = getBorderForFacet(columnFacet).expandTo2D(region);
+        TypeMap<WorldFacet> cached = columnCache.get(columnFacet, area);
+        if (cached != null) {
+            for (Map.Entry<Class<? extends WorldFacet>, WorldFacet> entry : cached.entrySet()) {
+                if (!generatingFacets.containsKey(entry.getKey())) {
+                    putFacet(generatingFacets, entry.getKey(), entry.getValue());
+                }
+            }
+            processedProviders.addAll(columnCache.getChain(columnFacet));
+        } else {
+            runChain(columnFacet);
+            TypeMap<WorldFacet> produced = TypeMap.create();
+            for (Class<? extends WorldFacet> type : columnCache.getProducedFacets(columnFacet)) {
+                WorldFacet value = generatingFacets.get(type);
+                if (value != null) {
+                    putFacet(produced, type, value);
+                }
+            }
+            columnCache.put(columnFacet, area, produced);
+        }
+        putFacet(generatedFacets, columnFacet, generatingFacets.get(columnFacet));
+    }
+
+    private static <T extends WorldFacet> void putFacet(TypeMap<WorldFacet> facets, Class<T> type, WorldFacet facet) {
+        facets.put(type, type.cast(facet));
+    }
+
     @Override
     public Region3i getRegion() {
         return region;
@@ -34,6 +34,7 @@ public class WorldImpl implements World {
     private final List<EntityProvider> entityProviders;
     private final Map<Class<? extends WorldFacet>, Border3D> borders;
     private final int seaLevel;
+    private final FacetColumnCache columnCache;
 
     public WorldImpl(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains,
                      List<WorldRasterizer> worldRasterizers,
@@ -45,6 +46,7 @@ public WorldImpl(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetP
         this.entityProviders = entityProviders;
         this.borders = borders;
         this.seaLevel = seaLevel;
+        this.columnCache = new FacetColumnCache(facetProviderChains);
     }
 
     @Override
@@ -52,6 +54,15 @@ public Region getWorldData(Region3i region) {
         return new RegionImpl(region, facetProviderChains, borders);
     }
 
+    /**
+     * The cache of 2D facets shared by the chunks of the same column during rasterization.
+     * Regions returned by {@link #getWorldData(Region3i)} don't use it, as they may be requested while the
+     * facet providers are still being configured.
+     */
+    public FacetColumnCache getColumnCache() {
+        return columnCache;
+    }
+
     @Override
     public int getSeaLevel() {
         return seaLevel;
@@ -59,7 +70,7 @@ public int getSeaLevel() {
 
     @Override
     public void rasterizeChunk(CoreChunk chunk, EntityBuffer buffer) {
-        Region chunkRegion = getWorldData(chunk.getRegion());
+        Region chunkRegion = new RegionImpl(chunk.getRegion(), facetProviderChains, borders, columnCache);
         for (WorldRasterizer rasterizer : worldRasterizers) {
             rasterizer.generateChunk(chunk, chunkRegion);
         }
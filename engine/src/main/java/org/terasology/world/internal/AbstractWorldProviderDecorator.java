@@ -22,6 +22,8 @@
 import org.terasology.math.geom.Vector3i;
 import org.terasology.world.WorldChangeListener;
 import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockRegion;
+import org.terasology.world.propagation.BlockChange;
 import org.terasology.world.time.WorldTime;
 
 import java.util.Collection;
@@ -107,6 +109,16 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
         return base.setBlocks(blocks);
     }
 
+    @Override
+    public Collection<BlockChange> setBlocks(BlockRegion region, Block type) {
+        return base.setBlocks(region, type);
+    }
+
+    @Override
+    public Collection<BlockChange> setBlocks(BlockRegion region, Block[] blocks) {
+        return base.setBlocks(region, blocks);
+    }
+
     @Override
     public Block getBlock(int x, int y, int z) {
         return base.getBlock(x, y, z);
@@ -58,6 +58,7 @@
 import org.terasology.world.block.BlockRegion;
 import org.terasology.world.block.BlockRegions;
 import org.terasology.world.block.regions.BlockRegionComponent;
+import org.terasology.world.propagation.BlockChange;
 
 import java.math.RoundingMode;
 import java.util.Collection;
@@ -164,6 +165,38 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
         return null;
     }
 
+    @Override
+    public Collection<BlockChange> setBlocks(BlockRegion region, Block type) {
+        if (GameThread.isCurrentThread()) {
+            Collection<BlockChange> changes = super.setBlocks(region, type);
+            updateBlockEntities(changes);
+            return changes;
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Collection<BlockChange> setBlocks(BlockRegion region, Block[] blocks) {
+        if (GameThread.isCurrentThread()) {
+            Collection<BlockChange> changes = super.setBlocks(region, blocks);
+            updateBlockEntities(changes);
+            return changes;
+        }
+        return Collections.emptyList();
+    }
+
+    private void updateBlockEntities(Collection<BlockChange> changes) {
+        for (BlockChange change : changes) {
+            Vector3i pos = JomlUtil.from(change.getPosition());
+            EntityRef blockEntity = getBlockEntityAt(pos);
+            final Set<Class<? extends Component>> retainComponents =
+                    Optional.ofNullable(blockEntity.getComponent(RetainComponentsComponent.class))
+                            .map(retainComponentsComponent -> retainComponentsComponent.components)
+                            .orElse(Collections.emptySet());
+            updateBlockEntity(blockEntity, pos, change.getFrom(), change.getTo(), false, retainComponents);
+        }
+    }
+
     @Override
     @SafeVarargs
     public final Block setBlockRetainComponent(Vector3i pos, Block type, Class<? extends Component>... components) {
@@ -15,6 +15,8 @@
  */
 package org.terasology.world.internal;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.joml.Vector3ic;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -22,9 +24,13 @@
 import org.terasology.math.geom.Vector3i;
 import org.terasology.world.WorldChangeListener;
 import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockRegion;
+import org.terasology.world.block.BlockRegions;
+import org.terasology.world.propagation.BlockChange;
 import org.terasology.world.time.WorldTime;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -135,6 +141,56 @@ default Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
         return resultMap;
     }
 
+    /**
+     * Places a block of a specific type at every position of a region.
+     * <p>
+     * Unlike placing the blocks one by one, this marks every affected chunk dirty once and notifies the listeners once,
+     * through {@link WorldChangeListener#onBlocksChanged(Collection)}.
+     *
+     * @param region The world positions to change
+     * @param type   The type of the block to set
+     * @return The changes made, positions in chunks which are not loaded are skipped
+     */
+    default Collection<BlockChange> setBlocks(BlockRegion region, Block type) {
+        Preconditions.checkNotNull(type);
+        List<BlockChange> changes = Lists.newArrayList();
+        for (Vector3ic pos : BlockRegions.iterableInPlace(region)) {
+            Block oldBlock = setBlock(pos, type);
+            if (oldBlock != null && oldBlock != type) {
+                changes.add(new BlockChange(pos, oldBlock, type));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Places the blocks of a buffer at the positions of a region.
+     * <p>
+     * Unlike placing the blocks one by one, this marks every affected chunk dirty once and notifies the listeners once,
+     * through {@link WorldChangeListener#onBlocksChanged(Collection)}.
+     *
+     * @param region The world positions to change
+     * @param blocks The types of the blocks to set, in the order of {@link BlockRegions#iterable(BlockRegion)}: z
+     *               changes fastest, then y, then x. Positions with a null entry are left unchanged.
+     * @return The changes made, positions in chunks which are not loaded are skipped
+     */
+    default Collection<BlockChange> setBlocks(BlockRegion region, Block[] blocks) {
+        Preconditions.checkArgument(blocks.length == region.sizeX() * region.sizeY() * region.sizeZ(),
+                "Expected %s blocks but got %s", region.sizeX() * region.sizeY() * region.sizeZ(), blocks.length);
+        List<BlockChange> changes = Lists.newArrayList();
+        int index = 0;
+        for (Vector3ic pos : BlockRegions.iterableInPlace(region)) {
+            Block type = blocks[index++];
+            if (type != null) {
+                Block oldBlock = setBlock(pos, type);
+                if (oldBlock != null && oldBlock != type) {
+                    changes.add(new BlockChange(pos, oldBlock, type));
+                }
+            }
+        }
+        return changes;
+    }
+
     /**
      * Returns the block at the given position.
      *
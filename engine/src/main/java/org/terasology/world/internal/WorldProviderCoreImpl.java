@@ -4,10 +4,12 @@
 package org.terasology.world.internal;
 
 import com.google.common.base.Function;
+import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.joml.Vector3ic;
 import org.terasology.context.Context;
 import org.terasology.engine.SimpleUri;
@@ -20,7 +22,10 @@
 import org.terasology.world.WorldChangeListener;
 import org.terasology.world.WorldComponent;
 import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockRegion;
+import org.terasology.world.block.BlockRegions;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.CoreChunk;
 import org.terasology.world.chunks.LitChunk;
@@ -42,8 +47,8 @@
 import org.terasology.world.time.WorldTimeImpl;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -207,7 +212,8 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
          * Hint: This method has a benchmark available in the BenchmarkScreen, The screen can be opened ingame via the
          * command "showSCreen BenchmarkScreen".
          */
-        Set<BlockChange> changedBlocks = new HashSet<>();
+        List<BlockChange> changes = Lists.newArrayList();
+        Map<Vector3i, BlockRegion> changedRegions = Maps.newHashMap();
         Map<Vector3i, Block> result = new HashMap<>(blocks.size());
 
         for (Map.Entry<Vector3i, Block> entry : blocks.entrySet()) {
@@ -220,14 +226,8 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
                 Vector3i blockPos = ChunkMath.calcRelativeBlockPos(worldPos);
                 Block oldBlockType = chunk.setBlock(blockPos, type);
                 if (oldBlockType != type) {
-                    BlockChange oldChange = blockChanges.get(worldPos);
-                    if (oldChange == null) {
-                        blockChanges.put(worldPos, new BlockChange(JomlUtil.from(worldPos), oldBlockType, type));
-                    } else {
-                        oldChange.setTo(type);
-                    }
-                    setDirtyChunksNear(worldPos);
-                    changedBlocks.add(new BlockChange(JomlUtil.from(worldPos), oldBlockType, type));
+                    recordChange(worldPos.x, worldPos.y, worldPos.z, oldBlockType, type, changes);
+                    addChangedBlock(changedRegions, chunkPos, worldPos.x, worldPos.y, worldPos.z);
                 }
                 result.put(worldPos, oldBlockType);
             } else {
@@ -235,11 +235,126 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
             }
         }
 
-        for (BlockChange change : changedBlocks) {
-            notifyBlockChanged(change.getPosition(), change.getTo(), change.getFrom());
+        setDirtyChunksNear(changedRegions.values());
+        notifyBlocksChanged(changes);
+        return result;
+    }
+
+    @Override
+    public Collection<BlockChange> setBlocks(BlockRegion region, Block type) {
+        Preconditions.checkNotNull(type);
+        return setRegion(region, type, null);
+    }
+
+    @Override
+    public Collection<BlockChange> setBlocks(BlockRegion region, Block[] blocks) {
+        Preconditions.checkArgument(blocks.length == region.sizeX() * region.sizeY() * region.sizeZ(),
+                "Expected %s blocks but got %s", region.sizeX() * region.sizeY() * region.sizeZ(), blocks.length);
+        return setRegion(region, null, blocks);
+    }
+
+    /**
+     * Writes a region chunk by chunk, so every chunk is looked up once.
+     *
+     * @param type   The type to fill the region with, or null to take the types from blocks
+     * @param blocks The types to set in the order of {@link BlockRegions#iterable(BlockRegion)}, ignored if type is set
+     */
+    private Collection<BlockChange> setRegion(BlockRegion region, Block type, Block[] blocks) {
+        List<BlockChange> changes = Lists.newArrayList();
+        if (!region.isValid()) {
+            return changes;
+        }
+        Map<Vector3i, BlockRegion> changedRegions = Maps.newHashMap();
+        int sizeY = region.sizeY();
+        int sizeZ = region.sizeZ();
+
+        for (int chunkX = ChunkMath.calcChunkPosX(region.minX()); chunkX <= ChunkMath.calcChunkPosX(region.maxX()); chunkX++) {
+            for (int chunkY = ChunkMath.calcChunkPosY(region.minY()); chunkY <= ChunkMath.calcChunkPosY(region.maxY()); chunkY++) {
+                for (int chunkZ = ChunkMath.calcChunkPosZ(region.minZ()); chunkZ <= ChunkMath.calcChunkPosZ(region.maxZ()); chunkZ++) {
+                    CoreChunk chunk = chunkProvider.getChunk(chunkX, chunkY, chunkZ);
+                    if (chunk == null) {
+                        continue;
+                    }
+                    Vector3i chunkPos = new Vector3i(chunkX, chunkY, chunkZ);
+                    int minX = Math.max(region.minX(), chunk.chunkToWorldPositionX(0));
+                    int minY = Math.max(region.minY(), chunk.chunkToWorldPositionY(0));
+                    int minZ = Math.max(region.minZ(), chunk.chunkToWorldPositionZ(0));
+                    int maxX = Math.min(region.maxX(), chunk.chunkToWorldPositionX(ChunkConstants.SIZE_X - 1));
+                    int maxY = Math.min(region.maxY(), chunk.chunkToWorldPositionY(ChunkConstants.SIZE_Y - 1));
+                    int maxZ = Math.min(region.maxZ(), chunk.chunkToWorldPositionZ(ChunkConstants.SIZE_Z - 1));
+                    for (int x = minX; x <= maxX; x++) {
+                        for (int y = minY; y <= maxY; y++) {
+                            for (int z = minZ; z <= maxZ; z++) {
+                                Block newType = type;
+                                if (newType == null) {
+                                    newType = blocks[((x - region.minX()) * sizeY + y - region.minY()) * sizeZ + z - region.minZ()];
+                                    if (newType == null) {
+                                        continue;
+                                    }
+                                }
+                                Block oldType = chunk.setBlock(ChunkMath.calcBlockPosX(x), ChunkMath.calcBlockPosY(y), ChunkMath.calcBlockPosZ(z), newType);
+                                if (oldType != newType) {
+                                    recordChange(x, y, z, oldType, newType, changes);
+                                    addChangedBlock(changedRegions, chunkPos, x, y, z);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
         }
 
-        return result;
+        setDirtyChunksNear(changedRegions.values());
+        notifyBlocksChanged(changes);
+        return changes;
+    }
+
+    /**
+     * Queues a change for propagation and adds it to the changes to notify the listeners of.
+     */
+    private void recordChange(int x, int y, int z, Block oldType, Block type, List<BlockChange> changes) {
+        org.joml.Vector3i worldPos = new org.joml.Vector3i(x, y, z);
+        Vector3i key = new Vector3i(x, y, z);
+        BlockChange oldChange = blockChanges.get(key);
+        if (oldChange == null) {
+            blockChanges.put(key, new BlockChange(worldPos, oldType, type));
+        } else {
+            oldChange.setTo(type);
+        }
+        changes.add(new BlockChange(worldPos, oldType, type));
+    }
+
+    private static void addChangedBlock(Map<Vector3i, BlockRegion> changedRegions, Vector3i chunkPos, int x, int y, int z) {
+        BlockRegion changedRegion = changedRegions.get(chunkPos);
+        if (changedRegion == null) {
+            changedRegions.put(chunkPos, BlockRegions.createFromMinAndMax(x, y, z, x, y, z));
+        } else {
+            changedRegion.union(x, y, z);
+        }
+    }
+
+    /**
+     * Marks every chunk next to a changed block dirty, each chunk once.
+     *
+     * @param changedRegions The regions containing the changed blocks
+     */
+    private void setDirtyChunksNear(Collection<BlockRegion> changedRegions) {
+        Set<Vector3i> dirtyChunks = Sets.newHashSet();
+        for (BlockRegion changedRegion : changedRegions) {
+            for (int x = ChunkMath.calcChunkPosX(changedRegion.minX() - 1); x <= ChunkMath.calcChunkPosX(changedRegion.maxX() + 1); x++) {
+                for (int y = ChunkMath.calcChunkPosY(changedRegion.minY() - 1); y <= ChunkMath.calcChunkPosY(changedRegion.maxY() + 1); y++) {
+                    for (int z = ChunkMath.calcChunkPosZ(changedRegion.minZ() - 1); z <= ChunkMath.calcChunkPosZ(changedRegion.maxZ() + 1); z++) {
+                        dirtyChunks.add(new Vector3i(x, y, z));
+                    }
+                }
+            }
+        }
+        for (Vector3i pos : dirtyChunks) {
+            RenderableChunk dirtiedChunk = chunkProvider.getChunk(pos);
+            if (dirtiedChunk != null) {
+                dirtiedChunk.setDirty(true);
+            }
+        }
     }
 
     private void setDirtyChunksNear(Vector3i pos0) {
@@ -261,6 +376,18 @@ private void notifyBlockChanged(Vector3ic pos, Block type, Block oldType) {
         }
     }
 
+    private void notifyBlocksChanged(List<BlockChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Collection<BlockChange> unmodifiableChanges = Collections.unmodifiableList(changes);
+        synchronized (listeners) {
+            for (WorldChangeListener listener : listeners) {
+                listener.onBlocksChanged(unmodifiableChanges);
+            }
+        }
+    }
+
     private void notifyExtraDataChanged(int index, Vector3ic pos, int newData, int oldData) {
         // TODO: Change to match block , if those changes are made.
         synchronized (listeners) {
@@ -22,6 +22,8 @@
 
 /**
  * Handles propagating values through blocks on a block by block basis.
+ * <p>
+ * Positions passed to a propagator are only read during the call, so callers may reuse them afterwards.
  */
 public interface BatchPropagator {
 
@@ -0,0 +1,166 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.propagation;
+
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.hash.TLongIntHashMap;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Arrays;
+
+/**
+ * A set of block positions which keeps the order the positions were added in, used as the work queue of the batch
+ * propagators.
+ * <p>
+ * Positions are packed into a single long relative to an origin (see {@link #pack(int, int, int, Vector3i)}), so
+ * queueing a position allocates nothing once the queue has grown to its working size. The propagators move the origin
+ * next to the positions they work on whenever their queues are empty, so any position of the world can be queued.
+ * <p>
+ * The queue is emptied a whole round at a time through {@link #drainTo(TLongArrayList)}, which behaves like swapping a
+ * {@code LinkedHashSet} for a new one and iterating the old one.
+ */
+final class BlockPositionQueue {
+
+    private static final int X_BITS = 24;
+    private static final int Y_BITS = 16;
+    private static final int Z_BITS = 24;
+    private static final int NOT_QUEUED = -1;
+
+    private long[] positions;
+    private int end;
+
+    /* The slot of each queued position in `positions`. Slots of positions which were removed are skipped. */
+    private final TLongIntHashMap slots;
+
+    BlockPositionQueue() {
+        this(16);
+    }
+
+    BlockPositionQueue(int initialCapacity) {
+        positions = new long[initialCapacity];
+        slots = new TLongIntHashMap(initialCapacity, 0.5f, 0, NOT_QUEUED);
+    }
+
+    /**
+     * Packs the offset of a position from an origin into a long. Supports offsets in [-2^23, 2^23) along x and z and
+     * in [-2^15, 2^15) along y, which is about 8 million blocks horizontally and 32 thousand blocks vertically in
+     * either direction, far more than the loaded part of a world spans. Offsets outside of that range would silently wrap
+     * around onto other positions, so they are rejected.
+     *
+     * @throws IllegalArgumentException if the position is too far from the origin
+     */
+    static long pack(int x, int y, int z, Vector3i origin) {
+        return pack(x - origin.x, y - origin.y, z - origin.z);
+    }
+
+    static long pack(Vector3i pos, Vector3i origin) {
+        return pack(pos.x, pos.y, pos.z, origin);
+    }
+
+    /**
+     * Packs an offset into a long, see {@link #pack(int, int, int, Vector3i)}.
+     */
+    static long pack(int x, int y, int z) {
+        if (!fits(x, X_BITS) || !fits(y, Y_BITS) || !fits(z, Z_BITS)) {
+            throw new IllegalArgumentException("Block position offset (" + x + ", " + y + ", " + z + ") is outside of "
+                    + "the range supported by the propagation queues");
+        }
+        return ((long) x << (Y_BITS + Z_BITS))
+                | (((long) y & ((1L << Y_BITS) - 1)) << Z_BITS)
+                | ((long) z & ((1L << Z_BITS) - 1));
+    }
+
+    /**
+     * @return Whether the value can be stored as a signed integer of the given number of bits
+     */
+    private static boolean fits(int value, int bits) {
+        return (value << (Integer.SIZE - bits) >> (Integer.SIZE - bits)) == value;
+    }
+
+    static int unpackX(long packed) {
+        return (int) (packed >> (Y_BITS + Z_BITS));
+    }
+
+    static int unpackY(long packed) {
+        return (int) (packed << X_BITS >> (X_BITS + Z_BITS));
+    }
+
+    static int unpackZ(long packed) {
+        return (int) (packed << (X_BITS + Y_BITS) >> (X_BITS + Y_BITS));
+    }
+
+    /**
+     * @param packed A packed position
+     * @param origin The origin the position was packed relative to
+     * @param dest   The vector to store the position in
+     * @return dest
+     */
+    static Vector3i unpack(long packed, Vector3i origin, Vector3i dest) {
+        dest.set(origin.x + unpackX(packed), origin.y + unpackY(packed), origin.z + unpackZ(packed));
+        return dest;
+    }
+
+    /**
+     * Adds a position at the end of the queue, unless it is queued already.
+     *
+     * @return Whether the position was added
+     */
+    boolean add(long packed) {
+        if (slots.putIfAbsent(packed, end) != NOT_QUEUED) {
+            return false;
+        }
+        if (end == positions.length) {
+            positions = Arrays.copyOf(positions, end * 2);
+        }
+        positions[end++] = packed;
+        return true;
+    }
+
+    /**
+     * @return Whether the position was queued
+     */
+    boolean remove(long packed) {
+        return slots.remove(packed) != NOT_QUEUED;
+    }
+
+    boolean contains(long packed) {
+        return slots.containsKey(packed);
+    }
+
+    int size() {
+        return slots.size();
+    }
+
+    boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    /**
+     * Moves all queued positions into the given list, in the order they were added, leaving this queue empty.
+     *
+     * @param round The list to fill, cleared first
+     */
+    void drainTo(TLongArrayList round) {
+        round.resetQuick();
+        for (int i = 0; i < end; i++) {
+            long packed = positions[i];
+            if (slots.get(packed) == i) {
+                round.add(packed);
+            }
+        }
+        if (round.size() < slots.capacity() / 8) {
+            /* Clearing the whole table of a queue which once was large is more expensive than a few removals */
+            for (int i = 0; i < round.size(); i++) {
+                slots.remove(round.getQuick(i));
+            }
+            end = 0;
+        } else {
+            clear();
+        }
+    }
+
+    void clear() {
+        slots.clear();
+        end = 0;
+    }
+}
@@ -16,7 +16,7 @@
 package org.terasology.world.propagation;
 
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
+import gnu.trove.list.array.TLongArrayList;
 import org.joml.Vector3ic;
 import org.terasology.math.ChunkMath;
 import org.terasology.math.JomlUtil;
@@ -30,7 +30,6 @@
 
 import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Batch propagator that works on a set of changed blocks Works for a single given propagation ruleset
@@ -38,13 +37,21 @@
 public class StandardBatchPropagator implements BatchPropagator {
 
     private static final byte NO_VALUE = 0;
+    private static final Side[] SIDES = Side.values();
 
     private PropagationRules rules;
     private PropagatorWorldView world;
 
     /* Queues are stored in reverse order. Ie, strongest light is 0. */
-    private Set<Vector3i>[] reduceQueues;
-    private Set<Vector3i>[] increaseQueues;
+    private BlockPositionQueue[] reduceQueues;
+    private BlockPositionQueue[] increaseQueues;
+
+    /* The positions of the round being processed, and the positions worked on, reused to avoid allocations */
+    private final TLongArrayList round = new TLongArrayList();
+    private final Vector3i position = new Vector3i();
+    private final Vector3i adjPos = new Vector3i();
+    /* Queued positions are packed relative to this, see BlockPositionQueue */
+    private final Vector3i origin = new Vector3i();
 
     private Map<Side, Vector3i> chunkEdgeDeltas = Maps.newEnumMap(Side.class);
 
@@ -72,11 +79,11 @@ public StandardBatchPropagator(PropagationRules rules, PropagatorWorldView world
             chunkEdgeDeltas.put(side, delta);
         }
 
-        increaseQueues = new Set[rules.getMaxValue()];
-        reduceQueues = new Set[rules.getMaxValue()];
+        increaseQueues = new BlockPositionQueue[rules.getMaxValue()];
+        reduceQueues = new BlockPositionQueue[rules.getMaxValue()];
         for (int i = 0; i < rules.getMaxValue(); ++i) {
-            increaseQueues[i] = Sets.newLinkedHashSet();
-            reduceQueues[i] = Sets.newLinkedHashSet();
+            increaseQueues[i] = new BlockPositionQueue();
+            reduceQueues[i] = new BlockPositionQueue();
         }
 
     }
@@ -89,6 +96,8 @@ public void process(BlockChange... changes) {
     @Override
     public void process(Iterable<BlockChange> blockChanges) {
         for (BlockChange blockChange : blockChanges) {
+            Vector3ic pos = blockChange.getPosition();
+            moveOriginIfIdle(pos.x(), pos.y(), pos.z());
             reviewChange(blockChange);
         }
 
@@ -119,14 +128,14 @@ private void reviewChange(BlockChange blockChange) {
         }
 
         /* Process propagation out to other blocks */
-        for (Side side : Side.getAllSides()) {
+        for (Side side : SIDES) {
             PropagationComparison comparison = rules.comparePropagation(blockChange.getTo(), blockChange.getFrom(),
                     side);
 
             if (comparison.isRestricting() && existingValue > 0) {
                 /* If the propagation of the new value is going to be lower/reduced */
                 reduce(blockChangePosition, existingValue);
-                Vector3i adjPos = side.getAdjacentPos(blockChangePosition);
+                setAdjacentPos(blockChangePosition, side);
                 byte adjValue = world.getValueAt(adjPos);
                 if (adjValue == rules.propagateValue(existingValue, side, blockChange.getFrom())) {
                     reduce(adjPos, adjValue);
@@ -139,7 +148,7 @@ private void reviewChange(BlockChange blockChange) {
                     queueSpreadValue(blockChangePosition, existingValue);
                 }
                 /* Spread it out to the block on the side */
-                Vector3i adjPos = side.getAdjacentPos(blockChangePosition);
+                setAdjacentPos(blockChangePosition, side);
                 byte adjValue = world.getValueAt(adjPos);
                 if (adjValue != PropagatorWorldView.UNAVAILABLE) {
                     queueSpreadValue(adjPos, adjValue);
@@ -152,11 +161,12 @@ private void reviewChange(BlockChange blockChange) {
     /**
      * Reset a position to only it's fixed values
      *
-     * @param pos The position to reset
+     * @param packedPos The position to reset, packed
      * @param oldValue The value present before reset
      */
-    private void purge(Vector3i pos, byte oldValue) {
-        increaseQueues[rules.getMaxValue() - oldValue].remove(pos);
+    private void purge(long packedPos, byte oldValue) {
+        increaseQueues[rules.getMaxValue() - oldValue].remove(packedPos);
+        Vector3i pos = BlockPositionQueue.unpack(packedPos, origin, position);
 
         /* Clear the value and re-propagate it if it's a positive value */
         Block block = world.getBlockAt(pos);
@@ -168,10 +178,10 @@ private void purge(Vector3i pos, byte oldValue) {
         }
 
 
-        for (Side side : Side.getAllSides()) {
+        for (Side side : SIDES) {
             /* Handle this value being reset to the default by updating sides as needed */
             byte expectedValue = rules.propagateValue(oldValue, side, block);
-            Vector3i adjPos = side.getAdjacentPos(pos);
+            setAdjacentPos(pos, side);
             if (rules.canSpreadOutOf(block, side)) {
                 byte adjValue = world.getValueAt(adjPos);
                 if (adjValue == expectedValue) {
@@ -194,12 +204,11 @@ private void processReduction() {
             byte oldValue = (byte) (rules.getMaxValue() - depth);
 
             while (!reduceQueues[depth].isEmpty()) {
-                Set<Vector3i> toProcess = reduceQueues[depth];
-                reduceQueues[depth] = Sets.newLinkedHashSetWithExpectedSize(toProcess.size());
+                reduceQueues[depth].drainTo(round);
 
                 /* This step will add any new reductions to to the `reduceQueues` set */
-                for (Vector3i pos : toProcess) {
-                    purge(pos, oldValue);
+                for (int i = 0; i < round.size(); i++) {
+                    purge(round.getQuick(i), oldValue);
                 }
             }
         }
@@ -213,12 +222,11 @@ private void processIncrease() {
             byte value = (byte) (rules.getMaxValue() - depth);
 
             while (!increaseQueues[depth].isEmpty()) {
-                Set<Vector3i> toProcess = increaseQueues[depth];
-                increaseQueues[depth] = Sets.newLinkedHashSetWithExpectedSize(toProcess.size());
+                increaseQueues[depth].drainTo(round);
 
                 /* This step will add any new values to `increaseQueues` */
-                for (Vector3i pos : toProcess) {
-                    push(pos, value);
+                for (int i = 0; i < round.size(); i++) {
+                    push(round.getQuick(i), value);
                 }
             }
         }
@@ -231,16 +239,17 @@ private void processIncrease() {
      * If the value spreading into a block is larger than the current value there, set it and queue it for propagating
      * again If the value is smaller than the current value, do nothing
      *
-     * @param pos The initial position
+     * @param packedPos The initial position, packed
      * @param value The value to propagate
      */
-    private void push(Vector3i pos, byte value) {
+    private void push(long packedPos, byte value) {
+        Vector3i pos = BlockPositionQueue.unpack(packedPos, origin, position);
         Block block = world.getBlockAt(pos);
-        for (Side side : Side.getAllSides()) {
+        for (Side side : SIDES) {
             byte propagatedValue = rules.propagateValue(value, side, block);
 
             if (rules.canSpreadOutOf(block, side)) {
-                Vector3i adjPos = side.getAdjacentPos(pos);
+                setAdjacentPos(pos, side);
                 byte adjValue = world.getValueAt(adjPos);
 
                 if (adjValue < propagatedValue && adjValue != PropagatorWorldView.UNAVAILABLE) {
@@ -275,7 +284,7 @@ private void increase(Vector3i position, byte value) {
      */
     private void reduce(Vector3i position, byte oldValue) {
         if (oldValue > 0) {
-            reduceQueues[rules.getMaxValue() - oldValue].add(position);
+            reduceQueues[rules.getMaxValue() - oldValue].add(BlockPositionQueue.pack(position, origin));
         }
     }
 
@@ -286,22 +295,50 @@ private void reduce(Vector3i position, byte oldValue) {
      * @param value The value to propagate out
      */
     private void queueSpreadValue(Vector3i position, byte value) {
+        queueSpreadValue(BlockPositionQueue.pack(position, origin), value);
+    }
+
+    private void queueSpreadValue(long packedPosition, byte value) {
         if (value > 1) {
-            increaseQueues[rules.getMaxValue() - value].add(position);
+            increaseQueues[rules.getMaxValue() - value].add(packedPosition);
+        }
+    }
+
+    /**
+     * Moves {@link #adjPos} next to the given position, without allocating a new vector like
+     * {@link Side#getAdjacentPos(Vector3i)}.
+     */
+    private void setAdjacentPos(Vector3i pos, Side side) {
+        Vector3i direction = side.getVector3i();
+        adjPos.set(pos.x + direction.x, pos.y + direction.y, pos.z + direction.z);
+    }
+
+    /**
+     * Moves the origin queued positions are packed relative to next to the given position, unless positions are
+     * queued. Positions queued together lie in the loaded part of the world, so they stay in range of the origin.
+     */
+    private void moveOriginIfIdle(int x, int y, int z) {
+        for (int i = 0; i < increaseQueues.length; i++) {
+            if (!increaseQueues[i].isEmpty() || !reduceQueues[i].isEmpty()) {
+                return;
+            }
         }
+        origin.set(x, y, z);
     }
 
     /**
      * Clears all the queues and cleans up the object
      */
     private void cleanUp() {
-        for (Set<Vector3i> queue : increaseQueues) {
+        for (BlockPositionQueue queue : increaseQueues) {
             queue.clear();
         }
     }
 
     @Override
     public void propagateBetween(LitChunk chunk, LitChunk adjChunk, Side side, boolean propagateExternal) {
+        moveOriginIfIdle(adjChunk.chunkToWorldPositionX(0), adjChunk.chunkToWorldPositionY(0),
+                adjChunk.chunkToWorldPositionZ(0));
         IndexProvider indexProvider = createIndexProvider(side);
 
         BlockRegion edgeRegion = BlockRegions.createFromMinAndSize(new org.joml.Vector3i(0, 0, 0), JomlUtil.from(ChunkConstants.CHUNK_SIZE));
@@ -344,7 +381,9 @@ private void propagateDepth(LitChunk adjChunk, Side side, boolean propagateExter
                 adjPos.add(chunkEdgeDeltas.get(side));
                 byte value = rules.getValue(adjChunk, adjPos);
                 if (value > 1) {
-                    queueSpreadValue(adjChunk.chunkToWorldPosition(adjPos), value);
+                    queueSpreadValue(BlockPositionQueue.pack(adjChunk.chunkToWorldPositionX(adjPos.x),
+                            adjChunk.chunkToWorldPositionY(adjPos.y), adjChunk.chunkToWorldPositionZ(adjPos.z),
+                            origin), value);
                 }
             }
         }
@@ -439,16 +478,19 @@ public int getIndexFor(int x, int y, int z) {
 
     @Override
     public void propagateFrom(Vector3i pos, Block block) {
+        moveOriginIfIdle(pos.x, pos.y, pos.z);
         queueSpreadValue(pos, rules.getFixedValue(block, pos));
     }
 
     @Override
     public void propagateFrom(Vector3i pos, byte value) {
+        moveOriginIfIdle(pos.x, pos.y, pos.z);
         queueSpreadValue(pos, value);
     }
 
     @Override
     public void regenerate(Vector3i pos, byte value) {
+        moveOriginIfIdle(pos.x, pos.y, pos.z);
         reduce(pos, value);
     }
 
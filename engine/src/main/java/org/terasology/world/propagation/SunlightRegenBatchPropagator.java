@@ -15,7 +15,8 @@
  */
 package org.terasology.world.propagation;
 
-import com.google.common.collect.Sets;
+import gnu.trove.list.array.TLongArrayList;
+import org.joml.Vector3ic;
 import org.terasology.math.ChunkMath;
 import org.terasology.math.JomlUtil;
 import org.terasology.math.Side;
@@ -25,7 +26,6 @@
 import org.terasology.world.chunks.LitChunk;
 
 import java.util.Arrays;
-import java.util.Set;
 
 /**
  * Batch propagator that works on a set of changed blocks
@@ -38,8 +38,14 @@ public class SunlightRegenBatchPropagator implements BatchPropagator {
     private PropagatorWorldView sunlightWorld;
     private BatchPropagator sunlightPropagator;
 
-    private Set<Vector3i>[] reduceQueues;
-    private Set<Vector3i>[] increaseQueues;
+    private BlockPositionQueue[] reduceQueues;
+    private BlockPositionQueue[] increaseQueues;
+
+    /* The positions of the queue being processed, and the position worked on, reused to avoid allocations */
+    private final TLongArrayList round = new TLongArrayList();
+    private final Vector3i position = new Vector3i();
+    /* Queued positions are packed relative to this, see BlockPositionQueue */
+    private final Vector3i origin = new Vector3i();
 
     public SunlightRegenBatchPropagator(PropagationRules regenRules, PropagatorWorldView regenWorld, BatchPropagator sunlightPropagator, PropagatorWorldView sunlightWorld) {
         this.regenRules = regenRules;
@@ -47,11 +53,11 @@ public SunlightRegenBatchPropagator(PropagationRules regenRules, PropagatorWorld
         this.sunlightPropagator = sunlightPropagator;
         this.sunlightWorld = sunlightWorld;
 
-        increaseQueues = new Set[regenRules.getMaxValue() + 1];
-        reduceQueues = new Set[regenRules.getMaxValue() + 1];
+        increaseQueues = new BlockPositionQueue[regenRules.getMaxValue() + 1];
+        reduceQueues = new BlockPositionQueue[regenRules.getMaxValue() + 1];
         for (int i = 0; i < regenRules.getMaxValue() + 1; ++i) {
-            increaseQueues[i] = Sets.newLinkedHashSet();
-            reduceQueues[i] = Sets.newLinkedHashSet();
+            increaseQueues[i] = new BlockPositionQueue();
+            reduceQueues[i] = new BlockPositionQueue();
         }
     }
 
@@ -63,6 +69,8 @@ public void process(BlockChange... changes) {
     @Override
     public void process(Iterable<BlockChange> blockChanges) {
         for (BlockChange blockChange : blockChanges) {
+            Vector3ic pos = blockChange.getPosition();
+            moveOriginIfIdle(pos.x(), pos.y(), pos.z());
             reviewChange(blockChange);
         }
 
@@ -105,27 +113,27 @@ private void reviewChangeToTop(BlockChange blockChange) {
     }
 
     private void queueSpreadRegen(Vector3i position, byte value) {
-        increaseQueues[value].add(position);
+        increaseQueues[value].add(BlockPositionQueue.pack(position, origin));
     }
 
     private void processRegenReduction() {
         for (byte depth = 0; depth <= regenRules.getMaxValue(); depth++) {
-            Set<Vector3i> toProcess = reduceQueues[depth];
-
-            toProcess.forEach(this::purge);
-            toProcess.clear();
+            reduceQueues[depth].drainTo(round);
+            for (int i = 0; i < round.size(); i++) {
+                purge(round.getQuick(i));
+            }
         }
     }
 
-    private void purge(Vector3i pos) {
+    private void purge(long packedPos) {
+        Vector3i pos = BlockPositionQueue.unpack(packedPos, origin, position);
         int expectedValue = regenWorld.getValueAt(pos);
         if (expectedValue != 0) {
-            Vector3i position = new Vector3i(pos);
             for (byte i = 0; i <= ChunkConstants.MAX_SUNLIGHT_REGEN; ++i) {
                 if (regenWorld.getValueAt(position) == expectedValue) {
                     regenWorld.setValueAt(position, i);
                     if (expectedValue - ChunkConstants.SUNLIGHT_REGEN_THRESHOLD > 0) {
-                        sunlightPropagator.regenerate(new Vector3i(position), (byte) (expectedValue - ChunkConstants.SUNLIGHT_REGEN_THRESHOLD));
+                        sunlightPropagator.regenerate(position, (byte) (expectedValue - ChunkConstants.SUNLIGHT_REGEN_THRESHOLD));
                     }
                 } else {
                     break;
@@ -140,19 +148,17 @@ private void purge(Vector3i pos) {
 
     private void processRegenIncrease() {
         for (byte depth = regenRules.getMaxValue(); depth >= 0; depth--) {
-            Set<Vector3i> toProcess = increaseQueues[depth];
-
-            for (Vector3i pos : toProcess) {
-                push(pos, depth);
+            increaseQueues[depth].drainTo(round);
+            for (int i = 0; i < round.size(); i++) {
+                push(round.getQuick(i), depth);
             }
-            toProcess.clear();
         }
     }
 
-    private void push(Vector3i pos, byte value) {
+    private void push(long packedPos, byte value) {
         byte regenValue = value;
-        Block block = regenWorld.getBlockAt(pos);
-        Vector3i position = new Vector3i(pos);
+        BlockPositionQueue.unpack(packedPos, origin, position);
+        Block block = regenWorld.getBlockAt(position);
         while (regenRules.canSpreadOutOf(block, Side.BOTTOM)) {
             regenValue = regenRules.propagateValue(regenValue, Side.BOTTOM, block);
             position.y -= 1;
@@ -161,13 +167,13 @@ private void push(Vector3i pos, byte value) {
                 block = regenWorld.getBlockAt(position);
                 if (regenRules.canSpreadInto(block, Side.TOP)) {
                     regenWorld.setValueAt(position, regenValue);
-                    reduceQueues[adjValue].remove(position);
+                    reduceQueues[adjValue].remove(BlockPositionQueue.pack(position, origin));
                     byte sunlightValue = (byte) (regenValue - ChunkConstants.SUNLIGHT_REGEN_THRESHOLD);
                     if (sunlightValue > 0) {
                         byte prevValue = sunlightWorld.getValueAt(position);
                         if (prevValue < sunlightValue) {
                             sunlightWorld.setValueAt(position, sunlightValue);
-                            sunlightPropagator.propagateFrom(new Vector3i(position), sunlightValue);
+                            sunlightPropagator.propagateFrom(position, sunlightValue);
                         }
                     }
                 } else {
@@ -179,12 +185,24 @@ private void push(Vector3i pos, byte value) {
         }
     }
 
+    /**
+     * Moves the packing origin to the given position while nothing is queued, as the standard propagator does.
+     */
+    private void moveOriginIfIdle(int x, int y, int z) {
+        for (int i = 0; i < increaseQueues.length; i++) {
+            if (!increaseQueues[i].isEmpty() || !reduceQueues[i].isEmpty()) {
+                return;
+            }
+        }
+        origin.set(x, y, z);
+    }
+
     private void cleanUp() {
     }
 
     private void reduce(Vector3i position, byte oldValue) {
         if (oldValue > 0) {
-            reduceQueues[oldValue].add(position);
+            reduceQueues[oldValue].add(BlockPositionQueue.pack(position, origin));
         }
     }
 
@@ -229,7 +247,7 @@ private void markForPropagation(LitChunk toChunk, int[] depth, int[] startingReg
                     int strength = Math.min(start + initialDepth - ChunkConstants.SUNLIGHT_REGEN_THRESHOLD + 1, ChunkConstants.MAX_SUNLIGHT);
 
                     for (int i = initialDepth; i <= finalDepth; ++i) {
-                        sunlightPropagator.propagateFrom(toChunk.chunkToWorldPosition(x, ChunkConstants.SIZE_Y - i - 1, z),
+                        sunlightPropagator.propagateFrom(chunkToWorldPosition(toChunk, x, ChunkConstants.SIZE_Y - i - 1, z, pos),
                                 (byte) (strength));
                         if (strength < ChunkConstants.MAX_SUNLIGHT) {
                             strength++;
@@ -239,11 +257,10 @@ private void markForPropagation(LitChunk toChunk, int[] depth, int[] startingReg
                     int initialDepth = Math.max(adjDepths[depthIndex], ChunkConstants.SUNLIGHT_REGEN_THRESHOLD - start);
                     byte strength = (byte) Math.min(ChunkConstants.MAX_SUNLIGHT, start + initialDepth - ChunkConstants.SUNLIGHT_REGEN_THRESHOLD + 1);
                     for (int i = initialDepth; i <= depth[depthIndex]; ++i) {
-                        sunlightPropagator.propagateFrom(toChunk.chunkToWorldPosition(x, ChunkConstants.SIZE_Y - i - 1, z), strength);
+                        sunlightPropagator.propagateFrom(chunkToWorldPosition(toChunk, x, ChunkConstants.SIZE_Y - i - 1, z, pos), strength);
                         if (strength < ChunkConstants.MAX_SUNLIGHT) {
                             strength++;
                         }
-                        pos.y--;
                     }
                 }
 
@@ -251,6 +268,11 @@ private void markForPropagation(LitChunk toChunk, int[] depth, int[] startingReg
         }
     }
 
+    private static Vector3i chunkToWorldPosition(LitChunk chunk, int x, int y, int z, Vector3i dest) {
+        dest.set(chunk.chunkToWorldPositionX(x), chunk.chunkToWorldPositionY(y), chunk.chunkToWorldPositionZ(z));
+        return dest;
+    }
+
     private void propagateSweep(LitChunk fromChunk, LitChunk toChunk, int[] depth, int[] startingRegen) {
         Vector3i pos = new Vector3i();
         for (int z = 0; z < ChunkConstants.SIZE_Z; ++z) {
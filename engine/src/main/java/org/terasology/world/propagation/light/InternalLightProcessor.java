@@ -51,10 +51,12 @@ public static void generateInternalLighting(LitChunk chunk) {
      */
     private static void populateLight(LitChunk chunk) {
         BatchPropagator lightPropagator = new StandardBatchPropagator(LIGHT_RULES, new SingleChunkView(LIGHT_RULES, chunk));
+        Block[] column = new Block[ChunkConstants.SIZE_Y];
         for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
             for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                chunk.getBlockColumn(x, z, column);
                 for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
-                    Block block = chunk.getBlock(x, y, z);
+                    Block block = column[y];
                     if (block.getLuminance() > 0) {
                         chunk.setLight(x, y, z, block.getLuminance());
                         lightPropagator.propagateFrom(new Vector3i(x, y, z), block.getLuminance());
@@ -74,12 +76,14 @@ private static void populateSunlight(LitChunk chunk) {
         PropagationRules sunlightRules = new SunlightPropagationRules(chunk);
         BatchPropagator lightPropagator = new StandardBatchPropagator(sunlightRules, new SingleChunkView(sunlightRules, chunk));
 
+        Block[] column = new Block[ChunkConstants.SIZE_Y];
         for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
             for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                chunk.getBlockColumn(x, z, column);
                 /* Start at the bottom of the chunk and then move up until the max sunlight level */
                 for (int y = 0; y < ChunkConstants.MAX_SUNLIGHT; y++) {
                     Vector3i pos = new Vector3i(x, y, z);
-                    Block block = chunk.getBlock(x, y, z);
+                    Block block = column[y];
                     byte light = sunlightRules.getFixedValue(block, pos);
                     if (light > 0) {
                         chunk.setSunlight(x, y, z, light);
@@ -99,12 +103,14 @@ private static void populateSunlight(LitChunk chunk) {
     private static void populateSunlightRegen(LitChunk chunk) {
         int top = ChunkConstants.SIZE_Y - 1;
         /* Scan through each column in the chunk & propagate light from the top down */
+        Block[] column = new Block[ChunkConstants.SIZE_Y];
         for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
             for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                chunk.getBlockColumn(x, z, column);
                 byte regen = 0;
-                Block lastBlock = chunk.getBlock(x, top, z);
+                Block lastBlock = column[top];
                 for (int y = top - 1; y >= 0; y--) {
-                    Block block = chunk.getBlock(x, y, z);
+                    Block block = column[y];
                     /* If the regeneration can propagate down into this block */
                     if (SUNLIGHT_REGEN_RULES.canSpreadOutOf(lastBlock, Side.BOTTOM) && SUNLIGHT_REGEN_RULES.canSpreadInto(block, Side.TOP)) {
                         regen = SUNLIGHT_REGEN_RULES.propagateValue(regen, Side.BOTTOM, lastBlock);
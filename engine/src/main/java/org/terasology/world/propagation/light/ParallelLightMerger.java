@@ -0,0 +1,195 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.propagation.light;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.world.chunks.Chunk;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Merges the light of many chunks at once, using several threads.
+ * <p>
+ * Merging the light of a chunk reads and writes the chunks around it (see {@link LightMerger}), so two chunks may only
+ * be merged at the same time if they are at least three chunks apart on one axis. The chunks are split into 27 groups
+ * by their position modulo three, which makes the neighbourhoods of all chunks of a group disjoint. The groups are
+ * merged one after another and the chunks of a group in parallel, so the resulting light is the same as merging the
+ * chunks one by one, group by group.
+ * <p>
+ * The chunk processing pipeline merges one chunk per task, see {@link #merge(Vector3ic, Collection)}. Tasks which
+ * arrive while a batch is being merged are collected and merged together as the next batch. Only one batch is merged
+ * at a time.
+ */
+public class ParallelLightMerger {
+    private static final int GROUP_STRIDE = 3;
+    private static final int GROUP_COUNT = GROUP_STRIDE * GROUP_STRIDE * GROUP_STRIDE;
+    private static final int LOCAL_CHUNKS_ARRAY_LENGTH = 27;
+
+    private final Executor executor;
+    private final Queue<PendingMerge> pendingMerges = new ConcurrentLinkedQueue<>();
+    private final Object batchLock = new Object();
+
+    /**
+     * @param executor runs the merges of a group, {@code Runnable::run} merges on the calling thread.
+     */
+    public ParallelLightMerger(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Merge light for chunks, returning once all are merged.
+     *
+     * @param positions positions of the chunks to merge.
+     * @param chunkProvider provides the chunks at and around the positions.
+     * @throws IllegalArgumentException if a chunk or one of its neighbours is not provided, in which case nothing
+     *         is merged.
+     */
+    public void merge(Collection<? extends Vector3ic> positions, Function<Vector3ic, Chunk> chunkProvider) {
+        List<PendingMerge> batch = Lists.newArrayListWithCapacity(positions.size());
+        Set<Vector3ic> uniquePositions = Sets.newLinkedHashSet();
+        for (Vector3ic position : positions) {
+            if (uniquePositions.add(new Vector3i(position))) {
+                batch.add(new PendingMerge(position, getLocalChunks(position, chunkProvider)));
+            }
+        }
+        synchronized (batchLock) {
+            mergeBatch(batch);
+        }
+        for (PendingMerge merge : batch) {
+            getResult(merge);
+        }
+    }
+
+    /**
+     * Merge light for one chunk together with the other chunks which are waiting to be merged, returning once the
+     * chunk is merged.
+     *
+     * @param position position of the chunk to merge.
+     * @param localChunks the chunk and its 26 neighbours.
+     * @return the merged chunk.
+     * @throws IllegalArgumentException if {@code localChunks} is not the chunk and its neighbours, see
+     *         {@link LightMerger#merge(Chunk[])}.
+     */
+    public Chunk merge(Vector3ic position, Collection<Chunk> localChunks) {
+        PendingMerge merge = new PendingMerge(position, localChunks.toArray(new Chunk[0]));
+        pendingMerges.add(merge);
+        synchronized (batchLock) {
+            if (!merge.result.isDone()) {
+                List<PendingMerge> batch = Lists.newArrayList();
+                PendingMerge pending;
+                while ((pending = pendingMerges.poll()) != null) {
+                    batch.add(pending);
+                }
+                try {
+                    mergeBatch(batch);
+                } finally {
+                    /* Nobody else would complete them, e.g. if the executor rejected a merge */
+                    for (PendingMerge unfinished : batch) {
+                        if (!unfinished.result.isDone()) {
+                            unfinished.result.completeExceptionally(new IllegalStateException("Light of chunk "
+                                    + unfinished.position + " was not merged"));
+                        }
+                    }
+                }
+            }
+        }
+        return getResult(merge);
+    }
+
+    /**
+     * Merges the groups of the batch one after another. A failed merge fails only its own result.
+     */
+    private void mergeBatch(List<PendingMerge> batch) {
+        List<List<PendingMerge>> groups = Lists.newArrayListWithCapacity(GROUP_COUNT);
+        for (int i = 0; i < GROUP_COUNT; i++) {
+            groups.add(Lists.newArrayList());
+        }
+        for (PendingMerge merge : batch) {
+            groups.get(groupOf(merge.position)).add(merge);
+        }
+
+        for (List<PendingMerge> group : groups) {
+            if (!group.isEmpty()) {
+                mergeGroup(group);
+            }
+        }
+    }
+
+    private void mergeGroup(List<PendingMerge> group) {
+        CompletableFuture<?>[] merges = new CompletableFuture<?>[group.size()];
+        for (int i = 0; i < merges.length; i++) {
+            PendingMerge merge = group.get(i);
+            merges[i] = CompletableFuture.supplyAsync(() -> new LightMerger().merge(merge.localChunks), executor)
+                    .whenComplete((chunk, e) -> {
+                        if (e == null) {
+                            merge.result.complete(chunk);
+                        } else {
+                            merge.result.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+                        }
+                    });
+        }
+        try {
+            CompletableFuture.allOf(merges).join();
+        } catch (CompletionException e) {
+            // reported through the result of the failed merge
+        }
+    }
+
+    private static Chunk getResult(PendingMerge merge) {
+        try {
+            return merge.result.join();
+        } catch (CompletionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    private static int groupOf(Vector3ic position) {
+        return Math.floorMod(position.x(), GROUP_STRIDE)
+                + GROUP_STRIDE * (Math.floorMod(position.y(), GROUP_STRIDE)
+                + GROUP_STRIDE * Math.floorMod(position.z(), GROUP_STRIDE));
+    }
+
+    private static Chunk[] getLocalChunks(Vector3ic position, Function<Vector3ic, Chunk> chunkProvider) {
+        Chunk[] localChunks = new Chunk[LOCAL_CHUNKS_ARRAY_LENGTH];
+        int index = 0;
+        Vector3i localPosition = new Vector3i();
+        for (int x = -1; x <= 1; x++) {
+            for (int y = -1; y <= 1; y++) {
+                for (int z = -1; z <= 1; z++) {
+                    localPosition.set(position).add(x, y, z);
+                    Chunk chunk = chunkProvider.apply(localPosition);
+                    if (chunk == null) {
+                        throw new IllegalArgumentException("Chunk " + localPosition + " is required to merge the light "
+                                + "of chunk " + position + " but is not available");
+                    }
+                    localChunks[index++] = chunk;
+                }
+            }
+        }
+        return localChunks;
+    }
+
+    private static final class PendingMerge {
+        private final Vector3ic position;
+        private final Chunk[] localChunks;
+        private final CompletableFuture<Chunk> result = new CompletableFuture<>();
+
+        private PendingMerge(Vector3ic position, Chunk[] localChunks) {
+            this.position = position;
+            this.localChunks = localChunks;
+        }
+    }
+}
@@ -90,7 +90,9 @@ void main() {
     }
 #endif
 
-    vec2 texCoord = gl_TexCoord[0].xy;
+    vec2 texCoord = chunkAtlasTexCoord(gl_TexCoord[0]);
+    // Continuous texture coordinates, used to derive the tangent frame
+    vec2 unwrappedTexCoord = unwrappedChunkTexCoord(gl_TexCoord[0]);
 
     vec3 normalizedViewPos = -normalize(vertexViewPos.xyz);
     vec2 projectedPos = projectVertexToTexCoord(vertexProjPos);
@@ -104,7 +106,7 @@ void main() {
     // both view and UV coordinates to screen-space coordinated. The specific relationship between 
     // screen coordinates and view coordinates is irrelevant.
     mat2x3 screenToView = mat2x3(dFdx(vertexViewPos.xyz), dFdy(vertexViewPos.xyz));
-    mat2   screenToUv   = mat2  (dFdx(gl_TexCoord[0].xy), dFdy(gl_TexCoord[0].xy)) / TEXTURE_OFFSET;
+    mat2   screenToUv   = mat2  (dFdx(unwrappedTexCoord), dFdy(unwrappedTexCoord)) / TEXTURE_OFFSET;
     mat2 uvToScreen = inverse2(screenToUv);
     mat2x3 uvToView = screenToView * uvToScreen;
 
@@ -16,6 +16,16 @@
 
 varying vec4 positionProj;
 
+#if defined FEATURE_ALPHA_REJECT
+uniform sampler2D textureAtlas;
+#endif
+
 void main() {
+#if defined FEATURE_ALPHA_REJECT
+    if (texture2D(textureAtlas, chunkAtlasTexCoord(gl_TexCoord[0])).a < 0.1) {
+        discard;
+    }
+#endif
+
     gl_FragDepth = positionProj.z / positionProj.w;
 }
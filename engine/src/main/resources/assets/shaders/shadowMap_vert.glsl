@@ -21,5 +21,19 @@ void main()
 	gl_Position = ftransform();
 	positionProj = gl_Position;
 
+#if defined FEATURE_ALPHA_REJECT
+	// Same texture coordinates as chunk_vert.glsl, so cut-out blocks cast the shadow of what is drawn
+	gl_TexCoord[0] = gl_MultiTexCoord0;
+	/*int*/ float animationFrameCount = gl_TexCoord[0].w;
+
+	if (animationFrameCount > 0) {
+	    /*int*/ float globalFrameIndex = floor(time * 6 *60*60*24/48); // 6Hz at default world time scale
+	    /*int*/ float frameIndex = mod(globalFrameIndex, animationFrameCount);
+	    gl_TexCoord[0].x += frameIndex * TEXTURE_OFFSET;
+	    gl_TexCoord[0].y += floor(gl_TexCoord[0].x) * TEXTURE_OFFSET;
+	    gl_TexCoord[0].x = mod(gl_TexCoord[0].x, 1);
+	}
+#endif
+
     gl_FrontColor = gl_Color;
 }
@@ -130,6 +130,37 @@ vec2 normalizeAtlasTexCoord(vec2 atlasTexCoord) {
                 mod(atlasTexCoord.y, TEXTURE_OFFSET) * (1.0 / TEXTURE_OFFSET));
 }
 
+// Faces merged by greedy meshing repeat their texture and have a frame count of -1,
+// see ChunkTessellator.TILED_TEXTURE_FRAMES
+bool isTiledChunkTexCoord(vec4 chunkTexCoord) {
+    return chunkTexCoord.w < -0.5;
+}
+
+vec2 tiledChunkTexRepetitions(vec2 chunkTexCoord) {
+    vec2 texCorner = floor(chunkTexCoord / TEXTURE_OFFSET) * TEXTURE_OFFSET;
+    return ((chunkTexCoord - texCorner) / TEXTURE_OFFSET - TILED_TEXTURE_MARGIN)
+        / (1.0 - 2.0 * TILED_TEXTURE_MARGIN) * TILED_TEXTURE_MAX_REPEAT;
+}
+
+// The atlas position a chunk vertex samples its texture at
+vec2 chunkAtlasTexCoord(vec4 chunkTexCoord) {
+    if (!isTiledChunkTexCoord(chunkTexCoord)) {
+        return chunkTexCoord.xy;
+    }
+    vec2 texCorner = floor(chunkTexCoord.xy / TEXTURE_OFFSET) * TEXTURE_OFFSET;
+    return texCorner + TEXTURE_OFFSET / 128.0
+        + fract(tiledChunkTexRepetitions(chunkTexCoord.xy)) * TEXTURE_OFFSET * (126.0 / 128.0);
+}
+
+// Texture coordinates that keep increasing across repeated textures, for derivatives
+vec2 unwrappedChunkTexCoord(vec4 chunkTexCoord) {
+    if (!isTiledChunkTexCoord(chunkTexCoord)) {
+        return chunkTexCoord.xy;
+    }
+    vec2 texCorner = floor(chunkTexCoord.xy / TEXTURE_OFFSET) * TEXTURE_OFFSET;
+    return texCorner + tiledChunkTexRepetitions(chunkTexCoord.xy) * TEXTURE_OFFSET;
+}
+
 float calcPcfShadowTerm(sampler2D shadowMap, float lightDepth, vec2 texCoord, float shadowIntens, float bias)
 {
 	vec2 shadowMapCoord = SHADOW_MAP_RESOLUTION * texCoord;